@@ -17,6 +17,8 @@ public enum ErrorCode {
     OSS_OPERATION_FAILED(500014, "对象存储操作失败", HttpStatus.INTERNAL_SERVER_ERROR),
     PET_NOT_FOUND(404010, "宠物不存在", HttpStatus.NOT_FOUND),
     ADOPTION_CREATE_FAILED(500020, "领养信息创建失败", HttpStatus.INTERNAL_SERVER_ERROR),
+    ADOPTION_IN_PROGRESS(409020, "该宠物正在被其他用户申请，请稍后重试", HttpStatus.CONFLICT),
+    ADOPTION_DUPLICATE_REQUEST(409021, "领养申请正在处理中，请勿重复提交", HttpStatus.CONFLICT),
     
     // 寄养相关错误码
     FOSTER_NOT_FOUND(404030, "寄养记录不存在", HttpStatus.NOT_FOUND),
@@ -0,0 +1,39 @@
+package com.example.petcommon.properties;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import lombok.Data;
+
+/**
+ * 领养申请准入配置类
+ * 热门宠物的领养申请先在 Redis 中抢占预留，未抢到的申请人按到达顺序排队
+ * @author 33185
+ */
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "pet.adoption.admission")
+public class AdoptionAdmissionProperties {
+
+    /**
+     * 是否启用准入控制，关闭后直接进入数据库事务
+     */
+    private boolean enabled = true;
+
+    /**
+     * 预留有效期，需覆盖一次领养申请事务的最长耗时，进程异常退出时由过期释放
+     */
+    private Duration reservationTtl = Duration.ofSeconds(10);
+
+    /**
+     * 排队记录有效期，按最近一次重试计算，超过该时长未重试的排队者被移出队列
+     */
+    private Duration queueTtl = Duration.ofSeconds(60);
+
+    /**
+     * 单个宠物的最大排队人数，超出后直接拒绝
+     */
+    private int maxQueueSize = 200;
+}
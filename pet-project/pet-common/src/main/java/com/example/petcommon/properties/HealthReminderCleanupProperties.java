@@ -4,6 +4,7 @@ import lombok.Data;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.context.annotation.Configuration;
 
+import java.time.Duration;
 import java.util.Map;
 
 /**
@@ -13,29 +14,44 @@ import java.util.Map;
  */
 @Data
 @Configuration
-@ConfigurationProperties(prefix = "health.reminder.cleanup")
+@ConfigurationProperties(prefix = "pet.health.reminder.cleanup")
 public class HealthReminderCleanupProperties {
-    
+
+    /**
+     * 是否启用清理任务
+     */
+    private boolean enabled = true;
+
     /**
      * 不同健康类型的过期天数配置
      */
     private Map<String, Integer> expiryDays;
-    
+
     /**
      * 归档阈值（过期后多少天归档）
      */
-    private int archiveThresholdDays;
-    
+    private int archiveThresholdDays = 30;
+
     /**
      * 是否启用自动删除超长期归档记录
      */
     private boolean enableDeletion;
-    
+
     /**
      * 删除阈值（归档后多少天删除）
      */
-    private int deletionThresholdDays;
-    
+    private int deletionThresholdDays = 365;
+
+    /**
+     * 每批处理的记录数，批越小单条语句持有行锁的时间越短
+     */
+    private int batchSize = 500;
+
+    /**
+     * 两批之间的停顿，给业务写入让出锁与 IO
+     */
+    private Duration pause = Duration.ofMillis(200);
+
     /**
      * 根据健康类型获取过期天数
      * @param healthType 健康类型
@@ -45,15 +61,31 @@ public class HealthReminderCleanupProperties {
         if (expiryDays == null) {
             return 1;
         }
-        
+
         // 尝试获取特定健康类型的过期天数
         Integer days = expiryDays.get(healthType);
         if (days != null) {
             return days;
         }
-        
+
         // 尝试获取默认值
         days = expiryDays.get("default");
         return days != null ? days : 1;
     }
-}
\ No newline at end of file
+
+    /**
+     * 所有健康类型中最短的过期天数，用于在数据库侧先行过滤
+     * @return 最短过期天数
+     */
+    public int minExpiryDays() {
+        int min = getExpiryDaysByHealthType("default");
+        if (expiryDays != null) {
+            for (Integer days : expiryDays.values()) {
+                if (days != null && days < min) {
+                    min = days;
+                }
+            }
+        }
+        return min;
+    }
+}
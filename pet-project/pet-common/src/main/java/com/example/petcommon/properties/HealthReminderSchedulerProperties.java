@@ -0,0 +1,48 @@
+package com.example.petcommon.properties;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import lombok.Data;
+
+/**
+ * 健康提醒调度配置类
+ * @author 33185
+ */
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "pet.health.reminder.scheduler")
+public class HealthReminderSchedulerProperties {
+
+    /**
+     * 是否启用提醒调度
+     */
+    private boolean enabled = true;
+
+    /**
+     * 预装载窗口：只把该时长内到期的提醒放入 Redis，更远的由定时校准逐步装入
+     */
+    private Duration preloadHorizon = Duration.ofHours(24);
+
+    /**
+     * 补发宽限：启动或校准时发现已过提醒时间但仍未发送的提醒，在该时长内的会立即补发
+     */
+    private Duration missedGrace = Duration.ofHours(1);
+
+    /**
+     * 调度线程最长空闲时长，兜底其他实例新增的更早提醒
+     */
+    private Duration maxIdle = Duration.ofSeconds(5);
+
+    /**
+     * 每次认领的到期提醒数
+     */
+    private int batchSize = 100;
+
+    /**
+     * 认领租约：认领实例在该时长内未完成发送，提醒会被其他实例重新认领
+     */
+    private Duration lease = Duration.ofSeconds(60);
+}
@@ -0,0 +1,48 @@
+package com.example.petcommon.properties;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import lombok.Data;
+
+/**
+ * 事务发件箱分发配置类
+ * @author 33185
+ */
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "pet.outbox")
+public class OutboxProperties {
+
+    /**
+     * 每批认领的事件数
+     */
+    private int batchSize = 100;
+
+    /**
+     * 认领租约，超过该时长仍未确认的事件会被其他实例重新认领
+     */
+    private Duration lease = Duration.ofSeconds(60);
+
+    /**
+     * 最大投递次数，超过后标记为 FAILED 不再重试
+     */
+    private int maxAttempts = 10;
+
+    /**
+     * 首次重试退避时长，之后按次数翻倍
+     */
+    private Duration initialBackoff = Duration.ofSeconds(2);
+
+    /**
+     * 最大退避时长
+     */
+    private Duration maxBackoff = Duration.ofMinutes(10);
+
+    /**
+     * 已投递事件保留时长
+     */
+    private Duration retention = Duration.ofDays(7);
+}
@@ -0,0 +1,92 @@
+package com.example.petcommon.properties;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import lombok.Data;
+
+/**
+ * 分页总数统计策略配置类
+ * 按分页语句分别配置 COUNT 的获取方式，未配置的语句使用默认策略
+ * @author 33185
+ */
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "pet.pagination.count")
+public class PageCountProperties {
+
+    /**
+     * 默认统计策略
+     */
+    private Policy defaultPolicy = Policy.EXACT;
+
+    /**
+     * CACHED 策略下总数的默认缓存时长
+     */
+    private Duration defaultTtl = Duration.ofMinutes(1);
+
+    /**
+     * 按语句名配置的统计策略
+     */
+    private Map<String, Statement> statements = new HashMap<>();
+
+    /**
+     * 获取语句的统计策略
+     * @param statement 语句名
+     * @return 统计策略
+     */
+    public Policy getPolicy(String statement) {
+        Statement config = statements.get(statement);
+        return config != null && config.getPolicy() != null ? config.getPolicy() : defaultPolicy;
+    }
+
+    /**
+     * 获取语句总数的缓存时长
+     * @param statement 语句名
+     * @return 缓存时长
+     */
+    public Duration getTtl(String statement) {
+        Statement config = statements.get(statement);
+        return config != null && config.getTtl() != null ? config.getTtl() : defaultTtl;
+    }
+
+    /**
+     * 统计策略
+     */
+    public enum Policy {
+        /**
+         * 每次分页都执行 COUNT
+         */
+        EXACT,
+        /**
+         * 按筛选条件缓存 COUNT 结果，过期后重新统计
+         */
+        CACHED,
+        /**
+         * 使用计数器等估算值，无可用估算时按 CACHED 处理
+         */
+        ESTIMATED,
+        /**
+         * 不统计总数，多查一条判断是否有下一页
+         */
+        SKIP
+    }
+
+    @Data
+    public static class Statement {
+
+        /**
+         * 统计策略
+         */
+        private Policy policy;
+
+        /**
+         * CACHED 策略下的缓存时长
+         */
+        private Duration ttl;
+    }
+}
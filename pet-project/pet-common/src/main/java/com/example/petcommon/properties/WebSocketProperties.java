@@ -0,0 +1,89 @@
+package com.example.petcommon.properties;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import lombok.Data;
+
+/**
+ * WebSocket 推送配置类
+ * @author 33185
+ */
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "pet.websocket")
+public class WebSocketProperties {
+
+    /**
+     * 离线投递队列
+     */
+    private Offline offline = new Offline();
+
+    /**
+     * 连接发送队列
+     */
+    private Outbound outbound = new Outbound();
+
+    @Data
+    public static class Offline {
+
+        /**
+         * 是否启用离线投递：消息先写入接收人的待确认队列，客户端确认后删除，上线时补发
+         */
+        private boolean enabled = true;
+
+        /**
+         * 每个接收人最多保留的待确认消息数，超出时丢弃最早的消息
+         */
+        private int maxPending = 200;
+
+        /**
+         * 待确认消息保留时长
+         */
+        private Duration ttl = Duration.ofDays(7);
+    }
+
+    @Data
+    public static class Outbound {
+
+        /**
+         * 每个连接最多排队的待发送消息数
+         */
+        private int maxQueued = 256;
+
+        /**
+         * 队列已满时的处理策略
+         */
+        private OverflowPolicy overflowPolicy = OverflowPolicy.DROP_OLDEST;
+
+        /**
+         * 共享写线程数，写线程只负责发起异步发送，不会被慢连接阻塞
+         */
+        private int writerThreads = 2;
+
+        /**
+         * 单条消息发送超时，超时视为发送失败
+         */
+        private Duration sendTimeout = Duration.ofSeconds(10);
+    }
+
+    /**
+     * 发送队列溢出策略
+     */
+    public enum OverflowPolicy {
+        /**
+         * 丢弃最早的排队消息
+         */
+        DROP_OLDEST,
+        /**
+         * 同一业务对象（如同一条健康提醒）的排队消息原位替换为最新一条，仍然溢出时丢弃最早的消息
+         */
+        COALESCE,
+        /**
+         * 断开慢连接，客户端重连后由待确认队列补发
+         */
+        DISCONNECT
+    }
+}
@@ -0,0 +1,75 @@
+package com.example.petcommon.utils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+import com.example.petcommon.error.ErrorCode;
+import com.example.petcommon.exception.BizException;
+
+/**
+ * 游标分页工具类
+ * 将排序键编码为对前端不透明的游标字符串，避免暴露内部字段
+ */
+public class CursorUtil {
+
+    private static final String VERSION = "v1";
+    private static final String SEPARATOR = "|";
+
+    private CursorUtil() {
+    }
+
+    /**
+     * 编码游标
+     * @param keys 排序键（按排序优先级）
+     * @return 游标字符串
+     */
+    public static String encode(Object... keys) {
+        StringBuilder sb = new StringBuilder(VERSION);
+        for (Object key : keys) {
+            sb.append(SEPARATOR).append(key == null ? "" : key);
+        }
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(sb.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * 解码游标
+     * @param cursor 游标字符串，为空表示第一页
+     * @param expectedKeys 期望的排序键数量
+     * @return 排序键数组；cursor 为空时返回 null
+     */
+    public static String[] decode(String cursor, int expectedKeys) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor.trim()), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\\" + SEPARATOR, -1);
+            if (parts.length != expectedKeys + 1 || !VERSION.equals(parts[0])) {
+                throw new BizException(ErrorCode.BAD_REQUEST, "无效的分页游标");
+            }
+            String[] keys = new String[expectedKeys];
+            System.arraycopy(parts, 1, keys, 0, expectedKeys);
+            return keys;
+        } catch (IllegalArgumentException e) {
+            throw new BizException(ErrorCode.BAD_REQUEST, "无效的分页游标");
+        }
+    }
+
+    /**
+     * 解码单键整数游标
+     * @param cursor 游标字符串
+     * @return 排序键；cursor 为空时返回 null
+     */
+    public static Integer decodeInt(String cursor) {
+        String[] keys = decode(cursor, 1);
+        if (keys == null) {
+            return null;
+        }
+        try {
+            return Integer.valueOf(keys[0]);
+        } catch (NumberFormatException e) {
+            throw new BizException(ErrorCode.BAD_REQUEST, "无效的分页游标");
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package com.example.petpojo.dto;
+
+import java.io.Serial;
+import java.io.Serializable;
+import java.util.List;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+
+/**
+ * @author 33185
+ */
+@Data
+@Schema(description = "批量审核请求DTO")
+public class BatchReviewDto implements Serializable {
+
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    @NotEmpty(message = "审核记录ID不能为空")
+    @Size(max = 100, message = "单次最多审核100条记录")
+    @Schema(description = "申请记录ID列表")
+    private List<@NotNull(message = "记录ID不能为空") @Positive(message = "记录ID必须为正数") Integer> ids;
+
+    @Size(max = 255, message = "审核备注长度不能超过255字符")
+    @Schema(description = "审核备注")
+    private String note;
+}
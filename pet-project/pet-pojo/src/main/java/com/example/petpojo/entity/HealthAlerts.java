@@ -62,6 +62,18 @@ public class HealthAlerts implements Serializable {
     @Schema(description = "状态")
     private String status;
     
+    @TableField("delivered_at")
+    @Schema(description = "客户端确认送达时间")
+    private LocalDateTime deliveredAt;
+
+    @TableField("reminded_at")
+    @Schema(description = "进入已提醒状态的时间")
+    private LocalDateTime remindedAt;
+
+    @TableField("expired_at")
+    @Schema(description = "进入过期状态的时间")
+    private LocalDateTime expiredAt;
+
     @TableField(value = "create_time", fill = FieldFill.INSERT)
     @Schema(description = "创建时间")
     private LocalDateTime createTime;
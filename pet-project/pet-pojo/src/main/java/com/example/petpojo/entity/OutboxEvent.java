@@ -0,0 +1,78 @@
+package com.example.petpojo.entity;
+
+import java.io.Serial;
+import java.io.Serializable;
+import java.time.LocalDateTime;
+
+import com.baomidou.mybatisplus.annotation.IdType;
+import com.baomidou.mybatisplus.annotation.TableField;
+import com.baomidou.mybatisplus.annotation.TableId;
+import com.baomidou.mybatisplus.annotation.TableName;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * 事务发件箱事件实体
+ * @author 33185
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@TableName("outbox_events")
+@Schema(description = "事务发件箱事件")
+public class OutboxEvent implements Serializable {
+
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    public static final String STATUS_PENDING = "PENDING";
+    public static final String STATUS_DISPATCHING = "DISPATCHING";
+    public static final String STATUS_SENT = "SENT";
+    public static final String STATUS_FAILED = "FAILED";
+
+    @TableId(type = IdType.AUTO)
+    @Schema(description = "事件ID")
+    private Long id;
+
+    @TableField("event_type")
+    @Schema(description = "事件类型")
+    private String eventType;
+
+    @Schema(description = "事件内容（JSON）")
+    private String payload;
+
+    @Schema(description = "状态：PENDING/DISPATCHING/SENT/FAILED")
+    private String status;
+
+    @Schema(description = "已投递次数")
+    private Integer attempts;
+
+    @TableField("next_attempt_at")
+    @Schema(description = "下次可投递时间")
+    private LocalDateTime nextAttemptAt;
+
+    @TableField("claim_token")
+    @Schema(description = "认领令牌")
+    private String claimToken;
+
+    @TableField("claim_until")
+    @Schema(description = "认领租约到期时间")
+    private LocalDateTime claimUntil;
+
+    @TableField("last_error")
+    @Schema(description = "最近一次失败原因")
+    private String lastError;
+
+    @TableField("sent_time")
+    @Schema(description = "投递成功时间")
+    private LocalDateTime sentTime;
+
+    @TableField("create_time")
+    @Schema(description = "创建时间")
+    private LocalDateTime createTime;
+}
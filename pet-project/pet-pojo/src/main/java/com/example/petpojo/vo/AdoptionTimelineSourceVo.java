@@ -0,0 +1,57 @@
+package com.example.petpojo.vo;
+
+import java.io.Serial;
+import java.io.Serializable;
+import java.time.LocalDateTime;
+
+import com.example.petpojo.entity.enums.CommonEnum;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * 领养时间线数据源
+ * 一次查询得到宠物、用户及该用户对该宠物的最近一条领养记录
+ * @author 33185
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "领养时间线数据源")
+public class AdoptionTimelineSourceVo implements Serializable {
+
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    @Schema(description = "宠物ID")
+    private Integer pid;
+
+    @Schema(description = "宠物名称")
+    private String petName;
+
+    @Schema(description = "宠物品种")
+    private String petBreed;
+
+    @Schema(description = "宠物所属收容所ID")
+    private Integer petShelterId;
+
+    @Schema(description = "用户ID，用户不存在时为空")
+    private Integer userId;
+
+    @Schema(description = "用户名")
+    private String userName;
+
+    @Schema(description = "领养记录ID，无领养记录时为空")
+    private Integer adoptionId;
+
+    @Schema(description = "领养人ID")
+    private Integer adoptionUid;
+
+    @Schema(description = "领养状态")
+    private CommonEnum.AdoptionStatusEnum adoptionStatus;
+
+    @Schema(description = "领养时间")
+    private LocalDateTime adoptDate;
+}
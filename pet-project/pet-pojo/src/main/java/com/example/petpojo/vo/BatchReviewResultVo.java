@@ -0,0 +1,64 @@
+package com.example.petpojo.vo;
+
+import java.io.Serial;
+import java.io.Serializable;
+import java.util.List;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * 批量审核结果值对象
+ * 逐条返回每个申请的处理结果，失败项不影响其余记录
+ * @author 33185
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "批量审核结果VO")
+public class BatchReviewResultVo implements Serializable {
+
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    @Schema(description = "提交的记录数")
+    private Integer total;
+
+    @Schema(description = "处理成功数")
+    private Integer succeeded;
+
+    @Schema(description = "处理失败数")
+    private Integer failed;
+
+    @Schema(description = "逐条结果，顺序与请求一致")
+    private List<Item> items;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Schema(description = "单条审核结果")
+    public static class Item implements Serializable {
+
+        @Serial
+        private static final long serialVersionUID = 1L;
+
+        @Schema(description = "申请记录ID")
+        private Integer id;
+
+        @Schema(description = "是否处理成功")
+        private Boolean success;
+
+        @Schema(description = "失败原因，成功时为空")
+        private String message;
+    }
+
+    /**
+     * 按逐条结果汇总
+     */
+    public static BatchReviewResultVo of(List<Item> items) {
+        int succeeded = (int) items.stream().filter(item -> Boolean.TRUE.equals(item.getSuccess())).count();
+        return new BatchReviewResultVo(items.size(), succeeded, items.size() - succeeded, items);
+    }
+}
@@ -0,0 +1,45 @@
+package com.example.petpojo.vo;
+
+import java.io.Serial;
+import java.io.Serializable;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+/**
+ * 缓存分层命中统计VO
+ * @author 33185
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "缓存分层命中统计VO")
+public class CacheStatsVo implements Serializable {
+
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    @Schema(description = "缓存名称")
+    private String cacheName;
+
+    @Schema(description = "本地缓存(L1)命中次数")
+    private Long l1Hits;
+
+    @Schema(description = "本地缓存(L1)未命中次数")
+    private Long l1Misses;
+
+    @Schema(description = "Redis缓存(L2)命中次数")
+    private Long l2Hits;
+
+    @Schema(description = "Redis缓存(L2)未命中次数")
+    private Long l2Misses;
+
+    @Schema(description = "本地缓存当前条目数")
+    private Long l1Size;
+
+    @Schema(description = "本地缓存当前占用（按序列化字节估算）")
+    private Long l1WeightBytes;
+}
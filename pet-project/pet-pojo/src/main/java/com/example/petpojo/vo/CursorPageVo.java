@@ -0,0 +1,38 @@
+package com.example.petpojo.vo;
+
+import java.io.Serial;
+import java.io.Serializable;
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+/**
+ * 游标分页结果VO
+ * 不返回总数，通过 nextCursor 继续向后翻页
+ * @author 33185
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "游标分页结果VO")
+public class CursorPageVo<T> implements Serializable {
+
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    @Schema(description = "当前页数据")
+    private List<T> records;
+
+    @Schema(description = "下一页游标，为空表示没有更多数据")
+    private String nextCursor;
+
+    @Schema(description = "是否还有下一页")
+    private Boolean hasNext;
+
+    @Schema(description = "每页数量")
+    private Integer size;
+}
@@ -0,0 +1,40 @@
+package com.example.petpojo.vo;
+
+import java.io.Serial;
+import java.io.Serializable;
+import java.util.Map;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+/**
+ * 管理员看板汇总VO
+ * @author 33185
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "管理员看板汇总VO")
+public class DashboardSummaryVo implements Serializable {
+
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    @Schema(description = "收容所ID，平台汇总时为空")
+    private Integer shelterId;
+
+    @Schema(description = "收容所名称")
+    private String shelterName;
+
+    @Schema(description = "领养申请按状态计数（PENDING/APPROVED/REJECTED）")
+    private Map<String, Long> adoptions;
+
+    @Schema(description = "寄养记录按状态计数（PENDING/ONGOING/COMPLETED/REJECTED）")
+    private Map<String, Long> fosters;
+
+    @Schema(description = "宠物按状态计数（AVAILABLE/ADOPTED/FOSTERING）")
+    private Map<String, Long> pets;
+}
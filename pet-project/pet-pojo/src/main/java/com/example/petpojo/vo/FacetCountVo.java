@@ -0,0 +1,42 @@
+package com.example.petpojo.vo;
+
+import java.io.Serial;
+import java.io.Serializable;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+/**
+ * 筛选项计数VO
+ * @author 33185
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "筛选项计数VO")
+public class FacetCountVo implements Serializable {
+
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    @Schema(description = "筛选项ID（物种ID/品种ID，性别与年龄段为空）")
+    private Integer id;
+
+    @Schema(description = "上级ID（品种所属物种ID）")
+    private Integer parentId;
+
+    @Schema(description = "筛选值，可直接作为列表查询参数")
+    private String value;
+
+    @Schema(description = "年龄段下限（含），仅年龄段有效")
+    private Integer minAge;
+
+    @Schema(description = "年龄段上限（含），为空表示不限，仅年龄段有效")
+    private Integer maxAge;
+
+    @Schema(description = "可领养宠物数量")
+    private Long count;
+}
@@ -83,4 +83,16 @@ public class HealthAlertsVo implements Serializable {
      */
     @Schema(description = "更新时间")
     private LocalDateTime updateTime;
+
+    /**
+     * 宠物名称
+     */
+    @Schema(description = "宠物名称")
+    private String petName;
+
+    /**
+     * 客户端确认送达时间
+     */
+    @Schema(description = "客户端确认送达时间")
+    private LocalDateTime deliveredAt;
 }
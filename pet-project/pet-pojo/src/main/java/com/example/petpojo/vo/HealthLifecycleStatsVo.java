@@ -0,0 +1,58 @@
+package com.example.petpojo.vo;
+
+import java.io.Serial;
+import java.io.Serializable;
+import java.time.LocalDateTime;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+/**
+ * 健康提醒生命周期任务统计VO
+ * @author 33185
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "健康提醒生命周期任务统计VO")
+public class HealthLifecycleStatsVo implements Serializable {
+
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    @Schema(description = "是否正在执行")
+    private Boolean running;
+
+    @Schema(description = "当前阶段：expire/archive/purge，空闲时为 idle")
+    private String phase;
+
+    @Schema(description = "累计完成次数")
+    private Long runs;
+
+    @Schema(description = "累计失败次数")
+    private Long failures;
+
+    @Schema(description = "累计处理批次数")
+    private Long chunks;
+
+    @Schema(description = "累计扫描记录数")
+    private Long scanned;
+
+    @Schema(description = "累计标记过期数")
+    private Long expired;
+
+    @Schema(description = "累计归档数")
+    private Long archived;
+
+    @Schema(description = "累计删除归档数")
+    private Long deleted;
+
+    @Schema(description = "最近一次开始时间")
+    private LocalDateTime lastStartedAt;
+
+    @Schema(description = "最近一次耗时（毫秒）")
+    private Long lastDurationMs;
+}
@@ -0,0 +1,40 @@
+package com.example.petpojo.vo;
+
+import java.io.Serial;
+import java.io.Serializable;
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+/**
+ * 领养中心筛选项计数VO
+ * @author 33185
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "领养中心筛选项计数VO")
+public class PetFacetsVo implements Serializable {
+
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    @Schema(description = "可领养宠物总数")
+    private Long total;
+
+    @Schema(description = "按物种计数")
+    private List<FacetCountVo> species;
+
+    @Schema(description = "按品种计数")
+    private List<FacetCountVo> breeds;
+
+    @Schema(description = "按性别计数")
+    private List<FacetCountVo> genders;
+
+    @Schema(description = "按年龄段计数")
+    private List<FacetCountVo> ageBuckets;
+}
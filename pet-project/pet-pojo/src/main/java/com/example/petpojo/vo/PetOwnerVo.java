@@ -0,0 +1,33 @@
+package com.example.petpojo.vo;
+
+import java.io.Serial;
+import java.io.Serializable;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * 宠物及其领养人
+ * 批量解析健康提醒的接收人与宠物名称
+ * @author 33185
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "宠物领养人VO")
+public class PetOwnerVo implements Serializable {
+
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    @Schema(description = "宠物ID")
+    private Integer petId;
+
+    @Schema(description = "宠物名称")
+    private String petName;
+
+    @Schema(description = "最近一次领养通过的用户ID，未被领养时为空")
+    private Integer userId;
+}
@@ -0,0 +1,42 @@
+package com.example.petpojo.vo;
+
+import java.io.Serial;
+import java.io.Serializable;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+/**
+ * 全文检索命中结果VO
+ * @author 33185
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "全文检索命中结果VO")
+public class SearchHitVo implements Serializable {
+
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    @Schema(description = "结果类型：pet/breed/shelter/article")
+    private String type;
+
+    @Schema(description = "对应业务ID")
+    private Integer id;
+
+    @Schema(description = "标题（已高亮）")
+    private String title;
+
+    @Schema(description = "摘要片段（已高亮）")
+    private String snippet;
+
+    @Schema(description = "图片URL")
+    private String image;
+
+    @Schema(description = "相关度得分")
+    private Float score;
+}
@@ -0,0 +1,36 @@
+package com.example.petpojo.vo;
+
+import java.io.Serial;
+import java.io.Serializable;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+/**
+ * 收容所按状态分组计数VO，用于看板计数器校准
+ * @author 33185
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "收容所按状态分组计数VO")
+public class ShelterStatusCountVo implements Serializable {
+
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    @Schema(description = "计数类别：adoption/foster/pet")
+    private String category;
+
+    @Schema(description = "收容所ID")
+    private Integer shelterId;
+
+    @Schema(description = "状态")
+    private String status;
+
+    @Schema(description = "数量")
+    private Long count;
+}
@@ -0,0 +1,54 @@
+package com.example.petpojo.vo;
+
+import java.io.Serial;
+import java.io.Serializable;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+/**
+ * WebSocket 推送统计VO
+ * @author 33185
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "WebSocket 推送统计VO")
+public class WebSocketStatsVo implements Serializable {
+
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    @Schema(description = "在线连接数")
+    private Integer online;
+
+    @Schema(description = "发送队列溢出策略")
+    private String overflowPolicy;
+
+    @Schema(description = "全部连接当前排队消息数")
+    private Long queued;
+
+    @Schema(description = "单个连接的最大排队消息数")
+    private Integer maxQueueDepth;
+
+    @Schema(description = "累计入队数")
+    private Long enqueued;
+
+    @Schema(description = "累计发送成功数")
+    private Long sent;
+
+    @Schema(description = "累计发送失败数")
+    private Long failed;
+
+    @Schema(description = "累计因溢出丢弃数（含连接关闭时未发出的消息）")
+    private Long dropped;
+
+    @Schema(description = "累计合并数")
+    private Long coalesced;
+
+    @Schema(description = "累计断开的慢连接数")
+    private Long evicted;
+}
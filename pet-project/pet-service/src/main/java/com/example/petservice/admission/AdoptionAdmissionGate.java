@@ -0,0 +1,152 @@
+package com.example.petservice.admission;
+
+import java.util.List;
+
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.stereotype.Component;
+
+import com.example.petcommon.error.ErrorCode;
+import com.example.petcommon.exception.BizException;
+import com.example.petcommon.properties.AdoptionAdmissionProperties;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 领养申请准入控制
+ * 同一宠物同一时刻只放行一个申请人进入数据库事务：通过 Lua 原子地抢占带过期时间的预留，
+ * 未抢到的申请人按首次到达时间进入有序集合排队，预留释放后由队首重试时获得准入。
+ * 排队顺序与存活分开记录：顺序集合的分数固定为首次到达时间，另一个集合记录最近一次重试时间，
+ * 超过排队有效期未重试的申请人被移出队列，持续重试的申请人保留原位次。
+ * 重复提交与排队中的请求在打开数据库事务之前即被拒绝，不再在唯一索引上冲突。
+ * Redis 不可用时放行，由数据库校验与唯一索引兜底。
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class AdoptionAdmissionGate {
+
+    private static final String RESERVATION_KEY_PREFIX = "petproject:adoption:reservation:";
+    private static final String QUEUE_KEY_PREFIX = "petproject:adoption:queue:";
+    private static final String SEEN_KEY_SUFFIX = ":seen";
+
+    private static final long ADMITTED = 0L;
+    private static final long DUPLICATE = -1L;
+    private static final long QUEUE_FULL = -2L;
+
+    /**
+     * KEYS[1] 预留键，KEYS[2] 排队有序集合（分数为首次到达时间），KEYS[3] 最近重试时间有序集合
+     * ARGV[1] 用户ID，ARGV[2] 预留毫秒数，ARGV[3] 当前毫秒时间，ARGV[4] 排队有效毫秒数，ARGV[5] 最大排队人数
+     * 返回 0 放行，-1 重复提交，-2 队列已满，正数为排队位次
+     */
+    private static final DefaultRedisScript<Long> ACQUIRE_SCRIPT = new DefaultRedisScript<>("""
+            local now = tonumber(ARGV[3])
+            local holder = redis.call('GET', KEYS[1])
+            if holder == ARGV[1] then
+                return -1
+            end
+            local stale = redis.call('ZRANGEBYSCORE', KEYS[3], '-inf', now - tonumber(ARGV[4]))
+            if #stale > 0 then
+                redis.call('ZREM', KEYS[2], unpack(stale))
+                redis.call('ZREM', KEYS[3], unpack(stale))
+            end
+            if not holder then
+                local head = redis.call('ZRANGE', KEYS[2], 0, 0)
+                if #head == 0 or head[1] == ARGV[1] then
+                    redis.call('SET', KEYS[1], ARGV[1], 'PX', ARGV[2])
+                    redis.call('ZREM', KEYS[2], ARGV[1])
+                    redis.call('ZREM', KEYS[3], ARGV[1])
+                    return 0
+                end
+            end
+            local rank = redis.call('ZRANK', KEYS[2], ARGV[1])
+            if not rank then
+                if redis.call('ZCARD', KEYS[2]) >= tonumber(ARGV[5]) then
+                    return -2
+                end
+                redis.call('ZADD', KEYS[2], now, ARGV[1])
+                rank = redis.call('ZRANK', KEYS[2], ARGV[1])
+            end
+            redis.call('ZADD', KEYS[3], now, ARGV[1])
+            redis.call('PEXPIRE', KEYS[2], ARGV[4])
+            redis.call('PEXPIRE', KEYS[3], ARGV[4])
+            return rank + 1
+            """, Long.class);
+
+    /**
+     * 仅释放自己持有的预留；ARGV[2] 为 1 时同时清空排队（申请已提交，宠物不再可领养）
+     */
+    private static final DefaultRedisScript<Long> RELEASE_SCRIPT = new DefaultRedisScript<>("""
+            if redis.call('GET', KEYS[1]) == ARGV[1] then
+                redis.call('DEL', KEYS[1])
+                if ARGV[2] == '1' then
+                    redis.call('DEL', KEYS[2], KEYS[3])
+                end
+                return 1
+            end
+            return 0
+            """, Long.class);
+
+    private final StringRedisTemplate stringRedisTemplate;
+    private final AdoptionAdmissionProperties properties;
+
+    /**
+     * 为申请人抢占宠物的领养预留
+     * @param petId 宠物ID
+     * @param userId 申请人ID
+     * @return 是否持有预留（未启用或 Redis 不可用时为 false，此时无需释放）
+     * @throws BizException 重复提交、已有他人在申请或排队已满时抛出 CONFLICT
+     */
+    public boolean acquire(Integer petId, Integer userId) {
+        if (!properties.isEnabled()) {
+            return false;
+        }
+        Long result;
+        try {
+            result = stringRedisTemplate.execute(ACQUIRE_SCRIPT, keys(petId),
+                    String.valueOf(userId),
+                    String.valueOf(properties.getReservationTtl().toMillis()),
+                    String.valueOf(System.currentTimeMillis()),
+                    String.valueOf(properties.getQueueTtl().toMillis()),
+                    String.valueOf(properties.getMaxQueueSize()));
+        } catch (Exception e) {
+            log.warn("领养准入预留失败，放行由数据库校验兜底, petId={}, userId={}", petId, userId, e);
+            return false;
+        }
+        if (result == null) {
+            return false;
+        }
+        if (result == ADMITTED) {
+            return true;
+        }
+        if (result == DUPLICATE) {
+            throw new BizException(ErrorCode.ADOPTION_DUPLICATE_REQUEST);
+        }
+        if (result == QUEUE_FULL) {
+            throw new BizException(ErrorCode.ADOPTION_IN_PROGRESS, "该宠物申请人数过多，请稍后重试");
+        }
+        log.info("领养申请排队, petId={}, userId={}, position={}", petId, userId, result);
+        throw new BizException(ErrorCode.ADOPTION_IN_PROGRESS,
+                "该宠物正在被其他用户申请，您当前排在第 " + result + " 位，请稍后重试");
+    }
+
+    /**
+     * 释放预留
+     * @param petId 宠物ID
+     * @param userId 申请人ID
+     * @param committed 领养申请是否已提交；已提交时清空排队，回滚时保留排队由队首接替
+     */
+    public void release(Integer petId, Integer userId, boolean committed) {
+        try {
+            stringRedisTemplate.execute(RELEASE_SCRIPT, keys(petId), String.valueOf(userId), committed ? "1" : "0");
+        } catch (Exception e) {
+            log.warn("领养准入预留释放失败，等待过期, petId={}, userId={}", petId, userId, e);
+        }
+    }
+
+    private static List<String> keys(Integer petId) {
+        return List.of(RESERVATION_KEY_PREFIX + petId, QUEUE_KEY_PREFIX + petId,
+                QUEUE_KEY_PREFIX + petId + SEEN_KEY_SUFFIX);
+    }
+}
@@ -1,5 +1,8 @@
 package com.example.petservice.cache;
 
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+
 public final class CacheKeys {
 
     private CacheKeys() {
@@ -9,10 +12,36 @@ public final class CacheKeys {
         return String.valueOf(petId);
     }
 
-    public static String petListPage(Integer currentPage, Integer pageSize) {
-        int current = (currentPage != null && currentPage > 0) ? currentPage : 1;
-        int size = (pageSize != null && pageSize > 0) ? pageSize : 10;
-        return "page:" + current + ":" + size;
+    public static String adoptionTimeline(Object petId, Object userId) {
+        return petId + ":" + userId;
+    }
+
+    public static String petListPage(long generation, int current, int size, String species, String breed,
+                                     String gender, Integer minAge, Integer maxAge) {
+        return "g" + generation + ":page:" + current + ":" + size
+                + ":" + part(species) + ":" + part(breed) + ":" + part(gender)
+                + ":" + part(minAge) + ":" + part(maxAge);
+    }
+
+    public static String userHealthAlerts(long globalGeneration, long userGeneration, Integer userId, String query,
+                                          String cursor, int size, String status) {
+        return "g" + globalGeneration + "." + userGeneration + ":u" + userId + ":" + query
+                + ":" + part(cursor) + ":" + size + ":" + part(status);
+    }
+
+    public static String pageCount(String statement, Object... filters) {
+        StringBuilder key = new StringBuilder(statement);
+        for (Object filter : filters) {
+            key.append(':').append(part(filter));
+        }
+        return key.toString();
     }
-}
 
+    private static String part(Object value) {
+        if (value == null) {
+            return "";
+        }
+        // 用户输入可能含有分隔符，编码后避免不同筛选条件拼出相同的 key
+        return URLEncoder.encode(String.valueOf(value), StandardCharsets.UTF_8);
+    }
+}
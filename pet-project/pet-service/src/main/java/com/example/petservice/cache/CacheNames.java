@@ -4,6 +4,8 @@ public final class CacheNames {
 
     public static final String PET_LIST_PAGE = "pet:list:page";
     public static final String PET_DETAIL = "pet:detail";
+    public static final String ADOPTION_TIMELINE = "adoption:timeline";
+    public static final String USER_HEALTH_ALERTS = "health:alerts:user";
 
     private CacheNames() {
     }
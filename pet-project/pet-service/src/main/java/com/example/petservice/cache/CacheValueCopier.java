@@ -0,0 +1,138 @@
+package com.example.petservice.cache;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.time.temporal.TemporalAccessor;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * 本地缓存值的防御性复制
+ * 缓存的值都是由标量、java.time 类型、集合与普通 Bean 组成的 VO，按字段逐层复制，
+ * 代价远低于一次 JSON 反序列化；不可变的叶子值直接共享。每个类的可复制字段只解析一次。
+ * 遇到无法复制的类型（没有无参构造、JDK 内部类型等）时抛出 {@link UncopyableException}，
+ * 调用方应放弃本地缓存该值
+ */
+final class CacheValueCopier {
+
+    /**
+     * 值无法复制
+     */
+    static final class UncopyableException extends RuntimeException {
+        UncopyableException(String message, Throwable cause) {
+            super(message, cause);
+        }
+    }
+
+    private record BeanShape(Constructor<?> constructor, Field[] fields) {
+    }
+
+    private static final ClassValue<BeanShape> SHAPES = new ClassValue<>() {
+        @Override
+        protected BeanShape computeValue(Class<?> type) {
+            try {
+                Constructor<?> constructor = type.getDeclaredConstructor();
+                constructor.setAccessible(true);
+                List<Field> fields = new ArrayList<>();
+                for (Class<?> c = type; c != null && c != Object.class; c = c.getSuperclass()) {
+                    for (Field field : c.getDeclaredFields()) {
+                        if (!Modifier.isStatic(field.getModifiers())) {
+                            field.setAccessible(true);
+                            fields.add(field);
+                        }
+                    }
+                }
+                return new BeanShape(constructor, fields.toArray(Field[]::new));
+            } catch (NoSuchMethodException | RuntimeException e) {
+                return null;
+            }
+        }
+    };
+
+    private CacheValueCopier() {
+    }
+
+    /**
+     * 深复制缓存值
+     * @throws UncopyableException 值中含有无法复制的类型
+     */
+    static Object copy(Object value) {
+        return copy(value, new IdentityHashMap<>());
+    }
+
+    private static Object copy(Object value, Map<Object, Object> copied) {
+        if (value == null || isImmutable(value)) {
+            return value;
+        }
+        Object existing = copied.get(value);
+        if (existing != null) {
+            return existing;
+        }
+        if (value instanceof List<?> list) {
+            List<Object> result = new ArrayList<>(list.size());
+            copied.put(value, result);
+            for (Object element : list) {
+                result.add(copy(element, copied));
+            }
+            return result;
+        }
+        if (value instanceof Set<?> set) {
+            Set<Object> result = new LinkedHashSet<>();
+            copied.put(value, result);
+            for (Object element : set) {
+                result.add(copy(element, copied));
+            }
+            return result;
+        }
+        if (value instanceof Map<?, ?> map) {
+            Map<Object, Object> result = new LinkedHashMap<>();
+            copied.put(value, result);
+            map.forEach((k, v) -> result.put(copy(k, copied), copy(v, copied)));
+            return result;
+        }
+        if (value instanceof Collection<?> || value.getClass().isArray()) {
+            throw new UncopyableException("不支持的缓存值类型: " + value.getClass().getName(), null);
+        }
+        return copyBean(value, copied);
+    }
+
+    private static Object copyBean(Object value, Map<Object, Object> copied) {
+        BeanShape shape = SHAPES.get(value.getClass());
+        if (shape == null) {
+            throw new UncopyableException("缓存值类型无法复制: " + value.getClass().getName(), null);
+        }
+        try {
+            Object result = shape.constructor().newInstance();
+            copied.put(value, result);
+            for (Field field : shape.fields()) {
+                field.set(result, copy(field.get(value), copied));
+            }
+            return result;
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            if (e instanceof UncopyableException uncopyable) {
+                throw uncopyable;
+            }
+            throw new UncopyableException("复制缓存值失败: " + value.getClass().getName(), e);
+        }
+    }
+
+    private static boolean isImmutable(Object value) {
+        return value instanceof String
+                || value instanceof Number
+                        && (value.getClass().getName().startsWith("java.lang.")
+                        || value.getClass().getName().startsWith("java.math."))
+                || value instanceof Boolean
+                || value instanceof Character
+                || value instanceof Enum<?>
+                || value instanceof TemporalAccessor && value.getClass().getName().startsWith("java.time.")
+                || value instanceof UUID;
+    }
+}
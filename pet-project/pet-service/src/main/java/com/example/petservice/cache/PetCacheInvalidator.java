@@ -1,39 +1,133 @@
 package com.example.petservice.cache;
 
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
 import org.springframework.cache.Cache;
 import org.springframework.cache.CacheManager;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 
+/**
+ * 宠物相关缓存失效与变更通知
+ * 宠物变更在事务提交后回调本节点的 {@link PetChangeListener}，并通过 Redis 广播宠物ID，
+ * 其他节点收到后回调各自的监听器，内存索引、全文索引在所有副本上同步刷新；广播丢失时由各索引的定时重建兜底
+ */
+@Slf4j
 @Component
 @RequiredArgsConstructor
-public class PetCacheInvalidator {
+public class PetCacheInvalidator implements MessageListener {
+
+    public static final String PET_CHANGED_CHANNEL = "petproject:pet:changed";
+
+    private static final char SEPARATOR = '|';
 
     private final CacheManager cacheManager;
+    private final ObjectProvider<PetChangeListener> petChangeListeners;
+    private final PetListPageCache petListPageCache;
+    private final StringRedisTemplate stringRedisTemplate;
+    private final RedisMessageListenerContainer redisMessageListenerContainer;
+
+    private final String nodeId = UUID.randomUUID().toString();
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        redisMessageListenerContainer.addMessageListener(this, new ChannelTopic(PET_CHANGED_CHANNEL));
+    }
 
     public void evictPetDetail(Object petId) {
         evict(CacheNames.PET_DETAIL, CacheKeys.petId(petId));
+        notifyPetChanged(petId);
+    }
+
+    /**
+     * 领养、寄养状态流转后清理对应的领养时间线；缓存管理器开启了事务感知，提交后才真正失效
+     */
+    public void evictAdoptionTimeline(Object petId, Object userId) {
+        if (petId == null || userId == null) {
+            return;
+        }
+        evict(CacheNames.ADOPTION_TIMELINE, CacheKeys.adoptionTimeline(petId, userId));
     }
 
     public void evictPetListPages() {
-        clear(CacheNames.PET_LIST_PAGE);
+        petListPageCache.invalidate();
     }
 
-    private void evict(String cacheName, Object key) {
-        Cache cache = cacheManager.getCache(cacheName);
-        if (cache == null) {
+    /**
+     * 通知本节点与其他节点的宠物变更监听器；存在事务时延迟到提交后执行，避免读到未提交数据
+     */
+    public void notifyPetChanged(Object petId) {
+        if (petId == null) {
             return;
         }
-        cache.evict(key);
+        Integer pid = Integer.valueOf(String.valueOf(petId));
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    firePetChangedAndBroadcast(pid);
+                }
+            });
+            return;
+        }
+        firePetChangedAndBroadcast(pid);
+    }
+
+    /**
+     * 处理其他节点的宠物变更广播，格式：nodeId|petId
+     */
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String body = new String(message.getBody(), StandardCharsets.UTF_8);
+        int separator = body.indexOf(SEPARATOR);
+        if (separator < 0 || nodeId.equals(body.substring(0, separator))) {
+            return;
+        }
+        try {
+            firePetChanged(Integer.valueOf(body.substring(separator + 1)));
+        } catch (NumberFormatException e) {
+            log.warn("忽略无法解析的宠物变更消息: {}", body);
+        }
+    }
+
+    private void firePetChangedAndBroadcast(Integer petId) {
+        firePetChanged(petId);
+        try {
+            stringRedisTemplate.convertAndSend(PET_CHANGED_CHANNEL, nodeId + SEPARATOR + petId);
+        } catch (Exception e) {
+            // 广播失败时其他节点依靠索引定时重建兜底
+            log.warn("发布宠物变更消息失败, petId={}", petId, e);
+        }
+    }
+
+    private void firePetChanged(Integer petId) {
+        petChangeListeners.orderedStream().forEach(listener -> {
+            try {
+                listener.onPetChanged(petId);
+            } catch (Exception e) {
+                log.warn("宠物变更监听器执行失败, petId={}", petId, e);
+            }
+        });
     }
 
-    private void clear(String cacheName) {
+    private void evict(String cacheName, Object key) {
         Cache cache = cacheManager.getCache(cacheName);
         if (cache == null) {
             return;
         }
-        cache.clear();
+        cache.evict(key);
     }
 }
-
@@ -0,0 +1,15 @@
+package com.example.petservice.cache;
+
+/**
+ * 宠物变更监听器
+ * 由 {@link PetCacheInvalidator} 在事务提交后回调，变更所在节点直接回调、其他节点收到 Redis 广播后回调，
+ * 用于同步内存索引等派生数据
+ */
+public interface PetChangeListener {
+
+    /**
+     * 宠物数据或其可领养状态发生变化
+     * @param petId 宠物ID
+     */
+    void onPetChanged(Integer petId);
+}
@@ -0,0 +1,98 @@
+package com.example.petservice.cache;
+
+import java.util.function.Supplier;
+
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.baomidou.mybatisplus.core.metadata.IPage;
+import com.example.petpojo.vo.PetListVo;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 宠物列表分页缓存
+ * 仅在可领养宠物内存索引不可用时使用：索引被配置关闭（pet.index.available-pets.enabled=false）、
+ * 启动装载尚未完成或重建失败期间，分页查询回落到数据库，由本缓存挡住重复的筛选与 COUNT 查询；
+ * 索引就绪后列表直接由索引提供，不再读写本缓存。
+ * key 中带有代数（generation），失效时只需对代数计数器执行一次 INCR，
+ * 旧代数下的分页自然无人访问并随 TTL 过期，避免 clear() 触发的键空间扫描
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class PetListPageCache {
+
+    static final String GENERATION_KEY = "petproject:" + CacheNames.PET_LIST_PAGE + ":gen";
+
+    private final CacheManager cacheManager;
+    private final StringRedisTemplate stringRedisTemplate;
+
+    /**
+     * 读取分页缓存，未命中时加载并写回
+     */
+    public IPage<PetListVo> getOrLoad(int current, int size, String species, String breed, String gender,
+                                      Integer minAge, Integer maxAge, Supplier<IPage<PetListVo>> loader) {
+        Cache cache = cacheManager.getCache(CacheNames.PET_LIST_PAGE);
+        Long generation = cache != null ? currentGeneration() : null;
+        if (generation == null) {
+            return loader.get();
+        }
+        String key = CacheKeys.petListPage(generation, current, size, species, breed, gender, minAge, maxAge);
+        try {
+            PetListPageSnapshot cached = cache.get(key, PetListPageSnapshot.class);
+            if (cached != null) {
+                return cached.toPage();
+            }
+        } catch (Exception e) {
+            log.warn("读取宠物列表缓存失败, key={}", key, e);
+        }
+
+        IPage<PetListVo> page = loader.get();
+        try {
+            cache.put(key, PetListPageSnapshot.of(page));
+        } catch (Exception e) {
+            log.warn("写入宠物列表缓存失败, key={}", key, e);
+        }
+        return page;
+    }
+
+    /**
+     * 使所有分页缓存失效；存在事务时在提交后执行，避免并发读把旧数据写进新代数
+     */
+    public void invalidate() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    bumpGeneration();
+                }
+            });
+            return;
+        }
+        bumpGeneration();
+    }
+
+    private Long currentGeneration() {
+        try {
+            String value = stringRedisTemplate.opsForValue().get(GENERATION_KEY);
+            return value != null ? Long.parseLong(value) : 0L;
+        } catch (Exception e) {
+            log.warn("读取宠物列表缓存代数失败，跳过缓存", e);
+            return null;
+        }
+    }
+
+    private void bumpGeneration() {
+        try {
+            stringRedisTemplate.opsForValue().increment(GENERATION_KEY);
+        } catch (Exception e) {
+            log.warn("递增宠物列表缓存代数失败", e);
+        }
+    }
+}
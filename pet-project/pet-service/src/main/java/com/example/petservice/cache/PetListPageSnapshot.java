@@ -0,0 +1,41 @@
+package com.example.petservice.cache;
+
+import java.io.Serial;
+import java.io.Serializable;
+import java.util.List;
+
+import com.baomidou.mybatisplus.core.metadata.IPage;
+import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
+import com.example.petpojo.vo.PetListVo;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * 宠物列表分页缓存快照
+ * MyBatis-Plus 的 Page 含有大量派生属性，无法可靠地 JSON 反序列化，因此缓存时只保存必要字段
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PetListPageSnapshot implements Serializable {
+
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    private List<PetListVo> records;
+    private long total;
+    private long current;
+    private long size;
+
+    public static PetListPageSnapshot of(IPage<PetListVo> page) {
+        return new PetListPageSnapshot(page.getRecords(), page.getTotal(), page.getCurrent(), page.getSize());
+    }
+
+    public IPage<PetListVo> toPage() {
+        Page<PetListVo> page = new Page<>(current, size, total);
+        page.setRecords(records);
+        return page;
+    }
+}
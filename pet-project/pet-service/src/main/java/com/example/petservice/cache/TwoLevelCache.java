@@ -0,0 +1,285 @@
+package com.example.petservice.cache;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+import org.springframework.cache.Cache;
+import org.springframework.cache.support.AbstractValueAdaptingCache;
+
+import com.example.petpojo.vo.CacheStatsVo;
+
+/**
+ * 二级缓存：Caffeine 本地缓存(L1) + Redis 缓存(L2)
+ * 读依次查询 L1、L2，L2 命中后回填 L1；写和失效同时作用于两级。
+ * 只有失效、清空以及覆盖 L2 中已有的不同值才通过发布器通知其他节点清理 L1，未命中后的回填不广播。
+ * L1 保存值对象本身：写入时复制一份，读取时再复制一份返回（见 {@link CacheValueCopier}），
+ * 命中 L1 不需要反序列化，调用方修改返回的 VO 也不会影响缓存中的值；无法复制的值只保存在 L2。
+ * 本地 key 统一转为字符串，保证跨节点失效消息能匹配到同一条目。
+ */
+public class TwoLevelCache extends AbstractValueAdaptingCache {
+
+    /**
+     * 失效消息发布器
+     */
+    @FunctionalInterface
+    public interface InvalidationPublisher {
+        /**
+         * @param cacheName 缓存名称
+         * @param key 本地 key，为 null 表示清空整个缓存
+         */
+        void publish(String cacheName, String key);
+    }
+
+    /**
+     * L2 直接读写：批量读写用一次 MGET / 一次 pipeline 代替逐个 key 的往返，单个写入一次往返取回旧值
+     */
+    public interface BatchAccessor {
+        /**
+         * @return 与 keys 一一对应的值，未命中的位置为 null
+         */
+        List<Object> multiGet(String cacheName, List<String> keys);
+
+        void multiPut(String cacheName, Map<String, Object> entries);
+
+        /**
+         * 原子地写入单个 key 并与旧值比较
+         * @return 覆盖了编码不同的旧值时返回 true，原本不存在或内容相同时返回 false
+         */
+        boolean putReplacing(String cacheName, String key, Object value);
+    }
+
+    private final String name;
+    private final Cache remote;
+    private final com.github.benmanes.caffeine.cache.Cache<String, Object> local;
+    private final InvalidationPublisher publisher;
+    private final BatchAccessor batchAccessor;
+
+    private final LongAdder l1Hits = new LongAdder();
+    private final LongAdder l1Misses = new LongAdder();
+    private final LongAdder l2Hits = new LongAdder();
+    private final LongAdder l2Misses = new LongAdder();
+
+    public TwoLevelCache(String name, Cache remote,
+                         com.github.benmanes.caffeine.cache.Cache<String, Object> local,
+                         InvalidationPublisher publisher, BatchAccessor batchAccessor) {
+        super(false);
+        this.name = name;
+        this.remote = remote;
+        this.local = local;
+        this.publisher = publisher;
+        this.batchAccessor = batchAccessor;
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return this;
+    }
+
+    @Override
+    protected Object lookup(Object key) {
+        String localKey = localKey(key);
+        Object value = readLocal(localKey);
+        if (value != null) {
+            l1Hits.increment();
+            return value;
+        }
+        l1Misses.increment();
+
+        ValueWrapper wrapper = remote.get(key);
+        if (wrapper == null || wrapper.get() == null) {
+            l2Misses.increment();
+            return null;
+        }
+        l2Hits.increment();
+        value = wrapper.get();
+        writeLocal(localKey, value);
+        return value;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        String localKey = localKey(key);
+        Object value = readLocal(localKey);
+        if (value != null) {
+            l1Hits.increment();
+            return (T) fromStoreValue(value);
+        }
+        l1Misses.increment();
+
+        boolean[] loaded = {false};
+        T result = remote.get(key, () -> {
+            loaded[0] = true;
+            return valueLoader.call();
+        });
+        if (loaded[0]) {
+            l2Misses.increment();
+        } else {
+            l2Hits.increment();
+        }
+        if (result != null) {
+            writeLocal(localKey, result);
+        }
+        return result;
+    }
+
+    /**
+     * 批量读取：依次查 L1、一次 MGET 查 L2，剩余未命中交给 loader 一次加载并以 pipeline 写回
+     * @param keys 缓存 key
+     * @param type 值类型
+     * @param loader 按未命中的 key 批量加载，返回的 Map 中不存在的 key 视为数据不存在（不缓存）
+     * @return 命中或加载到的值，按 keys 的顺序排列
+     */
+    public <V> Map<String, V> getAll(Collection<String> keys, Class<V> type,
+                                     Function<List<String>, Map<String, V>> loader) {
+        Map<String, Object> found = new LinkedHashMap<>();
+        List<String> l1MissKeys = new ArrayList<>();
+        for (String key : keys) {
+            Object value = readLocal(key);
+            if (value != null) {
+                l1Hits.increment();
+                found.put(key, value);
+            } else {
+                l1Misses.increment();
+                l1MissKeys.add(key);
+            }
+        }
+
+        List<String> missKeys = new ArrayList<>();
+        if (!l1MissKeys.isEmpty()) {
+            List<Object> remoteValues = batchAccessor.multiGet(name, l1MissKeys);
+            for (int i = 0; i < l1MissKeys.size(); i++) {
+                String key = l1MissKeys.get(i);
+                Object value = i < remoteValues.size() ? remoteValues.get(i) : null;
+                if (type.isInstance(value)) {
+                    l2Hits.increment();
+                    writeLocal(key, value);
+                    found.put(key, value);
+                } else {
+                    l2Misses.increment();
+                    missKeys.add(key);
+                }
+            }
+        }
+
+        if (!missKeys.isEmpty()) {
+            Map<String, V> loaded = loader.apply(missKeys);
+            Map<String, Object> writeBack = new LinkedHashMap<>();
+            loaded.forEach((key, value) -> {
+                if (value != null) {
+                    writeBack.put(key, value);
+                    writeLocal(key, value);
+                    found.put(key, value);
+                }
+            });
+            if (!writeBack.isEmpty()) {
+                batchAccessor.multiPut(name, writeBack);
+            }
+        }
+
+        Map<String, V> result = new LinkedHashMap<>();
+        for (String key : keys) {
+            Object value = found.get(key);
+            if (value != null) {
+                result.put(key, type.cast(value));
+            }
+        }
+        return result;
+    }
+
+    /**
+     * 写入两级缓存
+     * 未命中后的回填（@Cacheable、手动回填）在 L2 中没有旧值，其他节点的 L1 也不会有，无需广播；
+     * 只有覆盖了 L2 中不同的旧值时才是真正的更新，需要通知其他节点清理 L1。
+     * 写入与取回旧值在一次 Lua 调用中完成，比较的是编码后的字节，无需反序列化旧值
+     */
+    @Override
+    public void put(Object key, Object value) {
+        if (value == null) {
+            evict(key);
+            return;
+        }
+        String localKey = localKey(key);
+        boolean replaced = batchAccessor.putReplacing(name, localKey, value);
+        writeLocal(localKey, value);
+        if (replaced) {
+            publisher.publish(name, localKey);
+        }
+    }
+
+    @Override
+    public void evict(Object key) {
+        String localKey = localKey(key);
+        remote.evict(key);
+        local.invalidate(localKey);
+        publisher.publish(name, localKey);
+    }
+
+    @Override
+    public void clear() {
+        remote.clear();
+        local.invalidateAll();
+        publisher.publish(name, null);
+    }
+
+    /**
+     * 处理其他节点的失效消息，只清理本地缓存
+     */
+    void evictLocal(String key) {
+        if (key == null) {
+            local.invalidateAll();
+        } else {
+            local.invalidate(key);
+        }
+    }
+
+    CacheStatsVo stats() {
+        long weight = local.policy().eviction()
+                .map(eviction -> eviction.weightedSize().orElse(0L))
+                .orElse(0L);
+        return new CacheStatsVo(name, l1Hits.sum(), l1Misses.sum(), l2Hits.sum(), l2Misses.sum(),
+                local.estimatedSize(), weight);
+    }
+
+    /**
+     * 读取 L1，返回副本
+     */
+    private Object readLocal(String key) {
+        Object value = local.getIfPresent(key);
+        if (value == null) {
+            return null;
+        }
+        try {
+            return CacheValueCopier.copy(value);
+        } catch (CacheValueCopier.UncopyableException e) {
+            local.invalidate(key);
+            return null;
+        }
+    }
+
+    /**
+     * 把副本写入 L1，调用方之后修改自己持有的实例不会影响缓存；无法复制的值只保留在 L2
+     */
+    private void writeLocal(String key, Object value) {
+        try {
+            local.put(key, CacheValueCopier.copy(value));
+        } catch (CacheValueCopier.UncopyableException e) {
+            local.invalidate(key);
+        }
+    }
+
+    private static String localKey(Object key) {
+        return String.valueOf(key);
+    }
+}
@@ -0,0 +1,268 @@
+package com.example.petservice.cache;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.cache.Cache;
+import org.springframework.cache.transaction.AbstractTransactionSupportingCacheManager;
+import org.springframework.data.redis.cache.RedisCache;
+import org.springframework.data.redis.cache.RedisCacheConfiguration;
+import org.springframework.data.redis.cache.RedisCacheManager;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.connection.ReturnType;
+import org.springframework.data.redis.connection.RedisStringCommands;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.types.Expiration;
+import org.springframework.data.redis.util.ByteUtils;
+import org.springframework.data.redis.serializer.RedisSerializer;
+
+import com.example.petpojo.vo.CacheStatsVo;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 二级缓存管理器
+ * 在 RedisCacheManager 之前为每个缓存加一层按序列化大小计重的 Caffeine 本地缓存，
+ * 本节点的更新与失效通过 Redis pub/sub 广播，其他节点收到后只清理本地缓存。
+ * 同时为二级缓存提供批量访问 L2 的能力（MGET 读、pipeline 写），key 与值的编码与 RedisCache 保持一致。
+ */
+@Slf4j
+public class TwoLevelCacheManager extends AbstractTransactionSupportingCacheManager implements MessageListener {
+
+    public static final String INVALIDATION_CHANNEL = "petproject:cache:invalidate";
+
+    private static final char SEPARATOR = '|';
+    private static final String MODE_EVICT = "E";
+    private static final String MODE_CLEAR = "C";
+
+    /**
+     * KEYS[1] 缓存 key；ARGV[1] 编码后的值，ARGV[2] 过期毫秒数（0 表示不过期）；返回旧值
+     */
+    private static final byte[] PUT_REPLACING_SCRIPT = """
+            local old = redis.call('GET', KEYS[1])
+            if tonumber(ARGV[2]) > 0 then
+                redis.call('SET', KEYS[1], ARGV[1], 'PX', ARGV[2])
+            else
+                redis.call('SET', KEYS[1], ARGV[1])
+            end
+            return old
+            """.getBytes(StandardCharsets.UTF_8);
+
+    private final String nodeId = UUID.randomUUID().toString();
+    private final RedisCacheManager redisCacheManager;
+    private final StringRedisTemplate stringRedisTemplate;
+    private final RedisSerializer<Object> localSerializer;
+    private final long localMaxWeightBytes;
+    private final Duration defaultLocalTtl;
+    private final Map<String, Duration> localTtls;
+    private final Map<String, TwoLevelCache> twoLevelCaches = new ConcurrentHashMap<>();
+
+    /**
+     * @param redisCacheManager L2 缓存管理器（不应再开启事务感知，由本管理器统一装饰）
+     * @param stringRedisTemplate 用于发布失效消息
+     * @param localSerializer 用于估算本地条目大小，与 L2 使用同一序列化器
+     * @param localMaxWeightBytes 每个缓存的本地容量上限（字节）
+     * @param defaultLocalTtl 本地缓存默认过期时间
+     * @param localTtls 指定缓存的本地过期时间，应不超过其 Redis TTL
+     */
+    public TwoLevelCacheManager(RedisCacheManager redisCacheManager, StringRedisTemplate stringRedisTemplate,
+                                RedisSerializer<Object> localSerializer, long localMaxWeightBytes,
+                                Duration defaultLocalTtl, Map<String, Duration> localTtls) {
+        this.redisCacheManager = redisCacheManager;
+        this.stringRedisTemplate = stringRedisTemplate;
+        this.localSerializer = localSerializer;
+        this.localMaxWeightBytes = localMaxWeightBytes;
+        this.defaultLocalTtl = defaultLocalTtl;
+        this.localTtls = localTtls;
+    }
+
+    @Override
+    protected Collection<? extends Cache> loadCaches() {
+        redisCacheManager.initializeCaches();
+        List<Cache> caches = new ArrayList<>();
+        for (String name : redisCacheManager.getCacheNames()) {
+            Cache remote = redisCacheManager.getCache(name);
+            if (remote != null) {
+                caches.add(createTwoLevelCache(name, remote));
+            }
+        }
+        return caches;
+    }
+
+    @Override
+    protected Cache getMissingCache(String name) {
+        Cache remote = redisCacheManager.getCache(name);
+        return remote != null ? createTwoLevelCache(name, remote) : null;
+    }
+
+    /**
+     * 获取未经事务装饰的二级缓存，用于批量读取
+     * @param name 缓存名称
+     * @return 二级缓存，不存在时返回 null
+     */
+    public TwoLevelCache getTwoLevelCache(String name) {
+        getCache(name);
+        return twoLevelCaches.get(name);
+    }
+
+    /**
+     * 各缓存的分层命中统计
+     */
+    public List<CacheStatsVo> getStats() {
+        return twoLevelCaches.values().stream()
+                .map(TwoLevelCache::stats)
+                .sorted(Comparator.comparing(CacheStatsVo::getCacheName))
+                .toList();
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String body = new String(message.getBody(), StandardCharsets.UTF_8);
+        // 格式：nodeId|mode|cacheName|key
+        String[] parts = body.split("\\" + SEPARATOR, 4);
+        if (parts.length < 3 || nodeId.equals(parts[0])) {
+            return;
+        }
+        TwoLevelCache cache = twoLevelCaches.get(parts[2]);
+        if (cache == null) {
+            return;
+        }
+        if (MODE_CLEAR.equals(parts[1])) {
+            cache.evictLocal(null);
+        } else if (parts.length == 4) {
+            cache.evictLocal(parts[3]);
+        }
+    }
+
+    private TwoLevelCache createTwoLevelCache(String name, Cache remote) {
+        return twoLevelCaches.computeIfAbsent(name, n -> {
+            com.github.benmanes.caffeine.cache.Cache<String, Object> local = Caffeine.newBuilder()
+                    .maximumWeight(localMaxWeightBytes)
+                    .weigher(this::weigh)
+                    .expireAfterWrite(localTtls.getOrDefault(n, defaultLocalTtl))
+                    .build();
+            return new TwoLevelCache(n, remote, local, this::publish, new RedisBatchAccessor());
+        });
+    }
+
+    private RedisCacheConfiguration redisConfigOf(String cacheName) {
+        Cache remote = redisCacheManager.getCache(cacheName);
+        return remote instanceof RedisCache redisCache ? redisCache.getCacheConfiguration() : null;
+    }
+
+    private static byte[] cacheKey(RedisCacheConfiguration config, String cacheName, String key) {
+        String fullKey = config.usePrefix() ? config.getKeyPrefixFor(cacheName) + key : key;
+        return ByteUtils.getBytes(config.getKeySerializationPair().write(fullKey));
+    }
+
+    private final class RedisBatchAccessor implements TwoLevelCache.BatchAccessor {
+
+        @Override
+        public List<Object> multiGet(String cacheName, List<String> keys) {
+            List<Object> values = new ArrayList<>(keys.size());
+            RedisCacheConfiguration config = redisConfigOf(cacheName);
+            if (config == null) {
+                keys.forEach(key -> values.add(null));
+                return values;
+            }
+            byte[][] rawKeys = keys.stream().map(key -> cacheKey(config, cacheName, key)).toArray(byte[][]::new);
+            List<byte[]> raw = null;
+            try {
+                raw = stringRedisTemplate.execute((RedisCallback<List<byte[]>>) connection ->
+                        connection.stringCommands().mGet(rawKeys));
+            } catch (Exception e) {
+                log.warn("批量读取缓存失败, cache={}, size={}", cacheName, keys.size(), e);
+            }
+            for (int i = 0; i < keys.size(); i++) {
+                byte[] bytes = raw != null && i < raw.size() ? raw.get(i) : null;
+                values.add(bytes != null ? deserialize(config, bytes) : null);
+            }
+            return values;
+        }
+
+        @Override
+        public void multiPut(String cacheName, Map<String, Object> entries) {
+            RedisCacheConfiguration config = redisConfigOf(cacheName);
+            if (config == null) {
+                return;
+            }
+            try {
+                stringRedisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+                    entries.forEach((key, value) -> {
+                        Duration ttl = config.getTtlFunction().getTimeToLive(key, value);
+                        Expiration expiration = ttl != null && !ttl.isZero() && !ttl.isNegative()
+                                ? Expiration.from(ttl) : Expiration.persistent();
+                        connection.stringCommands().set(cacheKey(config, cacheName, key),
+                                ByteUtils.getBytes(config.getValueSerializationPair().write(value)),
+                                expiration, RedisStringCommands.SetOption.upsert());
+                    });
+                    return null;
+                });
+            } catch (Exception e) {
+                log.warn("批量写入缓存失败, cache={}, size={}", cacheName, entries.size(), e);
+            }
+        }
+
+        @Override
+        public boolean putReplacing(String cacheName, String key, Object value) {
+            RedisCacheConfiguration config = redisConfigOf(cacheName);
+            if (config == null) {
+                Cache remote = redisCacheManager.getCache(cacheName);
+                if (remote != null) {
+                    remote.put(key, value);
+                }
+                // 无法比较旧值，按更新处理
+                return true;
+            }
+            Duration ttl = config.getTtlFunction().getTimeToLive(key, value);
+            long ttlMillis = ttl != null && !ttl.isZero() && !ttl.isNegative() ? ttl.toMillis() : 0;
+            byte[] encoded = ByteUtils.getBytes(config.getValueSerializationPair().write(value));
+            byte[] previous = stringRedisTemplate.execute((RedisCallback<byte[]>) connection ->
+                    connection.scriptingCommands().eval(PUT_REPLACING_SCRIPT, ReturnType.VALUE, 1,
+                            cacheKey(config, cacheName, key), encoded,
+                            String.valueOf(ttlMillis).getBytes(StandardCharsets.UTF_8)));
+            return previous != null && !Arrays.equals(previous, encoded);
+        }
+
+        private Object deserialize(RedisCacheConfiguration config, byte[] bytes) {
+            try {
+                return config.getValueSerializationPair().read(ByteBuffer.wrap(bytes));
+            } catch (Exception e) {
+                // 无法反序列化的旧格式条目按未命中处理，随后被新值覆盖
+                return null;
+            }
+        }
+    }
+
+    private int weigh(String key, Object value) {
+        try {
+            byte[] bytes = localSerializer.serialize(value);
+            return key.length() + (bytes != null ? bytes.length : 0);
+        } catch (Exception e) {
+            return key.length() + 1024;
+        }
+    }
+
+    private void publish(String cacheName, String key) {
+        String mode = key == null ? MODE_CLEAR : MODE_EVICT;
+        String body = nodeId + SEPARATOR + mode + SEPARATOR + cacheName + SEPARATOR + (key == null ? "" : key);
+        try {
+            stringRedisTemplate.convertAndSend(INVALIDATION_CHANNEL, body);
+        } catch (Exception e) {
+            // 广播失败时其他节点依靠本地 TTL 兜底
+            log.warn("发布缓存失效消息失败, cache={}, key={}", cacheName, key, e);
+        }
+    }
+}
@@ -0,0 +1,132 @@
+package com.example.petservice.cache;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Supplier;
+
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.example.petpojo.vo.CursorPageVo;
+import com.example.petpojo.vo.HealthAlertsVo;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 用户健康提醒列表缓存
+ * key 中带有全局代数与用户代数：单条提醒写入只 INCR 该宠物领养人的代数，
+ * 批量状态流转（过期、归档）INCR 全局代数，旧代数下的条目随 TTL 过期
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class UserHealthAlertsCache {
+
+    static final String GENERATION_KEY = "petproject:" + CacheNames.USER_HEALTH_ALERTS + ":gen";
+
+    private final CacheManager cacheManager;
+    private final StringRedisTemplate stringRedisTemplate;
+
+    /**
+     * 读取用户提醒缓存，未命中时加载并写回
+     * @param query 查询类型，区分完整列表与分页
+     */
+    @SuppressWarnings("unchecked")
+    public CursorPageVo<HealthAlertsVo> getOrLoad(Integer userId, String query, String cursor, int size, String status,
+                                                  Supplier<CursorPageVo<HealthAlertsVo>> loader) {
+        Cache cache = cacheManager.getCache(CacheNames.USER_HEALTH_ALERTS);
+        long[] generations = cache != null ? currentGenerations(userId) : null;
+        if (generations == null) {
+            return loader.get();
+        }
+        String key = CacheKeys.userHealthAlerts(generations[0], generations[1], userId, query, cursor, size, status);
+        try {
+            CursorPageVo<HealthAlertsVo> cached = cache.get(key, CursorPageVo.class);
+            if (cached != null) {
+                return cached;
+            }
+        } catch (Exception e) {
+            log.warn("读取用户健康提醒缓存失败, key={}", key, e);
+        }
+
+        CursorPageVo<HealthAlertsVo> page = loader.get();
+        // subList、List.of 等实现无法按类型信息反序列化，统一复制为 ArrayList
+        page.setRecords(new ArrayList<>(page.getRecords()));
+        try {
+            cache.put(key, page);
+        } catch (Exception e) {
+            log.warn("写入用户健康提醒缓存失败, key={}", key, e);
+        }
+        return page;
+    }
+
+    /**
+     * 使指定用户的缓存失效；存在事务时在提交后执行
+     */
+    public void invalidate(Collection<? extends Number> userIds) {
+        List<String> keys = userIds.stream()
+                .filter(Objects::nonNull)
+                .map(userId -> GENERATION_KEY + ":" + userId.longValue())
+                .distinct()
+                .toList();
+        if (!keys.isEmpty()) {
+            afterCommit(() -> keys.forEach(this::bump));
+        }
+    }
+
+    /**
+     * 使所有用户的缓存失效
+     */
+    public void invalidateAll() {
+        afterCommit(() -> bump(GENERATION_KEY));
+    }
+
+    private void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+            return;
+        }
+        action.run();
+    }
+
+    /**
+     * @return {全局代数, 用户代数}；Redis 不可用时返回 null 跳过缓存
+     */
+    private long[] currentGenerations(Integer userId) {
+        try {
+            List<String> values = stringRedisTemplate.opsForValue()
+                    .multiGet(List.of(GENERATION_KEY, GENERATION_KEY + ":" + userId));
+            if (values == null) {
+                return null;
+            }
+            return new long[]{parse(values.get(0)), parse(values.get(1))};
+        } catch (Exception e) {
+            log.warn("读取用户健康提醒缓存代数失败，跳过缓存", e);
+            return null;
+        }
+    }
+
+    private void bump(String key) {
+        try {
+            stringRedisTemplate.opsForValue().increment(key);
+        } catch (Exception e) {
+            log.warn("递增用户健康提醒缓存代数失败, key={}", key, e);
+        }
+    }
+
+    private static long parse(String value) {
+        return value != null ? Long.parseLong(value) : 0L;
+    }
+}
@@ -4,40 +4,86 @@ import java.time.Duration;
 import java.util.HashMap;
 import java.util.Map;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.cache.annotation.EnableCaching;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
 import org.springframework.core.Ordered;
 import org.springframework.data.redis.cache.RedisCacheConfiguration;
 import org.springframework.data.redis.cache.RedisCacheManager;
 import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
 import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
 import org.springframework.data.redis.serializer.RedisSerializationContext;
 
 import com.example.petservice.cache.CacheNames;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.example.petservice.cache.TwoLevelCacheManager;
 
 @Configuration
 @EnableCaching(order = Ordered.HIGHEST_PRECEDENCE)
 public class RedisCacheConfig {
 
+    @Value("${pet.cache.local.max-weight-bytes:33554432}")
+    private long localMaxWeightBytes;
+
+    @Value("${pet.cache.local.ttl:PT5M}")
+    private Duration localTtl;
+
     @Bean
-    public RedisCacheManager cacheManager(RedisConnectionFactory connectionFactory) {
-        GenericJackson2JsonRedisSerializer valueSerializer = new GenericJackson2JsonRedisSerializer();
+    public GenericJackson2JsonRedisSerializer cacheValueSerializer() {
+        GenericJackson2JsonRedisSerializer serializer = new GenericJackson2JsonRedisSerializer();
+        // 时间线等缓存值含有 LocalDateTime
+        serializer.configure(mapper -> mapper.registerModule(new JavaTimeModule()));
+        return serializer;
+    }
 
+    @Bean
+    @Primary
+    public TwoLevelCacheManager cacheManager(RedisConnectionFactory connectionFactory,
+                                             StringRedisTemplate stringRedisTemplate,
+                                             GenericJackson2JsonRedisSerializer cacheValueSerializer) {
         RedisCacheConfiguration defaultConfig = RedisCacheConfiguration.defaultCacheConfig()
                 .disableCachingNullValues()
-                .serializeValuesWith(RedisSerializationContext.SerializationPair.fromSerializer(valueSerializer))
+                .serializeValuesWith(RedisSerializationContext.SerializationPair.fromSerializer(cacheValueSerializer))
                 .entryTtl(Duration.ofMinutes(5))
                 .computePrefixWith(cacheName -> "petproject:" + cacheName + ":");
 
+        Map<String, Duration> redisTtls = new HashMap<>();
+        redisTtls.put(CacheNames.PET_LIST_PAGE, Duration.ofSeconds(30));
+        redisTtls.put(CacheNames.PET_DETAIL, Duration.ofMinutes(10));
+        redisTtls.put(CacheNames.ADOPTION_TIMELINE, Duration.ofMinutes(10));
+        redisTtls.put(CacheNames.USER_HEALTH_ALERTS, Duration.ofMinutes(2));
+
         Map<String, RedisCacheConfiguration> perCacheConfig = new HashMap<>();
-        perCacheConfig.put(CacheNames.PET_LIST_PAGE, defaultConfig.entryTtl(Duration.ofSeconds(30)));
-        perCacheConfig.put(CacheNames.PET_DETAIL, defaultConfig.entryTtl(Duration.ofMinutes(10)));
+        Map<String, Duration> localTtls = new HashMap<>();
+        redisTtls.forEach((name, ttl) -> {
+            perCacheConfig.put(name, defaultConfig.entryTtl(ttl));
+            // 本地副本不应比 Redis 中的条目活得更久
+            localTtls.put(name, ttl.compareTo(localTtl) < 0 ? ttl : localTtl);
+        });
 
-        return RedisCacheManager.builder(connectionFactory)
+        // 事务感知由二级缓存管理器统一处理，这里不再开启
+        RedisCacheManager redisCacheManager = RedisCacheManager.builder(connectionFactory)
                 .cacheDefaults(defaultConfig)
                 .withInitialCacheConfigurations(perCacheConfig)
-                .transactionAware()
                 .build();
+
+        TwoLevelCacheManager cacheManager = new TwoLevelCacheManager(redisCacheManager, stringRedisTemplate,
+                cacheValueSerializer, localMaxWeightBytes, localTtl, localTtls);
+        cacheManager.setTransactionAware(true);
+        return cacheManager;
+    }
+
+    @Bean
+    public RedisMessageListenerContainer redisMessageListenerContainer(RedisConnectionFactory connectionFactory,
+                                                                       TwoLevelCacheManager cacheManager) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        container.addMessageListener(cacheManager, new ChannelTopic(TwoLevelCacheManager.INVALIDATION_CHANNEL));
+        return container;
     }
 }
@@ -0,0 +1,395 @@
+package com.example.petservice.dashboard;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Supplier;
+
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.example.petpojo.entity.Pets;
+import com.example.petpojo.entity.enums.CommonEnum;
+import com.example.petpojo.vo.ShelterStatusCountVo;
+import com.example.petpojo.vo.ShelterVo;
+import com.example.petservice.mapper.DashboardMapper;
+import com.example.petservice.mapper.PetsMapper;
+import com.example.petservice.pagination.PageCountEstimator;
+import com.example.petservice.pagination.PageStatements;
+import com.example.petservice.reference.ReferenceDataCache;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 收容所看板计数器
+ * 每个收容所一个 Redis 哈希 petproject:dashboard:shelter:{sid}，字段为“类别:状态”，
+ * 如 adoption:PENDING、foster:ONGOING、pet:AVAILABLE。状态流转在事务提交后通过 Lua 原子地增减，
+ * 同一次流转涉及的多个字段（旧状态减一、新状态加一）一起生效；哈希不存在时跳过增量，
+ * 首次读取时从数据库装载。定时校准以数据库为准整体覆盖，修正提交后增量丢失等造成的偏差。
+ * 同时为管理员领养、寄养列表的 ESTIMATED 分页策略提供总数。
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ShelterDashboardCounters implements PageCountEstimator {
+
+    static final String KEY_PREFIX = "petproject:dashboard:shelter:";
+    public static final String ADOPTION = "adoption";
+    public static final String FOSTER = "foster";
+    public static final String PET = "pet";
+
+    private static final String SEEDED_FIELD = "_seeded";
+    private static final Object PENDING_RESOURCE = new Object();
+
+    /**
+     * KEYS[i] 收容所哈希，ARGV[2i-1] 字段，ARGV[2i] 增量；只更新已装载的哈希
+     */
+    private static final DefaultRedisScript<Long> INCREMENT_SCRIPT = new DefaultRedisScript<>("""
+            local applied = 0
+            for i = 1, #KEYS do
+                if redis.call('EXISTS', KEYS[i]) == 1 then
+                    redis.call('HINCRBY', KEYS[i], ARGV[2 * i - 1], ARGV[2 * i])
+                    applied = applied + 1
+                end
+            end
+            return applied
+            """, Long.class);
+
+    /**
+     * 以数据库统计结果整体覆盖哈希；ARGV 为字段、值交替排列
+     */
+    private static final DefaultRedisScript<Long> REPLACE_SCRIPT = new DefaultRedisScript<>("""
+            redis.call('DEL', KEYS[1])
+            redis.call('HSET', KEYS[1], '_seeded', '1')
+            for i = 1, #ARGV, 2 do
+                redis.call('HSET', KEYS[1], ARGV[i], ARGV[i + 1])
+            end
+            return 1
+            """, Long.class);
+
+    private final StringRedisTemplate stringRedisTemplate;
+    private final DashboardMapper dashboardMapper;
+    private final PetsMapper petsMapper;
+    private final ReferenceDataCache referenceDataCache;
+
+    /**
+     * 新的领养申请；收容所在提交后按宠物查询
+     */
+    public void adoptionCreated(Integer petId) {
+        afterCommit(() -> {
+            Pets pet = petsMapper.selectById(petId);
+            if (pet == null) {
+                return List.of();
+            }
+            return List.of(new Delta(pet.getShelterId(), field(ADOPTION, CommonEnum.AdoptionStatusEnum.PENDING.getCode()), 1));
+        });
+    }
+
+    /**
+     * 领养申请状态流转
+     * @param shelterId 宠物所属收容所ID
+     * @param from 原状态，新建时为空
+     * @param to 新状态，删除时为空
+     */
+    public void adoptionChanged(Integer shelterId, CommonEnum.AdoptionStatusEnum from, CommonEnum.AdoptionStatusEnum to) {
+        transition(ADOPTION, shelterId, from != null ? from.getCode() : null, shelterId, to != null ? to.getCode() : null);
+    }
+
+    /**
+     * 寄养记录状态流转
+     * @param shelterId 寄养收容所ID
+     * @param from 原状态，新建时为空
+     * @param to 新状态，逻辑删除时为空
+     */
+    public void fosterChanged(Integer shelterId, CommonEnum.FosterStatusEnum from, CommonEnum.FosterStatusEnum to) {
+        transition(FOSTER, shelterId, from != null ? from.getCode() : null, shelterId, to != null ? to.getCode() : null);
+    }
+
+    /**
+     * 宠物状态或所属收容所变化
+     * @param fromShelterId 原收容所ID，新建时为空
+     * @param from 原状态，新建时为空
+     * @param toShelterId 新收容所ID，删除时为空
+     * @param to 新状态，删除时为空
+     */
+    public void petChanged(Integer fromShelterId, CommonEnum.PetStatusEnum from,
+                           Integer toShelterId, CommonEnum.PetStatusEnum to) {
+        transition(PET, fromShelterId, from != null ? from.getCode() : null, toShelterId, to != null ? to.getCode() : null);
+    }
+
+    /**
+     * 宠物更换收容所：领养记录按宠物所属收容所计数，各状态计数随宠物一起迁移；
+     * 寄养记录按寄养收容所计数，不随宠物迁移。需在事务内调用
+     * @param petId 宠物ID
+     * @param fromShelterId 原收容所ID
+     * @param toShelterId 新收容所ID
+     */
+    public void petShelterChanged(Integer petId, Integer fromShelterId, Integer toShelterId) {
+        if (Objects.equals(fromShelterId, toShelterId)) {
+            return;
+        }
+        List<Delta> deltas = new ArrayList<>();
+        for (ShelterStatusCountVo row : dashboardMapper.selectPetRecordCounts(petId)) {
+            if (ADOPTION.equals(row.getCategory())) {
+                String field = field(ADOPTION, row.getStatus());
+                deltas.add(new Delta(fromShelterId, field, -row.getCount()));
+                deltas.add(new Delta(toShelterId, field, row.getCount()));
+            }
+        }
+        if (!deltas.isEmpty()) {
+            afterCommit(() -> deltas);
+        }
+    }
+
+    /**
+     * 宠物删除会级联删除其领养、寄养记录，扣减对应计数；需在删除前、事务内调用
+     * @param petId 宠物ID
+     * @param shelterId 宠物所属收容所ID
+     */
+    public void petRecordsDeleted(Integer petId, Integer shelterId) {
+        List<Delta> deltas = new ArrayList<>();
+        for (ShelterStatusCountVo row : dashboardMapper.selectPetRecordCounts(petId)) {
+            Integer target = ADOPTION.equals(row.getCategory()) ? shelterId : row.getShelterId();
+            deltas.add(new Delta(target, field(row.getCategory(), row.getStatus()), -row.getCount()));
+        }
+        if (!deltas.isEmpty()) {
+            afterCommit(() -> deltas);
+        }
+    }
+
+    /**
+     * 读取收容所的全部计数，哈希不存在时从数据库装载
+     * @param shelterId 收容所ID
+     * @return 字段到计数的映射
+     */
+    public Map<String, Long> read(Integer shelterId) {
+        Map<Object, Object> entries = stringRedisTemplate.opsForHash().entries(key(shelterId));
+        return entries.isEmpty() ? reconcile(shelterId) : parse(entries);
+    }
+
+    /**
+     * 读取全部收容所计数之和；各收容所哈希在同一个管道中读取，只有尚未装载的才逐个回源数据库
+     */
+    public Map<String, Long> readAll() {
+        List<ShelterVo> shelters = referenceDataCache.listShelters();
+        Map<String, Long> total = new HashMap<>();
+        if (shelters.isEmpty()) {
+            return total;
+        }
+        List<Object> results = stringRedisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            for (ShelterVo shelter : shelters) {
+                connection.hashCommands().hGetAll(key(shelter.getSid()).getBytes(StandardCharsets.UTF_8));
+            }
+            return null;
+        });
+        for (int i = 0; i < shelters.size(); i++) {
+            Object entries = i < results.size() ? results.get(i) : null;
+            Map<String, Long> counts = entries instanceof Map<?, ?> map && !map.isEmpty()
+                    ? parse(map) : reconcile(shelters.get(i).getSid());
+            counts.forEach((field, count) -> total.merge(field, count, Long::sum));
+        }
+        return total;
+    }
+
+    /**
+     * 以数据库为准重建单个收容所的计数
+     * @return 重建后的计数
+     */
+    public Map<String, Long> reconcile(Integer shelterId) {
+        Map<String, Long> counts = new HashMap<>();
+        for (ShelterStatusCountVo row : dashboardMapper.selectStatusCounts(shelterId)) {
+            counts.merge(field(row.getCategory(), row.getStatus()), row.getCount(), Long::sum);
+        }
+        write(shelterId, counts);
+        return counts;
+    }
+
+    /**
+     * 定时校准全部收容所计数
+     */
+    @Scheduled(fixedDelayString = "${pet.dashboard.reconcile-interval-ms:600000}",
+            initialDelayString = "${pet.dashboard.reconcile-interval-ms:600000}")
+    public void reconcileAll() {
+        long start = System.currentTimeMillis();
+        try {
+            Map<Integer, Map<String, Long>> byShelter = new HashMap<>();
+            for (ShelterVo shelter : referenceDataCache.listShelters()) {
+                byShelter.put(shelter.getSid(), new HashMap<>());
+            }
+            for (ShelterStatusCountVo row : dashboardMapper.selectStatusCounts(null)) {
+                if (row.getShelterId() == null) {
+                    continue;
+                }
+                byShelter.computeIfAbsent(row.getShelterId(), k -> new HashMap<>())
+                        .merge(field(row.getCategory(), row.getStatus()), row.getCount(), Long::sum);
+            }
+            byShelter.forEach(this::write);
+            log.info("看板计数校准完成, shelters={}, cost={}ms", byShelter.size(), System.currentTimeMillis() - start);
+        } catch (Exception e) {
+            log.error("看板计数校准失败", e);
+        }
+    }
+
+    @Override
+    public Long estimate(String statement, Object... filters) {
+        String category;
+        List<String> statuses;
+        if (PageStatements.ADMIN_ADOPTIONS.equals(statement)) {
+            category = ADOPTION;
+            statuses = codes(CommonEnum.AdoptionStatusEnum.values());
+        } else if (PageStatements.ADMIN_FOSTERS.equals(statement)) {
+            category = FOSTER;
+            statuses = codes(CommonEnum.FosterStatusEnum.values());
+        } else {
+            return null;
+        }
+        Integer shelterId = filters.length > 0 && filters[0] instanceof Integer id ? id : null;
+        String status = filters.length > 1 && filters[1] != null ? String.valueOf(filters[1]).trim().toUpperCase() : null;
+        if (status != null && !status.isEmpty() && !statuses.contains(status)) {
+            // 非法状态的过滤口径交给数据库
+            return null;
+        }
+        Map<String, Long> counts = shelterId != null ? read(shelterId) : readAll();
+        if (status != null && !status.isEmpty()) {
+            return Math.max(0L, counts.getOrDefault(field(category, status), 0L));
+        }
+        long total = 0;
+        for (String code : statuses) {
+            total += counts.getOrDefault(field(category, code), 0L);
+        }
+        return Math.max(0L, total);
+    }
+
+    /**
+     * 按类别整理计数，补齐所有状态
+     */
+    public static Map<String, Long> section(Map<String, Long> counts, String category, List<String> statuses) {
+        Map<String, Long> section = new LinkedHashMap<>();
+        for (String status : statuses) {
+            section.put(status, Math.max(0L, counts.getOrDefault(field(category, status), 0L)));
+        }
+        return section;
+    }
+
+    public static List<String> codes(Enum<?>[] values) {
+        return Arrays.stream(values).map(Enum::name).toList();
+    }
+
+    private void transition(String category, Integer fromShelterId, String from, Integer toShelterId, String to) {
+        if (from != null && to != null && from.equals(to) && Objects.equals(fromShelterId, toShelterId)) {
+            return;
+        }
+        List<Delta> deltas = new ArrayList<>(2);
+        if (fromShelterId != null && from != null) {
+            deltas.add(new Delta(fromShelterId, field(category, from), -1));
+        }
+        if (toShelterId != null && to != null) {
+            deltas.add(new Delta(toShelterId, field(category, to), 1));
+        }
+        if (!deltas.isEmpty()) {
+            afterCommit(() -> deltas);
+        }
+    }
+
+    /**
+     * 同一事务内的所有增量在提交后合并为一次脚本调用，批量审核也只访问一次 Redis
+     */
+    private void afterCommit(Supplier<List<Delta>> deltas) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            apply(List.of(deltas));
+            return;
+        }
+        @SuppressWarnings("unchecked")
+        List<Supplier<List<Delta>>> pending =
+                (List<Supplier<List<Delta>>>) TransactionSynchronizationManager.getResource(PENDING_RESOURCE);
+        if (pending != null) {
+            pending.add(deltas);
+            return;
+        }
+        List<Supplier<List<Delta>>> buffer = new ArrayList<>();
+        buffer.add(deltas);
+        TransactionSynchronizationManager.bindResource(PENDING_RESOURCE, buffer);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                apply(buffer);
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                TransactionSynchronizationManager.unbindResourceIfPossible(PENDING_RESOURCE);
+            }
+        });
+    }
+
+    private void apply(List<Supplier<List<Delta>>> suppliers) {
+        try {
+            Map<String, Map<String, Long>> merged = new LinkedHashMap<>();
+            for (Supplier<List<Delta>> supplier : suppliers) {
+                for (Delta delta : supplier.get()) {
+                    if (delta.shelterId() == null) {
+                        continue;
+                    }
+                    merged.computeIfAbsent(key(delta.shelterId()), k -> new LinkedHashMap<>())
+                            .merge(delta.field(), delta.delta(), Long::sum);
+                }
+            }
+            List<String> keys = new ArrayList<>();
+            List<String> args = new ArrayList<>();
+            merged.forEach((key, fields) -> fields.forEach((field, delta) -> {
+                if (delta != 0) {
+                    keys.add(key);
+                    args.add(field);
+                    args.add(String.valueOf(delta));
+                }
+            }));
+            if (!keys.isEmpty()) {
+                stringRedisTemplate.execute(INCREMENT_SCRIPT, keys, args.toArray());
+            }
+        } catch (Exception e) {
+            // 增量丢失由定时校准修正
+            log.warn("看板计数更新失败，等待定时校准", e);
+        }
+    }
+
+    private void write(Integer shelterId, Map<String, Long> counts) {
+        List<String> args = new ArrayList<>(counts.size() * 2);
+        counts.forEach((field, count) -> {
+            args.add(field);
+            args.add(String.valueOf(count));
+        });
+        stringRedisTemplate.execute(REPLACE_SCRIPT, List.of(key(shelterId)), args.toArray());
+    }
+
+    private static Map<String, Long> parse(Map<?, ?> entries) {
+        Map<String, Long> counts = new HashMap<>();
+        entries.forEach((field, value) -> {
+            if (!SEEDED_FIELD.equals(String.valueOf(field))) {
+                counts.put(String.valueOf(field), Long.parseLong(String.valueOf(value)));
+            }
+        });
+        return counts;
+    }
+
+    private static String key(Integer shelterId) {
+        return KEY_PREFIX + shelterId;
+    }
+
+    private static String field(String category, String status) {
+        return category + ":" + (status == null ? "" : status.toUpperCase());
+    }
+
+    private record Delta(Integer shelterId, String field, long delta) {
+    }
+}
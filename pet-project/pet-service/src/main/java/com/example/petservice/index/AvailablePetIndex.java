@@ -0,0 +1,325 @@
+package com.example.petservice.index;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.baomidou.mybatisplus.core.metadata.IPage;
+import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
+import com.example.petpojo.vo.PetFacetsVo;
+import com.example.petpojo.vo.PetListVo;
+import com.example.petservice.cache.PetChangeListener;
+import com.example.petservice.mapper.ListPetsMapper;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 可领养宠物内存索引
+ * 以 pid 作为位下标，按物种、品种、性别维护位图，按年龄维护有序索引，
+ * 筛选即位图求交，遍历位图天然按 pid 升序，与数据库分页顺序一致；同时增量维护各筛选项计数。
+ * 通过 {@link PetChangeListener} 在事务提交后增量刷新单个宠物，并定时全量重建兜底
+ * （物种、品种、收容所改名等不经过宠物写路径的变化）。
+ * 增量刷新与重建都在 refreshLock 内完成“读库 + 应用”，后读到的数据一定后应用，
+ * 旧快照不会覆盖新快照；读写锁的写锁只在修改内存结构时持有：
+ * 重建在锁外把全量数据构建成新的 {@link Snapshot}，再持写锁替换。
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class AvailablePetIndex implements PetChangeListener {
+
+    private final ListPetsMapper listPetsMapper;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    /**
+     * 串行化“读库 + 应用”，加锁顺序为 refreshLock → lock
+     */
+    private final Object refreshLock = new Object();
+
+    @Value("${pet.index.available-pets.enabled:true}")
+    private boolean enabled;
+
+    private volatile boolean ready;
+
+    /**
+     * 当前索引数据，读写均在 lock 内进行，重建时整体替换
+     */
+    private Snapshot snapshot = new Snapshot();
+
+    /**
+     * 索引是否可用于查询
+     */
+    public boolean isReady() {
+        return enabled && ready;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        if (enabled) {
+            rebuild();
+        }
+    }
+
+    /**
+     * 定时全量重建，修正名称类字段的陈旧数据
+     */
+    @Scheduled(fixedDelayString = "${pet.index.available-pets.rebuild-interval-ms:600000}",
+            initialDelayString = "${pet.index.available-pets.rebuild-interval-ms:600000}")
+    public void scheduledRebuild() {
+        if (enabled) {
+            rebuild();
+        }
+    }
+
+    /**
+     * 全量重建索引；重建期间到达的增量刷新会排队在重建之后重新读库
+     */
+    public void rebuild() {
+        long start = System.currentTimeMillis();
+        synchronized (refreshLock) {
+            Snapshot rebuilt = new Snapshot();
+            try {
+                for (PetListVo pet : listPetsMapper.selectAllAvailablePetList()) {
+                    rebuilt.add(pet);
+                }
+            } catch (Exception e) {
+                ready = false;
+                log.error("可领养宠物内存索引构建失败，回退数据库查询", e);
+                return;
+            }
+            lock.writeLock().lock();
+            try {
+                snapshot = rebuilt;
+                ready = true;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            log.info("可领养宠物内存索引构建完成, size={}, cost={}ms", rebuilt.rows.size(), System.currentTimeMillis() - start);
+        }
+    }
+
+    @Override
+    public void onPetChanged(Integer petId) {
+        if (!enabled || petId == null) {
+            return;
+        }
+        synchronized (refreshLock) {
+            PetListVo latest = listPetsMapper.selectAvailablePetListById(petId);
+            lock.writeLock().lock();
+            try {
+                snapshot.remove(petId);
+                if (latest != null) {
+                    snapshot.add(latest);
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+    }
+
+    /**
+     * 按条件分页查询，语义与 selectPetListByPage 一致
+     */
+    public IPage<PetListVo> page(int current, int size, String species, String breed, String gender,
+                                 Integer minAge, Integer maxAge) {
+        lock.readLock().lock();
+        try {
+            Snapshot current = snapshot;
+            BitSet matched = current.match(species, breed, gender, minAge, maxAge);
+            int total = matched.cardinality();
+            long offset = (long) (current - 1) * size;
+            List<PetListVo> records = new ArrayList<>(Math.min(size, Math.max(total, 0)));
+            int skipped = 0;
+            for (int pid = matched.nextSetBit(0); pid >= 0 && records.size() < size; pid = matched.nextSetBit(pid + 1)) {
+                if (skipped < offset) {
+                    skipped++;
+                    continue;
+                }
+                records.add(current.rows.get(pid));
+            }
+            Page<PetListVo> page = new Page<>(current, size, total);
+            page.setRecords(records);
+            return page;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * 按条件游标查询 pid 大于 afterPid 的前 limit 条，语义与 selectPetListByCursor 一致
+     */
+    public List<PetListVo> after(Integer afterPid, int limit, String species, String breed, String gender,
+                                 Integer minAge, Integer maxAge) {
+        lock.readLock().lock();
+        try {
+            Snapshot current = snapshot;
+            BitSet matched = current.match(species, breed, gender, minAge, maxAge);
+            List<PetListVo> records = new ArrayList<>(limit);
+            int from = afterPid == null ? 0 : afterPid + 1;
+            for (int pid = matched.nextSetBit(Math.max(from, 0)); pid >= 0 && records.size() < limit; pid = matched.nextSetBit(pid + 1)) {
+                records.add(current.rows.get(pid));
+            }
+            return records;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * 各筛选项的可领养数量，计数随增量刷新维护
+     */
+    public PetFacetsVo facets() {
+        lock.readLock().lock();
+        try {
+            return snapshot.facets.snapshot();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * 当前索引中的宠物数量
+     */
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return snapshot.rows.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * 一份完整的索引数据：行、存活位图、各筛选项位图、年龄有序索引与筛选项计数
+     */
+    private static final class Snapshot {
+
+        private final Map<Integer, PetListVo> rows = new HashMap<>();
+        private final BitSet live = new BitSet();
+        private final Map<String, BitSet> bySpecies = new HashMap<>();
+        private final Map<String, BitSet> byBreed = new HashMap<>();
+        private final Map<String, BitSet> byGender = new HashMap<>();
+        private final TreeMap<Integer, BitSet> byAge = new TreeMap<>();
+        private final PetFacetCounter facets = new PetFacetCounter();
+
+        BitSet match(String species, String breed, String gender, Integer minAge, Integer maxAge) {
+            BitSet result = (BitSet) live.clone();
+            if (hasText(species)) {
+                result.and(bitmapOf(bySpecies, key(species)));
+            }
+            if (hasText(breed)) {
+                // 对应 LIKE '%breed%'：合并所有包含该子串的品种位图
+                String needle = key(breed);
+                BitSet breeds = new BitSet();
+                byBreed.forEach((name, bits) -> {
+                    if (name.contains(needle)) {
+                        breeds.or(bits);
+                    }
+                });
+                result.and(breeds);
+            }
+            if (hasText(gender)) {
+                result.and(bitmapOf(byGender, key(gender)));
+            }
+            if (minAge != null || maxAge != null) {
+                if (minAge != null && maxAge != null && minAge > maxAge) {
+                    return new BitSet();
+                }
+                NavigableMap<Integer, BitSet> range = byAge;
+                if (minAge != null && maxAge != null) {
+                    range = byAge.subMap(minAge, true, maxAge, true);
+                } else if (minAge != null) {
+                    range = byAge.tailMap(minAge, true);
+                } else {
+                    range = byAge.headMap(maxAge, true);
+                }
+                BitSet ages = new BitSet();
+                range.values().forEach(ages::or);
+                result.and(ages);
+            }
+            return result;
+        }
+
+        void add(PetListVo pet) {
+            Integer pid = pet.getPid();
+            if (pid == null || pid < 0) {
+                return;
+            }
+            rows.put(pid, pet);
+            live.set(pid);
+            bitmapFor(bySpecies, key(pet.getSpecies())).set(pid);
+            bitmapFor(byBreed, key(pet.getBreed())).set(pid);
+            bitmapFor(byGender, key(pet.getGender())).set(pid);
+            if (pet.getAge() != null) {
+                byAge.computeIfAbsent(pet.getAge(), k -> new BitSet()).set(pid);
+            }
+            facets.add(pet);
+        }
+
+        void remove(Integer pid) {
+            PetListVo old = rows.remove(pid);
+            if (old == null) {
+                return;
+            }
+            live.clear(pid);
+            facets.remove(old);
+            clearBit(bySpecies, key(old.getSpecies()), pid);
+            clearBit(byBreed, key(old.getBreed()), pid);
+            clearBit(byGender, key(old.getGender()), pid);
+            if (old.getAge() != null) {
+                BitSet bits = byAge.get(old.getAge());
+                if (bits != null) {
+                    bits.clear(pid);
+                    if (bits.isEmpty()) {
+                        byAge.remove(old.getAge());
+                    }
+                }
+            }
+        }
+    }
+
+    private static BitSet bitmapOf(Map<String, BitSet> bitmaps, String key) {
+        BitSet bits = bitmaps.get(key);
+        return bits != null ? bits : new BitSet();
+    }
+
+    private static BitSet bitmapFor(Map<String, BitSet> bitmaps, String key) {
+        return bitmaps.computeIfAbsent(key, k -> new BitSet());
+    }
+
+    private static void clearBit(Map<String, BitSet> bitmaps, String key, int pid) {
+        BitSet bits = bitmaps.get(key);
+        if (bits == null) {
+            return;
+        }
+        bits.clear(pid);
+        if (bits.isEmpty()) {
+            bitmaps.remove(key);
+        }
+    }
+
+    /**
+     * MySQL 默认排序规则不区分大小写，这里统一转小写保持一致
+     */
+    private static String key(String value) {
+        return value == null ? "" : value.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private static boolean hasText(String value) {
+        return value != null && !value.isEmpty();
+    }
+}
@@ -0,0 +1,122 @@
+package com.example.petservice.index;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import com.example.petpojo.vo.FacetCountVo;
+import com.example.petpojo.vo.PetFacetsVo;
+import com.example.petpojo.vo.PetListVo;
+
+/**
+ * 可领养宠物筛选项计数器
+ * 随宠物进出可领养集合增减计数，读取时无需再做分组统计。非线程安全，由调用方加锁。
+ */
+public class PetFacetCounter {
+
+    /**
+     * 年龄段定义：{下限, 上限}，上限为 null 表示不限
+     */
+    static final Integer[][] AGE_BUCKETS = {{1, 2}, {3, 6}, {7, 10}, {11, null}};
+
+    private long total;
+    private final Map<Integer, Entry> species = new TreeMap<>();
+    private final Map<Integer, Entry> breeds = new TreeMap<>();
+    private final Map<String, Entry> genders = new TreeMap<>();
+    private final Map<Integer, Entry> ageBuckets = new LinkedHashMap<>();
+
+    public PetFacetCounter() {
+        for (int i = 0; i < AGE_BUCKETS.length; i++) {
+            Integer min = AGE_BUCKETS[i][0];
+            Integer max = AGE_BUCKETS[i][1];
+            String label = max == null ? min + "岁以上" : min + "-" + max + "岁";
+            ageBuckets.put(i, new Entry(null, null, label, min, max));
+        }
+    }
+
+    public void add(PetListVo pet) {
+        apply(pet, 1);
+    }
+
+    public void remove(PetListVo pet) {
+        apply(pet, -1);
+    }
+
+    public void clear() {
+        total = 0;
+        species.clear();
+        breeds.clear();
+        genders.clear();
+        ageBuckets.values().forEach(entry -> entry.count = 0);
+    }
+
+    public PetFacetsVo snapshot() {
+        return new PetFacetsVo(total, toVos(species), toVos(breeds), toVos(genders), toVos(ageBuckets));
+    }
+
+    private void apply(PetListVo pet, int delta) {
+        total += delta;
+        if (pet.getSpeciesId() != null) {
+            bump(species, pet.getSpeciesId(), new Entry(pet.getSpeciesId(), null, pet.getSpecies(), null, null), delta);
+        }
+        if (pet.getBreedId() != null) {
+            bump(breeds, pet.getBreedId(), new Entry(pet.getBreedId(), pet.getSpeciesId(), pet.getBreed(), null, null), delta);
+        }
+        if (pet.getGender() != null) {
+            bump(genders, pet.getGender(), new Entry(null, null, pet.getGender(), null, null), delta);
+        }
+        int bucket = bucketOf(pet.getAge());
+        if (bucket >= 0) {
+            ageBuckets.get(bucket).count += delta;
+        }
+    }
+
+    private static <K> void bump(Map<K, Entry> counts, K key, Entry template, int delta) {
+        Entry entry = counts.computeIfAbsent(key, k -> template);
+        entry.count += delta;
+        if (entry.count <= 0) {
+            counts.remove(key);
+        }
+    }
+
+    static int bucketOf(Integer age) {
+        if (age == null) {
+            return -1;
+        }
+        for (int i = 0; i < AGE_BUCKETS.length; i++) {
+            Integer min = AGE_BUCKETS[i][0];
+            Integer max = AGE_BUCKETS[i][1];
+            if (age >= min && (max == null || age <= max)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static List<FacetCountVo> toVos(Map<?, Entry> counts) {
+        List<FacetCountVo> vos = new ArrayList<>(counts.size());
+        for (Entry entry : counts.values()) {
+            vos.add(new FacetCountVo(entry.id, entry.parentId, entry.value, entry.minAge, entry.maxAge, entry.count));
+        }
+        return vos;
+    }
+
+    private static final class Entry {
+        private final Integer id;
+        private final Integer parentId;
+        private final String value;
+        private final Integer minAge;
+        private final Integer maxAge;
+        private long count;
+
+        private Entry(Integer id, Integer parentId, String value, Integer minAge, Integer maxAge) {
+            this.id = id;
+            this.parentId = parentId;
+            this.value = value;
+            this.minAge = minAge;
+            this.maxAge = maxAge;
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package com.example.petservice.mapper;
+
+import java.util.Collection;
+
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+
+/**
+ * 可领养宠物投影表 Mapper
+ */
+@Mapper
+public interface AdoptablePetsMapper {
+
+    int deleteByPid(@Param("petId") Integer petId);
+
+    // 宠物当前可领养时写入一行投影
+    int insertFromPets(@Param("petId") Integer petId);
+
+    int deleteByPids(@Param("petIds") Collection<Integer> petIds);
+
+    // 批量刷新时按当前状态写入仍可领养的宠物
+    int insertFromPetsIn(@Param("petIds") Collection<Integer> petIds);
+
+    int deleteAll();
+
+    int insertAllFromPets();
+
+    int refreshSpeciesName(@Param("speciesId") Integer speciesId);
+
+    int refreshBreedName(@Param("breedId") Integer breedId);
+}
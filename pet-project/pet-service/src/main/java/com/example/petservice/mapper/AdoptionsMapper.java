@@ -4,9 +4,13 @@ import com.baomidou.mybatisplus.core.mapper.BaseMapper;
 import com.baomidou.mybatisplus.core.metadata.IPage;
 import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
 import com.example.petpojo.entity.Adoptions;
+import com.example.petpojo.vo.AdoptionTimelineSourceVo;
 import com.example.petpojo.vo.AdoptionsVo;
+import com.example.petpojo.vo.PetOwnerVo;
 import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
 
+import java.util.Collection;
 import java.util.List;
 
 @Mapper
@@ -66,4 +70,32 @@ public interface AdoptionsMapper extends BaseMapper<Adoptions> {
      */
     Long countAdminAdoptions(String status, Integer shelterId);
 
+    /**
+     * 查询领养时间线数据源：宠物、用户及最近一条领养记录
+     * @param petId 宠物ID
+     * @param userId 用户ID
+     * @return 数据源，宠物不存在时返回 null
+     */
+    AdoptionTimelineSourceVo selectTimelineSource(@Param("petId") Integer petId, @Param("userId") Integer userId);
+
+    /**
+     * 批量查询宠物名称及最近一次领养通过的用户
+     * @param petIds 宠物ID
+     * @return 每个存在的宠物一行
+     */
+    List<PetOwnerVo> selectPetOwners(@Param("petIds") Collection<Integer> petIds);
+
+    /**
+     * 批量审核待审核的领养申请，只更新仍处于 PENDING 的记录
+     * @param ids 领养记录ID
+     * @param status 目标状态
+     * @param reviewerId 审核人ID
+     * @param note 审核备注
+     * @param approved 是否审核通过（通过时写入领养日期）
+     * @return 更新行数
+     */
+    int batchReview(@Param("ids") Collection<Integer> ids, @Param("status") String status,
+                    @Param("reviewerId") Integer reviewerId, @Param("note") String note,
+                    @Param("approved") boolean approved);
+
 }
@@ -0,0 +1,28 @@
+package com.example.petservice.mapper;
+
+import java.util.List;
+
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+
+import com.example.petpojo.vo.ShelterStatusCountVo;
+
+/**
+ * 管理员看板统计 Mapper
+ */
+@Mapper
+public interface DashboardMapper {
+
+    /**
+     * 按收容所、状态分组统计领养申请、寄养记录与宠物数量，口径与管理员列表一致
+     * @param shelterId 收容所ID，为空时统计全部收容所
+     */
+    List<ShelterStatusCountVo> selectStatusCounts(@Param("shelterId") Integer shelterId);
+
+    /**
+     * 按状态统计单个宠物的领养申请与寄养记录，口径同 selectStatusCounts；
+     * 领养记录按宠物所属收容所计数，结果中 shelterId 为空，由调用方填入
+     * @param petId 宠物ID
+     */
+    List<ShelterStatusCountVo> selectPetRecordCounts(@Param("petId") Integer petId);
+}
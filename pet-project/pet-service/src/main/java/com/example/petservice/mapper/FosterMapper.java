@@ -4,7 +4,9 @@ import com.baomidou.mybatisplus.core.mapper.BaseMapper;
 import com.example.petpojo.entity.Fosters;
 import com.example.petpojo.vo.FostersVo;
 import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
 
+import java.util.Collection;
 import java.util.List;
 
 @Mapper
@@ -29,4 +31,17 @@ public interface FosterMapper extends BaseMapper<Fosters> {
      * 管理员分页查询寄养记录（可按状态过滤）
      */
     List<FostersVo> getAdminFosters(Integer offset, Integer pageSize, String status, Integer shelterId);
+
+    /**
+     * 批量审核待审核的寄养申请，只更新仍处于 PENDING 且未删除的记录
+     * @param ids 寄养记录ID
+     * @param status 目标状态
+     * @param reviewerId 审核人ID
+     * @param note 审核备注
+     * @param approved 是否审核通过（通过时补齐开始日期）
+     * @return 更新行数
+     */
+    int batchReview(@Param("ids") Collection<Integer> ids, @Param("status") String status,
+                    @Param("reviewerId") Integer reviewerId, @Param("note") String note,
+                    @Param("approved") boolean approved);
 }
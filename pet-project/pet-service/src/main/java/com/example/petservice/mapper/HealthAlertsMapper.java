@@ -2,35 +2,118 @@ package com.example.petservice.mapper;
 
 import com.baomidou.mybatisplus.core.mapper.BaseMapper;
 import com.example.petpojo.entity.HealthAlerts;
-import com.example.petcommon.properties.HealthReminderCleanupProperties;
+import com.example.petpojo.vo.HealthAlertsVo;
 import org.apache.ibatis.annotations.Mapper;
 import org.apache.ibatis.annotations.Param;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 
 @Mapper
 public interface HealthAlertsMapper extends BaseMapper<HealthAlerts> {
+    /**
+     * 查询用户已领养宠物的健康提醒，按 (check_date, health_id) 倒序游标分页
+     * @param userId 用户ID
+     * @param statuses 状态
+     * @param afterCheckDate 上一页最后一条的检查时间，首页传 null
+     * @param afterHealthId 上一页最后一条的健康提醒ID
+     * @param limit 条数上限，为 null 时不限制
+     * @return 健康提醒VO列表（含领养人与宠物名称）
+     */
+    List<HealthAlertsVo> selectUserAlerts(@Param("userId") Integer userId, @Param("statuses") Collection<String> statuses,
+                                          @Param("afterCheckDate") LocalDateTime afterCheckDate,
+                                          @Param("afterHealthId") Integer afterHealthId, @Param("limit") Integer limit);
+
+    /**
+     * 记录客户端确认送达时间，确认人必须是宠物当前的领养人
+     * @param healthId 健康提醒ID
+     * @param userId 确认的用户ID
+     * @return 更新的记录数
+     */
+    int markDelivered(@Param("healthId") Integer healthId, @Param("userId") Integer userId);
+
+    /**
+     * 按主键游标查询某状态下进入该状态早于指定时间的一批提醒，只返回生命周期判断所需的列
+     * @param status 状态
+     * @param afterId 上一批最后的健康提醒ID
+     * @param before 状态变更时间上限
+     * @param limit 批大小
+     * @return 健康提醒列表
+     */
+    List<HealthAlerts> selectLifecycleChunk(@Param("status") String status, @Param("afterId") Integer afterId,
+                                            @Param("before") LocalDateTime before, @Param("limit") int limit);
+
     /**
      * 批量将已提醒的健康提醒标记为过期
-     * @param now 当前时间
-     * @param cleanupProperties 清理配置
+     * @param healthIds 健康提醒ID
      * @return 更新的记录数
      */
-    int batchExpireReminded(@Param("now") LocalDateTime now, @Param("cleanupProperties") HealthReminderCleanupProperties cleanupProperties);
+    int batchExpireReminded(@Param("healthIds") Collection<Integer> healthIds);
     
     /**
-     * 批量将过期的健康提醒标记为归档
-     * @param now 当前时间
-     * @param cleanupProperties 清理配置
-     * @return 更新的记录数
+     * 批量将过期的健康提醒复制到归档表
+     * @param healthIds 健康提醒ID
+     * @return 写入的记录数
+     */
+    int batchArchiveExpired(@Param("healthIds") Collection<Integer> healthIds);
+
+    /**
+     * 批量删除已复制到归档表的过期提醒
+     * @param healthIds 健康提醒ID
+     * @return 删除的记录数
      */
-    int batchArchiveExpired(@Param("now") LocalDateTime now, @Param("cleanupProperties") HealthReminderCleanupProperties cleanupProperties);
+    int batchDeleteExpired(@Param("healthIds") Collection<Integer> healthIds);
     
     /**
-     * 批量删除已归档的健康提醒
-     * @param now 当前时间
-     * @param cleanupProperties 清理配置
+     * 删除一批归档早于指定时间的归档记录
+     * @param before 归档时间上限
+     * @param limit 批大小
      * @return 删除的记录数
      */
-    int batchDeleteArchived(@Param("now") LocalDateTime now, @Param("cleanupProperties") HealthReminderCleanupProperties cleanupProperties);
+    int batchDeleteArchived(@Param("before") LocalDateTime before, @Param("limit") int limit);
+
+    /**
+     * 认领指定的到期提醒：待发送且已到提醒时间，或租约已过期的分发中提醒，改为分发中并写入认领令牌与租约
+     * @param claimToken 认领令牌
+     * @param healthIds 健康提醒ID
+     * @param dueBefore 提醒时间上限
+     * @param leaseSeconds 租约秒数
+     * @return 认领的记录数
+     */
+    int claimDue(@Param("claimToken") String claimToken, @Param("healthIds") Collection<Integer> healthIds,
+                 @Param("dueBefore") LocalDateTime dueBefore, @Param("leaseSeconds") long leaseSeconds);
+
+    /**
+     * 重新认领租约已过期的分发中提醒（认领实例宕机或发送中断）
+     * @param claimToken 认领令牌
+     * @param leaseSeconds 租约秒数
+     * @param limit 最多认领条数
+     * @return 认领的记录数
+     */
+    int claimExpired(@Param("claimToken") String claimToken, @Param("leaseSeconds") long leaseSeconds,
+                     @Param("limit") int limit);
+
+    /**
+     * 查询某次认领的提醒
+     * @param claimToken 认领令牌
+     * @return 健康提醒列表
+     */
+    List<HealthAlerts> selectClaimed(@Param("claimToken") String claimToken);
+
+    /**
+     * 批量将已认领的提醒标记为已提醒并释放认领
+     * @param claimToken 认领令牌
+     * @param healthIds 健康提醒ID
+     * @return 更新的记录数
+     */
+    int markClaimedReminded(@Param("claimToken") String claimToken, @Param("healthIds") Collection<Integer> healthIds);
+
+    /**
+     * 批量将已认领但未发送的提醒放回待发送
+     * @param claimToken 认领令牌
+     * @param healthIds 健康提醒ID
+     * @return 更新的记录数
+     */
+    int releaseClaimed(@Param("claimToken") String claimToken, @Param("healthIds") Collection<Integer> healthIds);
 }
\ No newline at end of file
@@ -0,0 +1,27 @@
+package com.example.petservice.mapper;
+
+import java.util.Collection;
+
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+
+/**
+ * （宠物, 用户）最近寄养记录投影表 Mapper
+ */
+@Mapper
+public interface LatestFosterMapper {
+
+    int deleteByPetAndUser(@Param("petId") Integer petId, @Param("userId") Integer userId);
+
+    // 写入该宠物与用户最近一条未删除的寄养记录
+    int insertLatest(@Param("petId") Integer petId, @Param("userId") Integer userId);
+
+    int deleteByPids(@Param("petIds") Collection<Integer> petIds);
+
+    // 重新写入指定宠物下每个用户最近一条未删除的寄养记录
+    int insertLatestForPets(@Param("petIds") Collection<Integer> petIds);
+
+    int deleteAll();
+
+    int insertAll();
+}
@@ -10,6 +10,9 @@ import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
 import org.apache.ibatis.annotations.Mapper;
 import org.apache.ibatis.annotations.Param;
 
+import java.util.Collection;
+import java.util.List;
+
 @Mapper
 public interface ListPetsMapper extends BaseMapper<Pets> {
     IPage<Pets> selectByPage(Page<Pets> page);
@@ -18,7 +21,23 @@ public interface ListPetsMapper extends BaseMapper<Pets> {
     // 添加新的方法用于直接查询VO
     IPage<PetListVo> selectPetListByPage(Page<PetListVo> page, String species, String breed, String gender, Integer minAge, Integer maxAge);
     PetListVo selectPetListById(@Param("petId") Integer petId);
+
+    // 游标分页查询可领养宠物（按 pid 升序 seek，不统计总数）
+    List<PetListVo> selectPetListByCursor(@Param("afterPid") Integer afterPid,
+                                          @Param("limit") int limit,
+                                          @Param("species") String species,
+                                          @Param("breed") String breed,
+                                          @Param("gender") String gender,
+                                          @Param("minAge") Integer minAge,
+                                          @Param("maxAge") Integer maxAge);
     
+    // 内存索引：查询单个可领养宠物（不可领养返回 null）与全部可领养宠物
+    PetListVo selectAvailablePetListById(@Param("petId") Integer petId);
+    List<PetListVo> selectAllAvailablePetList();
+
     // 添加查询宠物详情的方法
     PetsDetailsVo selectPetDetailsById(@Param("petId") Integer petId);
+
+    // 批量查询宠物详情（不存在的 pid 不返回）
+    List<PetsDetailsVo> selectPetDetailsByIds(@Param("petIds") Collection<Integer> petIds);
 }
\ No newline at end of file
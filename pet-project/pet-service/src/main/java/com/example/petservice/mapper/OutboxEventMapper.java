@@ -0,0 +1,42 @@
+package com.example.petservice.mapper;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+
+import com.baomidou.mybatisplus.core.mapper.BaseMapper;
+import com.example.petpojo.entity.OutboxEvent;
+
+/**
+ * 事务发件箱 Mapper
+ */
+@Mapper
+public interface OutboxEventMapper extends BaseMapper<OutboxEvent> {
+
+    /**
+     * 认领一批到期待投递的事件，以及租约已过期的分发中事件
+     * @param claimToken 本次认领令牌
+     * @param leaseSeconds 租约秒数
+     * @param limit 最多认领条数
+     * @return 认领条数
+     */
+    int claimBatch(@Param("claimToken") String claimToken,
+                   @Param("leaseSeconds") long leaseSeconds,
+                   @Param("limit") int limit);
+
+    List<OutboxEvent> selectClaimed(@Param("claimToken") String claimToken);
+
+    int markSent(@Param("ids") Collection<Long> ids, @Param("claimToken") String claimToken);
+
+    int markRetry(@Param("id") Long id,
+                  @Param("claimToken") String claimToken,
+                  @Param("status") String status,
+                  @Param("nextAttemptAt") LocalDateTime nextAttemptAt,
+                  @Param("lastError") String lastError);
+
+    // 按主键顺序分批删除早于指定时间已投递的事件
+    int deleteSentBefore(@Param("before") LocalDateTime before, @Param("limit") int limit);
+}
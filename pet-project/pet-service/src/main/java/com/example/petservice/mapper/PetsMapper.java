@@ -8,6 +8,7 @@ import com.example.petpojo.vo.AdminPetVo;
 import org.apache.ibatis.annotations.Mapper;
 import org.apache.ibatis.annotations.Param;
 
+import java.util.Collection;
 import java.util.List;
 
 @Mapper
@@ -18,4 +19,9 @@ public interface PetsMapper extends BaseMapper<Pets> {
     List<String> getAdoptionPetNames();
 
     IPage<AdminPetVo> selectAdminPets(Page<AdminPetVo> page, @Param("status") String status, @Param("shelterId") Integer shelterId);
+
+    /**
+     * 批量更新宠物状态
+     */
+    int updateStatusBatch(@Param("petIds") Collection<Integer> petIds, @Param("status") String status);
 }
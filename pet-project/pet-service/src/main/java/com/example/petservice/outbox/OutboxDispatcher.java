@@ -0,0 +1,173 @@
+package com.example.petservice.outbox;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.example.petcommon.properties.OutboxProperties;
+import com.example.petpojo.entity.OutboxEvent;
+import com.example.petservice.mapper.OutboxEventMapper;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 发件箱分发器
+ * 业务事务提交后被唤醒，在独立线程中按批认领并投递事件；定时轮询兜底，
+ * 覆盖唤醒丢失、投递失败后的退避重试以及其他实例宕机后租约过期的事件。
+ * 认领通过带令牌的 UPDATE ... LIMIT 完成，多实例部署时同一事件同一时刻只被一个实例处理。
+ */
+@Slf4j
+@Component
+public class OutboxDispatcher {
+
+    private final OutboxEventMapper outboxEventMapper;
+    private final OutboxProperties properties;
+    private final ObjectMapper objectMapper;
+    private final Map<String, OutboxHandler> handlers;
+
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "outbox-dispatcher");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final AtomicBoolean wakeUpPending = new AtomicBoolean(false);
+
+    public OutboxDispatcher(OutboxEventMapper outboxEventMapper, OutboxProperties properties,
+                            ObjectMapper objectMapper, List<OutboxHandler> handlers) {
+        this.outboxEventMapper = outboxEventMapper;
+        this.properties = properties;
+        this.objectMapper = objectMapper;
+        this.handlers = handlers.stream()
+                .collect(Collectors.toUnmodifiableMap(OutboxHandler::eventType, Function.identity()));
+    }
+
+    /**
+     * 唤醒分发线程；已有待执行的唤醒时合并为一次
+     */
+    public void wakeUp() {
+        if (!wakeUpPending.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            executor.execute(() -> {
+                wakeUpPending.set(false);
+                dispatchSafely();
+            });
+        } catch (RejectedExecutionException e) {
+            wakeUpPending.set(false);
+            log.debug("发件箱分发线程已关闭，等待定时轮询");
+        }
+    }
+
+    /**
+     * 定时轮询兜底
+     */
+    @Scheduled(fixedDelayString = "${pet.outbox.poll-interval-ms:5000}",
+            initialDelayString = "${pet.outbox.poll-interval-ms:5000}")
+    public void poll() {
+        wakeUp();
+    }
+
+    /**
+     * 定时清理已投递的历史事件
+     */
+    @Scheduled(cron = "${pet.outbox.cleanup-cron:0 30 3 * * ?}")
+    public void cleanup() {
+        LocalDateTime before = LocalDateTime.now().minus(properties.getRetention());
+        int total = 0;
+        int deleted;
+        do {
+            deleted = outboxEventMapper.deleteSentBefore(before, properties.getBatchSize() * 10);
+            total += deleted;
+        } while (deleted > 0);
+        if (total > 0) {
+            log.info("发件箱历史事件清理完成, deleted={}", total);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    private void dispatchSafely() {
+        try {
+            int dispatched;
+            do {
+                dispatched = dispatchBatch();
+            } while (dispatched >= properties.getBatchSize());
+        } catch (Exception e) {
+            log.error("发件箱分发异常，等待下次轮询", e);
+        }
+    }
+
+    /**
+     * 认领并投递一批事件
+     * @return 本批认领的事件数
+     */
+    int dispatchBatch() {
+        String claimToken = UUID.randomUUID().toString();
+        int claimed = outboxEventMapper.claimBatch(claimToken, properties.getLease().toSeconds(), properties.getBatchSize());
+        if (claimed == 0) {
+            return 0;
+        }
+        List<OutboxEvent> events = outboxEventMapper.selectClaimed(claimToken);
+        List<Long> sent = new ArrayList<>(events.size());
+        for (OutboxEvent event : events) {
+            try {
+                deliver(event);
+                sent.add(event.getId());
+            } catch (Exception e) {
+                scheduleRetry(event, claimToken, e);
+            }
+        }
+        if (!sent.isEmpty()) {
+            outboxEventMapper.markSent(sent, claimToken);
+        }
+        return claimed;
+    }
+
+    private void deliver(OutboxEvent event) throws Exception {
+        OutboxHandler handler = handlers.get(event.getEventType());
+        if (handler == null) {
+            throw new IllegalStateException("未注册的发件箱事件类型: " + event.getEventType());
+        }
+        handler.handle(event.getId(), objectMapper.readTree(event.getPayload()));
+    }
+
+    private void scheduleRetry(OutboxEvent event, String claimToken, Exception error) {
+        int attempts = (event.getAttempts() == null ? 0 : event.getAttempts()) + 1;
+        boolean exhausted = attempts >= properties.getMaxAttempts();
+        String status = exhausted ? OutboxEvent.STATUS_FAILED : OutboxEvent.STATUS_PENDING;
+        LocalDateTime nextAttemptAt = LocalDateTime.now().plus(backoff(attempts));
+        String message = error.getClass().getSimpleName() + ": " + error.getMessage();
+        if (message.length() > 500) {
+            message = message.substring(0, 500);
+        }
+        outboxEventMapper.markRetry(event.getId(), claimToken, status, nextAttemptAt, message);
+        if (exhausted) {
+            log.error("发件箱事件投递失败次数已达上限, id={}, type={}", event.getId(), event.getEventType(), error);
+        } else {
+            log.warn("发件箱事件投递失败，稍后重试, id={}, type={}, attempts={}", event.getId(), event.getEventType(), attempts, error);
+        }
+    }
+
+    private Duration backoff(int attempts) {
+        Duration backoff = properties.getInitialBackoff().multipliedBy(1L << Math.min(attempts - 1, 20));
+        return backoff.compareTo(properties.getMaxBackoff()) > 0 ? properties.getMaxBackoff() : backoff;
+    }
+}
@@ -0,0 +1,46 @@
+package com.example.petservice.outbox;
+
+/**
+ * 发件箱事件类型
+ */
+public final class OutboxEventTypes {
+
+    /**
+     * 宠物相关缓存失效：payload 为 petId、userId（可选）、petChanged；
+     * 批量写入时为 items 数组，每项字段相同
+     */
+    public static final String PET_CACHE_INVALIDATE = "pet.cache.invalidate";
+
+    /**
+     * 新的领养申请，通知收容所管理员：payload 为 adoptionId
+     */
+    public static final String ADOPTION_CREATED = "adoption.created";
+
+    /**
+     * 领养申请审核完成，通知申请人：payload 为 adoptionId
+     */
+    public static final String ADOPTION_REVIEWED = "adoption.reviewed";
+
+    /**
+     * 批量审核领养申请，按申请人合并通知：payload 为 adoptionIds
+     */
+    public static final String ADOPTIONS_BATCH_REVIEWED = "adoption.batch-reviewed";
+
+    /**
+     * 新的寄养申请，通知收容所管理员：payload 为 fosterId
+     */
+    public static final String FOSTER_CREATED = "foster.created";
+
+    /**
+     * 寄养申请审核完成，通知申请人：payload 为 fosterId
+     */
+    public static final String FOSTER_REVIEWED = "foster.reviewed";
+
+    /**
+     * 批量审核寄养申请，按申请人合并通知：payload 为 fosterIds
+     */
+    public static final String FOSTERS_BATCH_REVIEWED = "foster.batch-reviewed";
+
+    private OutboxEventTypes() {
+    }
+}
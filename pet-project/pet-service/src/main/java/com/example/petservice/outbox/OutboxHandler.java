@@ -0,0 +1,22 @@
+package com.example.petservice.outbox;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+/**
+ * 发件箱事件处理器
+ * 投递语义为至少一次，处理逻辑需可重复执行；抛出异常时事件按退避重试
+ */
+public interface OutboxHandler {
+
+    /**
+     * 处理的事件类型，见 {@link OutboxEventTypes}
+     */
+    String eventType();
+
+    /**
+     * 处理事件
+     * @param eventId 事件ID，可作为下游去重标识
+     * @param payload 事件内容
+     */
+    void handle(Long eventId, JsonNode payload) throws Exception;
+}
@@ -0,0 +1,113 @@
+package com.example.petservice.outbox;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.example.petcommon.error.ErrorCode;
+import com.example.petcommon.exception.BizException;
+import com.example.petpojo.entity.OutboxEvent;
+import com.example.petservice.mapper.OutboxEventMapper;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 发件箱写入
+ * 在业务事务内写入事件，与业务数据一起提交或回滚；提交后唤醒分发器异步投递
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class OutboxService {
+
+    private static final Object DISPATCH_REGISTERED = new Object();
+
+    private final OutboxEventMapper outboxEventMapper;
+    private final OutboxDispatcher outboxDispatcher;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * 写入一条发件箱事件
+     * @param eventType 事件类型
+     * @param payload 事件内容，序列化为 JSON
+     */
+    public void publish(String eventType, Object payload) {
+        String json;
+        try {
+            json = objectMapper.writeValueAsString(payload);
+        } catch (JsonProcessingException e) {
+            throw new BizException(ErrorCode.INTERNAL_ERROR, "发件箱事件序列化失败: " + eventType);
+        }
+        OutboxEvent event = OutboxEvent.builder()
+                .eventType(eventType)
+                .payload(json)
+                .status(OutboxEvent.STATUS_PENDING)
+                .attempts(0)
+                .nextAttemptAt(LocalDateTime.now())
+                .build();
+        outboxEventMapper.insert(event);
+        wakeDispatcherAfterCommit();
+    }
+
+    /**
+     * 宠物相关缓存失效
+     * @param petId 宠物ID
+     * @param userId 需要清理领养时间线的用户ID，可为空
+     * @param petChanged 宠物本身是否变化（详情、列表、索引需要刷新）
+     */
+    public void publishPetCacheInvalidation(Integer petId, Integer userId, boolean petChanged) {
+        publish(OutboxEventTypes.PET_CACHE_INVALIDATE, cacheInvalidation(petId, userId, petChanged));
+    }
+
+    /**
+     * 批量写路径的缓存失效合并为一条事件，列表页只清理一次
+     * @param items 每项为 petId、userId（可选）、petChanged，见 {@link #cacheInvalidation}
+     */
+    public void publishPetCacheInvalidations(List<Map<String, Object>> items) {
+        if (items == null || items.isEmpty()) {
+            return;
+        }
+        publish(OutboxEventTypes.PET_CACHE_INVALIDATE, Map.of("items", items));
+    }
+
+    public static Map<String, Object> cacheInvalidation(Integer petId, Integer userId, boolean petChanged) {
+        Map<String, Object> item = new HashMap<>();
+        item.put("petId", petId);
+        item.put("userId", userId);
+        item.put("petChanged", petChanged);
+        return item;
+    }
+
+    /**
+     * 同一事务内多次写入只注册一次提交回调
+     */
+    private void wakeDispatcherAfterCommit() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            outboxDispatcher.wakeUp();
+            return;
+        }
+        if (TransactionSynchronizationManager.hasResource(DISPATCH_REGISTERED)) {
+            return;
+        }
+        TransactionSynchronizationManager.bindResource(DISPATCH_REGISTERED, Boolean.TRUE);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                outboxDispatcher.wakeUp();
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                TransactionSynchronizationManager.unbindResourceIfPossible(DISPATCH_REGISTERED);
+            }
+        });
+    }
+}
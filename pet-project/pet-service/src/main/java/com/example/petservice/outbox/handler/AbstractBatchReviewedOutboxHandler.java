@@ -0,0 +1,99 @@
+package com.example.petservice.outbox.handler;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import com.example.petservice.mapper.PetsMapper;
+import com.example.petservice.outbox.OutboxHandler;
+import com.example.petservice.service.WebSocketNotificationService;
+import com.fasterxml.jackson.databind.JsonNode;
+
+/**
+ * 申请批量审核完成的通知：按申请人合并，每人只收到一条通知
+ * 子类只负责读取已审核的申请并转换为统一的审核结果
+ */
+abstract class AbstractBatchReviewedOutboxHandler implements OutboxHandler {
+
+    private final PetsMapper petsMapper;
+    private final WebSocketNotificationService webSocketNotificationService;
+    private final String idsField;
+    private final String idKey;
+    private final String kind;
+
+    /**
+     * @param idsField 事件载荷中申请ID数组的字段名
+     * @param idKey 通知条目中申请ID的字段名
+     * @param kind 申请类型名称，如“领养”“寄养”
+     */
+    protected AbstractBatchReviewedOutboxHandler(PetsMapper petsMapper,
+                                                 WebSocketNotificationService webSocketNotificationService,
+                                                 String idsField, String idKey, String kind) {
+        this.petsMapper = petsMapper;
+        this.webSocketNotificationService = webSocketNotificationService;
+        this.idsField = idsField;
+        this.idKey = idKey;
+        this.kind = kind;
+    }
+
+    /**
+     * 读取已不再待审核的申请
+     */
+    protected abstract List<ReviewedApplication> loadReviewed(List<Integer> ids);
+
+    @Override
+    public void handle(Long eventId, JsonNode payload) {
+        List<Integer> ids = new ArrayList<>();
+        payload.path(idsField).forEach(id -> ids.add(id.asInt()));
+        if (ids.isEmpty()) {
+            return;
+        }
+        List<ReviewedApplication> reviewed = loadReviewed(ids);
+        Set<Integer> petIds = reviewed.stream().map(ReviewedApplication::petId).collect(Collectors.toSet());
+        Map<Integer, String> petNames = OutboxHandlerSupport.petNames(petsMapper, petIds);
+
+        Map<Integer, List<ReviewedApplication>> byUser = reviewed.stream()
+                .collect(Collectors.groupingBy(ReviewedApplication::userId, LinkedHashMap::new, Collectors.toList()));
+        byUser.forEach((userId, own) -> notifyApplicant(eventId, userId, own, petNames));
+    }
+
+    private void notifyApplicant(Long eventId, Integer userId, List<ReviewedApplication> applications,
+                                 Map<Integer, String> petNames) {
+        List<Map<String, Object>> items = new ArrayList<>(applications.size());
+        int approved = 0;
+        for (ReviewedApplication application : applications) {
+            approved += application.approved() ? 1 : 0;
+            Map<String, Object> item = new HashMap<>();
+            item.put(idKey, application.id());
+            item.put("petId", application.petId());
+            item.put("petName", petNames.getOrDefault(application.petId(), "宠物"));
+            item.put("status", application.status());
+            item.put("reviewNote", application.reviewNote());
+            items.add(item);
+        }
+
+        Map<String, Object> data = new HashMap<>();
+        data.put("eventId", eventId);
+        data.put("batch", true);
+        data.put("items", items);
+        if (applications.size() == 1) {
+            ReviewedApplication application = applications.get(0);
+            String petName = petNames.getOrDefault(application.petId(), "宠物");
+            data.putAll(items.get(0));
+            webSocketNotificationService.notifyUser(userId, "application_reviewed",
+                    kind + (application.approved() ? "申请已通过" : "申请未通过"),
+                    String.format("您对宠物 %s 的%s申请%s", petName, kind,
+                            application.approved() ? "已通过审核" : "未通过审核"),
+                    data);
+            return;
+        }
+        webSocketNotificationService.notifyUser(userId, "application_reviewed", kind + "申请审核结果",
+                String.format("您的 %d 条%s申请已审核：%d 条通过，%d 条未通过",
+                        applications.size(), kind, approved, applications.size() - approved),
+                data);
+    }
+}
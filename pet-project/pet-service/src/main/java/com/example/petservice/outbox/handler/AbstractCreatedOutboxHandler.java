@@ -0,0 +1,63 @@
+package com.example.petservice.outbox.handler;
+
+import com.example.petpojo.entity.Pets;
+import com.example.petservice.mapper.PetsMapper;
+import com.example.petservice.mapper.UsersMapper;
+import com.example.petservice.outbox.OutboxHandler;
+import com.fasterxml.jackson.databind.JsonNode;
+
+/**
+ * 新申请的通知：告知负责审核的收容所管理员
+ * 子类只负责读取申请并发送对应类型的通知
+ */
+abstract class AbstractCreatedOutboxHandler implements OutboxHandler {
+
+    /**
+     * 新申请的通知内容
+     * @param id 申请记录ID
+     * @param petId 宠物ID
+     * @param userId 申请人ID
+     * @param shelterId 接收通知的收容所ID，为空时取宠物所属收容所
+     */
+    record CreatedApplication(Integer id, Integer petId, Integer userId, Integer shelterId) {
+    }
+
+    private final PetsMapper petsMapper;
+    private final UsersMapper usersMapper;
+    private final String idField;
+
+    /**
+     * @param idField 事件载荷中申请ID的字段名
+     */
+    protected AbstractCreatedOutboxHandler(PetsMapper petsMapper, UsersMapper usersMapper, String idField) {
+        this.petsMapper = petsMapper;
+        this.usersMapper = usersMapper;
+        this.idField = idField;
+    }
+
+    /**
+     * 读取新申请
+     * @return 通知内容，申请不存在或已删除时为空
+     */
+    protected abstract CreatedApplication loadCreated(Integer id);
+
+    /**
+     * 向收容所发送新申请通知
+     */
+    protected abstract void notifyShelter(Integer id, String petName, String applicantName, Integer shelterId);
+
+    @Override
+    public void handle(Long eventId, JsonNode payload) {
+        CreatedApplication application = loadCreated(payload.path(idField).asInt());
+        if (application == null) {
+            return;
+        }
+        Pets pet = petsMapper.selectById(application.petId());
+        String petName = pet != null && pet.getName() != null ? pet.getName() : "未知宠物";
+        Integer shelterId = application.shelterId() != null ? application.shelterId()
+                : pet != null ? pet.getShelterId() : null;
+        notifyShelter(application.id(), petName,
+                OutboxHandlerSupport.displayName(usersMapper.selectById(application.userId()), application.userId()),
+                shelterId);
+    }
+}
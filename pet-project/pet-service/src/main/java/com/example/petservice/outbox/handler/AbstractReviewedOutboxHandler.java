@@ -0,0 +1,64 @@
+package com.example.petservice.outbox.handler;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import com.example.petpojo.entity.Pets;
+import com.example.petservice.mapper.PetsMapper;
+import com.example.petservice.outbox.OutboxHandler;
+import com.example.petservice.service.WebSocketNotificationService;
+import com.fasterxml.jackson.databind.JsonNode;
+
+/**
+ * 单条申请审核完成的通知：告知申请人审核结果
+ * 子类只负责读取已审核的申请并转换为统一的审核结果
+ */
+abstract class AbstractReviewedOutboxHandler implements OutboxHandler {
+
+    private final PetsMapper petsMapper;
+    private final WebSocketNotificationService webSocketNotificationService;
+    private final String idField;
+    private final String kind;
+
+    /**
+     * @param idField 申请ID的字段名，事件载荷与通知数据共用
+     * @param kind 申请类型名称，如“领养”“寄养”
+     */
+    protected AbstractReviewedOutboxHandler(PetsMapper petsMapper,
+                                            WebSocketNotificationService webSocketNotificationService,
+                                            String idField, String kind) {
+        this.petsMapper = petsMapper;
+        this.webSocketNotificationService = webSocketNotificationService;
+        this.idField = idField;
+        this.kind = kind;
+    }
+
+    /**
+     * 读取已不再待审核的申请
+     * @return 审核结果，申请不存在或仍待审核时为空
+     */
+    protected abstract ReviewedApplication loadReviewed(Integer id);
+
+    @Override
+    public void handle(Long eventId, JsonNode payload) {
+        ReviewedApplication application = loadReviewed(payload.path(idField).asInt());
+        if (application == null) {
+            return;
+        }
+        Pets pet = petsMapper.selectById(application.petId());
+        String petName = pet != null && pet.getName() != null ? pet.getName() : "宠物";
+
+        Map<String, Object> data = new HashMap<>();
+        data.put("eventId", eventId);
+        data.put(idField, application.id());
+        data.put("petId", application.petId());
+        data.put("petName", petName);
+        data.put("status", application.status());
+        data.put("reviewNote", application.reviewNote());
+        webSocketNotificationService.notifyUser(application.userId(), "application_reviewed",
+                kind + (application.approved() ? "申请已通过" : "申请未通过"),
+                String.format("您对宠物 %s 的%s申请%s", petName, kind,
+                        application.approved() ? "已通过审核" : "未通过审核"),
+                data);
+    }
+}
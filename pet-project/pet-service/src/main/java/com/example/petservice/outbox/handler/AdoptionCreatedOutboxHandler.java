@@ -0,0 +1,43 @@
+package com.example.petservice.outbox.handler;
+
+import org.springframework.stereotype.Component;
+
+import com.example.petpojo.entity.Adoptions;
+import com.example.petservice.mapper.AdoptionsMapper;
+import com.example.petservice.mapper.PetsMapper;
+import com.example.petservice.mapper.UsersMapper;
+import com.example.petservice.outbox.OutboxEventTypes;
+import com.example.petservice.service.WebSocketNotificationService;
+
+/**
+ * 新的领养申请：通知宠物所属收容所的管理员
+ */
+@Component
+public class AdoptionCreatedOutboxHandler extends AbstractCreatedOutboxHandler {
+
+    private final AdoptionsMapper adoptionsMapper;
+    private final WebSocketNotificationService webSocketNotificationService;
+
+    public AdoptionCreatedOutboxHandler(AdoptionsMapper adoptionsMapper, PetsMapper petsMapper, UsersMapper usersMapper,
+                                        WebSocketNotificationService webSocketNotificationService) {
+        super(petsMapper, usersMapper, "adoptionId");
+        this.adoptionsMapper = adoptionsMapper;
+        this.webSocketNotificationService = webSocketNotificationService;
+    }
+
+    @Override
+    public String eventType() {
+        return OutboxEventTypes.ADOPTION_CREATED;
+    }
+
+    @Override
+    protected CreatedApplication loadCreated(Integer id) {
+        Adoptions adoption = adoptionsMapper.selectById(id);
+        return adoption != null ? new CreatedApplication(adoption.getAid(), adoption.getPid(), adoption.getUid(), null) : null;
+    }
+
+    @Override
+    protected void notifyShelter(Integer id, String petName, String applicantName, Integer shelterId) {
+        webSocketNotificationService.sendNewAdoptionNotification(id, petName, applicantName, shelterId);
+    }
+}
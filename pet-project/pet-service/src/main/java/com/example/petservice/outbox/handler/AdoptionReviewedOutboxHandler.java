@@ -0,0 +1,42 @@
+package com.example.petservice.outbox.handler;
+
+import org.springframework.stereotype.Component;
+
+import com.example.petpojo.entity.Adoptions;
+import com.example.petpojo.entity.enums.CommonEnum;
+import com.example.petservice.mapper.AdoptionsMapper;
+import com.example.petservice.mapper.PetsMapper;
+import com.example.petservice.outbox.OutboxEventTypes;
+import com.example.petservice.service.WebSocketNotificationService;
+
+/**
+ * 领养申请审核完成：通知申请人审核结果
+ */
+@Component
+public class AdoptionReviewedOutboxHandler extends AbstractReviewedOutboxHandler {
+
+    private final AdoptionsMapper adoptionsMapper;
+
+    public AdoptionReviewedOutboxHandler(AdoptionsMapper adoptionsMapper, PetsMapper petsMapper,
+                                         WebSocketNotificationService webSocketNotificationService) {
+        super(petsMapper, webSocketNotificationService, "adoptionId", "领养");
+        this.adoptionsMapper = adoptionsMapper;
+    }
+
+    @Override
+    public String eventType() {
+        return OutboxEventTypes.ADOPTION_REVIEWED;
+    }
+
+    @Override
+    protected ReviewedApplication loadReviewed(Integer id) {
+        Adoptions adoption = adoptionsMapper.selectById(id);
+        if (adoption == null || adoption.getStatus() == null
+                || CommonEnum.AdoptionStatusEnum.PENDING.equals(adoption.getStatus())) {
+            return null;
+        }
+        return new ReviewedApplication(adoption.getAid(), adoption.getPid(), adoption.getUid(),
+                adoption.getStatus().getCode(), adoption.getReviewNote(),
+                CommonEnum.AdoptionStatusEnum.APPROVED.equals(adoption.getStatus()));
+    }
+}
@@ -0,0 +1,40 @@
+package com.example.petservice.outbox.handler;
+
+import java.util.List;
+
+import org.springframework.stereotype.Component;
+
+import com.example.petpojo.entity.enums.CommonEnum;
+import com.example.petservice.mapper.AdoptionsMapper;
+import com.example.petservice.mapper.PetsMapper;
+import com.example.petservice.outbox.OutboxEventTypes;
+import com.example.petservice.service.WebSocketNotificationService;
+
+/**
+ * 领养申请批量审核完成：按申请人合并，每人只收到一条通知
+ */
+@Component
+public class AdoptionsBatchReviewedOutboxHandler extends AbstractBatchReviewedOutboxHandler {
+
+    private final AdoptionsMapper adoptionsMapper;
+
+    public AdoptionsBatchReviewedOutboxHandler(AdoptionsMapper adoptionsMapper, PetsMapper petsMapper,
+                                               WebSocketNotificationService webSocketNotificationService) {
+        super(petsMapper, webSocketNotificationService, "adoptionIds", "adoptionId", "领养");
+        this.adoptionsMapper = adoptionsMapper;
+    }
+
+    @Override
+    public String eventType() {
+        return OutboxEventTypes.ADOPTIONS_BATCH_REVIEWED;
+    }
+
+    @Override
+    protected List<ReviewedApplication> loadReviewed(List<Integer> ids) {
+        return adoptionsMapper.selectBatchIds(ids).stream()
+                .filter(a -> a.getStatus() != null && !CommonEnum.AdoptionStatusEnum.PENDING.equals(a.getStatus()))
+                .map(a -> new ReviewedApplication(a.getAid(), a.getPid(), a.getUid(), a.getStatus().getCode(),
+                        a.getReviewNote(), CommonEnum.AdoptionStatusEnum.APPROVED.equals(a.getStatus())))
+                .toList();
+    }
+}
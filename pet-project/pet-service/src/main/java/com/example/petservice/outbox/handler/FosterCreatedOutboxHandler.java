@@ -0,0 +1,46 @@
+package com.example.petservice.outbox.handler;
+
+import org.springframework.stereotype.Component;
+
+import com.example.petpojo.entity.Fosters;
+import com.example.petservice.mapper.FosterMapper;
+import com.example.petservice.mapper.PetsMapper;
+import com.example.petservice.mapper.UsersMapper;
+import com.example.petservice.outbox.OutboxEventTypes;
+import com.example.petservice.service.WebSocketNotificationService;
+
+/**
+ * 新的寄养申请：通知寄养收容所的管理员
+ */
+@Component
+public class FosterCreatedOutboxHandler extends AbstractCreatedOutboxHandler {
+
+    private final FosterMapper fosterMapper;
+    private final WebSocketNotificationService webSocketNotificationService;
+
+    public FosterCreatedOutboxHandler(FosterMapper fosterMapper, PetsMapper petsMapper, UsersMapper usersMapper,
+                                      WebSocketNotificationService webSocketNotificationService) {
+        super(petsMapper, usersMapper, "fosterId");
+        this.fosterMapper = fosterMapper;
+        this.webSocketNotificationService = webSocketNotificationService;
+    }
+
+    @Override
+    public String eventType() {
+        return OutboxEventTypes.FOSTER_CREATED;
+    }
+
+    @Override
+    protected CreatedApplication loadCreated(Integer id) {
+        Fosters foster = fosterMapper.selectById(id);
+        if (foster == null || Boolean.TRUE.equals(foster.getDeleted())) {
+            return null;
+        }
+        return new CreatedApplication(foster.getFid(), foster.getPid(), foster.getUid(), foster.getSid());
+    }
+
+    @Override
+    protected void notifyShelter(Integer id, String petName, String applicantName, Integer shelterId) {
+        webSocketNotificationService.sendNewFosterNotification(id, petName, applicantName, shelterId);
+    }
+}
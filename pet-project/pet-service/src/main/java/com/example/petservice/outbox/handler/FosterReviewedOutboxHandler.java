@@ -0,0 +1,43 @@
+package com.example.petservice.outbox.handler;
+
+import org.springframework.stereotype.Component;
+
+import com.example.petpojo.entity.Fosters;
+import com.example.petpojo.entity.enums.CommonEnum;
+import com.example.petservice.mapper.FosterMapper;
+import com.example.petservice.mapper.PetsMapper;
+import com.example.petservice.outbox.OutboxEventTypes;
+import com.example.petservice.service.WebSocketNotificationService;
+
+/**
+ * 寄养申请审核完成：通知申请人审核结果
+ * 审核后的寄养可能已进入后续状态，除拒绝外都按通过计
+ */
+@Component
+public class FosterReviewedOutboxHandler extends AbstractReviewedOutboxHandler {
+
+    private final FosterMapper fosterMapper;
+
+    public FosterReviewedOutboxHandler(FosterMapper fosterMapper, PetsMapper petsMapper,
+                                       WebSocketNotificationService webSocketNotificationService) {
+        super(petsMapper, webSocketNotificationService, "fosterId", "寄养");
+        this.fosterMapper = fosterMapper;
+    }
+
+    @Override
+    public String eventType() {
+        return OutboxEventTypes.FOSTER_REVIEWED;
+    }
+
+    @Override
+    protected ReviewedApplication loadReviewed(Integer id) {
+        Fosters foster = fosterMapper.selectById(id);
+        if (foster == null || foster.getStatus() == null
+                || CommonEnum.FosterStatusEnum.PENDING.equals(foster.getStatus())) {
+            return null;
+        }
+        return new ReviewedApplication(foster.getFid(), foster.getPid(), foster.getUid(),
+                foster.getStatus().getCode(), foster.getReviewNote(),
+                !CommonEnum.FosterStatusEnum.REJECTED.equals(foster.getStatus()));
+    }
+}
@@ -0,0 +1,41 @@
+package com.example.petservice.outbox.handler;
+
+import java.util.List;
+
+import org.springframework.stereotype.Component;
+
+import com.example.petpojo.entity.enums.CommonEnum;
+import com.example.petservice.mapper.FosterMapper;
+import com.example.petservice.mapper.PetsMapper;
+import com.example.petservice.outbox.OutboxEventTypes;
+import com.example.petservice.service.WebSocketNotificationService;
+
+/**
+ * 寄养申请批量审核完成：按申请人合并，每人只收到一条通知
+ * 审核后的寄养可能已进入后续状态，除拒绝外都按通过计
+ */
+@Component
+public class FostersBatchReviewedOutboxHandler extends AbstractBatchReviewedOutboxHandler {
+
+    private final FosterMapper fosterMapper;
+
+    public FostersBatchReviewedOutboxHandler(FosterMapper fosterMapper, PetsMapper petsMapper,
+                                             WebSocketNotificationService webSocketNotificationService) {
+        super(petsMapper, webSocketNotificationService, "fosterIds", "fosterId", "寄养");
+        this.fosterMapper = fosterMapper;
+    }
+
+    @Override
+    public String eventType() {
+        return OutboxEventTypes.FOSTERS_BATCH_REVIEWED;
+    }
+
+    @Override
+    protected List<ReviewedApplication> loadReviewed(List<Integer> ids) {
+        return fosterMapper.selectBatchIds(ids).stream()
+                .filter(f -> f.getStatus() != null && !CommonEnum.FosterStatusEnum.PENDING.equals(f.getStatus()))
+                .map(f -> new ReviewedApplication(f.getFid(), f.getPid(), f.getUid(), f.getStatus().getCode(),
+                        f.getReviewNote(), !CommonEnum.FosterStatusEnum.REJECTED.equals(f.getStatus())))
+                .toList();
+    }
+}
@@ -0,0 +1,41 @@
+package com.example.petservice.outbox.handler;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import com.example.petpojo.entity.Pets;
+import com.example.petpojo.entity.Users;
+import com.example.petservice.mapper.PetsMapper;
+
+/**
+ * 通知类处理器的公共方法
+ */
+final class OutboxHandlerSupport {
+
+    private OutboxHandlerSupport() {
+    }
+
+    /**
+     * 用户展示名，未设置用户名时使用“用户+ID”
+     */
+    static String displayName(Users user, Integer userId) {
+        return user != null && user.getUserName() != null && !user.getUserName().isBlank()
+                ? user.getUserName()
+                : "用户" + userId;
+    }
+
+    /**
+     * 批量查询宠物名称，缺失或未命名的宠物不在结果中
+     */
+    static Map<Integer, String> petNames(PetsMapper petsMapper, Collection<Integer> petIds) {
+        if (petIds.isEmpty()) {
+            return Map.of();
+        }
+        List<Pets> pets = petsMapper.selectBatchIds(petIds);
+        return pets.stream()
+                .filter(pet -> pet.getName() != null)
+                .collect(Collectors.toMap(Pets::getPid, Pets::getName, (a, b) -> a));
+    }
+}
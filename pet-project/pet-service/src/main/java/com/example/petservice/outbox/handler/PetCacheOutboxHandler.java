@@ -0,0 +1,61 @@
+package com.example.petservice.outbox.handler;
+
+import org.springframework.stereotype.Component;
+
+import com.example.petservice.cache.PetCacheInvalidator;
+import com.example.petservice.outbox.OutboxEventTypes;
+import com.example.petservice.outbox.OutboxHandler;
+import com.fasterxml.jackson.databind.JsonNode;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * 宠物相关缓存失效：详情、列表页、内存索引与领养时间线
+ */
+@Component
+@RequiredArgsConstructor
+public class PetCacheOutboxHandler implements OutboxHandler {
+
+    private final PetCacheInvalidator petCacheInvalidator;
+
+    @Override
+    public String eventType() {
+        return OutboxEventTypes.PET_CACHE_INVALIDATE;
+    }
+
+    @Override
+    public void handle(Long eventId, JsonNode payload) {
+        if (payload.has("items")) {
+            boolean anyPetChanged = false;
+            for (JsonNode item : payload.get("items")) {
+                anyPetChanged |= evict(item);
+            }
+            if (anyPetChanged) {
+                petCacheInvalidator.evictPetListPages();
+            }
+            return;
+        }
+        if (evict(payload)) {
+            petCacheInvalidator.evictPetListPages();
+        }
+    }
+
+    /**
+     * 清理单个宠物的详情与时间线
+     * @return 宠物本身是否变化，需要清理列表页
+     */
+    private boolean evict(JsonNode item) {
+        Integer petId = item.hasNonNull("petId") ? item.get("petId").asInt() : null;
+        if (petId == null) {
+            return false;
+        }
+        boolean petChanged = item.path("petChanged").asBoolean(false);
+        if (petChanged) {
+            petCacheInvalidator.evictPetDetail(petId);
+        }
+        if (item.hasNonNull("userId")) {
+            petCacheInvalidator.evictAdoptionTimeline(petId, item.get("userId").asInt());
+        }
+        return petChanged;
+    }
+}
@@ -0,0 +1,14 @@
+package com.example.petservice.outbox.handler;
+
+/**
+ * 已审核申请的通知内容，单条与批量审核通知共用
+ * @param id 申请记录ID
+ * @param petId 宠物ID
+ * @param userId 申请人ID
+ * @param status 审核后的状态
+ * @param reviewNote 审核备注
+ * @param approved 是否通过
+ */
+record ReviewedApplication(Integer id, Integer petId, Integer userId, String status, String reviewNote,
+                           boolean approved) {
+}
@@ -0,0 +1,15 @@
+package com.example.petservice.pagination;
+
+/**
+ * 分页总数估算器，为 ESTIMATED 策略提供基于计数器的近似总数
+ */
+public interface PageCountEstimator {
+
+    /**
+     * 估算语句在给定筛选条件下的总数
+     * @param statement 语句名
+     * @param filters 筛选条件，顺序与分页调用时一致
+     * @return 估算总数，无法估算时返回 null
+     */
+    Long estimate(String statement, Object... filters);
+}
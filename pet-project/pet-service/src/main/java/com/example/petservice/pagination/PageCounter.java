@@ -0,0 +1,136 @@
+package com.example.petservice.pagination;
+
+import java.time.Duration;
+import java.util.function.Function;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+
+import com.baomidou.mybatisplus.core.metadata.IPage;
+import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
+import com.example.petcommon.properties.PageCountProperties;
+import com.example.petcommon.properties.PageCountProperties.Policy;
+import com.example.petservice.cache.CacheKeys;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 分页总数策略执行器
+ * 调用方提供的查询需遵循传入 Page 的约定：按 offset()/getSize() 取数，
+ * 仅在 searchCount() 为 true 时统计总数（分页插件本身即如此处理）
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class PageCounter {
+
+    static final String KEY_PREFIX = "petproject:page:count:";
+
+    private final StringRedisTemplate stringRedisTemplate;
+    private final PageCountProperties properties;
+    private final ObjectProvider<PageCountEstimator> estimators;
+
+    /**
+     * 按语句配置的策略执行分页查询
+     * @param statement 语句名，见 {@link PageStatements}
+     * @param current 当前页码
+     * @param size 每页数量
+     * @param query 分页查询
+     * @param filters 影响总数的筛选条件，用于缓存 key 与估算
+     * @return 分页结果
+     */
+    public <T> IPage<T> paginate(String statement, long current, long size,
+                                 Function<Page<T>, IPage<T>> query, Object... filters) {
+        Policy policy = properties.getPolicy(statement);
+        if (policy == Policy.SKIP) {
+            ProbePage<T> page = new ProbePage<>(current, size);
+            IPage<T> result = query.apply(page);
+            page.finish(result.getRecords());
+            return page;
+        }
+        if (policy == Policy.ESTIMATED) {
+            Long estimated = estimate(statement, filters);
+            if (estimated != null) {
+                return withKnownTotal(current, size, estimated, query, null, null);
+            }
+        }
+        if (policy == Policy.ESTIMATED || policy == Policy.CACHED) {
+            return cached(statement, current, size, query, filters);
+        }
+        return query.apply(new Page<>(current, size));
+    }
+
+    private <T> IPage<T> cached(String statement, long current, long size,
+                                Function<Page<T>, IPage<T>> query, Object... filters) {
+        String key = KEY_PREFIX + CacheKeys.pageCount(statement, filters);
+        Long total = readTotal(key);
+        if (total != null) {
+            return withKnownTotal(current, size, total, query, key, properties.getTtl(statement));
+        }
+        IPage<T> result = query.apply(new Page<>(current, size));
+        writeTotal(key, result.getTotal(), properties.getTtl(statement));
+        return result;
+    }
+
+    /**
+     * 用缓存或估算的总数代替 COUNT；本页结果能确定真实下界、上界或精确值时以其修正，避免前端分页器越界
+     * @param key 总数缓存 key，估算得出的总数传 null
+     * @param ttl 修正后回写缓存的有效期
+     */
+    private <T> IPage<T> withKnownTotal(long current, long size, long total, Function<Page<T>, IPage<T>> query,
+                                        String key, Duration ttl) {
+        Page<T> page = new Page<>(current, size, false);
+        IPage<T> result = query.apply(page);
+        int fetched = result.getRecords() != null ? result.getRecords().size() : 0;
+        long seen = page.offset() + fetched;
+        long corrected;
+        if (fetched > 0 && fetched < size) {
+            // 未取满一页说明已到末页，总数可精确得出
+            corrected = seen;
+        } else if (fetched == 0 && current > 1) {
+            // 越过末页说明记录已减少，总数不会超过本页偏移
+            corrected = Math.min(total, page.offset());
+        } else {
+            corrected = Math.max(total, seen);
+        }
+        result.setTotal(corrected);
+        if (key != null && corrected != total) {
+            writeTotal(key, corrected, ttl);
+        }
+        return result;
+    }
+
+    private Long estimate(String statement, Object... filters) {
+        for (PageCountEstimator estimator : estimators) {
+            try {
+                Long estimated = estimator.estimate(statement, filters);
+                if (estimated != null) {
+                    return estimated;
+                }
+            } catch (Exception e) {
+                log.warn("估算分页总数失败, statement={}", statement, e);
+            }
+        }
+        return null;
+    }
+
+    private Long readTotal(String key) {
+        try {
+            String value = stringRedisTemplate.opsForValue().get(key);
+            return value != null ? Long.parseLong(value) : null;
+        } catch (Exception e) {
+            log.warn("读取分页总数缓存失败, key={}", key, e);
+            return null;
+        }
+    }
+
+    private void writeTotal(String key, long total, Duration ttl) {
+        try {
+            stringRedisTemplate.opsForValue().set(key, String.valueOf(total), ttl);
+        } catch (Exception e) {
+            log.warn("写入分页总数缓存失败, key={}", key, e);
+        }
+    }
+}
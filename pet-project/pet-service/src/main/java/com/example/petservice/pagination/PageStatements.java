@@ -0,0 +1,19 @@
+package com.example.petservice.pagination;
+
+/**
+ * 分页语句名，对应 pet.pagination.count.statements 下的配置项
+ */
+public final class PageStatements {
+
+    public static final String USER_ADOPTIONS = "user-adoptions";
+    public static final String USER_APPROVED_ADOPTIONS = "user-approved-adoptions";
+    public static final String ADMIN_ADOPTIONS = "admin-adoptions";
+    public static final String USER_FOSTERS = "user-fosters";
+    public static final String ADMIN_FOSTERS = "admin-fosters";
+    public static final String ADMIN_PETS = "admin-pets";
+    public static final String ARTICLES = "articles";
+    public static final String ADMIN_ARTICLES = "admin-articles";
+
+    private PageStatements() {
+    }
+}
@@ -0,0 +1,50 @@
+package com.example.petservice.pagination;
+
+import java.io.Serial;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
+
+/**
+ * 不统计总数的分页：查询时多取一条用于判断是否还有下一页
+ * 偏移量仍按原始页大小计算，分页插件与手写 LIMIT 都通过 offset()/getSize() 取值
+ */
+public class ProbePage<T> extends Page<T> {
+
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    private final long pageSize;
+
+    private boolean hasNext;
+
+    public ProbePage(long current, long size) {
+        super(current, size + 1, false);
+        this.pageSize = size;
+    }
+
+    @Override
+    public long offset() {
+        long current = getCurrent();
+        return current > 1 ? (current - 1) * pageSize : 0;
+    }
+
+    public boolean isHasNext() {
+        return hasNext;
+    }
+
+    /**
+     * 截掉探测行并恢复页大小；总数为已知下界，有下一页时加一，使前端分页器能继续翻页
+     */
+    void finish(List<T> records) {
+        List<T> rows = records != null ? records : new ArrayList<>();
+        hasNext = rows.size() > pageSize;
+        if (hasNext) {
+            rows = new ArrayList<>(rows.subList(0, (int) pageSize));
+        }
+        setSize(pageSize);
+        setRecords(rows);
+        setTotal(offset() + rows.size() + (hasNext ? 1 : 0));
+    }
+}
@@ -0,0 +1,78 @@
+package com.example.petservice.projection;
+
+import java.util.Collection;
+
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.example.petservice.mapper.AdoptablePetsMapper;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 可领养宠物投影维护
+ * 在宠物状态或领养状态变化的同一事务内刷新 adoptable_pets，保证列表与业务表一致提交或一起回滚
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class AdoptablePetProjection {
+
+    private final AdoptablePetsMapper adoptablePetsMapper;
+
+    /**
+     * 按业务表当前状态刷新单个宠物的投影：可领养则写入，否则删除
+     * @param petId 宠物ID
+     */
+    @Transactional
+    public void refresh(Integer petId) {
+        if (petId == null) {
+            return;
+        }
+        adoptablePetsMapper.deleteByPid(petId);
+        adoptablePetsMapper.insertFromPets(petId);
+    }
+
+    /**
+     * 批量刷新多个宠物的投影，两条语句完成
+     * @param petIds 宠物ID集合
+     */
+    @Transactional
+    public void refresh(Collection<Integer> petIds) {
+        if (petIds == null || petIds.isEmpty()) {
+            return;
+        }
+        adoptablePetsMapper.deleteByPids(petIds);
+        adoptablePetsMapper.insertFromPetsIn(petIds);
+    }
+
+    /**
+     * 物种改名后同步投影中的物种名称
+     */
+    @Transactional
+    public void refreshSpeciesName(Integer speciesId) {
+        adoptablePetsMapper.refreshSpeciesName(speciesId);
+    }
+
+    /**
+     * 品种改名后同步投影中的品种名称
+     */
+    @Transactional
+    public void refreshBreedName(Integer breedId) {
+        adoptablePetsMapper.refreshBreedName(breedId);
+    }
+
+    /**
+     * 全量重建投影，用于上线回填或数据修复
+     * @return 重建后的可领养宠物数量
+     */
+    @Transactional
+    public int rebuild() {
+        long start = System.currentTimeMillis();
+        adoptablePetsMapper.deleteAll();
+        int rows = adoptablePetsMapper.insertAllFromPets();
+        log.info("可领养宠物投影重建完成, rows={}, cost={}ms", rows, System.currentTimeMillis() - start);
+        return rows;
+    }
+}
@@ -0,0 +1,64 @@
+package com.example.petservice.projection;
+
+import java.util.Collection;
+
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.example.petservice.mapper.LatestFosterMapper;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 最近寄养记录投影维护
+ * 每个（宠物, 用户）只保留最近一条未删除的寄养记录，领养列表直接关联本表，
+ * 不再逐行执行“按开始时间倒序取第一条”的关联子查询。寄养写入的同一事务内刷新。
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class LatestFosterProjection {
+
+    private final LatestFosterMapper latestFosterMapper;
+
+    /**
+     * 按寄养表当前数据刷新指定宠物与用户的最近寄养记录，没有记录时删除投影
+     * @param petId 宠物ID
+     * @param userId 用户ID
+     */
+    @Transactional
+    public void refresh(Integer petId, Integer userId) {
+        if (petId == null || userId == null) {
+            return;
+        }
+        latestFosterMapper.deleteByPetAndUser(petId, userId);
+        latestFosterMapper.insertLatest(petId, userId);
+    }
+
+    /**
+     * 批量刷新多个宠物下所有用户的最近寄养记录，用于批量审核
+     * @param petIds 宠物ID集合
+     */
+    @Transactional
+    public void refreshPets(Collection<Integer> petIds) {
+        if (petIds == null || petIds.isEmpty()) {
+            return;
+        }
+        latestFosterMapper.deleteByPids(petIds);
+        latestFosterMapper.insertLatestForPets(petIds);
+    }
+
+    /**
+     * 全量重建投影，用于上线回填或数据修复
+     * @return 重建后的记录数
+     */
+    @Transactional
+    public int rebuild() {
+        long start = System.currentTimeMillis();
+        latestFosterMapper.deleteAll();
+        int rows = latestFosterMapper.insertAll();
+        log.info("最近寄养记录投影重建完成, rows={}, cost={}ms", rows, System.currentTimeMillis() - start);
+        return rows;
+    }
+}
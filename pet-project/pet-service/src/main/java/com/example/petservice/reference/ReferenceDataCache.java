@@ -0,0 +1,230 @@
+package com.example.petservice.reference;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.util.DigestUtils;
+
+import com.example.petpojo.entity.Breed;
+import com.example.petpojo.entity.Shelters;
+import com.example.petpojo.entity.Species;
+import com.example.petpojo.vo.BreedVo;
+import com.example.petpojo.vo.ShelterVo;
+import com.example.petpojo.vo.SpeciesVo;
+import com.example.petservice.mapper.BreedMapper;
+import com.example.petservice.mapper.SheltersMapper;
+import com.example.petservice.mapper.SpeciesMapper;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 参考数据快照（物种、品种、收容所）
+ * 三张表都很小且极少变更，整表加载为不可变快照，读路径只读一个 volatile 引用、无锁；
+ * 管理端写入在事务提交后整体重建并替换快照（copy-on-write），同时通过 Redis 广播通知其他节点重建。
+ * 每个列表附带按内容计算的 ETag，各节点对相同数据得到相同的值，供下拉框接口返回 304。
+ * 快照中的实体对象只读，调用方不得修改。
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ReferenceDataCache implements MessageListener {
+
+    public static final String CHANGE_CHANNEL = "petproject:refdata:changed";
+
+    private final SpeciesMapper speciesMapper;
+    private final BreedMapper breedMapper;
+    private final SheltersMapper sheltersMapper;
+    private final StringRedisTemplate stringRedisTemplate;
+    private final RedisMessageListenerContainer redisMessageListenerContainer;
+
+    private final String nodeId = UUID.randomUUID().toString();
+
+    private volatile Snapshot snapshot;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        redisMessageListenerContainer.addMessageListener(this, new ChannelTopic(CHANGE_CHANNEL));
+        refresh();
+    }
+
+    /**
+     * 定时重建兜底（广播丢失、收容所等没有管理端写入口的数据被直接修改）
+     */
+    @Scheduled(fixedDelayString = "${pet.reference-data.refresh-interval-ms:300000}",
+            initialDelayString = "${pet.reference-data.refresh-interval-ms:300000}")
+    public void scheduledRefresh() {
+        refresh();
+    }
+
+    /**
+     * 从数据库重建快照并原子替换；串行执行，避免较早的加载结果覆盖较新的
+     */
+    public synchronized void refresh() {
+        try {
+            List<Species> species = speciesMapper.selectList(null);
+            List<Breed> breeds = breedMapper.selectList(null);
+            List<Shelters> shelters = sheltersMapper.selectList(null);
+            snapshot = Snapshot.of(species, breeds, shelters);
+            log.debug("参考数据快照已刷新, species={}, breeds={}, shelters={}",
+                    species.size(), breeds.size(), shelters.size());
+        } catch (Exception e) {
+            // 保留旧快照继续服务
+            log.error("刷新参考数据快照失败", e);
+        }
+    }
+
+    /**
+     * 管理端写入后调用：存在事务时在提交后重建本地快照并广播
+     */
+    public void refreshAfterCommit() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    refreshAndBroadcast();
+                }
+            });
+            return;
+        }
+        refreshAndBroadcast();
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String sender = new String(message.getBody(), StandardCharsets.UTF_8);
+        if (!nodeId.equals(sender)) {
+            refresh();
+        }
+    }
+
+    public List<SpeciesVo> listSpecies() {
+        return current().speciesVos;
+    }
+
+    public String speciesEtag() {
+        return current().speciesEtag;
+    }
+
+    public List<BreedVo> listBreeds(Integer speciesId) {
+        return current().breedVosBySpecies.getOrDefault(speciesId, List.of());
+    }
+
+    public String breedsEtag() {
+        return current().breedsEtag;
+    }
+
+    public List<ShelterVo> listShelters() {
+        return current().shelterVos;
+    }
+
+    public String sheltersEtag() {
+        return current().sheltersEtag;
+    }
+
+    public Species getSpecies(Integer id) {
+        return id == null ? null : current().species.get(id);
+    }
+
+    public Breed getBreed(Integer id) {
+        return id == null ? null : current().breeds.get(id);
+    }
+
+    public Shelters getShelter(Integer id) {
+        return id == null ? null : current().shelters.get(id);
+    }
+
+    private Snapshot current() {
+        Snapshot current = snapshot;
+        if (current == null) {
+            refresh();
+            current = snapshot;
+        }
+        return current != null ? current : Snapshot.EMPTY;
+    }
+
+    private void refreshAndBroadcast() {
+        refresh();
+        try {
+            stringRedisTemplate.convertAndSend(CHANGE_CHANNEL, nodeId);
+        } catch (Exception e) {
+            log.warn("广播参考数据变更失败，其他节点依赖定时刷新", e);
+        }
+    }
+
+    private static final class Snapshot {
+
+        static final Snapshot EMPTY = of(List.of(), List.of(), List.of());
+
+        final Map<Integer, Species> species;
+        final Map<Integer, Breed> breeds;
+        final Map<Integer, Shelters> shelters;
+        final List<SpeciesVo> speciesVos;
+        final Map<Integer, List<BreedVo>> breedVosBySpecies;
+        final List<ShelterVo> shelterVos;
+        final String speciesEtag;
+        final String breedsEtag;
+        final String sheltersEtag;
+
+        private Snapshot(List<Species> species, List<Breed> breeds, List<Shelters> shelters) {
+            this.species = index(species, Species::getId);
+            this.breeds = index(breeds, Breed::getId);
+            this.shelters = index(shelters, Shelters::getSid);
+            this.speciesVos = this.species.values().stream()
+                    .map(s -> new SpeciesVo(s.getId(), s.getName(), s.getDescription()))
+                    .toList();
+            this.breedVosBySpecies = this.breeds.values().stream()
+                    .filter(b -> b.getSpeciesId() != null)
+                    .map(b -> new BreedVo(b.getId(), b.getSpeciesId(), b.getName(), b.getDescription()))
+                    .collect(Collectors.collectingAndThen(
+                            Collectors.groupingBy(BreedVo::getSpeciesId, Collectors.toUnmodifiableList()),
+                            Map::copyOf));
+            this.shelterVos = this.shelters.values().stream()
+                    .map(s -> new ShelterVo(s.getSid(), s.getName(), s.getLocation()))
+                    .toList();
+            this.speciesEtag = etag(speciesVos);
+            this.breedsEtag = etag(this.breeds.values().stream()
+                    .map(b -> new BreedVo(b.getId(), b.getSpeciesId(), b.getName(), b.getDescription()))
+                    .toList());
+            this.sheltersEtag = etag(shelterVos);
+        }
+
+        static Snapshot of(List<Species> species, List<Breed> breeds, List<Shelters> shelters) {
+            return new Snapshot(species, breeds, shelters);
+        }
+
+        /**
+         * 按 ID 升序建立只读索引，列表顺序随之确定
+         */
+        private static <T> Map<Integer, T> index(List<T> rows, Function<T, Integer> idOf) {
+            Map<Integer, T> map = new LinkedHashMap<>();
+            rows.stream()
+                    .filter(row -> idOf.apply(row) != null)
+                    .sorted(Comparator.comparing(idOf))
+                    .forEach(row -> map.put(idOf.apply(row), row));
+            return Collections.unmodifiableMap(map);
+        }
+
+        private static String etag(List<?> values) {
+            return "\"" + DigestUtils.md5DigestAsHex(values.toString().getBytes(StandardCharsets.UTF_8)) + "\"";
+        }
+    }
+}
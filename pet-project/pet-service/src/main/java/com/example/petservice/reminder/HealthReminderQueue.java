@@ -0,0 +1,211 @@
+package com.example.petservice.reminder;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Collectors;
+
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ZSetOperations;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.example.petcommon.properties.HealthReminderSchedulerProperties;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 健康提醒到期队列
+ * Redis 有序集合 petproject:health:reminders，成员为 healthId，分值为提醒时间的毫秒时间戳。
+ * 只存放预装载窗口内待发送（attention）的提醒；写路径在事务提交后增删成员，
+ * 到期认领由 Lua 原子地取出并移除，多实例部署时每条提醒只被一个实例取走。
+ * 调度线程按队首分值精确休眠，本实例写入新提醒时被提前唤醒。
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class HealthReminderQueue {
+
+    static final String KEY = "petproject:health:reminders";
+    public static final String STATUS_ATTENTION = "attention";
+
+    /**
+     * KEYS[1] 队列，ARGV[1] 当前毫秒时间戳，ARGV[2] 本次最多认领数
+     */
+    @SuppressWarnings("rawtypes")
+    private static final DefaultRedisScript<List> CLAIM_SCRIPT = new DefaultRedisScript<>("""
+            local due = redis.call('ZRANGEBYSCORE', KEYS[1], '-inf', ARGV[1], 'LIMIT', 0, tonumber(ARGV[2]))
+            if #due > 0 then
+                redis.call('ZREM', KEYS[1], unpack(due))
+            end
+            return due
+            """, List.class);
+
+    private final StringRedisTemplate stringRedisTemplate;
+    private final HealthReminderSchedulerProperties properties;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition changed = lock.newCondition();
+    private boolean signalled;
+
+    /**
+     * 按提醒当前状态同步队列：待发送且在窗口内则入队（重复入队即更新时间），否则移出
+     * @param healthId 健康提醒ID
+     * @param status 提醒状态
+     * @param reminderTime 提醒时间
+     */
+    public void sync(Integer healthId, String status, LocalDateTime reminderTime) {
+        if (healthId == null) {
+            return;
+        }
+        boolean eligible = isEligible(status, reminderTime, LocalDateTime.now());
+        afterCommit(() -> {
+            if (eligible) {
+                stringRedisTemplate.opsForZSet().add(KEY, String.valueOf(healthId), score(reminderTime));
+                signal();
+            } else {
+                stringRedisTemplate.opsForZSet().remove(KEY, String.valueOf(healthId));
+            }
+        });
+    }
+
+    /**
+     * 提醒被删除后移出队列
+     */
+    public void remove(Integer healthId) {
+        if (healthId == null) {
+            return;
+        }
+        afterCommit(() -> stringRedisTemplate.opsForZSet().remove(KEY, String.valueOf(healthId)));
+    }
+
+    /**
+     * 是否应当在队列中：待发送、在补发宽限与预装载窗口之间
+     */
+    public boolean isEligible(String status, LocalDateTime reminderTime, LocalDateTime now) {
+        return STATUS_ATTENTION.equals(status)
+                && reminderTime != null
+                && !reminderTime.isBefore(now.minus(properties.getMissedGrace()))
+                && !reminderTime.isAfter(now.plus(properties.getPreloadHorizon()));
+    }
+
+    /**
+     * 认领已到期的提醒，认领即移出队列
+     * @param limit 最多认领数
+     * @return 健康提醒ID
+     */
+    @SuppressWarnings("unchecked")
+    public List<Integer> claimDue(int limit) {
+        List<Object> due = stringRedisTemplate.execute(CLAIM_SCRIPT, List.of(KEY),
+                String.valueOf(System.currentTimeMillis()), String.valueOf(limit));
+        if (due == null || due.isEmpty()) {
+            return List.of();
+        }
+        return due.stream().map(id -> Integer.valueOf(String.valueOf(id))).toList();
+    }
+
+    /**
+     * 批量入队，用于启动装载与定时校准
+     * @param schedule healthId 到提醒时间的映射
+     */
+    public void addAll(Map<Integer, LocalDateTime> schedule) {
+        if (schedule.isEmpty()) {
+            return;
+        }
+        Set<ZSetOperations.TypedTuple<String>> tuples = schedule.entrySet().stream()
+                .map(e -> ZSetOperations.TypedTuple.of(String.valueOf(e.getKey()), score(e.getValue())))
+                .collect(Collectors.toSet());
+        stringRedisTemplate.opsForZSet().add(KEY, tuples);
+        signal();
+    }
+
+    public void removeAll(Collection<Integer> healthIds) {
+        if (healthIds.isEmpty()) {
+            return;
+        }
+        stringRedisTemplate.opsForZSet().remove(KEY, healthIds.stream().map(String::valueOf).toArray());
+    }
+
+    /**
+     * 队列中的全部提醒ID
+     */
+    public Set<Integer> members() {
+        Set<String> members = stringRedisTemplate.opsForZSet().range(KEY, 0, -1);
+        if (members == null) {
+            return new HashSet<>();
+        }
+        return members.stream().map(Integer::valueOf).collect(Collectors.toCollection(HashSet::new));
+    }
+
+    /**
+     * 休眠到队首提醒到期；最长休眠 maxIdle，本实例入队新提醒时提前返回
+     */
+    public void awaitNextDue() throws InterruptedException {
+        long waitMillis = properties.getMaxIdle().toMillis();
+        Set<ZSetOperations.TypedTuple<String>> head = stringRedisTemplate.opsForZSet().rangeWithScores(KEY, 0, 0);
+        if (head != null && !head.isEmpty()) {
+            Double score = head.iterator().next().getScore();
+            if (score != null) {
+                waitMillis = Math.min(waitMillis, score.longValue() - System.currentTimeMillis());
+            }
+        }
+        lock.lock();
+        try {
+            if (signalled) {
+                signalled = false;
+                return;
+            }
+            if (waitMillis > 0) {
+                changed.await(waitMillis, TimeUnit.MILLISECONDS);
+            }
+            signalled = false;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void signal() {
+        lock.lock();
+        try {
+            signalled = true;
+            changed.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void afterCommit(Runnable action) {
+        Runnable safe = () -> {
+            try {
+                action.run();
+            } catch (Exception e) {
+                // 丢失的变更由定时校准修正
+                log.warn("健康提醒队列更新失败，等待定时校准", e);
+            }
+        };
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    safe.run();
+                }
+            });
+            return;
+        }
+        safe.run();
+    }
+
+    private static double score(LocalDateTime time) {
+        return time.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+}
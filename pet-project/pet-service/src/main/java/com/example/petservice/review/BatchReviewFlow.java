@@ -0,0 +1,120 @@
+package com.example.petservice.review;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+import com.example.petcommon.error.ErrorCode;
+import com.example.petcommon.exception.BizException;
+import com.example.petpojo.vo.BatchReviewResultVo;
+
+/**
+ * 申请批量审核的公共流程
+ * 加锁读取全部记录后逐条校验：记录存在、属于管理员的收容所、仍为待审核，以及各类申请的附加规则；
+ * 校验通过的记录一次性更新，更新语句带 status = 'PENDING' 条件，更新行数与通过数不一致时整体回滚。
+ * 返回逐条结果，失败项不影响其余记录。每次审核创建一个实例，子类可以在实例中保存本批的中间状态
+ * @param <T> 申请记录类型
+ * @author 33185
+ */
+public abstract class BatchReviewFlow<T> {
+
+    private final String kind;
+
+    /**
+     * @param kind 申请类型名称，用于失败原因，如“领养”“寄养”
+     */
+    protected BatchReviewFlow(String kind) {
+        this.kind = kind;
+    }
+
+    /**
+     * 执行批量审核，需在事务中调用
+     * @param requestedIds 申请记录ID，忽略 null 与重复
+     * @param approve true 审批通过，false 拒绝
+     * @param scopeShelterId 管理员绑定的收容所ID，null 表示平台管理员
+     * @return 逐条结果，顺序与请求一致
+     */
+    public BatchReviewResultVo review(List<Integer> requestedIds, boolean approve, Integer scopeShelterId) {
+        List<Integer> ids = requestedIds == null ? List.of()
+                : requestedIds.stream().filter(Objects::nonNull).distinct().toList();
+        if (ids.isEmpty()) {
+            throw new BizException(ErrorCode.BAD_REQUEST, "审核记录ID不能为空");
+        }
+        Map<Integer, T> records = loadForUpdate(ids);
+
+        Map<Integer, String> failures = new HashMap<>();
+        List<T> accepted = new ArrayList<>();
+        for (Integer id : ids) {
+            T record = records.get(id);
+            String failure = check(record, approve, scopeShelterId);
+            if (failure != null) {
+                failures.put(id, failure);
+            } else {
+                accepted.add(record);
+            }
+        }
+
+        if (!accepted.isEmpty()) {
+            int updated = updateStatus(accepted, approve);
+            if (updated != accepted.size()) {
+                // 记录已加锁，行数不一致只可能是数据异常，整体回滚
+                throw new BizException(ErrorCode.INTERNAL_ERROR, "更新" + kind + "状态失败");
+            }
+            afterUpdate(accepted, approve);
+        }
+
+        List<BatchReviewResultVo.Item> items = new ArrayList<>(ids.size());
+        for (Integer id : ids) {
+            String failure = failures.get(id);
+            items.add(new BatchReviewResultVo.Item(id, failure == null, failure));
+        }
+        return BatchReviewResultVo.of(items);
+    }
+
+    private String check(T record, boolean approve, Integer scopeShelterId) {
+        if (record == null) {
+            return kind + "记录不存在";
+        }
+        if (scopeShelterId != null && !scopeShelterId.equals(shelterIdOf(record))) {
+            return "无权审核其他收容所的" + kind + "申请";
+        }
+        if (!isPending(record)) {
+            return approve ? "当前状态不可审批" : "当前状态不可拒绝";
+        }
+        return approve ? checkApprove(record) : null;
+    }
+
+    /**
+     * 加锁读取申请记录
+     * @return 申请记录ID → 记录，不存在的记录不在结果中
+     */
+    protected abstract Map<Integer, T> loadForUpdate(List<Integer> ids);
+
+    /**
+     * 申请所属的收容所，无法确定时返回 null（收容所管理员无权审核）
+     */
+    protected abstract Integer shelterIdOf(T record);
+
+    protected abstract boolean isPending(T record);
+
+    /**
+     * 审批通过时的附加校验，按请求顺序逐条调用
+     * @return 失败原因，通过时返回 null
+     */
+    protected String checkApprove(T record) {
+        return null;
+    }
+
+    /**
+     * 一次性更新通过校验的记录，只更新仍为待审核的记录
+     * @return 更新的行数
+     */
+    protected abstract int updateStatus(List<T> accepted, boolean approve);
+
+    /**
+     * 更新成功后的宠物状态、投影、缓存失效与通知，按批合并
+     */
+    protected abstract void afterUpdate(List<T> accepted, boolean approve);
+}
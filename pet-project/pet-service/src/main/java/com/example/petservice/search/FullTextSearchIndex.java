@@ -0,0 +1,527 @@
+package com.example.petservice.search;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.apache.lucene.analysis.Analyzer;
+import org.apache.lucene.analysis.cjk.CJKAnalyzer;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.Field;
+import org.apache.lucene.document.StoredField;
+import org.apache.lucene.document.StringField;
+import org.apache.lucene.document.TextField;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.queryparser.classic.MultiFieldQueryParser;
+import org.apache.lucene.queryparser.classic.ParseException;
+import org.apache.lucene.queryparser.classic.QueryParser;
+import org.apache.lucene.search.BooleanClause;
+import org.apache.lucene.search.BooleanQuery;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.search.ScoreDoc;
+import org.apache.lucene.search.SearcherManager;
+import org.apache.lucene.search.TermQuery;
+import org.apache.lucene.search.TopDocs;
+import org.apache.lucene.search.TotalHits;
+import org.apache.lucene.search.highlight.Highlighter;
+import org.apache.lucene.search.highlight.InvalidTokenOffsetsException;
+import org.apache.lucene.search.highlight.QueryScorer;
+import org.apache.lucene.search.highlight.SimpleHTMLFormatter;
+import org.apache.lucene.search.highlight.SimpleHTMLEncoder;
+import org.apache.lucene.search.highlight.SimpleSpanFragmenter;
+import org.apache.lucene.store.Directory;
+import org.apache.lucene.store.FSDirectory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
+import com.baomidou.mybatisplus.core.metadata.IPage;
+import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
+import com.example.petpojo.entity.Articles;
+import com.example.petpojo.entity.Breed;
+import com.example.petpojo.entity.Shelters;
+import com.example.petpojo.entity.Species;
+import com.example.petpojo.entity.enums.CommonEnum;
+import com.example.petpojo.vo.PetListVo;
+import com.example.petpojo.vo.SearchHitVo;
+import com.example.petservice.cache.PetChangeListener;
+import com.example.petservice.mapper.ArticlesMapper;
+import com.example.petservice.mapper.BreedMapper;
+import com.example.petservice.mapper.ListPetsMapper;
+import com.example.petservice.mapper.SheltersMapper;
+import com.example.petservice.mapper.SpeciesMapper;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 进程内全文检索索引（Lucene）
+ * 覆盖可领养宠物、品种、收容所和已发布文章；中文使用 CJK 二元分词。
+ * 写路径在事务提交后增量更新文档并刷新 NRT 搜索器，提交（fsync）由定时任务批量完成；
+ * 每晚全量重建一次，兜底收容所、物种等没有增量钩子的数据。
+ * 增量更新的读库与写索引都在 writeLock 下完成，同一文档的并发变更按加锁顺序生效；
+ * 重建期间增量变更只登记文档键，不触碰写入器、不刷新搜索器，重建结束前在锁内按最新数据重放后再一次性发布。
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class FullTextSearchIndex implements PetChangeListener {
+
+    public static final String TYPE_PET = "pet";
+    public static final String TYPE_BREED = "breed";
+    public static final String TYPE_SHELTER = "shelter";
+    public static final String TYPE_ARTICLE = "article";
+
+    private static final String FIELD_KEY = "key";
+    private static final String FIELD_TYPE = "type";
+    private static final String FIELD_ID = "id";
+    private static final String FIELD_TITLE = "title";
+    private static final String FIELD_BODY = "body";
+    private static final String FIELD_IMAGE = "image";
+    private static final int SNIPPET_LENGTH = 80;
+    /**
+     * 深分页上限：current * size 不超过该值
+     */
+    public static final int MAX_WINDOW = 1000;
+
+    private final ListPetsMapper listPetsMapper;
+    private final BreedMapper breedMapper;
+    private final SpeciesMapper speciesMapper;
+    private final SheltersMapper sheltersMapper;
+    private final ArticlesMapper articlesMapper;
+
+    @Value("${pet.search.index-dir:${java.io.tmpdir}/petproject-search}")
+    private String indexDir;
+
+    private final Analyzer analyzer = new CJKAnalyzer();
+    private final AtomicBoolean dirty = new AtomicBoolean(false);
+    private final Object writeLock = new Object();
+    /** 重建期间登记的增量变更，受 writeLock 保护 */
+    private final Set<DocKey> pendingDuringRebuild = new LinkedHashSet<>();
+    private boolean rebuilding;
+    private Directory directory;
+    private volatile IndexWriter writer;
+    private volatile SearcherManager searcherManager;
+
+    private record DocKey(String type, Integer id) {
+    }
+
+    @PostConstruct
+    public void open() throws IOException {
+        Path path = Path.of(indexDir);
+        Files.createDirectories(path);
+        directory = FSDirectory.open(path);
+        IndexWriterConfig config = new IndexWriterConfig(analyzer)
+                .setOpenMode(IndexWriterConfig.OpenMode.CREATE_OR_APPEND);
+        writer = new IndexWriter(directory, config);
+        searcherManager = new SearcherManager(writer, null);
+    }
+
+    @PreDestroy
+    public void close() {
+        synchronized (writeLock) {
+            try {
+                if (searcherManager != null) {
+                    searcherManager.close();
+                }
+                if (writer != null && rebuilding) {
+                    // 重建未完成，丢弃半成品，保留上次提交的索引
+                    writer.rollback();
+                } else if (writer != null) {
+                    writer.commit();
+                    writer.close();
+                }
+                if (directory != null) {
+                    directory.close();
+                }
+            } catch (IOException e) {
+                log.warn("关闭全文索引失败", e);
+            }
+        }
+    }
+
+    /**
+     * 首次启动或索引目录为空时构建索引
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        if (writer.getDocStats().numDocs == 0) {
+            reindex();
+        }
+    }
+
+    /**
+     * 定时提交增量更新，避免每次写入都 fsync
+     */
+    @Scheduled(fixedDelayString = "${pet.search.commit-interval-ms:30000}")
+    public void commitIfDirty() {
+        synchronized (writeLock) {
+            // 重建中途提交会把半空的索引落盘，等重建结束统一提交
+            if (rebuilding || !dirty.getAndSet(false)) {
+                return;
+            }
+            try {
+                writer.commit();
+            } catch (IOException e) {
+                dirty.set(true);
+                log.warn("提交全文索引失败", e);
+            }
+        }
+    }
+
+    /**
+     * 夜间全量重建
+     */
+    @Scheduled(cron = "${pet.search.reindex-cron:0 30 3 * * ?}")
+    public void scheduledReindex() {
+        reindex();
+    }
+
+    /**
+     * 全量重建索引；新文档在发布前对查询不可见，重建过程中查询仍读取旧快照
+     * @return 索引文档数量，已有重建在进行时返回 0
+     */
+    public int reindex() {
+        synchronized (writeLock) {
+            if (rebuilding) {
+                log.info("全文索引正在重建，忽略本次请求");
+                return 0;
+            }
+            try {
+                // 先落盘已有增量，重建失败回滚时不会丢失
+                writer.commit();
+                dirty.set(false);
+            } catch (IOException e) {
+                log.error("全文索引重建前提交失败", e);
+                return 0;
+            }
+            rebuilding = true;
+        }
+        long start = System.currentTimeMillis();
+        try {
+            IndexWriter rebuildWriter = writer;
+            rebuildWriter.deleteAll();
+            int count = 0;
+            for (PetListVo pet : listPetsMapper.selectAllAvailablePetList()) {
+                rebuildWriter.addDocument(petDocument(pet));
+                count++;
+            }
+            Map<Integer, String> speciesNames = speciesMapper.selectList(null).stream()
+                    .collect(Collectors.toMap(Species::getId, Species::getName, (a, b) -> a));
+            for (Breed breed : breedMapper.selectList(null)) {
+                rebuildWriter.addDocument(breedDocument(breed, speciesNames.get(breed.getSpeciesId())));
+                count++;
+            }
+            for (Shelters shelter : sheltersMapper.selectList(null)) {
+                rebuildWriter.addDocument(shelterDocument(shelter));
+                count++;
+            }
+            List<Articles> articles = articlesMapper.selectList(new LambdaQueryWrapper<Articles>()
+                    .eq(Articles::getStatus, CommonEnum.ArticleStatusEnum.PUBLISHED));
+            for (Articles article : articles) {
+                rebuildWriter.addDocument(articleDocument(article));
+                count++;
+            }
+            synchronized (writeLock) {
+                int replayed = replayPending();
+                writer.commit();
+                searcherManager.maybeRefresh();
+                rebuilding = false;
+                log.info("全文索引重建完成, docs={}, replayed={}, cost={}ms",
+                        count, replayed, System.currentTimeMillis() - start);
+            }
+            return count;
+        } catch (IOException e) {
+            log.error("全文索引重建失败", e);
+            synchronized (writeLock) {
+                try {
+                    writer.rollback();
+                    reopen();
+                    replayPending();
+                    dirty.set(true);
+                    searcherManager.maybeRefresh();
+                } catch (IOException ex) {
+                    log.error("全文索引回滚失败", ex);
+                } finally {
+                    pendingDuringRebuild.clear();
+                    rebuilding = false;
+                }
+            }
+            return 0;
+        }
+    }
+
+    @Override
+    public void onPetChanged(Integer petId) {
+        // 宠物变更回调已在事务提交后触发，投影表此时已是最新状态
+        refresh(TYPE_PET, petId);
+    }
+
+    /**
+     * 文章变更后（提交后）刷新文档，草稿或已删除的文章从索引移除
+     */
+    public void articleChanged(Integer articleId) {
+        afterCommit(() -> refresh(TYPE_ARTICLE, articleId));
+    }
+
+    /**
+     * 品种变更后（提交后）刷新文档
+     */
+    public void breedChanged(Integer breedId) {
+        afterCommit(() -> refresh(TYPE_BREED, breedId));
+    }
+
+    /**
+     * 按相关度检索
+     * @param keyword 关键词
+     * @param type 结果类型，为空表示全部
+     * @param current 页码
+     * @param size 每页数量
+     * @return 带高亮的命中结果
+     */
+    public IPage<SearchHitVo> search(String keyword, String type, int current, int size) {
+        Page<SearchHitVo> page = new Page<>(current, size, 0);
+        // 以 long 计算，避免超大页码溢出为负数绕过上限
+        long window = (long) current * size;
+        if (current < 1 || size < 1 || window > MAX_WINDOW) {
+            page.setRecords(List.of());
+            return page;
+        }
+        Query query = buildQuery(keyword, type);
+        IndexSearcher searcher = null;
+        try {
+            searcher = searcherManager.acquire();
+            TopDocs topDocs = searcher.search(query, (int) window);
+            // 命中数超过统计阈值时 totalHits 只是下限，此时单独精确计数
+            page.setTotal(topDocs.totalHits.relation == TotalHits.Relation.EQUAL_TO
+                    ? topDocs.totalHits.value : searcher.count(query));
+            Highlighter highlighter = new Highlighter(
+                    new SimpleHTMLFormatter("<em>", "</em>"), new SimpleHTMLEncoder(), new QueryScorer(query));
+            highlighter.setTextFragmenter(new SimpleSpanFragmenter(new QueryScorer(query), SNIPPET_LENGTH));
+
+            List<SearchHitVo> hits = new ArrayList<>(size);
+            ScoreDoc[] scoreDocs = topDocs.scoreDocs;
+            for (int i = (current - 1) * size; i < scoreDocs.length; i++) {
+                Document doc = searcher.storedFields().document(scoreDocs[i].doc);
+                hits.add(toHit(doc, scoreDocs[i].score, highlighter));
+            }
+            page.setRecords(hits);
+            return page;
+        } catch (IOException e) {
+            log.error("全文检索失败, keyword={}", keyword, e);
+            page.setRecords(List.of());
+            return page;
+        } finally {
+            if (searcher != null) {
+                try {
+                    searcherManager.release(searcher);
+                } catch (IOException e) {
+                    log.warn("释放搜索器失败", e);
+                }
+            }
+        }
+    }
+
+    private Query buildQuery(String keyword, String type) {
+        MultiFieldQueryParser parser = new MultiFieldQueryParser(
+                new String[]{FIELD_TITLE, FIELD_BODY}, analyzer, Map.of(FIELD_TITLE, 3.0f, FIELD_BODY, 1.0f));
+        parser.setDefaultOperator(QueryParser.Operator.AND);
+        Query textQuery;
+        try {
+            // 用户输入一律按字面量处理，避免语法字符导致解析失败
+            textQuery = parser.parse(QueryParser.escape(keyword.trim()));
+        } catch (ParseException e) {
+            textQuery = new TermQuery(new Term(FIELD_TITLE, keyword.trim()));
+        }
+        if (type == null || type.isBlank()) {
+            return textQuery;
+        }
+        return new BooleanQuery.Builder()
+                .add(textQuery, BooleanClause.Occur.MUST)
+                .add(new TermQuery(new Term(FIELD_TYPE, type)), BooleanClause.Occur.FILTER)
+                .build();
+    }
+
+    private SearchHitVo toHit(Document doc, float score, Highlighter highlighter) throws IOException {
+        String title = doc.get(FIELD_TITLE);
+        String body = doc.get(FIELD_BODY);
+        String highlightedTitle = highlight(highlighter, FIELD_TITLE, title, Function.identity());
+        String snippet = highlight(highlighter, FIELD_BODY, body,
+                text -> text.length() > SNIPPET_LENGTH ? text.substring(0, SNIPPET_LENGTH) : text);
+        return new SearchHitVo(doc.get(FIELD_TYPE), Integer.valueOf(doc.get(FIELD_ID)),
+                highlightedTitle, snippet, doc.get(FIELD_IMAGE), score);
+    }
+
+    private String highlight(Highlighter highlighter, String field, String text, Function<String, String> fallback)
+            throws IOException {
+        if (text == null || text.isEmpty()) {
+            return text;
+        }
+        try {
+            String fragment = highlighter.getBestFragment(analyzer, field, text);
+            return fragment != null ? fragment : SimpleHTMLEncoder.htmlEncode(fallback.apply(text));
+        } catch (InvalidTokenOffsetsException e) {
+            return SimpleHTMLEncoder.htmlEncode(fallback.apply(text));
+        }
+    }
+
+    /**
+     * 按数据库最新状态刷新单个文档；重建期间只登记，由重建线程在发布前重放
+     */
+    private void refresh(String type, Integer id) {
+        synchronized (writeLock) {
+            if (rebuilding) {
+                pendingDuringRebuild.add(new DocKey(type, id));
+                return;
+            }
+            try {
+                apply(type, id);
+                dirty.set(true);
+                searcherManager.maybeRefresh();
+            } catch (IOException e) {
+                log.warn("更新全文索引失败, type={}, id={}", type, id, e);
+            }
+        }
+    }
+
+    /**
+     * 重放重建期间登记的变更，调用方持有 writeLock
+     * @return 重放的文档数
+     */
+    private int replayPending() throws IOException {
+        int replayed = pendingDuringRebuild.size();
+        for (DocKey key : pendingDuringRebuild) {
+            apply(key.type(), key.id());
+        }
+        pendingDuringRebuild.clear();
+        return replayed;
+    }
+
+    /**
+     * 读库并写入文档，不存在或不应被检索的记录从索引删除；调用方持有 writeLock
+     */
+    private void apply(String type, Integer id) throws IOException {
+        Document doc = loadDocument(type, id);
+        Term term = new Term(FIELD_KEY, key(type, id));
+        if (doc == null) {
+            writer.deleteDocuments(term);
+        } else {
+            writer.updateDocument(term, doc);
+        }
+    }
+
+    private Document loadDocument(String type, Integer id) {
+        switch (type) {
+            case TYPE_PET -> {
+                PetListVo pet = listPetsMapper.selectAvailablePetListById(id);
+                return pet != null ? petDocument(pet) : null;
+            }
+            case TYPE_ARTICLE -> {
+                Articles article = articlesMapper.selectById(id);
+                return article != null && CommonEnum.ArticleStatusEnum.PUBLISHED.equals(article.getStatus())
+                        ? articleDocument(article) : null;
+            }
+            case TYPE_BREED -> {
+                Breed breed = breedMapper.selectById(id);
+                if (breed == null) {
+                    return null;
+                }
+                Species species = speciesMapper.selectById(breed.getSpeciesId());
+                return breedDocument(breed, species != null ? species.getName() : null);
+            }
+            default -> throw new IllegalArgumentException("不支持增量更新的文档类型: " + type);
+        }
+    }
+
+    /**
+     * 回滚后重新打开写入器与搜索器，调用方持有 writeLock
+     */
+    private void reopen() throws IOException {
+        if (searcherManager != null) {
+            searcherManager.close();
+        }
+        writer = new IndexWriter(directory, new IndexWriterConfig(analyzer)
+                .setOpenMode(IndexWriterConfig.OpenMode.CREATE_OR_APPEND));
+        searcherManager = new SearcherManager(writer, null);
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+            return;
+        }
+        action.run();
+    }
+
+    private static Document petDocument(PetListVo pet) {
+        return document(TYPE_PET, pet.getPid(), pet.getName(),
+                join(pet.getSpecies(), pet.getBreed(), pet.getGender(), pet.getShelterName(), pet.getShelterAddress()),
+                pet.getImage());
+    }
+
+    private static Document breedDocument(Breed breed, String speciesName) {
+        return document(TYPE_BREED, breed.getId(), breed.getName(), join(speciesName, breed.getDescription()), null);
+    }
+
+    private static Document shelterDocument(Shelters shelter) {
+        return document(TYPE_SHELTER, shelter.getSid(), shelter.getName(), shelter.getLocation(), null);
+    }
+
+    private static Document articleDocument(Articles article) {
+        return document(TYPE_ARTICLE, article.getId(), article.getTitle(),
+                join(article.getAuthor(), article.getContent()), article.getCoverImage());
+    }
+
+    private static Document document(String type, Integer id, String title, String body, String image) {
+        Document doc = new Document();
+        doc.add(new StringField(FIELD_KEY, key(type, id), Field.Store.NO));
+        doc.add(new StringField(FIELD_TYPE, type, Field.Store.YES));
+        doc.add(new StoredField(FIELD_ID, String.valueOf(id)));
+        doc.add(new TextField(FIELD_TITLE, title == null ? "" : title, Field.Store.YES));
+        doc.add(new TextField(FIELD_BODY, body == null ? "" : body, Field.Store.YES));
+        if (image != null) {
+            doc.add(new StoredField(FIELD_IMAGE, image));
+        }
+        return doc;
+    }
+
+    private static String key(String type, Integer id) {
+        return type + ":" + id;
+    }
+
+    private static String join(String... parts) {
+        StringBuilder sb = new StringBuilder();
+        for (String part : parts) {
+            if (part != null && !part.isBlank()) {
+                if (!sb.isEmpty()) {
+                    sb.append(' ');
+                }
+                sb.append(part);
+            }
+        }
+        return sb.toString();
+    }
+}
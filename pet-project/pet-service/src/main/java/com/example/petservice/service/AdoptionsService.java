@@ -4,6 +4,7 @@ import com.baomidou.mybatisplus.core.metadata.IPage;
 import com.baomidou.mybatisplus.extension.service.IService;
 import com.example.petpojo.entity.Adoptions;
 import com.example.petpojo.vo.AdoptionTimelineResponse;
+import com.example.petpojo.vo.BatchReviewResultVo;
 import com.example.petpojo.vo.AdoptionsVo;
 import com.example.petpojo.vo.AdoptionsWithFosterStatusVo;
 
@@ -73,9 +74,9 @@ public interface AdoptionsService extends IService<Adoptions> {
      * @param userId 用户ID
      * @param currentPage 当前页码
      * @param pageSize 每页数量
-     * @return 用户领养记录列表（带寄养状态）
+     * @return 用户领养记录分页对象（带寄养状态）
      */
-    List<AdoptionsWithFosterStatusVo> getUserAdoptionsWithFosterStatus(Long userId, Integer currentPage, Integer pageSize);
+    IPage<AdoptionsWithFosterStatusVo> getUserAdoptionsWithFosterStatus(Long userId, Integer currentPage, Integer pageSize);
 
     /**
      * 获取宠物领养时间线
@@ -105,6 +106,20 @@ public interface AdoptionsService extends IService<Adoptions> {
      */
     void rejectAdoption(Integer adoptionId, String note);
 
+    /**
+     * 管理员批量审核通过领养，逐条返回结果
+     * @param adoptionIds 领养记录ID
+     * @param note 审核备注
+     */
+    BatchReviewResultVo batchApproveAdoptions(List<Integer> adoptionIds, String note);
+
+    /**
+     * 管理员批量拒绝领养，逐条返回结果
+     * @param adoptionIds 领养记录ID
+     * @param note 审核备注
+     */
+    BatchReviewResultVo batchRejectAdoptions(List<Integer> adoptionIds, String note);
+
     /**
      * 管理员分页查看领养记录
      */
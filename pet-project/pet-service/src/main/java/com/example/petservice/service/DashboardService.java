@@ -0,0 +1,21 @@
+package com.example.petservice.service;
+
+import com.example.petpojo.vo.DashboardSummaryVo;
+
+/**
+ * 管理员看板服务接口
+ */
+public interface DashboardService {
+
+    /**
+     * 获取看板汇总：收容所管理员只能查看本收容所，平台管理员可指定收容所或查看全部汇总
+     * @param shelterId 收容所ID，平台管理员为空时返回全部收容所之和
+     * @return 看板汇总
+     */
+    DashboardSummaryVo getSummary(Integer shelterId);
+
+    /**
+     * 以数据库为准校准全部收容所计数，仅平台管理员可用
+     */
+    void reconcile();
+}
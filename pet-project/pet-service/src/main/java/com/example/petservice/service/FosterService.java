@@ -6,6 +6,7 @@ import java.util.List;
 import com.baomidou.mybatisplus.core.metadata.IPage;
 import com.baomidou.mybatisplus.extension.service.IService;
 import com.example.petpojo.entity.Fosters;
+import com.example.petpojo.vo.BatchReviewResultVo;
 import com.example.petpojo.vo.FostersVo;
 
 public interface FosterService extends IService<Fosters> {
@@ -79,6 +80,20 @@ public interface FosterService extends IService<Fosters> {
       */
      void rejectFoster(Integer fosterId, String note);
 
+     /**
+      * 管理员批量审核通过寄养，逐条返回结果
+      * @param fosterIds 寄养记录ID
+      * @param note 审核备注
+      */
+     BatchReviewResultVo batchApproveFosters(List<Integer> fosterIds, String note);
+
+     /**
+      * 管理员批量拒绝寄养，逐条返回结果
+      * @param fosterIds 寄养记录ID
+      * @param note 审核备注
+      */
+     BatchReviewResultVo batchRejectFosters(List<Integer> fosterIds, String note);
+
      /**
      * 管理员标记寄养完成
      */
@@ -88,4 +103,10 @@ public interface FosterService extends IService<Fosters> {
       * 管理员分页查看寄养记录
       */
      IPage<FostersVo> listFostersForAdmin(Integer currentPage, Integer pageSize, String status);
+
+     /**
+      * 全量重建（宠物, 用户）最近寄养记录投影，仅平台管理员可用
+      * @return 重建后的记录数
+      */
+     int rebuildLatestFosterProjection();
 }
@@ -3,10 +3,14 @@ package com.example.petservice.service;
 import com.baomidou.mybatisplus.extension.service.IService;
 import com.example.petpojo.dto.HealthDto;
 import com.example.petpojo.entity.HealthAlerts;
+import com.example.petpojo.vo.CursorPageVo;
 import com.example.petpojo.vo.HealthAlertsVo;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 
 public interface HealthAlertsService extends IService<HealthAlerts> {
     
@@ -14,6 +18,16 @@ public interface HealthAlertsService extends IService<HealthAlerts> {
      * 获取用户的健康提醒列表
      */
     List<HealthAlertsVo> getUserHealthAlerts(Integer userId);
+
+    /**
+     * 游标分页获取用户的健康提醒
+     * @param userId 用户ID
+     * @param cursor 上一页返回的游标，首页传 null
+     * @param pageSize 每页数量
+     * @param status 状态筛选，为空表示全部可见状态
+     * @return 游标分页结果
+     */
+    CursorPageVo<HealthAlertsVo> getUserHealthAlertsPage(Integer userId, String cursor, Integer pageSize, String status);
     
     /**
      * 根据宠物ID获取健康提醒
@@ -36,45 +50,83 @@ public interface HealthAlertsService extends IService<HealthAlerts> {
     boolean deleteHealthAlert(Integer healthId);
     
     /**
-     * 获取需要提醒的健康提醒列表
+     * 查询待发送（attention）且提醒时间在区间内的提醒，供调度队列装载
      * @param start 开始时间
      * @param end 结束时间
-     * @param status 状态
-     * @return 需要提醒的健康提醒列表
+     * @return healthId 到提醒时间的映射
      */
-    List<HealthAlertsVo> listNeedRemindAlerts(LocalDateTime start, LocalDateTime end, String status);
-    
+    Map<Integer, LocalDateTime> listReminderSchedule(LocalDateTime start, LocalDateTime end);
+
     /**
-     * 通过宠物ID获取宠物名称
-     * @param pid 宠物ID
-     * @return 宠物名称
+     * 认领到期提醒，认领成功的提醒改为分发中，租约内其他实例不会再认领
+     * @param claimToken 认领令牌
+     * @param healthIds 候选健康提醒ID
+     * @param lease 租约时长
+     * @return 认领的记录数
      */
-    String getPetNameById(Long pid);
-    
+    int claimReminders(String claimToken, Collection<Integer> healthIds, Duration lease);
+
+    /**
+     * 重新认领租约已过期的分发中提醒
+     * @param claimToken 认领令牌
+     * @param limit 最多认领条数
+     * @param lease 租约时长
+     * @return 认领的记录数
+     */
+    int claimExpiredReminders(String claimToken, int limit, Duration lease);
+
+    /**
+     * 查询某次认领的提醒
+     * @param claimToken 认领令牌
+     * @return 健康提醒VO列表
+     */
+    List<HealthAlertsVo> listClaimedReminders(String claimToken);
+
+    /**
+     * 批量将已认领的提醒标记为已提醒
+     * @param claimToken 认领令牌
+     * @param healthIds 健康提醒ID
+     * @return 更新的记录数
+     */
+    int completeClaimedReminders(String claimToken, Collection<Integer> healthIds);
+
     /**
-     * 标记为已提醒
-     * @param healthId 健康提醒ID
+     * 批量将已认领但未发送的提醒放回待发送
+     * @param claimToken 认领令牌
+     * @param healthIds 健康提醒ID
+     * @return 更新的记录数
      */
-    void markAsReminded(Integer healthId);
+    int releaseClaimedReminders(String claimToken, Collection<Integer> healthIds);
     
+    /**
+     * 按主键游标查询某状态下进入该状态早于指定时间的一批提醒
+     * @param status 状态
+     * @param afterId 上一批最后的健康提醒ID，首批传 0
+     * @param before 进入该状态的时间上限（reminded 比较 remindedAt，expired 比较 expiredAt）
+     * @param limit 批大小
+     * @return 健康提醒列表（仅含 healthId、healthType、remindedAt、expiredAt）
+     */
+    List<HealthAlerts> listLifecycleChunk(String status, Integer afterId, LocalDateTime before, int limit);
+
     /**
      * 批量将已提醒的健康提醒标记为过期
-     * @param now 当前时间
+     * @param healthIds 健康提醒ID
      * @return 更新的记录数
      */
-    int batchExpireReminded(LocalDateTime now);
+    int batchExpireReminded(Collection<Integer> healthIds);
     
     /**
-     * 批量将过期的健康提醒标记为归档
-     * @param now 当前时间
-     * @return 更新的记录数
+     * 批量将过期的健康提醒迁入归档表
+     * @param healthIds 健康提醒ID
+     * @return 迁移的记录数
      */
-    int batchArchiveExpired(LocalDateTime now);
+    int batchArchiveExpired(Collection<Integer> healthIds);
     
     /**
-     * 批量删除已归档的健康提醒
-     * @param now 当前时间
+     * 删除一批超过保留期的归档记录
+     * @param before 归档时间上限
+     * @param limit 批大小
      * @return 删除的记录数
      */
-    int batchDeleteArchived(LocalDateTime now);
+    int batchDeleteArchived(LocalDateTime before, int limit);
 }
\ No newline at end of file
@@ -2,9 +2,13 @@ package com.example.petservice.service;
 import com.baomidou.mybatisplus.core.metadata.IPage;
 import com.baomidou.mybatisplus.extension.service.IService;
 import com.example.petpojo.entity.Pets;
+import com.example.petpojo.vo.CursorPageVo;
+import com.example.petpojo.vo.PetFacetsVo;
 import com.example.petpojo.vo.PetListVo; // 更改导入的VO类
 import com.example.petpojo.vo.PetsDetailsVo; // 导入详情VO类
 
+import java.util.List;
+
 /**
  * 宠物列表服务接口
  * 定义宠物列表相关的业务方法
@@ -23,11 +27,37 @@ public interface ListPetsService extends IService<Pets>{
      * @return 宠物列表分页对象
      */
         IPage<PetListVo> listPets(Integer currentPage, Integer pageSize, String species, String breed, String gender, Integer minAge, Integer maxAge);
+
+    /**
+     * 游标分页查询宠物列表（不统计总数，翻页成本与页码无关）
+     * @param cursor 上一页返回的游标，为空表示第一页
+     * @param pageSize 每页数量
+     * @param species 物种筛选
+     * @param breed 品种筛选
+     * @param gender 性别筛选
+     * @param minAge 最小年龄
+     * @param maxAge 最大年龄
+     * @return 游标分页结果
+     */
+        CursorPageVo<PetListVo> listPetsByCursor(String cursor, Integer pageSize, String species, String breed, String gender, Integer minAge, Integer maxAge);
         
+    /**
+     * 查询可领养宠物在各筛选项（物种、品种、性别、年龄段）下的数量
+     * @return 筛选项计数
+     */
+        PetFacetsVo getAvailablePetFacets();
+
     /**
      * 根据ID查询宠物详情
      * @param petId 宠物ID
      * @return 宠物详情VO对象
      */
         PetsDetailsVo getPetById(Integer petId);
+
+    /**
+     * 批量查询宠物详情，与逐个调用 getPetById 共用同一份缓存
+     * @param petIds 宠物ID列表
+     * @return 宠物详情列表，按请求顺序排列，不存在的宠物被跳过
+     */
+        List<PetsDetailsVo> getPetsByIds(List<Integer> petIds);
 }
\ No newline at end of file
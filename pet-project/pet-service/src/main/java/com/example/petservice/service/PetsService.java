@@ -36,6 +36,12 @@ public interface PetsService extends IService<Pets> {
      */
     PetListVo updatePetStatus(Integer petId, String status);
 
+    /**
+     * 平台管理员全量重建可领养宠物投影
+     * @return 重建后的可领养宠物数量
+     */
+    int rebuildAdoptableProjection();
+
     /**
      * 管理员分页查看宠物列表
      */
@@ -0,0 +1,26 @@
+package com.example.petservice.service;
+
+import com.baomidou.mybatisplus.core.metadata.IPage;
+import com.example.petpojo.vo.SearchHitVo;
+
+/**
+ * 全文检索服务接口
+ */
+public interface SearchService {
+
+    /**
+     * 按关键词检索宠物、品种、收容所和文章
+     * @param keyword 关键词
+     * @param type 结果类型（pet/breed/shelter/article），为空表示全部
+     * @param currentPage 当前页码
+     * @param pageSize 每页数量
+     * @return 按相关度排序的命中结果
+     */
+    IPage<SearchHitVo> search(String keyword, String type, Integer currentPage, Integer pageSize);
+
+    /**
+     * 全量重建全文索引
+     * @return 索引文档数量
+     */
+    int reindex();
+}
@@ -1,5 +1,9 @@
 package com.example.petservice.service;
 
+import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
+import com.example.petpojo.entity.Users;
+import com.example.petservice.mapper.UsersMapper;
+import com.example.petservice.websocket.WebSocketDelivery;
 import com.example.petservice.websocket.WebSocketServer;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
@@ -9,11 +13,13 @@ import org.springframework.stereotype.Service;
 
 import java.time.LocalDateTime;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 /**
  * WebSocket通知服务
- * 用于向管理员实时推送领养和寄养申请等通知
+ * 用于向管理员实时推送领养和寄养申请等通知；每条通知带 msgId，
+ * 先写入接收人的待确认队列，离线接收人上线后补发，客户端确认后删除
  */
 @Slf4j
 @Service
@@ -21,34 +27,32 @@ import java.util.Map;
 public class WebSocketNotificationService {
     
     private static final ObjectMapper objectMapper = new ObjectMapper();
+    private static final String ROLE_ADMIN = "ADMIN";
+
+    private final WebSocketDelivery webSocketDelivery;
+    private final UsersMapper usersMapper;
     
     /**
-     * 向所有在线管理员发送通知
+     * 向所有管理员发送通知，离线管理员上线后补发
      * @param type 通知类型
      * @param title 通知标题
      * @param message 通知内容
      * @param data 附加数据
      */
     public void notifyAdmins(String type, String title, String message, Object data) {
-        try {
-            Map<String, Object> notification = new HashMap<>();
-            notification.put("type", type);
-            notification.put("title", title);
-            notification.put("message", message);
-            notification.put("data", data);
-            notification.put("timestamp", LocalDateTime.now().toString());
-
-            String jsonMessage = objectMapper.writeValueAsString(notification);
-            WebSocketServer.broadcastToAdmins(jsonMessage);
-
-            log.info("向所有管理员发送通知: type={}, title={}", type, title);
-        } catch (JsonProcessingException e) {
-            log.error("序列化通知消息失败", e);
+        String msgId = WebSocketDelivery.newMsgId();
+        String jsonMessage = buildMessage(msgId, type, title, message, data);
+        if (jsonMessage == null) {
+            return;
         }
+        webSocketDelivery.enqueueAll(adminIds(null, true), msgId, jsonMessage);
+        WebSocketServer.broadcastToAdmins(jsonMessage);
+
+        log.info("向所有管理员发送通知: type={}, title={}", type, title);
     }
     
     /**
-     * 向指定收容所的管理员发送通知（包括平台管理员）
+     * 向指定收容所的管理员发送通知（包括平台管理员），离线管理员上线后补发
      * @param shelterId 收容所ID，为null时只发给平台管理员
      * @param type 通知类型
      * @param title 通知标题
@@ -56,28 +60,85 @@ public class WebSocketNotificationService {
      * @param data 附加数据
      */
     public void notifyAdminsToShelter(Integer shelterId, String type, String title, String message, Object data) {
+        String msgId = WebSocketDelivery.newMsgId();
+        String jsonMessage = buildMessage(msgId, type, title, message, data);
+        if (jsonMessage == null) {
+            return;
+        }
+        webSocketDelivery.enqueueAll(adminIds(shelterId, false), msgId, jsonMessage);
+
+        // 只发给：平台管理员 + 指定收容所管理员（其他收容所管理员不接收）
+        WebSocketServer.broadcastToShelter(shelterId, jsonMessage);
+        if (shelterId == null) {
+            log.info("向平台管理员发送通知: type={}, title={}", type, title);
+        } else {
+            log.info("向收容所[{}]的管理员发送通知: type={}, title={}", shelterId, type, title);
+        }
+    }
+    
+    /**
+     * 向指定用户发送通知，用户不在线时写入待确认队列，上线后补发
+     * @param userId 用户ID
+     * @param type 通知类型
+     * @param title 通知标题
+     * @param message 通知内容
+     * @param data 附加数据
+     */
+    public void notifyUser(Integer userId, String type, String title, String message, Object data) {
+        if (userId == null) {
+            return;
+        }
+        String msgId = WebSocketDelivery.newMsgId();
+        String jsonMessage = buildMessage(msgId, type, title, message, data);
+        if (jsonMessage == null) {
+            return;
+        }
+        webSocketDelivery.deliver(String.valueOf(userId), msgId, jsonMessage);
+        log.info("向用户[{}]发送通知: type={}, title={}", userId, type, title);
+    }
+
+    private String buildMessage(String msgId, String type, String title, String message, Object data) {
         try {
             Map<String, Object> notification = new HashMap<>();
             notification.put("type", type);
+            notification.put("msgId", msgId);
             notification.put("title", title);
             notification.put("message", message);
             notification.put("data", data);
             notification.put("timestamp", LocalDateTime.now().toString());
-            
-            String jsonMessage = objectMapper.writeValueAsString(notification);
-
-            // 只发给：平台管理员 + 指定收容所管理员（其他收容所管理员不接收）
-            WebSocketServer.broadcastToShelter(shelterId, jsonMessage);
-            if (shelterId == null) {
-                log.info("向平台管理员发送通知: type={}, title={}", type, title);
-            } else {
-                log.info("向收容所[{}]的管理员发送通知: type={}, title={}", shelterId, type, title);
-            }
+            return objectMapper.writeValueAsString(notification);
         } catch (JsonProcessingException e) {
             log.error("序列化通知消息失败", e);
+            return null;
         }
     }
-    
+
+    /**
+     * 通知接收的管理员：平台管理员，以及指定收容所的管理员
+     * @param shelterId 收容所ID
+     * @param allShelters 是否包含所有收容所的管理员
+     */
+    private List<Integer> adminIds(Integer shelterId, boolean allShelters) {
+        try {
+            LambdaQueryWrapper<Users> query = new LambdaQueryWrapper<Users>()
+                    .select(Users::getId)
+                    .eq(Users::getRole, ROLE_ADMIN);
+            if (!allShelters) {
+                query.and(w -> {
+                    w.isNull(Users::getAdminShelterId);
+                    if (shelterId != null) {
+                        w.or().eq(Users::getAdminShelterId, shelterId);
+                    }
+                });
+            }
+            return usersMapper.selectList(query).stream().map(Users::getId).toList();
+        } catch (Exception e) {
+            // 查询失败只影响离线补发，实时推送照常进行
+            log.warn("查询通知接收管理员失败: shelterId={}", shelterId, e);
+            return List.of();
+        }
+    }
+
     /**
      * 发送新的领养申请通知
      * @param adoptionId 领养记录ID
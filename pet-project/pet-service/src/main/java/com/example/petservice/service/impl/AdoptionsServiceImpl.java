@@ -3,23 +3,27 @@ package com.example.petservice.service.impl;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.stream.Collectors;
 
-import com.example.petservice.service.WebSocketNotificationService;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
 import com.baomidou.mybatisplus.core.metadata.IPage;
-import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
 import com.baomidou.mybatisplus.extension.service.impl.ServiceImpl;
 import com.example.petcommon.context.UserContext;
 import com.example.petcommon.error.ErrorCode;
 import com.example.petcommon.exception.BizException;
 import com.example.petpojo.vo.AdoptionTimelineResponse;
+import com.example.petpojo.vo.AdoptionTimelineSourceVo;
 import com.example.petpojo.vo.AdoptionTimelineVo;
 import com.example.petpojo.entity.Adoptions;
 import com.example.petpojo.entity.Fosters;
@@ -29,14 +33,21 @@ import com.example.petpojo.entity.Users;
 import com.example.petpojo.entity.enums.CommonEnum;
 import com.example.petpojo.vo.AdoptionsVo;
 import com.example.petpojo.vo.AdoptionsWithFosterStatusVo;
-import com.example.petpojo.vo.FostersVo;
-import com.example.petservice.cache.PetCacheInvalidator;
+import com.example.petpojo.vo.BatchReviewResultVo;
+import com.example.petservice.cache.CacheNames;
+import com.example.petservice.cache.UserHealthAlertsCache;
+import com.example.petservice.projection.AdoptablePetProjection;
+import com.example.petservice.reference.ReferenceDataCache;
+import com.example.petservice.review.BatchReviewFlow;
+import com.example.petservice.dashboard.ShelterDashboardCounters;
 import com.example.petservice.mapper.AdoptionsMapper;
-import com.example.petservice.mapper.FosterMapper;
-import com.example.petservice.mapper.ListPetsMapper;
 import com.example.petservice.mapper.PetsMapper;
 import com.example.petservice.mapper.SheltersMapper;
 import com.example.petservice.mapper.UsersMapper;
+import com.example.petservice.outbox.OutboxEventTypes;
+import com.example.petservice.outbox.OutboxService;
+import com.example.petservice.pagination.PageCounter;
+import com.example.petservice.pagination.PageStatements;
 import com.example.petservice.service.AdoptionsService;
 import com.example.petservice.service.FosterService;
 
@@ -49,14 +60,16 @@ import lombok.extern.slf4j.Slf4j;
 public class AdoptionsServiceImpl extends ServiceImpl<AdoptionsMapper, Adoptions> implements AdoptionsService {
 
     private final AdoptionsMapper adoptionsMapper;
-    private final FosterMapper fosterMapper;
-    private final ListPetsMapper listPetsMapper;
     private final PetsMapper petsMapper;
     private final SheltersMapper sheltersMapper;
     private final UsersMapper usersMapper;
     private final FosterService fosterService;
-    private final PetCacheInvalidator petCacheInvalidator;
-    private final WebSocketNotificationService webSocketNotificationService;
+    private final AdoptablePetProjection adoptablePetProjection;
+    private final PageCounter pageCounter;
+    private final ReferenceDataCache referenceDataCache;
+    private final OutboxService outboxService;
+    private final ShelterDashboardCounters shelterDashboardCounters;
+    private final UserHealthAlertsCache userHealthAlertsCache;
     
     /**
      * 创建领养信息
@@ -86,31 +99,22 @@ public class AdoptionsServiceImpl extends ServiceImpl<AdoptionsMapper, Adoptions
             throw new BizException(ErrorCode.ADOPTION_CREATE_FAILED);
         }
 
-        petCacheInvalidator.evictPetListPages();
+        // 出现待审核申请后宠物不再出现在可领养列表中；投影随事务提交，缓存失效与管理员通知经发件箱在提交后投递
+        adoptablePetProjection.refresh(pid);
+        outboxService.publishPetCacheInvalidation(pid, adoptions.getUid(), true);
+        outboxService.publish(OutboxEventTypes.ADOPTION_CREATED, Map.of("adoptionId", adoptions.getAid()));
+        shelterDashboardCounters.adoptionCreated(pid);
         
         // 通过关联查询获取完整的领养信息
         Integer userId = UserContext.getCurrentUserId().intValue();
-        Users applicant = usersMapper.selectById(userId);
-        String applicantName = applicant != null && applicant.getUserName() != null && !applicant.getUserName().isBlank()
-                ? applicant.getUserName()
-                : "用户" + userId;
-        String applicantPhone = applicant != null ? applicant.getPhone() : null;
         List<AdoptionsVo> adoptionsVos = adoptionsMapper.getUserAdoptions(userId, 0, 1);
         if (!adoptionsVos.isEmpty()) {
-            // 发送WebSocket通知给管理员
             AdoptionsVo adoptionVo = adoptionsVos.get(0);
-            Pets pet = petsMapper.selectById(pid);
-            Integer shelterId = pet != null ? pet.getShelterId() : adoptionVo.getSid();
-            String petName = "未知宠物";
-            if (pet != null && pet.getName() != null) {
-                petName = pet.getName();
-            } else if (adoptionVo.getName() != null) {
-                petName = adoptionVo.getName();
-            }
-            adoptionVo.setApplicantName(applicantName);
-            adoptionVo.setApplicantPhone(applicantPhone);
-            webSocketNotificationService.sendNewAdoptionNotification(adoptions.getAid(), petName, applicantName, shelterId);
-            
+            Users applicant = usersMapper.selectById(userId);
+            adoptionVo.setApplicantName(applicant != null && applicant.getUserName() != null && !applicant.getUserName().isBlank()
+                    ? applicant.getUserName()
+                    : "用户" + userId);
+            adoptionVo.setApplicantPhone(applicant != null ? applicant.getPhone() : null);
             return adoptionVo;
         }
         
@@ -190,110 +194,70 @@ public class AdoptionsServiceImpl extends ServiceImpl<AdoptionsMapper, Adoptions
     @Override
     @Transactional(readOnly = true)
     public IPage<AdoptionsVo> getUserAdoptionsWithPage(Long userId, Integer currentPage, Integer pageSize, String status) {
-        // 创建分页对象
-        Page<AdoptionsVo> page = new Page<>(currentPage, pageSize);
-
         // 状态为 APPROVED 时使用专用 SQL，避免与申请列表混用
         if (status != null && "APPROVED".equalsIgnoreCase(status.trim())) {
-            return adoptionsMapper.selectUserApprovedAdoptionsWithPage(page, userId.intValue());
+            return getUserApprovedAdoptionsWithPage(userId, currentPage, pageSize);
         }
 
         // 默认返回全部状态（用于申请记录列表）
-        return adoptionsMapper.selectUserAdoptionsWithPage(page, userId.intValue());
+        return pageCounter.paginate(PageStatements.USER_ADOPTIONS, currentPage, pageSize,
+                page -> adoptionsMapper.selectUserAdoptionsWithPage(page, userId.intValue()), userId);
     }
 
     @Override
     @Transactional(readOnly = true)
     public IPage<AdoptionsVo> getUserApprovedAdoptionsWithPage(Long userId, Integer currentPage, Integer pageSize) {
-        Page<AdoptionsVo> page = new Page<>(currentPage, pageSize);
-        return adoptionsMapper.selectUserApprovedAdoptionsWithPage(page, userId.intValue());
+        return pageCounter.paginate(PageStatements.USER_APPROVED_ADOPTIONS, currentPage, pageSize,
+                page -> adoptionsMapper.selectUserApprovedAdoptionsWithPage(page, userId.intValue()), userId);
     }
 
     /**
      * 查询用户领养记录（带寄养状态）
+     * 寄养状态随领养分页查询一并取回：只关联当前页宠物在 pet_user_latest_foster 中的最近一条寄养，
+     * 不再额外拉取用户的全部寄养记录在内存中合并
      * @param userId 用户ID
      * @param currentPage 当前页码
      * @param pageSize 每页数量
-     * @return 用户领养记录列表（带寄养状态）
+     * @return 用户领养记录分页对象（带寄养状态）
      */
     @Override
     @Transactional(readOnly = true)
-    public List<AdoptionsWithFosterStatusVo> getUserAdoptionsWithFosterStatus(Long userId, Integer currentPage, Integer pageSize) {
-        // 1. 获取用户的领养记录
-        Integer offset = (currentPage - 1) * pageSize;
-        List<AdoptionsVo> adoptions = adoptionsMapper.getUserAdoptions(userId.intValue(), offset, pageSize);
-        
-        // 2. 获取用户的所有寄养记录（包括已结束的）
-        List<FostersVo> allFosters = fosterMapper.getFostersInfo(0, 100, userId.intValue(), null);
-        
-        // 3. 构建宠物ID到最新寄养状态的映射
-        Map<Integer, String> petFosterStatusMap = allFosters.stream()
-                .collect(Collectors.toMap(
-                        foster -> foster.getPet().getPid(),
-                        foster -> {
-                            String status = foster.getStatus();
-                            if ("active".equalsIgnoreCase(status)) {
-                                return "active";
-                            }
-                            if ("ended".equalsIgnoreCase(status)) {
-                                return "ended";
-                            }
-                            if ("archived".equalsIgnoreCase(status)) {
-                                return "archived";
-                            }
-                            return "unknown";
-                        },
-                        (existing, replacement) -> {
-                            if ("active".equals(replacement)) {
-                                return replacement;
-                            }
-                            if ("ended".equals(replacement) && !"active".equals(existing)) {
-                                return replacement;
-                            }
-                            if ("archived".equals(replacement) && existing == null) {
-                                return replacement;
-                            }
-                            return existing;
-                        }
-                ));
-        
-        // 4. 转换为新的VO格式，包含寄养状态
-        return adoptions.stream()
-                .map(adoption -> {
-                    AdoptionsWithFosterStatusVo vo = new AdoptionsWithFosterStatusVo();
-                    vo.setId(adoption.getAid());
-                    vo.setAdoptDate(adoption.getAdoptionDate());
-                    
-                    // 设置宠物信息
-                    AdoptionsWithFosterStatusVo.PetInfo petInfo = new AdoptionsWithFosterStatusVo.PetInfo(
-                            adoption.getPid(),
-                            adoption.getName(),
-                            adoption.getBreed(),
-                            adoption.getAge(),
-                            adoption.getGender(),
-                            adoption.getImage()
-                    );
-                    vo.setPet(petInfo);
-                    
-                    // 设置收容所信息
-                    AdoptionsWithFosterStatusVo.ShelterInfo shelterInfo = new AdoptionsWithFosterStatusVo.ShelterInfo(
-                            adoption.getSid(),
-                            adoption.getSname(),
-                            adoption.getLocation()
-                    );
-                    vo.setShelter(shelterInfo);
-                    
-                    // 判断寄养状态
-                    String fosterStatus = petFosterStatusMap.get(adoption.getPid());
-                    if (fosterStatus != null) {
-                        vo.setFosterStatus(fosterStatus);
-                    } else {
-                        vo.setFosterStatus("available");
-                    }
-                    
-                    return vo;
-                })
-                .collect(Collectors.toList());
+    public IPage<AdoptionsWithFosterStatusVo> getUserAdoptionsWithFosterStatus(Long userId, Integer currentPage, Integer pageSize) {
+        return getUserAdoptionsWithPage(userId, currentPage, pageSize).convert(adoption -> {
+            AdoptionsWithFosterStatusVo vo = new AdoptionsWithFosterStatusVo();
+            vo.setId(adoption.getAid());
+            vo.setAdoptDate(adoption.getAdoptionDate());
+            vo.setPet(new AdoptionsWithFosterStatusVo.PetInfo(
+                    adoption.getPid(),
+                    adoption.getName(),
+                    adoption.getBreed(),
+                    adoption.getAge(),
+                    adoption.getGender(),
+                    adoption.getImage()
+            ));
+            vo.setShelter(new AdoptionsWithFosterStatusVo.ShelterInfo(
+                    adoption.getSid(),
+                    adoption.getSname(),
+                    adoption.getLocation()
+            ));
+            vo.setFosterStatus(toFosterStatus(adoption.getFosterStatus()));
+            return vo;
+        });
+    }
+
+    /**
+     * 最近一条寄养记录状态映射为前端寄养状态，没有寄养记录时为 available
+     */
+    private static String toFosterStatus(String status) {
+        if (status == null || status.isBlank()) {
+            return "available";
+        }
+        return switch (status.trim().toUpperCase()) {
+            case "ACTIVE", "ONGOING" -> "active";
+            case "COMPLETED", "ENDED" -> "ended";
+            case "ARCHIVED" -> "archived";
+            default -> "unknown";
+        };
     }
 
     /**
@@ -303,57 +267,60 @@ public class AdoptionsServiceImpl extends ServiceImpl<AdoptionsMapper, Adoptions
      * @return 领养时间线数据
      */
     @Override
+    @Cacheable(
+            cacheNames = CacheNames.ADOPTION_TIMELINE,
+            key = "T(com.example.petservice.cache.CacheKeys).adoptionTimeline(#petId, #userId)"
+    )
     @Transactional(readOnly = true)
     public AdoptionTimelineResponse getAdoptionTimeline(Integer petId, Long userId) {
-        // 获取宠物信息
-        Pets pet = listPetsMapper.selectPetById(petId);
-        if (pet == null) {
+        // 宠物、用户及最近一条领养记录一次查询取回
+        AdoptionTimelineSourceVo source = adoptionsMapper.selectTimelineSource(petId, userId.intValue());
+        if (source == null) {
             throw new BizException(ErrorCode.PET_NOT_FOUND);
         }
-        
-        // 获取用户信息
-        Users user = usersMapper.selectById(userId);
-        if (user == null) {
+        if (source.getUserId() == null) {
             throw new BizException(ErrorCode.USER_NOT_FOUND);
         }
-        
-        List<AdoptionTimelineVo> timeline = new ArrayList<>();
-        
-        // 1. 获取领养记录
-        LambdaQueryWrapper<Adoptions> adoptionWrapper = new LambdaQueryWrapper<>();
-        adoptionWrapper.eq(Adoptions::getPid, petId)
-                       .eq(Adoptions::getUid, userId.intValue())
-                       .orderByDesc(Adoptions::getAdoptDate)
-                       .last("LIMIT 1");
-        Adoptions adoption = this.getOne(adoptionWrapper, false);
+
         // 拒绝/无记录：直接返回空时间线
-        if (adoption == null
-                || CommonEnum.AdoptionStatusEnum.REJECTED.equals(adoption.getStatus())) {
+        if (source.getAdoptionId() == null
+                || CommonEnum.AdoptionStatusEnum.REJECTED.equals(source.getAdoptionStatus())) {
             return AdoptionTimelineResponse.builder()
                     .timeline(new ArrayList<>())
                     .total(0)
-                    .petName(pet.getName())
-                    .petBreed(pet.getBreed())
+                    .petName(source.getPetName())
+                    .petBreed(source.getPetBreed())
                     .build();
         }
-        
-        final LocalDateTime adoptDate = adoption != null ? adoption.getAdoptDate() : null;
-        if (adoptDate != null && adoption != null && CommonEnum.AdoptionStatusEnum.APPROVED.equals(adoption.getStatus())) {
+
+        // 寄养记录一次查询取回，涉及的收容所批量解析
+        final LocalDateTime adoptDate = source.getAdoptDate();
+        List<Fosters> fosters = filterFostersAfterAdoption(
+                adoptDate,
+                fosterService.listFostersByPetAndUser(petId, userId.intValue()));
+        Set<Integer> shelterIds = new HashSet<>();
+        if (source.getPetShelterId() != null) {
+            shelterIds.add(source.getPetShelterId());
+        }
+        fosters.forEach(foster -> {
+            if (foster.getSid() != null) {
+                shelterIds.add(foster.getSid());
+            }
+        });
+        Map<Integer, AdoptionTimelineVo.ShelterInfo> shelters = resolveShelterInfos(shelterIds);
+
+        List<AdoptionTimelineVo> timeline = new ArrayList<>();
+        if (adoptDate != null && CommonEnum.AdoptionStatusEnum.APPROVED.equals(source.getAdoptionStatus())) {
             timeline.add(createTimelineVo(
                     petId,
-                    adoption.getUid(),
+                    source.getAdoptionUid(),
                     "adopted",
                     adoptDate,
-                    String.format("%s 领养了 %s (%s)", user.getUserName(), pet.getName(), pet.getBreed()),
-                    resolveShelterInfo(pet.getShelterId()),
+                    String.format("%s 领养了 %s (%s)", source.getUserName(), source.getPetName(), source.getPetBreed()),
+                    shelters.get(source.getPetShelterId()),
                     "已领养"));
         }
-        
-        // 2. 获取寄养记录
-        List<Fosters> fosters = filterFostersAfterAdoption(
-                adoptDate,
-                fosterService.listFostersByPetAndUser(petId, userId.intValue()));
-        timeline.addAll(buildFosterTimeline(petId, pet, user, fosters));
+        timeline.addAll(buildFosterTimeline(petId, source.getPetName(), source.getUserName(), fosters, shelters));
 
         List<AdoptionTimelineVo> orderedTimeline = timeline.stream()
                 .sorted(Comparator
@@ -369,8 +336,8 @@ public class AdoptionsServiceImpl extends ServiceImpl<AdoptionsMapper, Adoptions
         return AdoptionTimelineResponse.builder()
                 .timeline(orderedTimeline)
                 .total(orderedTimeline.size())
-                .petName(pet.getName())
-                .petBreed(pet.getBreed())
+                .petName(source.getPetName())
+                .petBreed(source.getPetBreed())
                 .build();
     }
 
@@ -412,11 +379,19 @@ public class AdoptionsServiceImpl extends ServiceImpl<AdoptionsMapper, Adoptions
         if (!this.updateById(adoption)) {
             throw new BizException(ErrorCode.ADOPTION_CREATE_FAILED, "更新领养状态失败");
         }
+        CommonEnum.PetStatusEnum previousPetStatus = pet.getStatus();
         pet.setStatus(CommonEnum.PetStatusEnum.ADOPTED);
         petsMapper.updateById(pet);
-
-        petCacheInvalidator.evictPetDetail(adoption.getPid());
-        petCacheInvalidator.evictPetListPages();
+        shelterDashboardCounters.adoptionChanged(pet.getShelterId(),
+                CommonEnum.AdoptionStatusEnum.PENDING, CommonEnum.AdoptionStatusEnum.APPROVED);
+        shelterDashboardCounters.petChanged(pet.getShelterId(), previousPetStatus,
+                pet.getShelterId(), CommonEnum.PetStatusEnum.ADOPTED);
+
+        adoptablePetProjection.refresh(adoption.getPid());
+        outboxService.publishPetCacheInvalidation(adoption.getPid(), adoption.getUid(), true);
+        outboxService.publish(OutboxEventTypes.ADOPTION_REVIEWED, Map.of("adoptionId", adoption.getAid()));
+        // 领养人的健康提醒列表按已通过的领养关联宠物，提交后使其缓存失效
+        userHealthAlertsCache.invalidate(List.of(adoption.getUid()));
     }
 
     @Override
@@ -439,29 +414,150 @@ public class AdoptionsServiceImpl extends ServiceImpl<AdoptionsMapper, Adoptions
         // 领养被拒绝，宠物回到可领养
         Pets pet = petsMapper.selectById(adoption.getPid());
         if (pet != null) {
+            CommonEnum.PetStatusEnum previousPetStatus = pet.getStatus();
             pet.setStatus(CommonEnum.PetStatusEnum.AVAILABLE);
             petsMapper.updateById(pet);
+            shelterDashboardCounters.adoptionChanged(pet.getShelterId(),
+                    CommonEnum.AdoptionStatusEnum.PENDING, CommonEnum.AdoptionStatusEnum.REJECTED);
+            shelterDashboardCounters.petChanged(pet.getShelterId(), previousPetStatus,
+                    pet.getShelterId(), CommonEnum.PetStatusEnum.AVAILABLE);
+        }
+
+        adoptablePetProjection.refresh(adoption.getPid());
+        outboxService.publishPetCacheInvalidation(adoption.getPid(), adoption.getUid(), true);
+        outboxService.publish(OutboxEventTypes.ADOPTION_REVIEWED, Map.of("adoptionId", adoption.getAid()));
+        userHealthAlertsCache.invalidate(List.of(adoption.getUid()));
+    }
+
+    @Override
+    @Transactional
+    public BatchReviewResultVo batchApproveAdoptions(List<Integer> adoptionIds, String note) {
+        return batchReview(adoptionIds, note, true);
+    }
+
+    @Override
+    @Transactional
+    public BatchReviewResultVo batchRejectAdoptions(List<Integer> adoptionIds, String note) {
+        return batchReview(adoptionIds, note, false);
+    }
+
+    /**
+     * 批量审核：公共流程见 BatchReviewFlow，宠物状态、投影、缓存失效与通知均按批合并
+     */
+    private BatchReviewResultVo batchReview(List<Integer> adoptionIds, String note, boolean approve) {
+        Integer scopeShelterId = UserContext.isPlatformAdmin() ? null : UserContext.getCurrentAdminShelterId();
+        return new AdoptionBatchReview(note).review(adoptionIds, approve, scopeShelterId);
+    }
+
+    /**
+     * 领养申请批量审核：按宠物判断收容所范围，同一宠物在一批中只能通过一条申请
+     */
+    private final class AdoptionBatchReview extends BatchReviewFlow<Adoptions> {
+
+        private final String note;
+        private Map<Integer, Pets> pets = Map.of();
+        private final Set<Integer> approvedPetIds = new HashSet<>();
+
+        private AdoptionBatchReview(String note) {
+            super("领养");
+            this.note = note;
+        }
+
+        @Override
+        protected Map<Integer, Adoptions> loadForUpdate(List<Integer> ids) {
+            Map<Integer, Adoptions> adoptions = list(new LambdaQueryWrapper<Adoptions>()
+                            .in(Adoptions::getAid, ids)
+                            .last("FOR UPDATE"))
+                    .stream()
+                    .collect(Collectors.toMap(Adoptions::getAid, a -> a));
+            Set<Integer> petIds = adoptions.values().stream().map(Adoptions::getPid).collect(Collectors.toSet());
+            if (!petIds.isEmpty()) {
+                pets = petsMapper.selectBatchIds(petIds).stream().collect(Collectors.toMap(Pets::getPid, p -> p));
+            }
+            return adoptions;
+        }
+
+        @Override
+        protected Integer shelterIdOf(Adoptions adoption) {
+            Pets pet = pets.get(adoption.getPid());
+            return pet != null ? pet.getShelterId() : null;
+        }
+
+        @Override
+        protected boolean isPending(Adoptions adoption) {
+            return CommonEnum.AdoptionStatusEnum.PENDING.equals(adoption.getStatus());
         }
 
-        petCacheInvalidator.evictPetDetail(adoption.getPid());
-        petCacheInvalidator.evictPetListPages();
+        @Override
+        protected String checkApprove(Adoptions adoption) {
+            Pets pet = pets.get(adoption.getPid());
+            if (pet == null) {
+                return "宠物不存在";
+            }
+            if (CommonEnum.PetStatusEnum.ADOPTED.equals(pet.getStatus()) || !approvedPetIds.add(pet.getPid())) {
+                return "该宠物已有通过的领养申请";
+            }
+            return null;
+        }
+
+        @Override
+        protected int updateStatus(List<Adoptions> accepted, boolean approve) {
+            return adoptionsMapper.batchReview(accepted.stream().map(Adoptions::getAid).toList(),
+                    targetOf(approve).getCode(), UserContext.getCurrentUserId().intValue(), note, approve);
+        }
+
+        @Override
+        protected void afterUpdate(List<Adoptions> accepted, boolean approve) {
+            CommonEnum.AdoptionStatusEnum target = targetOf(approve);
+            CommonEnum.PetStatusEnum petTarget = approve
+                    ? CommonEnum.PetStatusEnum.ADOPTED
+                    : CommonEnum.PetStatusEnum.AVAILABLE;
+            Set<Integer> acceptedPetIds = new HashSet<>();
+            Map<Integer, Pets> changedPets = new HashMap<>();
+            List<Map<String, Object>> invalidations = new ArrayList<>(accepted.size());
+            for (Adoptions adoption : accepted) {
+                acceptedPetIds.add(adoption.getPid());
+                Pets pet = pets.get(adoption.getPid());
+                if (pet != null) {
+                    changedPets.put(pet.getPid(), pet);
+                    shelterDashboardCounters.adoptionChanged(pet.getShelterId(),
+                            CommonEnum.AdoptionStatusEnum.PENDING, target);
+                }
+                invalidations.add(OutboxService.cacheInvalidation(adoption.getPid(), adoption.getUid(), true));
+            }
+            if (!changedPets.isEmpty()) {
+                petsMapper.updateStatusBatch(changedPets.keySet(), petTarget.getCode());
+                changedPets.values().forEach(pet -> shelterDashboardCounters.petChanged(
+                        pet.getShelterId(), pet.getStatus(), pet.getShelterId(), petTarget));
+            }
+            adoptablePetProjection.refresh(acceptedPetIds);
+            outboxService.publishPetCacheInvalidations(invalidations);
+            outboxService.publish(OutboxEventTypes.ADOPTIONS_BATCH_REVIEWED,
+                    Map.of("adoptionIds", accepted.stream().map(Adoptions::getAid).toList()));
+            userHealthAlertsCache.invalidate(accepted.stream().map(Adoptions::getUid).toList());
+        }
+
+        private CommonEnum.AdoptionStatusEnum targetOf(boolean approve) {
+            return approve ? CommonEnum.AdoptionStatusEnum.APPROVED : CommonEnum.AdoptionStatusEnum.REJECTED;
+        }
     }
 
     @Override
     @Transactional(readOnly = true)
     public IPage<AdoptionsVo> listAdoptionsForAdmin(Integer currentPage, Integer pageSize, String status) {
-        Page<AdoptionsVo> page = new Page<>(currentPage, pageSize);
         Integer adminShelterId = UserContext.getCurrentAdminShelterId();
         String normalizedStatus = (status != null && !status.isBlank()) ? status.toUpperCase() : null;
-        List<AdoptionsVo> records = adoptionsMapper.getAdminAdoptions(
-                (int) ((currentPage - 1L) * pageSize),
-                pageSize,
-                normalizedStatus,
-                adminShelterId);
-        Long total = adoptionsMapper.countAdminAdoptions(normalizedStatus, adminShelterId);
-        page.setTotal(total);
-        page.setRecords(records);
-        return page;
+        return pageCounter.paginate(PageStatements.ADMIN_ADOPTIONS, currentPage, pageSize, page -> {
+            page.setRecords(adoptionsMapper.getAdminAdoptions(
+                    (int) page.offset(),
+                    (int) page.getSize(),
+                    normalizedStatus,
+                    adminShelterId));
+            if (page.searchCount()) {
+                page.setTotal(adoptionsMapper.countAdminAdoptions(normalizedStatus, adminShelterId));
+            }
+            return page;
+        }, adminShelterId, normalizedStatus);
     }
 
     private List<Fosters> filterFostersAfterAdoption(LocalDateTime adoptDate, List<Fosters> fosters) {
@@ -481,7 +577,8 @@ public class AdoptionsServiceImpl extends ServiceImpl<AdoptionsMapper, Adoptions
                 .collect(Collectors.toList());
     }
 
-    private List<AdoptionTimelineVo> buildFosterTimeline(Integer petId, Pets pet, Users user, List<Fosters> fosters) {
+    private List<AdoptionTimelineVo> buildFosterTimeline(Integer petId, String petName, String userName, List<Fosters> fosters,
+                                                         Map<Integer, AdoptionTimelineVo.ShelterInfo> shelters) {
         List<AdoptionTimelineVo> events = new ArrayList<>();
         for (Fosters foster : fosters) {
             // 寄养申请中/已拒绝：不属于“寄养记录”，不展示开始/结束时间线
@@ -489,7 +586,7 @@ public class AdoptionsServiceImpl extends ServiceImpl<AdoptionsMapper, Adoptions
                     || CommonEnum.FosterStatusEnum.REJECTED.equals(foster.getStatus())) {
                 continue;
             }
-            AdoptionTimelineVo.ShelterInfo fosterShelter = resolveShelterInfo(foster.getSid());
+            AdoptionTimelineVo.ShelterInfo fosterShelter = foster.getSid() != null ? shelters.get(foster.getSid()) : null;
             LocalDateTime startTime = resolveStartTime(foster);
             String startedStatusLabel = CommonEnum.FosterStatusEnum.COMPLETED.equals(foster.getStatus()) ? "寄养已结束" : "寄养中";
             events.add(createTimelineVo(
@@ -497,7 +594,7 @@ public class AdoptionsServiceImpl extends ServiceImpl<AdoptionsMapper, Adoptions
                     foster.getUid(),
                     "foster_started",
                     startTime,
-                    String.format("%s 将 %s 寄养在 %s", user.getUserName(), pet.getName(),
+                    String.format("%s 将 %s 寄养在 %s", userName, petName,
                             fosterShelter != null ? fosterShelter.getName() : "未知收容所"),
                     fosterShelter,
                     startedStatusLabel));
@@ -509,7 +606,7 @@ public class AdoptionsServiceImpl extends ServiceImpl<AdoptionsMapper, Adoptions
                         foster.getUid(),
                         "foster_ended",
                         endTime,
-                        String.format("%s 的寄养结束，%s 返回主人身边", pet.getName(), pet.getName()),
+                        String.format("%s 的寄养结束，%s 返回主人身边", petName, petName),
                         fosterShelter,
                         CommonEnum.FosterStatusEnum.REJECTED.equals(foster.getStatus()) ? "寄养终止" : "寄养结束"));
             }
@@ -577,14 +674,28 @@ public class AdoptionsServiceImpl extends ServiceImpl<AdoptionsMapper, Adoptions
         return 3;
     }
 
-    private AdoptionTimelineVo.ShelterInfo resolveShelterInfo(Integer shelterId) {
-        if (shelterId == null) {
-            return null;
+    /**
+     * 批量解析收容所信息：优先读取参考数据快照，未命中的一次 IN 查询补齐
+     */
+    private Map<Integer, AdoptionTimelineVo.ShelterInfo> resolveShelterInfos(Collection<Integer> shelterIds) {
+        Map<Integer, AdoptionTimelineVo.ShelterInfo> result = new HashMap<>();
+        List<Integer> missing = new ArrayList<>();
+        for (Integer shelterId : shelterIds) {
+            Shelters shelter = referenceDataCache.getShelter(shelterId);
+            if (shelter != null) {
+                result.put(shelterId, toShelterInfo(shelter));
+            } else {
+                missing.add(shelterId);
+            }
         }
-        Shelters shelter = sheltersMapper.selectById(shelterId);
-        if (shelter == null) {
-            return null;
+        if (!missing.isEmpty()) {
+            sheltersMapper.selectBatchIds(missing)
+                    .forEach(shelter -> result.put(shelter.getSid(), toShelterInfo(shelter)));
         }
+        return result;
+    }
+
+    private AdoptionTimelineVo.ShelterInfo toShelterInfo(Shelters shelter) {
         return new AdoptionTimelineVo.ShelterInfo(
                 shelter.getSid(),
                 shelter.getName(),
@@ -6,7 +6,6 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import com.baomidou.mybatisplus.core.metadata.IPage;
-import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
 import com.baomidou.mybatisplus.extension.service.impl.ServiceImpl;
 import com.example.petcommon.context.UserContext;
 import com.example.petcommon.error.ErrorCode;
@@ -16,15 +15,22 @@ import com.example.petpojo.entity.Articles;
 import com.example.petpojo.entity.enums.CommonEnum;
 import com.example.petpojo.vo.ArticlesVo;
 import com.example.petservice.mapper.ArticlesMapper;
+import com.example.petservice.pagination.PageCounter;
+import com.example.petservice.pagination.PageStatements;
+import com.example.petservice.search.FullTextSearchIndex;
 import com.example.petservice.service.ArticlesService;
 
+import lombok.RequiredArgsConstructor;
 
 /**
  * @author 33185
  */
 @Service
+@RequiredArgsConstructor
 public class ArticlesServiceImpl extends ServiceImpl<ArticlesMapper, Articles> implements ArticlesService {
 
+    private final FullTextSearchIndex fullTextSearchIndex;
+    private final PageCounter pageCounter;
 
     private ArticlesVo convertToVo(@NonNull Articles articles) {
         ArticlesVo articlesVo = new ArticlesVo();
@@ -42,11 +48,10 @@ public class ArticlesServiceImpl extends ServiceImpl<ArticlesMapper, Articles> i
     @Transactional(readOnly = true)
     public IPage<ArticlesVo> getArticles(Integer currentPage, Integer pageSize) {
         // 分页查询文章列表
-        Page<Articles> page = new Page<>(currentPage, pageSize);
-
-        return lambdaQuery()
-                .eq(Articles::getStatus, CommonEnum.ArticleStatusEnum.PUBLISHED)
-                .page(page)
+        return pageCounter.<Articles>paginate(PageStatements.ARTICLES, currentPage, pageSize,
+                        page -> lambdaQuery()
+                                .eq(Articles::getStatus, CommonEnum.ArticleStatusEnum.PUBLISHED)
+                                .page(page))
                 .convert(this::convertToVo);
     }
     /**
@@ -86,6 +91,7 @@ public class ArticlesServiceImpl extends ServiceImpl<ArticlesMapper, Articles> i
             article.setShelterId(adminShelterId);
         }
         this.save(article);
+        fullTextSearchIndex.articleChanged(article.getId());
         return convertToVo(article);
     }
 
@@ -106,6 +112,7 @@ public class ArticlesServiceImpl extends ServiceImpl<ArticlesMapper, Articles> i
         BeanUtils.copyProperties(request, article);
         article.setStatus(resolveStatus(request.getStatus()));
         this.updateById(article);
+        fullTextSearchIndex.articleChanged(article.getId());
         return convertToVo(article);
     }
 
@@ -126,18 +133,22 @@ public class ArticlesServiceImpl extends ServiceImpl<ArticlesMapper, Articles> i
         if (!this.removeById(id)) {
             throw new BizException(ErrorCode.NOT_FOUND, "文章不存在或已删除");
         }
+        fullTextSearchIndex.articleChanged(id);
     }
 
     @Override
     @Transactional(readOnly = true)
     public IPage<ArticlesVo> listArticlesForAdmin(Integer currentPage, Integer pageSize, String status) {
-        Page<Articles> page = new Page<>(currentPage, pageSize);
         Integer adminShelterId = UserContext.getCurrentAdminShelterId();
         boolean isPlatformAdmin = UserContext.isPlatformAdmin();
-        return lambdaQuery()
-                .eq(status != null && !status.isBlank(), Articles::getStatus, resolveStatus(status))
-                .eq(!isPlatformAdmin && adminShelterId != null, Articles::getShelterId, adminShelterId)
-                .page(page)
+        boolean byStatus = status != null && !status.isBlank();
+        boolean byShelter = !isPlatformAdmin && adminShelterId != null;
+        return pageCounter.<Articles>paginate(PageStatements.ADMIN_ARTICLES, currentPage, pageSize,
+                        page -> lambdaQuery()
+                                .eq(byStatus, Articles::getStatus, resolveStatus(status))
+                                .eq(byShelter, Articles::getShelterId, adminShelterId)
+                                .page(page),
+                        byShelter ? adminShelterId : null, byStatus ? resolveStatus(status) : null)
                 .convert(this::convertToVo);
     }
 
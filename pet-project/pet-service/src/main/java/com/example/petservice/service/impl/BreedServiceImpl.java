@@ -1,7 +1,6 @@
 package com.example.petservice.service.impl;
 
 import java.util.List;
-import java.util.stream.Collectors;
 
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -18,6 +17,9 @@ import com.example.petpojo.entity.Species;
 import com.example.petpojo.vo.BreedVo;
 import com.example.petservice.mapper.BreedMapper;
 import com.example.petservice.mapper.PetsMapper;
+import com.example.petservice.projection.AdoptablePetProjection;
+import com.example.petservice.reference.ReferenceDataCache;
+import com.example.petservice.search.FullTextSearchIndex;
 import com.example.petservice.service.BreedService;
 import com.example.petservice.service.SpeciesService;
 
@@ -29,18 +31,14 @@ public class BreedServiceImpl extends ServiceImpl<BreedMapper, Breed> implements
 
     private final SpeciesService speciesService;
     private final PetsMapper petsMapper;
+    private final AdoptablePetProjection adoptablePetProjection;
+    private final FullTextSearchIndex fullTextSearchIndex;
+    private final ReferenceDataCache referenceDataCache;
 
     @Override
-    @Transactional(readOnly = true)
     public List<BreedVo> listBreedsBySpecies(Integer speciesId) {
         ensureSpeciesExists(speciesId);
-        return lambdaQuery()
-                .eq(Breed::getSpeciesId, speciesId)
-                .orderByAsc(Breed::getId)
-                .list()
-                .stream()
-                .map(b -> new BreedVo(b.getId(), b.getSpeciesId(), b.getName(), b.getDescription()))
-                .collect(Collectors.toList());
+        return referenceDataCache.listBreeds(speciesId);
     }
 
     @Override
@@ -59,6 +57,8 @@ public class BreedServiceImpl extends ServiceImpl<BreedMapper, Breed> implements
         if (!this.save(entity)) {
             throw new BizException(ErrorCode.INTERNAL_ERROR, "创建品种失败");
         }
+        fullTextSearchIndex.breedChanged(entity.getId());
+        referenceDataCache.refreshAfterCommit();
         return new BreedVo(entity.getId(), entity.getSpeciesId(), entity.getName(), entity.getDescription());
     }
 
@@ -83,6 +83,9 @@ public class BreedServiceImpl extends ServiceImpl<BreedMapper, Breed> implements
         if (!this.updateById(existing)) {
             throw new BizException(ErrorCode.INTERNAL_ERROR, "更新品种失败");
         }
+        adoptablePetProjection.refreshBreedName(breedId);
+        fullTextSearchIndex.breedChanged(breedId);
+        referenceDataCache.refreshAfterCommit();
         return new BreedVo(existing.getId(), existing.getSpeciesId(), existing.getName(), existing.getDescription());
     }
 
@@ -97,7 +100,11 @@ public class BreedServiceImpl extends ServiceImpl<BreedMapper, Breed> implements
         if (speciesId == null || speciesId <= 0) {
             throw new BizException(ErrorCode.BAD_REQUEST, "物种ID不能为空");
         }
-        Species species = speciesService.getById(speciesId);
+        Species species = referenceDataCache.getSpecies(speciesId);
+        if (species == null) {
+            // 快照可能尚未收到其他节点的变更广播，回查数据库确认
+            species = speciesService.getById(speciesId);
+        }
         if (species == null) {
             throw new BizException(ErrorCode.NOT_FOUND, "物种不存在");
         }
@@ -0,0 +1,74 @@
+package com.example.petservice.service.impl;
+
+import java.util.Map;
+import java.util.Objects;
+
+import org.springframework.stereotype.Service;
+
+import com.example.petcommon.context.UserContext;
+import com.example.petcommon.error.ErrorCode;
+import com.example.petcommon.exception.BizException;
+import com.example.petpojo.entity.Shelters;
+import com.example.petpojo.entity.enums.CommonEnum;
+import com.example.petpojo.vo.DashboardSummaryVo;
+import com.example.petservice.dashboard.ShelterDashboardCounters;
+import com.example.petservice.reference.ReferenceDataCache;
+import com.example.petservice.service.DashboardService;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * 管理员看板服务实现类
+ * 计数读取 Redis 中按收容所维护的计数器，不再逐次执行 COUNT
+ */
+@Service
+@RequiredArgsConstructor
+public class DashboardServiceImpl implements DashboardService {
+
+    private final ShelterDashboardCounters counters;
+    private final ReferenceDataCache referenceDataCache;
+
+    @Override
+    public DashboardSummaryVo getSummary(Integer shelterId) {
+        Integer target = resolveShelterId(shelterId);
+        Map<String, Long> counts = target != null ? counters.read(target) : counters.readAll();
+
+        DashboardSummaryVo vo = new DashboardSummaryVo();
+        vo.setShelterId(target);
+        if (target != null) {
+            Shelters shelter = referenceDataCache.getShelter(target);
+            vo.setShelterName(shelter != null ? shelter.getName() : null);
+        } else {
+            vo.setShelterName("全部收容所");
+        }
+        vo.setAdoptions(ShelterDashboardCounters.section(counts, ShelterDashboardCounters.ADOPTION,
+                ShelterDashboardCounters.codes(CommonEnum.AdoptionStatusEnum.values())));
+        vo.setFosters(ShelterDashboardCounters.section(counts, ShelterDashboardCounters.FOSTER,
+                ShelterDashboardCounters.codes(CommonEnum.FosterStatusEnum.values())));
+        vo.setPets(ShelterDashboardCounters.section(counts, ShelterDashboardCounters.PET,
+                ShelterDashboardCounters.codes(CommonEnum.PetStatusEnum.values())));
+        return vo;
+    }
+
+    @Override
+    public void reconcile() {
+        if (!UserContext.isPlatformAdmin()) {
+            throw new BizException(ErrorCode.FORBIDDEN, "仅平台管理员可校准看板计数");
+        }
+        counters.reconcileAll();
+    }
+
+    private Integer resolveShelterId(Integer shelterId) {
+        if (UserContext.isPlatformAdmin()) {
+            return shelterId;
+        }
+        Integer adminShelterId = UserContext.getCurrentAdminShelterId();
+        if (adminShelterId == null) {
+            throw new BizException(ErrorCode.FORBIDDEN, "当前管理员未绑定收容所");
+        }
+        if (shelterId != null && !Objects.equals(shelterId, adminShelterId)) {
+            throw new BizException(ErrorCode.FORBIDDEN, "无权查看其他收容所的看板");
+        }
+        return adminShelterId;
+    }
+}
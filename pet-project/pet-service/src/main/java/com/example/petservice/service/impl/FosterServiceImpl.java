@@ -2,16 +2,18 @@ package com.example.petservice.service.impl;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
 
-import com.example.petservice.service.WebSocketNotificationService;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
 import com.baomidou.mybatisplus.core.metadata.IPage;
-import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
 import com.baomidou.mybatisplus.extension.service.impl.ServiceImpl;
 import com.example.petcommon.context.UserContext;
 import com.example.petcommon.error.ErrorCode;
@@ -19,14 +21,20 @@ import com.example.petcommon.exception.BizException;
 import com.example.petpojo.entity.Adoptions;
 import com.example.petpojo.entity.Fosters;
 import com.example.petpojo.entity.Pets;
-import com.example.petpojo.entity.Users;
 import com.example.petpojo.entity.enums.CommonEnum;
+import com.example.petpojo.vo.BatchReviewResultVo;
 import com.example.petpojo.vo.FostersVo;
-import com.example.petservice.cache.PetCacheInvalidator;
+import com.example.petservice.projection.AdoptablePetProjection;
+import com.example.petservice.projection.LatestFosterProjection;
+import com.example.petservice.review.BatchReviewFlow;
+import com.example.petservice.dashboard.ShelterDashboardCounters;
 import com.example.petservice.mapper.AdoptionsMapper;
 import com.example.petservice.mapper.FosterMapper;
 import com.example.petservice.mapper.PetsMapper;
-import com.example.petservice.mapper.UsersMapper;
+import com.example.petservice.outbox.OutboxEventTypes;
+import com.example.petservice.outbox.OutboxService;
+import com.example.petservice.pagination.PageCounter;
+import com.example.petservice.pagination.PageStatements;
 import com.example.petservice.service.FosterService;
 
 import lombok.RequiredArgsConstructor;
@@ -43,9 +51,11 @@ public class FosterServiceImpl extends ServiceImpl<FosterMapper, Fosters> implem
     private final FosterMapper fosterMapper;
     private final PetsMapper petsMapper;
     private final AdoptionsMapper adoptionsMapper;
-    private final UsersMapper usersMapper;
-    private final PetCacheInvalidator petCacheInvalidator;
-    private final WebSocketNotificationService webSocketNotificationService;
+    private final AdoptablePetProjection adoptablePetProjection;
+    private final LatestFosterProjection latestFosterProjection;
+    private final PageCounter pageCounter;
+    private final OutboxService outboxService;
+    private final ShelterDashboardCounters shelterDashboardCounters;
 
     @Override
     @Transactional
@@ -79,14 +89,12 @@ public class FosterServiceImpl extends ServiceImpl<FosterMapper, Fosters> implem
         if (!this.save(foster)) {
             throw new BizException(ErrorCode.FOSTER_CREATE_FAILED, "寄养记录创建失败");
         }
+        latestFosterProjection.refresh(foster.getPid(), foster.getUid());
+        outboxService.publishPetCacheInvalidation(foster.getPid(), foster.getUid(), false);
+        shelterDashboardCounters.fosterChanged(foster.getSid(), null, CommonEnum.FosterStatusEnum.PENDING);
 
-        // 发送WebSocket通知给管理员
-        String petName = pet.getName() != null ? pet.getName() : "未知宠物";
-        Users applicant = usersMapper.selectById(currentUserId);
-        String applicantName = applicant != null && applicant.getUserName() != null && !applicant.getUserName().isBlank()
-                ? applicant.getUserName()
-                : "用户" + currentUserId;
-        webSocketNotificationService.sendNewFosterNotification(foster.getFid(), petName, applicantName, shelterId.intValue());
+        // 通知管理员经发件箱在提交后投递
+        outboxService.publish(OutboxEventTypes.FOSTER_CREATED, Map.of("fosterId", foster.getFid()));
 
         return fosterMapper.getFosterById(foster.getFid());
     }
@@ -109,11 +117,15 @@ public class FosterServiceImpl extends ServiceImpl<FosterMapper, Fosters> implem
             throw new BizException(ErrorCode.BAD_REQUEST, "寄养记录未在进行中");
         }
 
+        CommonEnum.FosterStatusEnum previousStatus = foster.getStatus();
         foster.setEndDate(LocalDateTime.now());
         foster.setStatus(CommonEnum.FosterStatusEnum.COMPLETED);
         if (!this.updateById(foster)) {
             throw new BizException(ErrorCode.FOSTER_END_FAILED, "寄养记录结束失败");
         }
+        latestFosterProjection.refresh(foster.getPid(), foster.getUid());
+        outboxService.publishPetCacheInvalidation(foster.getPid(), foster.getUid(), false);
+        shelterDashboardCounters.fosterChanged(foster.getSid(), previousStatus, CommonEnum.FosterStatusEnum.COMPLETED);
 
         updatePetStatusIfNoActiveFoster(foster.getPid());
         return true;
@@ -146,6 +158,9 @@ public class FosterServiceImpl extends ServiceImpl<FosterMapper, Fosters> implem
         if (!updated) {
             throw new BizException(ErrorCode.FOSTER_DELETE_FAILED, "寄养记录删除失败");
         }
+        latestFosterProjection.refresh(foster.getPid(), foster.getUid());
+        outboxService.publishPetCacheInvalidation(foster.getPid(), foster.getUid(), false);
+        shelterDashboardCounters.fosterChanged(foster.getSid(), foster.getStatus(), null);
         return true;
     }
 
@@ -159,7 +174,6 @@ public class FosterServiceImpl extends ServiceImpl<FosterMapper, Fosters> implem
     @Override
     @Transactional(readOnly = true)
     public IPage<FostersVo> getUserFostersWithPage(Long userId, Integer currentPage, Integer pageSize, String status) {
-        Page<FostersVo> page = new Page<>(currentPage, pageSize);
         String normalizedStatus = (status == null || status.isBlank()) ? null : status.trim().toUpperCase();
 
         LambdaQueryWrapper<Fosters> countWrapper = new LambdaQueryWrapper<>();
@@ -172,13 +186,15 @@ public class FosterServiceImpl extends ServiceImpl<FosterMapper, Fosters> implem
             } catch (Exception ignored) {
             }
         }
-        long total = this.count(countWrapper);
 
-        Integer offset = (currentPage - 1) * pageSize;
-        List<FostersVo> records = fosterMapper.getFostersInfo(offset, pageSize, userId.intValue(), normalizedStatus);
-        page.setTotal(total);
-        page.setRecords(records);
-        return page;
+        return pageCounter.paginate(PageStatements.USER_FOSTERS, currentPage, pageSize, page -> {
+            page.setRecords(fosterMapper.getFostersInfo(
+                    (int) page.offset(), (int) page.getSize(), userId.intValue(), normalizedStatus));
+            if (page.searchCount()) {
+                page.setTotal(this.count(countWrapper));
+            }
+            return page;
+        }, userId, normalizedStatus);
     }
 
     @Override
@@ -197,11 +213,15 @@ public class FosterServiceImpl extends ServiceImpl<FosterMapper, Fosters> implem
             throw new BizException(ErrorCode.NOT_FOUND, "未找到活跃的寄养记录");
         }
 
+        CommonEnum.FosterStatusEnum previousStatus = foster.getStatus();
         foster.setEndDate(LocalDateTime.now());
         foster.setStatus(CommonEnum.FosterStatusEnum.COMPLETED);
         if (!this.updateById(foster)) {
             throw new BizException(ErrorCode.FOSTER_END_FAILED, "寄养记录结束失败");
         }
+        latestFosterProjection.refresh(foster.getPid(), foster.getUid());
+        outboxService.publishPetCacheInvalidation(foster.getPid(), foster.getUid(), false);
+        shelterDashboardCounters.fosterChanged(foster.getSid(), previousStatus, CommonEnum.FosterStatusEnum.COMPLETED);
 
         updatePetStatusIfNoActiveFoster(foster.getPid());
         return true;
@@ -237,13 +257,20 @@ public class FosterServiceImpl extends ServiceImpl<FosterMapper, Fosters> implem
         if (!this.updateById(foster)) {
             throw new BizException(ErrorCode.INTERNAL_ERROR, "更新寄养状态失败");
         }
+        latestFosterProjection.refresh(foster.getPid(), foster.getUid());
+        shelterDashboardCounters.fosterChanged(foster.getSid(),
+                CommonEnum.FosterStatusEnum.PENDING, CommonEnum.FosterStatusEnum.ONGOING);
         Pets pet = petsMapper.selectById(foster.getPid());
         if (pet != null) {
+            CommonEnum.PetStatusEnum previousPetStatus = pet.getStatus();
             pet.setStatus(CommonEnum.PetStatusEnum.FOSTERING);
             petsMapper.updateById(pet);
-            petCacheInvalidator.evictPetDetail(pet.getPid());
-            petCacheInvalidator.evictPetListPages();
+            adoptablePetProjection.refresh(pet.getPid());
+            shelterDashboardCounters.petChanged(pet.getShelterId(), previousPetStatus,
+                    pet.getShelterId(), CommonEnum.PetStatusEnum.FOSTERING);
         }
+        outboxService.publishPetCacheInvalidation(foster.getPid(), foster.getUid(), pet != null);
+        outboxService.publish(OutboxEventTypes.FOSTER_REVIEWED, Map.of("fosterId", foster.getFid()));
     }
 
     @Override
@@ -261,9 +288,142 @@ public class FosterServiceImpl extends ServiceImpl<FosterMapper, Fosters> implem
         foster.setReviewTime(LocalDateTime.now());
         foster.setReviewNote(note);
         this.updateById(foster);
+        latestFosterProjection.refresh(foster.getPid(), foster.getUid());
+        outboxService.publishPetCacheInvalidation(foster.getPid(), foster.getUid(), false);
+        outboxService.publish(OutboxEventTypes.FOSTER_REVIEWED, Map.of("fosterId", foster.getFid()));
+        shelterDashboardCounters.fosterChanged(foster.getSid(),
+                CommonEnum.FosterStatusEnum.PENDING, CommonEnum.FosterStatusEnum.REJECTED);
         updatePetStatusIfNoActiveFoster(foster.getPid());
     }
 
+    @Override
+    @Transactional
+    public BatchReviewResultVo batchApproveFosters(List<Integer> fosterIds, String note) {
+        return batchReview(fosterIds, note, true);
+    }
+
+    @Override
+    @Transactional
+    public BatchReviewResultVo batchRejectFosters(List<Integer> fosterIds, String note) {
+        return batchReview(fosterIds, note, false);
+    }
+
+    /**
+     * 批量审核：公共流程见 BatchReviewFlow，宠物状态、投影、缓存失效与通知均按批合并
+     */
+    private BatchReviewResultVo batchReview(List<Integer> fosterIds, String note, boolean approve) {
+        Integer scopeShelterId = UserContext.isPlatformAdmin() ? null : UserContext.getCurrentAdminShelterId();
+        return new FosterBatchReview(note).review(fosterIds, approve, scopeShelterId);
+    }
+
+    /**
+     * 寄养申请批量审核：按寄养记录的收容所判断范围
+     */
+    private final class FosterBatchReview extends BatchReviewFlow<Fosters> {
+
+        private final String note;
+
+        private FosterBatchReview(String note) {
+            super("寄养");
+            this.note = note;
+        }
+
+        @Override
+        protected Map<Integer, Fosters> loadForUpdate(List<Integer> ids) {
+            return list(new LambdaQueryWrapper<Fosters>()
+                            .in(Fosters::getFid, ids)
+                            .eq(Fosters::getDeleted, Boolean.FALSE)
+                            .last("FOR UPDATE"))
+                    .stream()
+                    .collect(Collectors.toMap(Fosters::getFid, f -> f));
+        }
+
+        @Override
+        protected Integer shelterIdOf(Fosters foster) {
+            return foster.getSid();
+        }
+
+        @Override
+        protected boolean isPending(Fosters foster) {
+            return CommonEnum.FosterStatusEnum.PENDING.equals(foster.getStatus());
+        }
+
+        @Override
+        protected int updateStatus(List<Fosters> accepted, boolean approve) {
+            return fosterMapper.batchReview(accepted.stream().map(Fosters::getFid).toList(),
+                    targetOf(approve).getCode(), UserContext.getCurrentUserId().intValue(), note, approve);
+        }
+
+        @Override
+        protected void afterUpdate(List<Fosters> accepted, boolean approve) {
+            CommonEnum.FosterStatusEnum target = targetOf(approve);
+            Set<Integer> petIds = accepted.stream().map(Fosters::getPid).collect(Collectors.toSet());
+            latestFosterProjection.refreshPets(petIds);
+            accepted.forEach(foster -> shelterDashboardCounters.fosterChanged(foster.getSid(),
+                    CommonEnum.FosterStatusEnum.PENDING, target));
+
+            List<Pets> changedPets = approve ? markPetsFostering(petIds) : revertPetsWithoutActiveFoster(petIds);
+            Set<Integer> changedPetIds = changedPets.stream().map(Pets::getPid).collect(Collectors.toSet());
+            List<Map<String, Object>> invalidations = new ArrayList<>(accepted.size());
+            for (Fosters foster : accepted) {
+                invalidations.add(OutboxService.cacheInvalidation(foster.getPid(), foster.getUid(),
+                        changedPetIds.contains(foster.getPid())));
+            }
+            outboxService.publishPetCacheInvalidations(invalidations);
+            outboxService.publish(OutboxEventTypes.FOSTERS_BATCH_REVIEWED,
+                    Map.of("fosterIds", accepted.stream().map(Fosters::getFid).toList()));
+        }
+
+        private CommonEnum.FosterStatusEnum targetOf(boolean approve) {
+            return approve ? CommonEnum.FosterStatusEnum.ONGOING : CommonEnum.FosterStatusEnum.REJECTED;
+        }
+    }
+
+    /**
+     * 审核通过后宠物进入寄养中
+     * @return 状态发生变化的宠物（变化前的状态）
+     */
+    private List<Pets> markPetsFostering(Set<Integer> petIds) {
+        List<Pets> pets = petsMapper.selectBatchIds(petIds);
+        if (pets.isEmpty()) {
+            return pets;
+        }
+        Set<Integer> existing = pets.stream().map(Pets::getPid).collect(Collectors.toSet());
+        petsMapper.updateStatusBatch(existing, CommonEnum.PetStatusEnum.FOSTERING.getCode());
+        adoptablePetProjection.refresh(existing);
+        pets.forEach(pet -> shelterDashboardCounters.petChanged(pet.getShelterId(), pet.getStatus(),
+                pet.getShelterId(), CommonEnum.PetStatusEnum.FOSTERING));
+        return pets;
+    }
+
+    /**
+     * updatePetStatusIfNoActiveFoster 的批量版本：不再有进行中寄养的宠物从寄养中恢复为已领养
+     * @return 状态发生变化的宠物
+     */
+    private List<Pets> revertPetsWithoutActiveFoster(Set<Integer> petIds) {
+        Set<Integer> stillFostering = this.list(new LambdaQueryWrapper<Fosters>()
+                        .select(Fosters::getPid)
+                        .in(Fosters::getPid, petIds)
+                        .eq(Fosters::getStatus, CommonEnum.FosterStatusEnum.ONGOING)
+                        .eq(Fosters::getDeleted, Boolean.FALSE))
+                .stream()
+                .map(Fosters::getPid)
+                .collect(Collectors.toSet());
+        List<Pets> reverted = petsMapper.selectBatchIds(petIds).stream()
+                .filter(pet -> CommonEnum.PetStatusEnum.FOSTERING.equals(pet.getStatus()))
+                .filter(pet -> !stillFostering.contains(pet.getPid()))
+                .toList();
+        if (reverted.isEmpty()) {
+            return reverted;
+        }
+        Set<Integer> revertedIds = reverted.stream().map(Pets::getPid).collect(Collectors.toSet());
+        petsMapper.updateStatusBatch(revertedIds, CommonEnum.PetStatusEnum.ADOPTED.getCode());
+        adoptablePetProjection.refresh(revertedIds);
+        reverted.forEach(pet -> shelterDashboardCounters.petChanged(pet.getShelterId(),
+                CommonEnum.PetStatusEnum.FOSTERING, pet.getShelterId(), CommonEnum.PetStatusEnum.ADOPTED));
+        return reverted;
+    }
+
     @Override
     @Transactional
     public void completeFoster(Integer fosterId) {
@@ -279,19 +439,17 @@ public class FosterServiceImpl extends ServiceImpl<FosterMapper, Fosters> implem
         if (!this.updateById(foster)) {
             throw new BizException(ErrorCode.INTERNAL_ERROR, "更新寄养状态失败");
         }
+        latestFosterProjection.refresh(foster.getPid(), foster.getUid());
+        outboxService.publishPetCacheInvalidation(foster.getPid(), foster.getUid(), false);
+        shelterDashboardCounters.fosterChanged(foster.getSid(),
+                CommonEnum.FosterStatusEnum.ONGOING, CommonEnum.FosterStatusEnum.COMPLETED);
         updatePetStatusIfNoActiveFoster(foster.getPid());
     }
 
     @Override
     @Transactional(readOnly = true)
     public IPage<FostersVo> listFostersForAdmin(Integer currentPage, Integer pageSize, String status) {
-        Page<FostersVo> page = new Page<>(currentPage, pageSize);
         Integer adminShelterId = UserContext.getCurrentAdminShelterId();
-        List<FostersVo> records = fosterMapper.getAdminFosters(
-                (int) ((currentPage - 1L) * pageSize),
-                pageSize,
-                status,
-                adminShelterId);
         LambdaQueryWrapper<Fosters> wrapper = new LambdaQueryWrapper<>();
         wrapper.eq(Fosters::getDeleted, Boolean.FALSE);
         if (status != null && !status.isBlank()) {
@@ -304,10 +462,25 @@ public class FosterServiceImpl extends ServiceImpl<FosterMapper, Fosters> implem
         if (adminShelterId != null) {
             wrapper.eq(Fosters::getSid, adminShelterId);
         }
-        long total = this.count(wrapper);
-        page.setTotal(total);
-        page.setRecords(records);
-        return page;
+        return pageCounter.paginate(PageStatements.ADMIN_FOSTERS, currentPage, pageSize, page -> {
+            page.setRecords(fosterMapper.getAdminFosters(
+                    (int) page.offset(),
+                    (int) page.getSize(),
+                    status,
+                    adminShelterId));
+            if (page.searchCount()) {
+                page.setTotal(this.count(wrapper));
+            }
+            return page;
+        }, adminShelterId, status);
+    }
+
+    @Override
+    public int rebuildLatestFosterProjection() {
+        if (!UserContext.isPlatformAdmin()) {
+            throw new BizException(ErrorCode.FORBIDDEN, "仅平台管理员可重建最近寄养记录投影");
+        }
+        return latestFosterProjection.rebuild();
     }
 
     private Fosters findActiveFosterRecord(Integer petId, Integer userId) {
@@ -347,8 +520,10 @@ public class FosterServiceImpl extends ServiceImpl<FosterMapper, Fosters> implem
             if (pet != null && CommonEnum.PetStatusEnum.FOSTERING.equals(pet.getStatus())) {
                 pet.setStatus(CommonEnum.PetStatusEnum.ADOPTED);
                 petsMapper.updateById(pet);
-                petCacheInvalidator.evictPetDetail(pet.getPid());
-                petCacheInvalidator.evictPetListPages();
+                adoptablePetProjection.refresh(pet.getPid());
+                shelterDashboardCounters.petChanged(pet.getShelterId(), CommonEnum.PetStatusEnum.FOSTERING,
+                        pet.getShelterId(), CommonEnum.PetStatusEnum.ADOPTED);
+                outboxService.publishPetCacheInvalidation(pet.getPid(), null, true);
             }
         }
     }
@@ -3,21 +3,32 @@ package com.example.petservice.service.impl;
 import com.baomidou.mybatisplus.extension.service.impl.ServiceImpl;
 import com.example.petpojo.dto.HealthDto;
 import com.example.petpojo.entity.HealthAlerts;
-import com.example.petpojo.vo.AdoptionsVo;
 import com.example.petcommon.exception.BizException;
 import com.example.petcommon.error.ErrorCode;
+import com.example.petcommon.utils.CursorUtil;
+import com.example.petpojo.vo.CursorPageVo;
 import com.example.petpojo.vo.HealthAlertsVo;
+import com.example.petpojo.vo.PetOwnerVo;
+import com.example.petservice.cache.UserHealthAlertsCache;
 import com.example.petservice.mapper.AdoptionsMapper;
 import com.example.petservice.mapper.HealthAlertsMapper;
-import com.example.petservice.service.AdoptionsService;
+import com.example.petservice.reminder.HealthReminderQueue;
 import com.example.petservice.service.HealthAlertsService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
 import java.util.stream.Collectors;
 
@@ -30,54 +41,85 @@ import java.util.stream.Collectors;
 @RequiredArgsConstructor
 public class HealthAlertsServiceImpl extends ServiceImpl<HealthAlertsMapper, HealthAlerts> implements HealthAlertsService {
     
-    private final AdoptionsService adoptionsService;
     private final AdoptionsMapper adoptionsMapper;
     private final HealthAlertsMapper healthAlertsMapper;
+    private final HealthReminderQueue healthReminderQueue;
+    private final UserHealthAlertsCache userHealthAlertsCache;
+
+    /**
+     * 用户列表中可见的提醒状态
+     */
+    private static final List<String> USER_VISIBLE_STATUSES = List.of("attention", "expired", "reminded");
     
     /**
      * 将HealthAlerts实体转换为HealthAlertsVo
      */
     private HealthAlertsVo convertToVo(HealthAlerts healthAlerts) {
-        HealthAlertsVo vo = new HealthAlertsVo();
-        vo.setHealthId(healthAlerts.getHealthId());
-        vo.setPid(healthAlerts.getPid());
-        // 获取宠物对应的用户ID
-        vo.setUserId(getUserIdByPetId(healthAlerts.getPid()));
-        vo.setCheckDate(healthAlerts.getCheckDate());
-        vo.setHealthType(healthAlerts.getHealthType());
-        vo.setDescription(healthAlerts.getDescription());
-        vo.setReminderTime(healthAlerts.getReminderTime());
-        vo.setStatus(healthAlerts.getStatus());
-        vo.setCreateTime(healthAlerts.getCreateTime());
-        vo.setUpdateTime(healthAlerts.getUpdateTime());
-        return vo;
+        return convertToVos(List.of(healthAlerts)).get(0);
     }
-    
+
     /**
-     * 通过宠物ID获取用户ID
-     * @param pid 宠物ID
-     * @return 用户ID
+     * 批量转换，宠物的领养人与名称一次查询解析，避免逐条查询领养记录
      */
-    private Long getUserIdByPetId(Integer pid) {
+    private List<HealthAlertsVo> convertToVos(List<HealthAlerts> healthAlerts) {
+        if (healthAlerts.isEmpty()) {
+            return List.of();
+        }
+        Map<Integer, PetOwnerVo> owners = resolvePetOwners(healthAlerts.stream()
+                .map(HealthAlerts::getPid)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet()));
+        List<HealthAlertsVo> vos = new ArrayList<>(healthAlerts.size());
+        for (HealthAlerts healthAlert : healthAlerts) {
+            PetOwnerVo owner = owners.get(healthAlert.getPid());
+            HealthAlertsVo vo = new HealthAlertsVo();
+            vo.setHealthId(healthAlert.getHealthId());
+            vo.setPid(healthAlert.getPid());
+            vo.setUserId(owner != null && owner.getUserId() != null ? owner.getUserId().longValue() : null);
+            vo.setPetName(owner != null ? owner.getPetName() : null);
+            vo.setCheckDate(healthAlert.getCheckDate());
+            vo.setHealthType(healthAlert.getHealthType());
+            vo.setDescription(healthAlert.getDescription());
+            vo.setReminderTime(healthAlert.getReminderTime());
+            vo.setStatus(healthAlert.getStatus());
+            vo.setCreateTime(healthAlert.getCreateTime());
+            vo.setUpdateTime(healthAlert.getUpdateTime());
+            vo.setDeliveredAt(healthAlert.getDeliveredAt());
+            vos.add(vo);
+        }
+        return vos;
+    }
+
+    /**
+     * 使宠物领养人的健康提醒列表缓存失效
+     */
+    private void invalidateOwnerCaches(Collection<Integer> petIds) {
+        Set<Integer> pids = petIds.stream().filter(Objects::nonNull).collect(Collectors.toSet());
+        List<Integer> userIds = resolvePetOwners(pids).values().stream()
+                .map(PetOwnerVo::getUserId)
+                .filter(Objects::nonNull)
+                .toList();
+        userHealthAlertsCache.invalidate(userIds);
+    }
+
+    /**
+     * 批量解析宠物的领养人与名称
+     * @param petIds 宠物ID
+     * @return 宠物ID到领养人信息的映射
+     */
+    private Map<Integer, PetOwnerVo> resolvePetOwners(Set<Integer> petIds) {
+        if (petIds.isEmpty()) {
+            return Map.of();
+        }
         try {
-            // 直接查询数据库获取领养记录，从中获取用户ID
-            com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper<com.example.petpojo.entity.Adoptions> wrapper = 
-                new com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper<>();
-            wrapper.eq(com.example.petpojo.entity.Adoptions::getPid, pid)
-                    .eq(com.example.petpojo.entity.Adoptions::getStatus, com.example.petpojo.entity.enums.CommonEnum.AdoptionStatusEnum.APPROVED)
-                    .orderByDesc(com.example.petpojo.entity.Adoptions::getAdoptDate)
-                    .last("LIMIT 1");
-            com.example.petpojo.entity.Adoptions adoption = adoptionsMapper.selectOne(wrapper);
-            
-            if (adoption != null) {
-                return adoption.getUid().longValue();
-            }
+            return adoptionsMapper.selectPetOwners(petIds).stream()
+                    .collect(Collectors.toMap(PetOwnerVo::getPetId, owner -> owner, (a, b) -> a));
         } catch (Exception e) {
-            log.warn("获取宠物对应的用户ID失败: pid={}, error={}", pid, e.getMessage());
+            log.warn("批量获取宠物领养人失败: petIds={}, error={}", petIds, e.getMessage());
+            return Map.of();
         }
-        return null;
     }
-    
+
     /**
      * 获取用户的健康提醒列表
      * @param userId 用户ID
@@ -86,35 +128,49 @@ public class HealthAlertsServiceImpl extends ServiceImpl<HealthAlertsMapper, Hea
     @Override
     public List<HealthAlertsVo> getUserHealthAlerts(Integer userId) {
         log.info("获取用户健康提醒列表，用户ID: {}", userId);
-        
-        // 获取用户已领养成功的宠物（仅 APPROVED）
-        List<AdoptionsVo> userAdoptions = adoptionsService.getUserApprovedAdoptions(userId.longValue(), 1, 1000);
-        
-        if (userAdoptions.isEmpty()) {
-            log.info("用户没有领养任何宠物，用户ID: {}", userId);
-            return List.of(); // 返回空列表
+        return userHealthAlertsCache.getOrLoad(userId, "all", null, 0, null,
+                () -> new CursorPageVo<>(healthAlertsMapper.selectUserAlerts(userId, USER_VISIBLE_STATUSES, null, null, null),
+                        null, false, 0))
+                .getRecords();
+    }
+
+    /**
+     * 游标分页获取用户的健康提醒
+     * 领养记录与健康提醒一次关联查询，以 (check_date, health_id) 作为 seek 键，多取一条判断是否存在下一页
+     * @param userId 用户ID
+     * @param cursor 上一页返回的游标
+     * @param pageSize 每页数量
+     * @param status 状态筛选，为空表示全部可见状态
+     * @return 游标分页结果
+     */
+    @Override
+    public CursorPageVo<HealthAlertsVo> getUserHealthAlertsPage(Integer userId, String cursor, Integer pageSize, String status) {
+        int size = (pageSize != null && pageSize > 0) ? pageSize : 10;
+        if (status != null && !status.isBlank() && !USER_VISIBLE_STATUSES.contains(status)) {
+            throw new BizException(ErrorCode.BAD_REQUEST, "不支持的状态筛选: " + status);
         }
-        
-        // 提取用户领养的宠物ID
-        Set<Integer> userPetIds = userAdoptions.stream()
-                .map(AdoptionsVo::getPid)
-                .collect(Collectors.toSet());
-        
-        log.info("用户领养的宠物ID列表: {}", userPetIds);
-        
-        // 查询这些宠物的健康提醒，只返回attention、expired和reminded状态的数据
-        List<HealthAlerts> healthAlerts = lambdaQuery()
-                .in(HealthAlerts::getPid, userPetIds)
-                .in(HealthAlerts::getStatus, Arrays.asList("attention", "expired", "reminded"))
-                .orderByDesc(HealthAlerts::getCheckDate)
-                .list();
-        
-        log.info("查询到用户宠物的健康提醒数量: {}", healthAlerts.size());
-        
-        // 转换为VO对象
-        return healthAlerts.stream()
-                .map(this::convertToVo)
-                .collect(Collectors.toList());
+        String statusFilter = status == null || status.isBlank() ? null : status;
+        return userHealthAlertsCache.getOrLoad(userId, "page", cursor, size, statusFilter, () -> {
+            String[] keys = CursorUtil.decode(cursor, 2);
+            LocalDateTime afterCheckDate = null;
+            Integer afterHealthId = null;
+            if (keys != null) {
+                try {
+                    afterCheckDate = LocalDateTime.parse(keys[0]);
+                    afterHealthId = Integer.valueOf(keys[1]);
+                } catch (RuntimeException e) {
+                    throw new BizException(ErrorCode.BAD_REQUEST, "无效的分页游标");
+                }
+            }
+            List<HealthAlertsVo> rows = healthAlertsMapper.selectUserAlerts(userId,
+                    statusFilter != null ? List.of(statusFilter) : USER_VISIBLE_STATUSES,
+                    afterCheckDate, afterHealthId, size + 1);
+            boolean hasNext = rows.size() > size;
+            List<HealthAlertsVo> records = hasNext ? rows.subList(0, size) : rows;
+            HealthAlertsVo last = hasNext ? records.get(records.size() - 1) : null;
+            String nextCursor = last != null ? CursorUtil.encode(last.getCheckDate(), last.getHealthId()) : null;
+            return new CursorPageVo<>(records, nextCursor, hasNext, size);
+        });
     }
     
     /**
@@ -131,9 +187,7 @@ public class HealthAlertsServiceImpl extends ServiceImpl<HealthAlertsMapper, Hea
                 .list();
         
         // 转换为VO对象
-        return healthAlerts.stream()
-                .map(this::convertToVo)
-                .collect(Collectors.toList());
+        return convertToVos(healthAlerts);
     }
     
     /**
@@ -170,7 +224,10 @@ public class HealthAlertsServiceImpl extends ServiceImpl<HealthAlertsMapper, Hea
         }
         
         save(healthAlert);
-        return convertToVo(healthAlert);
+        healthReminderQueue.sync(healthAlert.getHealthId(), healthAlert.getStatus(), healthAlert.getReminderTime());
+        HealthAlertsVo vo = convertToVo(healthAlert);
+        userHealthAlertsCache.invalidate(Collections.singletonList(vo.getUserId()));
+        return vo;
     }
     
     /**
@@ -193,6 +250,8 @@ public class HealthAlertsServiceImpl extends ServiceImpl<HealthAlertsMapper, Hea
             throw new BizException(ErrorCode.NOT_FOUND);
         }
         
+        Integer previousPid = existingHealthAlert.getPid();
+
         // 更新字段
         existingHealthAlert.setPid(healthDto.getPid());
         existingHealthAlert.setCheckDate(healthDto.getCheckDate());
@@ -213,7 +272,15 @@ public class HealthAlertsServiceImpl extends ServiceImpl<HealthAlertsMapper, Hea
         if (!updateById(existingHealthAlert)) {
             throw new BizException(ErrorCode.INTERNAL_ERROR, "健康提醒更新失败");
         }
-        return convertToVo(existingHealthAlert);
+        healthReminderQueue.sync(healthId, existingHealthAlert.getStatus(), existingHealthAlert.getReminderTime());
+        HealthAlertsVo vo = convertToVo(existingHealthAlert);
+        if (Objects.equals(previousPid, existingHealthAlert.getPid())) {
+            userHealthAlertsCache.invalidate(Collections.singletonList(vo.getUserId()));
+        } else {
+            // 改挂到其他宠物时，原宠物领养人的列表也要失效
+            invalidateOwnerCaches(Arrays.asList(previousPid, existingHealthAlert.getPid()));
+        }
+        return vo;
     }
     
     /**
@@ -228,89 +295,150 @@ public class HealthAlertsServiceImpl extends ServiceImpl<HealthAlertsMapper, Hea
         if (healthAlert == null) {
             throw new BizException(ErrorCode.NOT_FOUND);
         }
-        return removeById(healthId);
+        boolean removed = removeById(healthId);
+        if (removed) {
+            healthReminderQueue.remove(healthId);
+            invalidateOwnerCaches(Collections.singletonList(healthAlert.getPid()));
+        }
+        return removed;
     }
     
     /**
-     * 获取需要提醒的健康提醒列表
+     * 查询待发送且提醒时间在区间内的提醒，走 (status, reminder_time) 索引
      * @param start 开始时间
      * @param end 结束时间
-     * @param status 状态
-     * @return 需要提醒的健康提醒列表
+     * @return healthId 到提醒时间的映射
      */
     @Override
-    public List<HealthAlertsVo> listNeedRemindAlerts(LocalDateTime start, LocalDateTime end, String status) {
-        log.info("获取需要提醒的健康提醒列表: start={}, end={}, status={}", start, end, status);
-        
-        List<HealthAlerts> healthAlerts = lambdaQuery()
-            .eq(HealthAlerts::getStatus, status)
-            .ge(HealthAlerts::getReminderTime, start)
-            .le(HealthAlerts::getReminderTime, end)
-            .list();
-        
-        log.info("查询到需要提醒的健康提醒数量: {}", healthAlerts.size());
-        
-        // 转换为VO对象
-        return healthAlerts.stream()
-                .map(this::convertToVo)
-                .collect(Collectors.toList());
+    public Map<Integer, LocalDateTime> listReminderSchedule(LocalDateTime start, LocalDateTime end) {
+        List<HealthAlerts> rows = lambdaQuery()
+                .select(HealthAlerts::getHealthId, HealthAlerts::getReminderTime)
+                .eq(HealthAlerts::getStatus, HealthReminderQueue.STATUS_ATTENTION)
+                .ge(HealthAlerts::getReminderTime, start)
+                .le(HealthAlerts::getReminderTime, end)
+                .list();
+        Map<Integer, LocalDateTime> schedule = new LinkedHashMap<>();
+        for (HealthAlerts row : rows) {
+            schedule.put(row.getHealthId(), row.getReminderTime());
+        }
+        return schedule;
     }
-    
+
     /**
-     * 通过宠物ID获取宠物名称
-     * @param pid 宠物ID
-     * @return 宠物名称
+     * 认领到期提醒；提醒时间留 1 秒容差，吸收应用与数据库之间的时钟偏差
+     * @param claimToken 认领令牌
+     * @param healthIds 候选健康提醒ID
+     * @param lease 租约时长
+     * @return 认领的记录数
      */
     @Override
-    public String getPetNameById(Long pid) {
-        try {
-            String petName = adoptionsService.getPetNameById(pid);
-            return petName != null ? petName : "宠物";
-        } catch (Exception e) {
-            log.warn("获取宠物名称失败: pid={}, error={}", pid, e.getMessage());
-            return "宠物";
+    public int claimReminders(String claimToken, Collection<Integer> healthIds, Duration lease) {
+        if (healthIds == null || healthIds.isEmpty()) {
+            return 0;
         }
+        return healthAlertsMapper.claimDue(claimToken, healthIds, LocalDateTime.now().plusSeconds(1), lease.toSeconds());
     }
-    
+
     /**
-     * 标记为已提醒
-     * @param healthId 健康提醒ID
+     * 重新认领租约已过期的分发中提醒
+     * @param claimToken 认领令牌
+     * @param limit 最多认领条数
+     * @param lease 租约时长
+     * @return 认领的记录数
      */
     @Override
-    public void markAsReminded(Integer healthId) {
-        HealthAlerts entity = new HealthAlerts();
-        entity.setHealthId(healthId);
-        entity.setStatus("reminded");
-        updateById(entity);
+    public int claimExpiredReminders(String claimToken, int limit, Duration lease) {
+        return healthAlertsMapper.claimExpired(claimToken, lease.toSeconds(), limit);
     }
-    
+
+    /**
+     * 查询某次认领的提醒
+     * @param claimToken 认领令牌
+     * @return 健康提醒VO列表
+     */
+    @Override
+    public List<HealthAlertsVo> listClaimedReminders(String claimToken) {
+        return convertToVos(healthAlertsMapper.selectClaimed(claimToken));
+    }
+
+    /**
+     * 批量将已认领的提醒标记为已提醒，一条语句完成
+     * @param claimToken 认领令牌
+     * @param healthIds 健康提醒ID
+     * @return 更新的记录数
+     */
+    @Override
+    public int completeClaimedReminders(String claimToken, Collection<Integer> healthIds) {
+        if (healthIds == null || healthIds.isEmpty()) {
+            return 0;
+        }
+        return healthAlertsMapper.markClaimedReminded(claimToken, healthIds);
+    }
+
+    /**
+     * 批量将已认领但未发送的提醒放回待发送
+     * @param claimToken 认领令牌
+     * @param healthIds 健康提醒ID
+     * @return 更新的记录数
+     */
+    @Override
+    public int releaseClaimedReminders(String claimToken, Collection<Integer> healthIds) {
+        if (healthIds == null || healthIds.isEmpty()) {
+            return 0;
+        }
+        return healthAlertsMapper.releaseClaimed(claimToken, healthIds);
+    }
+
+    /**
+     * 按主键游标查询某状态下进入该状态早于指定时间的一批提醒
+     * @param status 状态
+     * @param afterId 上一批最后的健康提醒ID，首批传 0
+     * @param before 进入该状态的时间上限（reminded 比较 remindedAt，expired 比较 expiredAt）
+     * @param limit 批大小
+     * @return 健康提醒列表（仅含 healthId、healthType、remindedAt、expiredAt）
+     */
+    @Override
+    public List<HealthAlerts> listLifecycleChunk(String status, Integer afterId, LocalDateTime before, int limit) {
+        return healthAlertsMapper.selectLifecycleChunk(status, afterId == null ? 0 : afterId, before, limit);
+    }
+
     /**
      * 批量将已提醒的健康提醒标记为过期
-     * @param now 当前时间
+     * @param healthIds 健康提醒ID
      * @return 更新的记录数
      */
     @Override
-    public int batchExpireReminded(LocalDateTime now) {
-        return healthAlertsMapper.batchExpireReminded(now, null); // cleanupProperties会在Mapper中处理
+    public int batchExpireReminded(Collection<Integer> healthIds) {
+        if (healthIds == null || healthIds.isEmpty()) {
+            return 0;
+        }
+        return healthAlertsMapper.batchExpireReminded(healthIds);
     }
     
     /**
-     * 批量将过期的健康提醒标记为归档
-     * @param now 当前时间
-     * @return 更新的记录数
+     * 批量将过期的健康提醒迁入归档表：复制与删除在同一事务内，
+     * INSERT ... SELECT 对源行加的锁保证两条语句看到同一批记录
+     * @param healthIds 健康提醒ID
+     * @return 迁移的记录数
      */
     @Override
-    public int batchArchiveExpired(LocalDateTime now) {
-        return healthAlertsMapper.batchArchiveExpired(now, null); // cleanupProperties会在Mapper中处理
+    @Transactional
+    public int batchArchiveExpired(Collection<Integer> healthIds) {
+        if (healthIds == null || healthIds.isEmpty()) {
+            return 0;
+        }
+        healthAlertsMapper.batchArchiveExpired(healthIds);
+        return healthAlertsMapper.batchDeleteExpired(healthIds);
     }
     
     /**
-     * 批量删除已归档的健康提醒
-     * @param now 当前时间
+     * 删除一批超过保留期的归档记录
+     * @param before 归档时间上限
+     * @param limit 批大小
      * @return 删除的记录数
      */
     @Override
-    public int batchDeleteArchived(LocalDateTime now) {
-        return healthAlertsMapper.batchDeleteArchived(now, null); // cleanupProperties会在Mapper中处理
+    public int batchDeleteArchived(LocalDateTime before, int limit) {
+        return healthAlertsMapper.batchDeleteArchived(before, limit);
     }
 }
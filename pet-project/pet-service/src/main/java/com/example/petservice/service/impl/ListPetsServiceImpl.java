@@ -2,9 +2,17 @@ package com.example.petservice.service.impl;
 
 import com.baomidou.mybatisplus.core.metadata.IPage;
 import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
+import com.example.petpojo.vo.CursorPageVo;
+import com.example.petpojo.vo.PetFacetsVo;
 import com.example.petpojo.vo.PetListVo;
 import com.example.petpojo.vo.PetsDetailsVo;
+import com.example.petservice.cache.CacheKeys;
 import com.example.petservice.cache.CacheNames;
+import com.example.petservice.cache.PetListPageCache;
+import com.example.petservice.cache.TwoLevelCache;
+import com.example.petservice.cache.TwoLevelCacheManager;
+import com.example.petservice.index.AvailablePetIndex;
+import com.example.petservice.index.PetFacetCounter;
 
 import lombok.RequiredArgsConstructor;
 import org.springframework.cache.annotation.Cacheable;
@@ -14,12 +22,19 @@ import org.springframework.transaction.annotation.Transactional;
 import com.baomidou.mybatisplus.extension.service.impl.ServiceImpl;
 import com.example.petcommon.error.ErrorCode;
 import com.example.petcommon.exception.BizException;
+import com.example.petcommon.utils.CursorUtil;
 import com.example.petpojo.entity.Pets;
 import com.example.petservice.mapper.ListPetsMapper;
 import com.example.petservice.service.ListPetsService;
 
 import lombok.extern.slf4j.Slf4j;
 
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+
 /**
  * 宠物列表服务实现类
  * 实现宠物列表相关的业务逻辑
@@ -30,6 +45,9 @@ import lombok.extern.slf4j.Slf4j;
 public class ListPetsServiceImpl extends ServiceImpl<ListPetsMapper, Pets> implements ListPetsService {
    
     private final ListPetsMapper listPetsMapper;
+    private final AvailablePetIndex availablePetIndex;
+    private final PetListPageCache petListPageCache;
+    private final TwoLevelCacheManager cacheManager;
 
     /**
      * 分页查询宠物列表
@@ -49,15 +67,72 @@ public class ListPetsServiceImpl extends ServiceImpl<ListPetsMapper, Pets> imple
         int current = (currentPage != null && currentPage > 0) ? currentPage : 1;
         int size = (pageSize != null && pageSize > 0) ? pageSize : 10;
         
-        Page<PetListVo> page = new Page<>(current, size);
-        
+        // 内存索引就绪时直接在索引上完成筛选与分页
+        if (availablePetIndex.isReady()) {
+            return availablePetIndex.page(current, size, species, breed, gender, minAge, maxAge);
+        }
+
+        // 索引关闭、装载中或重建失败时回落数据库查询，分页缓存只在这条回落路径上生效
+        return petListPageCache.getOrLoad(current, size, species, breed, gender, minAge, maxAge, () -> {
+            Page<PetListVo> page = new Page<>(current, size);
+            try {
+                // 直接使用Mapper查询返回VO对象，无需转换
+                return listPetsMapper.selectPetListByPage(page, species, breed, gender, minAge, maxAge);
+            } catch (Exception e) {
+                log.error("查询宠物列表失败", e);
+                throw new BizException(ErrorCode.INTERNAL_ERROR, "查询宠物列表失败");
+            }
+        });
+    }
+
+    /**
+     * 游标分页查询宠物列表
+     * 以 pid 作为 seek 键，多取一条判断是否存在下一页，不执行 COUNT
+     * @param cursor 上一页返回的游标
+     * @param pageSize 每页数量
+     * @param species 物种筛选
+     * @param breed 品种筛选
+     * @param gender 性别筛选
+     * @param minAge 最小年龄
+     * @param maxAge 最大年龄
+     * @return 游标分页结果
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPageVo<PetListVo> listPetsByCursor(String cursor, Integer pageSize, String species, String breed, String gender, Integer minAge, Integer maxAge) {
+        int size = (pageSize != null && pageSize > 0) ? pageSize : 10;
+        Integer afterPid = CursorUtil.decodeInt(cursor);
+
+        List<PetListVo> rows;
         try {
-            // 直接使用Mapper查询返回VO对象，无需转换
-            return listPetsMapper.selectPetListByPage(page, species, breed, gender, minAge, maxAge);
+            rows = availablePetIndex.isReady()
+                    ? availablePetIndex.after(afterPid, size + 1, species, breed, gender, minAge, maxAge)
+                    : listPetsMapper.selectPetListByCursor(afterPid, size + 1, species, breed, gender, minAge, maxAge);
         } catch (Exception e) {
-            log.error("查询宠物列表失败", e);
+            log.error("游标查询宠物列表失败", e);
             throw new BizException(ErrorCode.INTERNAL_ERROR, "查询宠物列表失败");
         }
+
+        boolean hasNext = rows.size() > size;
+        List<PetListVo> records = hasNext ? rows.subList(0, size) : rows;
+        String nextCursor = hasNext ? CursorUtil.encode(records.get(records.size() - 1).getPid()) : null;
+        return new CursorPageVo<>(records, nextCursor, hasNext, size);
+    }
+
+    /**
+     * 查询可领养宠物筛选项计数
+     * 正常情况下直接读取内存索引中增量维护的计数；索引不可用时临时扫描一次可领养宠物
+     * @return 筛选项计数
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public PetFacetsVo getAvailablePetFacets() {
+        if (availablePetIndex.isReady()) {
+            return availablePetIndex.facets();
+        }
+        PetFacetCounter counter = new PetFacetCounter();
+        listPetsMapper.selectAllAvailablePetList().forEach(counter::add);
+        return counter.snapshot();
     }
 
     /**
@@ -85,4 +160,51 @@ public class ListPetsServiceImpl extends ServiceImpl<ListPetsMapper, Pets> imple
         
         return petDetailsVo;
     }
-}
\ No newline at end of file
+
+    /**
+     * 批量查询宠物详情
+     * 缓存 key 与 getPetById 一致：先查本地缓存，再一次 MGET 查 Redis，
+     * 剩余未命中用一次 IN 查询加载并以 pipeline 写回
+     * @param petIds 宠物ID列表
+     * @return 宠物详情列表
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public List<PetsDetailsVo> getPetsByIds(List<Integer> petIds) {
+        if (petIds == null || petIds.isEmpty()) {
+            return List.of();
+        }
+        Map<String, Integer> idsByKey = new LinkedHashMap<>();
+        for (Integer petId : new LinkedHashSet<>(petIds)) {
+            if (petId != null) {
+                idsByKey.put(CacheKeys.petId(petId), petId);
+            }
+        }
+
+        TwoLevelCache cache = cacheManager.getTwoLevelCache(CacheNames.PET_DETAIL);
+        Map<String, PetsDetailsVo> details = cache != null
+                ? cache.getAll(idsByKey.keySet(), PetsDetailsVo.class, missKeys -> loadPetDetails(missKeys, idsByKey))
+                : loadPetDetails(idsByKey.keySet(), idsByKey);
+        return new ArrayList<>(details.values());
+    }
+
+    private Map<String, PetsDetailsVo> loadPetDetails(Iterable<String> keys, Map<String, Integer> idsByKey) {
+        List<Integer> ids = new ArrayList<>();
+        keys.forEach(key -> ids.add(idsByKey.get(key)));
+        log.info("批量加载宠物详情，数量: {}", ids.size());
+
+        Map<String, PetsDetailsVo> loaded = new LinkedHashMap<>();
+        for (PetsDetailsVo vo : listPetsMapper.selectPetDetailsByIds(ids)) {
+            loaded.put(CacheKeys.petId(vo.getPid()), vo);
+        }
+        // 保持请求顺序
+        Map<String, PetsDetailsVo> ordered = new LinkedHashMap<>();
+        keys.forEach(key -> {
+            PetsDetailsVo vo = loaded.get(key);
+            if (vo != null) {
+                ordered.put(key, vo);
+            }
+        });
+        return ordered;
+    }
+}
@@ -1,10 +1,15 @@
 package com.example.petservice.service.impl;
 
 import java.time.LocalDateTime;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import org.springframework.beans.BeanUtils;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
 import com.baomidou.mybatisplus.extension.service.impl.ServiceImpl;
@@ -21,13 +26,20 @@ import com.example.petpojo.entity.enums.CommonEnum;
 import com.example.petpojo.vo.AdoptionResultVo;
 import com.example.petpojo.vo.AdoptionsVo;
 import com.example.petpojo.vo.PetListVo;
+import com.example.petservice.admission.AdoptionAdmissionGate;
 import com.example.petservice.cache.PetCacheInvalidator;
+import com.example.petservice.dashboard.ShelterDashboardCounters;
+import com.example.petservice.index.AvailablePetIndex;
 import com.example.petservice.mapper.BreedMapper;
 import com.example.petservice.mapper.PetsMapper;
 import com.example.petservice.mapper.SpeciesMapper;
+import com.example.petservice.pagination.PageCounter;
+import com.example.petservice.pagination.PageStatements;
 import com.example.petservice.service.AdoptionsService;
 import com.example.petservice.service.PetsService;
 import com.example.petservice.config.AliyunOSSOperator;
+import com.example.petservice.projection.AdoptablePetProjection;
+import com.example.petservice.reference.ReferenceDataCache;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -48,12 +60,20 @@ public class PetsServiceImpl extends ServiceImpl<PetsMapper, Pets> implements Pe
     private final AdoptionsService adoptionsService;
     private final AliyunOSSOperator ossOperator;
     private final PetCacheInvalidator petCacheInvalidator;
+    private final AdoptablePetProjection adoptablePetProjection;
+    private final AvailablePetIndex availablePetIndex;
+    private final PageCounter pageCounter;
+    private final ReferenceDataCache referenceDataCache;
+    private final AdoptionAdmissionGate adoptionAdmissionGate;
+    private final TransactionTemplate transactionTemplate;
+    private final ShelterDashboardCounters shelterDashboardCounters;
 
     /**
      * 开始领养，修改宠物领养状态
+     * 先在 Redis 中抢占该宠物的领养预留，重复提交和排队中的请求不会打开数据库事务；
+     * 预留在事务提交或回滚后释放
      */
     @Override
-    @Transactional
     public AdoptionResultVo adop(Long petId) {
         // 参数校验
         validatePetId(petId);
@@ -61,6 +81,33 @@ public class PetsServiceImpl extends ServiceImpl<PetsMapper, Pets> implements Pe
         Long userId = UserContext.getCurrentUserId();
         log.info("用户ID: {} 尝试领养宠物ID: {}", userId, petId);
 
+        Integer pid = petId.intValue();
+        Integer uid = userId.intValue();
+        if (!adoptionAdmissionGate.acquire(pid, uid)) {
+            return transactionTemplate.execute(status -> doAdop(petId, userId));
+        }
+        AtomicBoolean releaseRegistered = new AtomicBoolean(false);
+        try {
+            return transactionTemplate.execute(status -> {
+                TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                    @Override
+                    public void afterCompletion(int completionStatus) {
+                        adoptionAdmissionGate.release(pid, uid, completionStatus == STATUS_COMMITTED);
+                    }
+                });
+                releaseRegistered.set(true);
+                return doAdop(petId, userId);
+            });
+        } catch (RuntimeException e) {
+            // 事务未能开启时同步器尚未注册，直接释放预留
+            if (!releaseRegistered.get()) {
+                adoptionAdmissionGate.release(pid, uid, false);
+            }
+            throw e;
+        }
+    }
+
+    private AdoptionResultVo doAdop(Long petId, Long userId) {
         // 查询宠物信息
         Pets pet = this.getById(petId);
         if (pet == null) {
@@ -146,9 +193,15 @@ public class PetsServiceImpl extends ServiceImpl<PetsMapper, Pets> implements Pe
         petUpdateDto.setGender(normalizeGender(petUpdateDto.getGender()));
         validateImageUrl(petUpdateDto.getImageUrl());
         validateSpeciesBreed(petUpdateDto.getSpeciesId(), petUpdateDto.getBreedId());
+        Integer previousShelterId = pet.getShelterId();
         BeanUtils.copyProperties(petUpdateDto, pet);
         this.updateById(pet);
 
+        adoptablePetProjection.refresh(pet.getPid());
+        if (!Objects.equals(previousShelterId, pet.getShelterId())) {
+            shelterDashboardCounters.petChanged(previousShelterId, pet.getStatus(), pet.getShelterId(), pet.getStatus());
+            shelterDashboardCounters.petShelterChanged(pet.getPid(), previousShelterId, pet.getShelterId());
+        }
         petCacheInvalidator.evictPetDetail(pet.getPid());
         petCacheInvalidator.evictPetListPages();
 
@@ -172,6 +225,9 @@ public class PetsServiceImpl extends ServiceImpl<PetsMapper, Pets> implements Pe
         pet.setStatus(status != null ? status : CommonEnum.PetStatusEnum.AVAILABLE);
         this.save(pet);
 
+        adoptablePetProjection.refresh(pet.getPid());
+        shelterDashboardCounters.petChanged(null, null, pet.getShelterId(), pet.getStatus());
+        petCacheInvalidator.notifyPetChanged(pet.getPid());
         petCacheInvalidator.evictPetListPages();
         return buildPetListVo(pet);
     }
@@ -211,7 +267,11 @@ public class PetsServiceImpl extends ServiceImpl<PetsMapper, Pets> implements Pe
             throw new BizException(ErrorCode.BAD_REQUEST, "有进行中的领养记录，暂不可删除");
         }
         String imageUrl = pet.getImageUrl();
+        // 领养、寄养记录随宠物级联删除，删除前统计需要扣减的看板计数
+        shelterDashboardCounters.petRecordsDeleted(petId, pet.getShelterId());
         this.removeById(petId);
+        adoptablePetProjection.refresh(petId);
+        shelterDashboardCounters.petChanged(pet.getShelterId(), pet.getStatus(), null, null);
         petCacheInvalidator.evictPetDetail(petId);
         petCacheInvalidator.evictPetListPages();
         deleteImageFromOss(imageUrl);
@@ -228,8 +288,11 @@ public class PetsServiceImpl extends ServiceImpl<PetsMapper, Pets> implements Pe
         if (target == null) {
             throw new BizException(ErrorCode.BAD_REQUEST, "无效的宠物状态");
         }
+        CommonEnum.PetStatusEnum previousStatus = pet.getStatus();
         pet.setStatus(target);
         this.updateById(pet);
+        adoptablePetProjection.refresh(petId);
+        shelterDashboardCounters.petChanged(pet.getShelterId(), previousStatus, pet.getShelterId(), target);
         petCacheInvalidator.evictPetDetail(petId);
         petCacheInvalidator.evictPetListPages();
         return buildPetListVo(pet);
@@ -297,11 +360,11 @@ public class PetsServiceImpl extends ServiceImpl<PetsMapper, Pets> implements Pe
         if (breedId == null || breedId <= 0) {
             throw new BizException(ErrorCode.BAD_REQUEST, "品种ID不能为空");
         }
-        Species species = speciesMapper.selectById(speciesId);
+        Species species = findSpecies(speciesId);
         if (species == null) {
             throw new BizException(ErrorCode.NOT_FOUND, "物种不存在");
         }
-        Breed breed = breedMapper.selectById(breedId);
+        Breed breed = findBreed(breedId);
         if (breed == null) {
             throw new BizException(ErrorCode.NOT_FOUND, "品种不存在");
         }
@@ -314,7 +377,7 @@ public class PetsServiceImpl extends ServiceImpl<PetsMapper, Pets> implements Pe
         if (speciesId == null) {
             return null;
         }
-        Species species = speciesMapper.selectById(speciesId);
+        Species species = findSpecies(speciesId);
         return species != null ? species.getName() : null;
     }
 
@@ -322,10 +385,35 @@ public class PetsServiceImpl extends ServiceImpl<PetsMapper, Pets> implements Pe
         if (breedId == null) {
             return null;
         }
-        Breed breed = breedMapper.selectById(breedId);
+        Breed breed = findBreed(breedId);
         return breed != null ? breed.getName() : null;
     }
 
+    /**
+     * 优先读取参考数据快照；未命中时回查数据库（其他节点刚新增、变更广播尚未到达）
+     */
+    private Species findSpecies(Integer speciesId) {
+        Species species = referenceDataCache.getSpecies(speciesId);
+        return species != null ? species : speciesMapper.selectById(speciesId);
+    }
+
+    private Breed findBreed(Integer breedId) {
+        Breed breed = referenceDataCache.getBreed(breedId);
+        return breed != null ? breed : breedMapper.selectById(breedId);
+    }
+
+    @Override
+    public int rebuildAdoptableProjection() {
+        if (!UserContext.isPlatformAdmin()) {
+            throw new BizException(ErrorCode.FORBIDDEN, "仅平台管理员可重建可领养宠物投影");
+        }
+        int rows = adoptablePetProjection.rebuild();
+        // 投影已提交，依赖它的内存索引和列表缓存随之刷新
+        availablePetIndex.rebuild();
+        petCacheInvalidator.evictPetListPages();
+        return rows;
+    }
+
     @Override
     @Transactional(readOnly = true)
     public com.baomidou.mybatisplus.core.metadata.IPage<com.example.petpojo.vo.AdminPetVo> listPetsForAdmin(Integer currentPage, Integer pageSize, String status) {
@@ -338,6 +426,7 @@ public class PetsServiceImpl extends ServiceImpl<PetsMapper, Pets> implements Pe
             return page;
         }
         Integer shelterIdForQuery = isPlatformAdmin ? null : adminShelterId;
-        return petsMapper.selectAdminPets(page, status, shelterIdForQuery);
+        return pageCounter.paginate(PageStatements.ADMIN_PETS, currentPage, pageSize,
+                p -> petsMapper.selectAdminPets(p, status, shelterIdForQuery), shelterIdForQuery, status);
     }
 }
@@ -0,0 +1,57 @@
+package com.example.petservice.service.impl;
+
+import java.util.Set;
+
+import org.springframework.stereotype.Service;
+
+import com.baomidou.mybatisplus.core.metadata.IPage;
+import com.example.petcommon.context.UserContext;
+import com.example.petcommon.error.ErrorCode;
+import com.example.petcommon.exception.BizException;
+import com.example.petpojo.vo.SearchHitVo;
+import com.example.petservice.search.FullTextSearchIndex;
+import com.example.petservice.service.SearchService;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 全文检索服务实现类
+ */
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class SearchServiceImpl implements SearchService {
+
+    private static final Set<String> TYPES = Set.of(
+            FullTextSearchIndex.TYPE_PET, FullTextSearchIndex.TYPE_BREED,
+            FullTextSearchIndex.TYPE_SHELTER, FullTextSearchIndex.TYPE_ARTICLE);
+
+    private final FullTextSearchIndex fullTextSearchIndex;
+
+    @Override
+    public IPage<SearchHitVo> search(String keyword, String type, Integer currentPage, Integer pageSize) {
+        if (keyword == null || keyword.isBlank()) {
+            throw new BizException(ErrorCode.BAD_REQUEST, "搜索关键词不能为空");
+        }
+        String normalizedType = type == null || type.isBlank() ? null : type.trim().toLowerCase();
+        if (normalizedType != null && !TYPES.contains(normalizedType)) {
+            throw new BizException(ErrorCode.BAD_REQUEST, "不支持的搜索类型");
+        }
+        int current = (currentPage != null && currentPage > 0) ? currentPage : 1;
+        int size = (pageSize != null && pageSize > 0) ? pageSize : 10;
+        if (current > FullTextSearchIndex.MAX_WINDOW / size) {
+            throw new BizException(ErrorCode.BAD_REQUEST,
+                    "检索结果最多翻到第 " + FullTextSearchIndex.MAX_WINDOW / size + " 页");
+        }
+        return fullTextSearchIndex.search(keyword, normalizedType, current, size);
+    }
+
+    @Override
+    public int reindex() {
+        if (!UserContext.isPlatformAdmin()) {
+            throw new BizException(ErrorCode.FORBIDDEN, "仅平台管理员可重建搜索索引");
+        }
+        return fullTextSearchIndex.reindex();
+    }
+}
@@ -1,39 +1,34 @@
 package com.example.petservice.service.impl;
 
 import java.util.List;
-import java.util.stream.Collectors;
 
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 import com.baomidou.mybatisplus.extension.service.impl.ServiceImpl;
 import com.example.petpojo.entity.Shelters;
 import com.example.petservice.mapper.SheltersMapper;
+import com.example.petservice.reference.ReferenceDataCache;
 import com.example.petservice.service.ShelterService;
 import com.example.petpojo.vo.ShelterVo;
 
+import lombok.RequiredArgsConstructor;
+
 /**
  * 收容所服务实现类
  * 实现收容所相关的业务逻辑
  */
 @Service
+@RequiredArgsConstructor
 public class ShelterServiceImpl extends ServiceImpl<SheltersMapper, Shelters> implements ShelterService {
 
+    private final ReferenceDataCache referenceDataCache;
+
     /**
-     * 获取所有收容所名称列表
+     * 获取所有收容所名称列表（读取参考数据快照）
      * @return 收容所VO列表
      */
     @Override
-    @Transactional(readOnly = true)
     public List<ShelterVo> getShelterNames() {
-        return lambdaQuery()
-                .list()
-                .stream()
-                .map(shelter -> new ShelterVo(
-                        shelter.getSid(),
-                        shelter.getName(),
-                        shelter.getLocation()
-                ))
-                .collect(Collectors.toList());
+        return referenceDataCache.listShelters();
     }
 
 }
\ No newline at end of file
@@ -1,7 +1,6 @@
 package com.example.petservice.service.impl;
 
 import java.util.List;
-import java.util.stream.Collectors;
 
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -15,20 +14,22 @@ import com.example.petpojo.dto.SpeciesUpdateDto;
 import com.example.petpojo.entity.Species;
 import com.example.petpojo.vo.SpeciesVo;
 import com.example.petservice.mapper.SpeciesMapper;
+import com.example.petservice.projection.AdoptablePetProjection;
+import com.example.petservice.reference.ReferenceDataCache;
 import com.example.petservice.service.SpeciesService;
 
+import lombok.RequiredArgsConstructor;
+
 @Service
+@RequiredArgsConstructor
 public class SpeciesServiceImpl extends ServiceImpl<SpeciesMapper, Species> implements SpeciesService {
 
+    private final AdoptablePetProjection adoptablePetProjection;
+    private final ReferenceDataCache referenceDataCache;
+
     @Override
-    @Transactional(readOnly = true)
     public List<SpeciesVo> listAllSpecies() {
-        return lambdaQuery()
-                .orderByAsc(Species::getId)
-                .list()
-                .stream()
-                .map(s -> new SpeciesVo(s.getId(), s.getName(), s.getDescription()))
-                .collect(Collectors.toList());
+        return referenceDataCache.listSpecies();
     }
 
     @Override
@@ -45,6 +46,7 @@ public class SpeciesServiceImpl extends ServiceImpl<SpeciesMapper, Species> impl
         if (!this.save(entity)) {
             throw new BizException(ErrorCode.INTERNAL_ERROR, "创建物种失败");
         }
+        referenceDataCache.refreshAfterCommit();
         return new SpeciesVo(entity.getId(), entity.getName(), entity.getDescription());
     }
 
@@ -64,6 +66,8 @@ public class SpeciesServiceImpl extends ServiceImpl<SpeciesMapper, Species> impl
         if (!this.updateById(existing)) {
             throw new BizException(ErrorCode.INTERNAL_ERROR, "更新物种失败");
         }
+        adoptablePetProjection.refreshSpeciesName(id);
+        referenceDataCache.refreshAfterCommit();
         return new SpeciesVo(existing.getId(), existing.getName(), existing.getDescription());
     }
 
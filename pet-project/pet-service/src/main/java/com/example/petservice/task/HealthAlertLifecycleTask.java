@@ -0,0 +1,187 @@
+package com.example.petservice.task;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.example.petcommon.properties.HealthReminderCleanupProperties;
+import com.example.petpojo.entity.HealthAlerts;
+import com.example.petpojo.vo.HealthLifecycleStatsVo;
+import com.example.petservice.cache.UserHealthAlertsCache;
+import com.example.petservice.service.HealthAlertsService;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 健康提醒生命周期任务：已提醒 → 过期 → 迁入归档表 →（可选）删除超期归档
+ * 每个阶段按主键游标分批处理，单条语句只锁一批记录，批间停顿给业务写入让路；
+ * 进入当前状态的时间取专门的 reminded_at、expired_at（不受其他字段更新影响，历史数据缺失时回退到 update_time），
+ * 过期天数按健康类型配置。
+ * @author 33185
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class HealthAlertLifecycleTask {
+
+    private static final String STATUS_REMINDED = "reminded";
+    private static final String STATUS_EXPIRED = "expired";
+    private static final String PHASE_IDLE = "idle";
+
+    private final HealthAlertsService healthAlertsService;
+    private final HealthReminderCleanupProperties properties;
+    private final UserHealthAlertsCache userHealthAlertsCache;
+
+    private final AtomicBoolean running = new AtomicBoolean();
+    private final AtomicReference<String> phase = new AtomicReference<>(PHASE_IDLE);
+    private final AtomicLong runs = new AtomicLong();
+    private final AtomicLong failures = new AtomicLong();
+    private final AtomicLong chunks = new AtomicLong();
+    private final AtomicLong scanned = new AtomicLong();
+    private final AtomicLong expired = new AtomicLong();
+    private final AtomicLong archived = new AtomicLong();
+    private final AtomicLong deleted = new AtomicLong();
+    private final AtomicLong lastStartedAt = new AtomicLong();
+    private final AtomicLong lastDurationMs = new AtomicLong();
+
+    @Scheduled(cron = "${pet.health.reminder.cleanup.cron:0 30 2 * * ?}")
+    public void cleanupExpiredHealthReminders() {
+        if (!properties.isEnabled() || !running.compareAndSet(false, true)) {
+            return;
+        }
+        long start = System.currentTimeMillis();
+        lastStartedAt.set(start);
+        log.info("[清理任务] 开始执行健康提醒状态流转");
+        try {
+            LocalDateTime now = LocalDateTime.now();
+            int expiredCount = expireReminded(now);
+            int archivedCount = archiveExpired(now);
+            int deletedCount = properties.isEnableDeletion() ? purgeArchived(now) : 0;
+            if (expiredCount > 0 || archivedCount > 0) {
+                userHealthAlertsCache.invalidateAll();
+            }
+            runs.incrementAndGet();
+            log.info("[清理任务] 完成：过期 {} 条，归档 {} 条，删除 {} 条，耗时 {}ms",
+                    expiredCount, archivedCount, deletedCount, System.currentTimeMillis() - start);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            log.warn("[清理任务] 被中断，下次执行从头继续");
+        } catch (Exception e) {
+            failures.incrementAndGet();
+            log.error("[清理任务] 执行失败", e);
+        } finally {
+            lastDurationMs.set(System.currentTimeMillis() - start);
+            phase.set(PHASE_IDLE);
+            running.set(false);
+        }
+    }
+
+    /**
+     * 任务统计
+     */
+    public HealthLifecycleStatsVo stats() {
+        long startedAt = lastStartedAt.get();
+        return new HealthLifecycleStatsVo(running.get(), phase.get(), runs.get(), failures.get(), chunks.get(),
+                scanned.get(), expired.get(), archived.get(), deleted.get(),
+                startedAt == 0 ? null : LocalDateTime.ofInstant(Instant.ofEpochMilli(startedAt), ZoneId.systemDefault()),
+                lastDurationMs.get());
+    }
+
+    /**
+     * 已提醒 → 过期：数据库侧先按最短过期天数过滤，再按各健康类型的天数精确判断；
+     * 起算时间为进入已提醒状态的时间，不受编辑、送达确认等刷新 update_time 的操作影响
+     */
+    private int expireReminded(LocalDateTime now) throws InterruptedException {
+        phase.set("expire");
+        LocalDateTime before = now.minusDays(properties.minExpiryDays());
+        int total = 0;
+        int afterId = 0;
+        List<HealthAlerts> chunk;
+        do {
+            chunk = nextChunk(STATUS_REMINDED, afterId, before);
+            if (chunk.isEmpty()) {
+                break;
+            }
+            afterId = chunk.get(chunk.size() - 1).getHealthId();
+            List<Integer> due = new ArrayList<>(chunk.size());
+            for (HealthAlerts alert : chunk) {
+                LocalDateTime threshold = now.minusDays(properties.getExpiryDaysByHealthType(alert.getHealthType()));
+                if (alert.getRemindedAt() != null && alert.getRemindedAt().isBefore(threshold)) {
+                    due.add(alert.getHealthId());
+                }
+            }
+            int updated = healthAlertsService.batchExpireReminded(due);
+            expired.addAndGet(updated);
+            total += updated;
+            pause(chunk.size());
+        } while (chunk.size() >= properties.getBatchSize());
+        return total;
+    }
+
+    /**
+     * 过期 → 归档：过期满归档阈值的记录迁入 pet_health_history
+     */
+    private int archiveExpired(LocalDateTime now) throws InterruptedException {
+        phase.set("archive");
+        LocalDateTime before = now.minusDays(properties.getArchiveThresholdDays());
+        int total = 0;
+        int afterId = 0;
+        List<HealthAlerts> chunk;
+        do {
+            chunk = nextChunk(STATUS_EXPIRED, afterId, before);
+            if (chunk.isEmpty()) {
+                break;
+            }
+            afterId = chunk.get(chunk.size() - 1).getHealthId();
+            int moved = healthAlertsService.batchArchiveExpired(chunk.stream().map(HealthAlerts::getHealthId).toList());
+            archived.addAndGet(moved);
+            total += moved;
+            pause(chunk.size());
+        } while (chunk.size() >= properties.getBatchSize());
+        return total;
+    }
+
+    /**
+     * 归档 → 删除：归档表中超过删除阈值的记录分批物理删除
+     */
+    private int purgeArchived(LocalDateTime now) throws InterruptedException {
+        phase.set("purge");
+        LocalDateTime before = now.minusDays(properties.getDeletionThresholdDays());
+        int total = 0;
+        int removed;
+        do {
+            removed = healthAlertsService.batchDeleteArchived(before, properties.getBatchSize());
+            chunks.incrementAndGet();
+            deleted.addAndGet(removed);
+            total += removed;
+            pause(removed);
+        } while (removed >= properties.getBatchSize());
+        return total;
+    }
+
+    private List<HealthAlerts> nextChunk(String status, int afterId, LocalDateTime before) {
+        List<HealthAlerts> chunk = healthAlertsService.listLifecycleChunk(status, afterId, before, properties.getBatchSize());
+        chunks.incrementAndGet();
+        scanned.addAndGet(chunk.size());
+        return chunk;
+    }
+
+    /**
+     * 满批说明还有后续批次，停顿后再继续
+     */
+    private void pause(int chunkSize) throws InterruptedException {
+        long millis = properties.getPause().toMillis();
+        if (chunkSize >= properties.getBatchSize() && millis > 0) {
+            Thread.sleep(millis);
+        }
+    }
+}
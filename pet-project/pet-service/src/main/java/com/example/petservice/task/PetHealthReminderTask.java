@@ -1,25 +1,42 @@
 package com.example.petservice.task;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
 
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 
+import com.example.petcommon.properties.HealthReminderSchedulerProperties;
+import com.example.petpojo.entity.HealthAlerts;
 import com.example.petpojo.vo.HealthAlertsVo;
-import com.example.petservice.service.AdoptionsService;
+import com.example.petservice.cache.UserHealthAlertsCache;
+import com.example.petservice.reminder.HealthReminderQueue;
 import com.example.petservice.service.HealthAlertsService;
-import com.example.petservice.websocket.WebSocketServer;
+import com.example.petservice.websocket.WebSocketDelivery;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.SerializationFeature;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
 
+import jakarta.annotation.PreDestroy;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
 /**
+ * 健康提醒调度
+ * 到期提醒存放在 {@link HealthReminderQueue}，调度线程按队首提醒时间休眠、到点即认领发送，
+ * 不再每 30 秒扫描数据库。启动时从数据库装载窗口内的待发送提醒（含宽限期内错过的），
+ * 定时校准把新进入窗口的提醒装入队列并移除已失效的成员。
+ * 发送前在数据库中以令牌 + 租约认领（attention → dispatching），多实例部署时同一提醒只发送一次；
+ * 认领实例宕机后，租约过期的提醒由租约巡检重新认领发送。
  * @author 33185
  */
 @Slf4j
@@ -28,63 +45,199 @@ import lombok.extern.slf4j.Slf4j;
 public class PetHealthReminderTask {
 
     private final HealthAlertsService healthAlertsService;
-    private final AdoptionsService adoptionsService;
+    private final HealthReminderQueue healthReminderQueue;
+    private final UserHealthAlertsCache userHealthAlertsCache;
+    private final WebSocketDelivery webSocketDelivery;
+    private final HealthReminderSchedulerProperties properties;
     private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper()
             .registerModule(new JavaTimeModule())
             .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
 
-    // 每30秒检查一次需要发送的定时提醒
-    @Scheduled(cron = "0/30 * * * * ?")
-    public void checkScheduledHealthReminders() {
-        LocalDateTime now = LocalDateTime.now();
-        LocalDateTime start = now.minusSeconds(30);
-        LocalDateTime end = now.plusSeconds(30);
+    private volatile boolean running;
+    private Thread worker;
 
-        try {
-            // 直接查数据库：找出【该发送的提醒】，一次搞定！（最重要优化）
-            List<HealthAlertsVo> needRemindList = healthAlertsService
-                .listNeedRemindAlerts(start, end, "attention");
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        reconcile();
+        running = true;
+        worker = new Thread(this::runLoop, "health-reminder-scheduler");
+        worker.setDaemon(true);
+        worker.start();
+    }
 
-            if (needRemindList.isEmpty()) {
-                return;
-            }
+    @PreDestroy
+    public void stop() {
+        running = false;
+        if (worker != null) {
+            worker.interrupt();
+        }
+    }
 
+    /**
+     * 定时校准：装入新进入预装载窗口的提醒，移除状态或时间已变化的成员
+     */
+    @Scheduled(fixedDelayString = "${pet.health.reminder.scheduler.reconcile-interval-ms:300000}",
+            initialDelayString = "${pet.health.reminder.scheduler.reconcile-interval-ms:300000}")
+    public void reconcile() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        try {
+            LocalDateTime now = LocalDateTime.now();
+            Map<Integer, LocalDateTime> expected = healthAlertsService.listReminderSchedule(
+                    now.minus(properties.getMissedGrace()), now.plus(properties.getPreloadHorizon()));
+            healthReminderQueue.addAll(expected);
 
-            for (HealthAlertsVo alert : needRemindList) {
-                Long userId = alert.getUserId();
-                String petName = Optional.ofNullable(
-                    adoptionsService.getPetNameById(alert.getPid().longValue())
-                ).orElse("宠物");
+            Set<Integer> unknown = healthReminderQueue.members();
+            unknown.removeAll(expected.keySet());
+            int removed = 0;
+            if (!unknown.isEmpty()) {
+                // 只移除数据库确认已失效的成员，避免误删校准期间刚写入的提醒
+                Set<Integer> stale = new HashSet<>(unknown);
+                for (HealthAlerts alert : healthAlertsService.listByIds(unknown)) {
+                    if (healthReminderQueue.isEligible(alert.getStatus(), alert.getReminderTime(), LocalDateTime.now())) {
+                        stale.remove(alert.getHealthId());
+                    }
+                }
+                healthReminderQueue.removeAll(stale);
+                removed = stale.size();
+            }
+            log.info("[健康提醒] 队列校准完成, loaded={}, removed={}", expected.size(), removed);
+        } catch (Exception e) {
+            log.error("[健康提醒] 队列校准失败", e);
+        }
+    }
 
-                // 1. WebSocket 实时推送（只推给在线用户）
-                String payload;
+    private void runLoop() {
+        while (running) {
+            try {
+                int fired = fireDue();
+                if (fired < properties.getBatchSize()) {
+                    healthReminderQueue.awaitNextDue();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (Exception e) {
+                log.error("[健康提醒] 执行异常", e);
                 try {
-                    payload = buildReminderPayload(alert, petName);
-                } catch (JsonProcessingException e) {
-                    log.error("[健康提醒] 构建推送消息失败, healthId={}", alert.getHealthId(), e);
-                    continue;
+                    Thread.sleep(properties.getMaxIdle().toMillis());
+                } catch (InterruptedException ie) {
+                    Thread.currentThread().interrupt();
+                    return;
                 }
-                WebSocketServer.send(String.valueOf(userId), payload);
-
-                // 2. 更新状态为已提醒
-                healthAlertsService.markAsReminded(alert.getHealthId());
             }
+        }
+    }
 
+    /**
+     * 重新认领租约已过期的分发中提醒并发送
+     */
+    @Scheduled(fixedDelayString = "${pet.health.reminder.scheduler.lease-check-interval-ms:60000}",
+            initialDelayString = "${pet.health.reminder.scheduler.lease-check-interval-ms:60000}")
+    public void recoverExpiredClaims() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        try {
+            int recovered = 0;
+            int claimed;
+            do {
+                String claimToken = newClaimToken();
+                claimed = healthAlertsService.claimExpiredReminders(claimToken, properties.getBatchSize(), properties.getLease());
+                if (claimed > 0) {
+                    dispatchClaimed(claimToken);
+                    recovered += claimed;
+                }
+            } while (claimed >= properties.getBatchSize() && running);
+            if (recovered > 0) {
+                log.warn("[健康提醒] 重新认领租约过期的提醒 {} 条", recovered);
+            }
         } catch (Exception e) {
-            log.error("[健康提醒] 执行异常", e);
+            log.error("[健康提醒] 租约巡检失败", e);
+        }
+    }
+
+    /**
+     * 认领并发送一批到期提醒：队列弹出的候选 ID 先在数据库中一条语句认领，
+     * 只有认领成功的提醒才会发送，发送结果一条语句回写
+     * @return 本批从队列弹出的候选数
+     */
+    int fireDue() {
+        List<Integer> due = healthReminderQueue.claimDue(properties.getBatchSize());
+        if (due.isEmpty()) {
+            return 0;
+        }
+        String claimToken = newClaimToken();
+        // 已被其他实例认领、已改期或已删除的提醒不会被认领；改期的提醒在更新提交后已重新入队
+        if (healthAlertsService.claimReminders(claimToken, due, properties.getLease()) > 0) {
+            dispatchClaimed(claimToken);
         }
+        return due.size();
+    }
+
+    /**
+     * 发送某次认领的提醒；提醒、领养人与宠物名称批量查询，数据库往返次数与批大小无关
+     */
+    private void dispatchClaimed(String claimToken) {
+        List<HealthAlertsVo> alerts = healthAlertsService.listClaimedReminders(claimToken);
+        List<Integer> sent = new ArrayList<>(alerts.size());
+        List<Long> owners = new ArrayList<>(alerts.size());
+        List<Integer> failed = new ArrayList<>();
+        for (HealthAlertsVo alert : alerts) {
+            if (send(alert)) {
+                sent.add(alert.getHealthId());
+                owners.add(alert.getUserId());
+            } else {
+                failed.add(alert.getHealthId());
+            }
+        }
+        healthAlertsService.completeClaimedReminders(claimToken, sent);
+        userHealthAlertsCache.invalidate(owners);
+        // 未发送的放回待发送，由下次校准重新入队
+        healthAlertsService.releaseClaimedReminders(claimToken, failed);
+    }
+
+    private static String newClaimToken() {
+        return UUID.randomUUID().toString();
+    }
+
+    /**
+     * 写入用户的待确认队列并尝试实时推送，客户端确认后回写送达时间
+     * @return 是否已投递；宠物没有领养人时无人可投递，视为已处理
+     */
+    private boolean send(HealthAlertsVo alert) {
+        if (alert.getUserId() == null) {
+            log.warn("[健康提醒] 宠物没有领养人，跳过推送, healthId={}, pid={}", alert.getHealthId(), alert.getPid());
+            return true;
+        }
+        String petName = Optional.ofNullable(alert.getPetName()).orElse("宠物");
+        String payload;
+        try {
+            payload = buildReminderPayload(alert, petName);
+        } catch (JsonProcessingException e) {
+            log.error("[健康提醒] 构建推送消息失败, healthId={}", alert.getHealthId(), e);
+            return false;
+        }
+        return webSocketDelivery.deliver(String.valueOf(alert.getUserId()),
+                WebSocketDelivery.healthMsgId(alert.getHealthId()), payload);
     }
 
     private String buildReminderPayload(HealthAlertsVo alert, String petName) throws JsonProcessingException {
         HealthReminderMessage message = new HealthReminderMessage();
         message.setType("health_reminder");
+        message.setMsgId(WebSocketDelivery.healthMsgId(alert.getHealthId()));
         message.setHealthId(alert.getHealthId());
         message.setPetId(alert.getPid());
         message.setPetName(petName);
         message.setHealthType(alert.getHealthType());
         message.setDescription(alert.getDescription());
         message.setReminderTime(alert.getReminderTime());
-        message.setStatus(alert.getStatus());
+        // 认领期间数据库中为 dispatching，推送给客户端的是发送后的状态
+        message.setStatus("reminded");
         message.setTimestamp(LocalDateTime.now());
         message.setContent(String.format("【健康提醒】%s：%s（%s）",
                 petName,
@@ -93,33 +246,12 @@ public class PetHealthReminderTask {
         return OBJECT_MAPPER.writeValueAsString(message);
     }
 
-
-//    @Scheduled(cron = "0 30 2 * * ?")
-//    public void cleanupExpiredHealthReminders() {
-//        log.info("[清理任务] 开始执行健康提醒状态流转");
-//
-//        LocalDateTime now = LocalDateTime.now();
-//
-//        int expired = 0, archived = 0, deleted = 0;
-//
-//        // 1. 一次性批量处理「已提醒 → 过期」
-//        expired += healthAlertsService.batchExpireReminded(now);
-//
-//        // 2. 一次性批量处理「过期 → 归档」
-//        archived += healthAlertsService.batchArchiveExpired(now);
-//
-//        // 3. 一次性批量处理「归档 → 物理删除」（可选）
-//        if (cleanupProperties.isEnableDeletion()) {
-//            deleted += healthAlertsService.batchDeleteArchived(now);
-//        }
-//
-//        log.info("[清理任务] 完成：过期 {} 条，归档 {} 条，删除 {} 条", expired, archived, deleted);
-//    }
 }
 
 @lombok.Data
 class HealthReminderMessage {
     private String type;
+    private String msgId;
     private Integer healthId;
     private Integer petId;
     private String petName;
@@ -0,0 +1,149 @@
+package com.example.petservice.websocket;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.stereotype.Component;
+
+import com.example.petcommon.properties.WebSocketProperties;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * WebSocket 待确认消息队列
+ * 每个接收人一个 HASH（msgId → 消息体）加一个 ZSET（msgId → 入队毫秒时间戳），
+ * 入队时按条数上限丢弃最早的消息并清理超过保留时长的消息，客户端确认后删除。
+ * 同一 msgId 重复入队只会覆盖，不会产生重复消息。
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class OfflineMessageQueue {
+
+    static final String KEY_PREFIX = "petproject:ws:pending:";
+
+    /**
+     * KEYS[1] 消息 HASH，KEYS[2] 顺序 ZSET；
+     * ARGV[1] msgId，ARGV[2] 消息体，ARGV[3] 当前毫秒时间戳，ARGV[4] 条数上限，ARGV[5] 保留毫秒数
+     */
+    private static final DefaultRedisScript<Long> ENQUEUE_SCRIPT = new DefaultRedisScript<>("""
+            redis.call('HSET', KEYS[1], ARGV[1], ARGV[2])
+            redis.call('ZADD', KEYS[2], ARGV[3], ARGV[1])
+            local dropped = 0
+            local expired = redis.call('ZRANGEBYSCORE', KEYS[2], '-inf', '(' .. (tonumber(ARGV[3]) - tonumber(ARGV[5])))
+            if #expired > 0 then
+                redis.call('ZREM', KEYS[2], unpack(expired))
+                redis.call('HDEL', KEYS[1], unpack(expired))
+                dropped = dropped + #expired
+            end
+            local excess = redis.call('ZCARD', KEYS[2]) - tonumber(ARGV[4])
+            if excess > 0 then
+                local oldest = redis.call('ZRANGE', KEYS[2], 0, excess - 1)
+                redis.call('ZREMRANGEBYRANK', KEYS[2], 0, excess - 1)
+                redis.call('HDEL', KEYS[1], unpack(oldest))
+                dropped = dropped + #oldest
+            end
+            redis.call('PEXPIRE', KEYS[1], ARGV[5])
+            redis.call('PEXPIRE', KEYS[2], ARGV[5])
+            return dropped
+            """, Long.class);
+
+    /**
+     * KEYS[1] 消息 HASH，KEYS[2] 顺序 ZSET；按入队顺序返回全部待确认消息体
+     */
+    @SuppressWarnings("rawtypes")
+    private static final DefaultRedisScript<List> PENDING_SCRIPT = new DefaultRedisScript<>("""
+            local ids = redis.call('ZRANGE', KEYS[2], 0, -1)
+            if #ids == 0 then
+                return {}
+            end
+            local bodies = redis.call('HMGET', KEYS[1], unpack(ids))
+            local result = {}
+            for i = 1, #ids do
+                if bodies[i] then
+                    table.insert(result, bodies[i])
+                else
+                    redis.call('ZREM', KEYS[2], ids[i])
+                end
+            end
+            return result
+            """, List.class);
+
+    private final StringRedisTemplate stringRedisTemplate;
+    private final WebSocketProperties properties;
+
+    public boolean isEnabled() {
+        return properties.getOffline().isEnabled();
+    }
+
+    /**
+     * 写入接收人的待确认队列
+     * @return 是否写入成功
+     */
+    public boolean enqueue(String recipient, String msgId, String payload) {
+        WebSocketProperties.Offline offline = properties.getOffline();
+        try {
+            Long dropped = stringRedisTemplate.execute(ENQUEUE_SCRIPT, keys(recipient),
+                    msgId, payload, String.valueOf(System.currentTimeMillis()),
+                    String.valueOf(offline.getMaxPending()), String.valueOf(offline.getTtl().toMillis()));
+            if (dropped != null && dropped > 0) {
+                log.warn("[WS] 待确认消息超出上限或过期，丢弃 {} 条, recipient={}", dropped, recipient);
+            }
+            return true;
+        } catch (Exception e) {
+            log.warn("[WS] 写入待确认队列失败, recipient={}, msgId={}", recipient, msgId, e);
+            return false;
+        }
+    }
+
+    /**
+     * 按入队顺序读取接收人的全部待确认消息，一次往返
+     */
+    @SuppressWarnings("unchecked")
+    public List<String> pending(String recipient) {
+        try {
+            List<Object> bodies = stringRedisTemplate.execute(PENDING_SCRIPT, keys(recipient));
+            if (bodies == null || bodies.isEmpty()) {
+                return List.of();
+            }
+            List<String> result = new ArrayList<>(bodies.size());
+            for (Object body : bodies) {
+                result.add(String.valueOf(body));
+            }
+            return result;
+        } catch (Exception e) {
+            log.warn("[WS] 读取待确认队列失败, recipient={}", recipient, e);
+            return List.of();
+        }
+    }
+
+    /**
+     * 客户端确认后删除消息
+     * @return 是否删除了待确认消息
+     */
+    public boolean ack(String recipient, String msgId) {
+        try {
+            Long removed = stringRedisTemplate.opsForZSet().remove(orderKey(recipient), msgId);
+            stringRedisTemplate.opsForHash().delete(messagesKey(recipient), msgId);
+            return removed != null && removed > 0;
+        } catch (Exception e) {
+            log.warn("[WS] 删除待确认消息失败, recipient={}, msgId={}", recipient, msgId, e);
+            return false;
+        }
+    }
+
+    private static List<String> keys(String recipient) {
+        return List.of(messagesKey(recipient), orderKey(recipient));
+    }
+
+    private static String messagesKey(String recipient) {
+        return KEY_PREFIX + recipient;
+    }
+
+    private static String orderKey(String recipient) {
+        return KEY_PREFIX + recipient + ":order";
+    }
+}
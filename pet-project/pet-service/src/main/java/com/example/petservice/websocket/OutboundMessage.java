@@ -0,0 +1,26 @@
+package com.example.petservice.websocket;
+
+/**
+ * 待发送的 WebSocket 消息
+ * 每次推送只构造一次，同一实例被所有接收连接的发送队列共享；
+ * supersedeKey 标识消息描述的业务对象（类型 + 实体 ID），同一对象的新消息会取代队列中尚未发出的旧消息，
+ * 一次性的通知没有取代关系，supersedeKey 为 null
+ * @param payload 消息体
+ * @param supersedeKey 取代键，为 null 时不参与合并
+ */
+public record OutboundMessage(String payload, String supersedeKey) {
+
+    /**
+     * 不可合并的消息
+     */
+    public static OutboundMessage of(String payload) {
+        return new OutboundMessage(payload, null);
+    }
+
+    /**
+     * 可被同一业务对象的后续消息取代的消息
+     */
+    public static OutboundMessage superseding(String payload, String supersedeKey) {
+        return new OutboundMessage(payload, supersedeKey);
+    }
+}
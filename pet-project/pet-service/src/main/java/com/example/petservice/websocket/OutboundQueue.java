@@ -0,0 +1,131 @@
+package com.example.petservice.websocket;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import com.example.petcommon.properties.WebSocketProperties.OverflowPolicy;
+
+import jakarta.websocket.Session;
+
+/**
+ * 单个连接的有界发送队列
+ * 同一时刻最多一条消息处于发送中（sending 标记），发送完成后再取下一条，
+ * 避免并发调用 AsyncRemote 导致的 IllegalStateException。
+ * COALESCE 策略下按 supersedeKey 索引排队中的消息，新消息原位替换旧消息，保持与其他消息的相对顺序
+ */
+final class OutboundQueue {
+
+    enum OfferResult {
+        QUEUED,
+        COALESCED,
+        DROPPED_OLDEST,
+        OVERFLOW,
+        CLOSED
+    }
+
+    /**
+     * 队列槽位，合并时只替换槽位中的消息
+     */
+    private static final class Slot {
+        private OutboundMessage message;
+
+        private Slot(OutboundMessage message) {
+            this.message = message;
+        }
+    }
+
+    private final Session session;
+    private final Deque<Slot> slots = new ArrayDeque<>();
+    private final Map<String, Slot> bySupersedeKey = new HashMap<>();
+    private final AtomicBoolean sending = new AtomicBoolean();
+    private boolean closed;
+
+    OutboundQueue(Session session) {
+        this.session = session;
+    }
+
+    Session session() {
+        return session;
+    }
+
+    synchronized OfferResult offer(OutboundMessage message, OverflowPolicy policy, int maxQueued) {
+        if (closed) {
+            return OfferResult.CLOSED;
+        }
+        String key = message.supersedeKey();
+        if (policy == OverflowPolicy.COALESCE && key != null) {
+            Slot queued = bySupersedeKey.get(key);
+            if (queued != null) {
+                queued.message = message;
+                return OfferResult.COALESCED;
+            }
+        }
+        OfferResult result = OfferResult.QUEUED;
+        if (slots.size() >= maxQueued) {
+            if (policy == OverflowPolicy.DISCONNECT) {
+                return OfferResult.OVERFLOW;
+            }
+            unindex(slots.pollFirst());
+            result = OfferResult.DROPPED_OLDEST;
+        }
+        Slot slot = new Slot(message);
+        slots.addLast(slot);
+        if (policy == OverflowPolicy.COALESCE && key != null) {
+            bySupersedeKey.put(key, slot);
+        }
+        return result;
+    }
+
+    synchronized OutboundMessage poll() {
+        if (closed) {
+            return null;
+        }
+        Slot slot = slots.pollFirst();
+        if (slot == null) {
+            return null;
+        }
+        unindex(slot);
+        return slot.message;
+    }
+
+    synchronized boolean isEmpty() {
+        return slots.isEmpty();
+    }
+
+    synchronized int depth() {
+        return slots.size();
+    }
+
+    /**
+     * 关闭队列并丢弃剩余消息
+     * @return 丢弃的消息数
+     */
+    synchronized int close() {
+        closed = true;
+        int remaining = slots.size();
+        slots.clear();
+        bySupersedeKey.clear();
+        return remaining;
+    }
+
+    boolean tryStartSending() {
+        return sending.compareAndSet(false, true);
+    }
+
+    void finishSending() {
+        sending.set(false);
+    }
+
+    /**
+     * 槽位出队后不再接受合并；只移除指向该槽位的索引
+     */
+    private void unindex(Slot slot) {
+        String key = slot.message.supersedeKey();
+        if (key != null) {
+            bySupersedeKey.remove(key, slot);
+        }
+    }
+}
@@ -0,0 +1,94 @@
+package com.example.petservice.websocket;
+
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import com.example.petcommon.properties.JwtProperties;
+import com.example.petcommon.utils.JwtUtil;
+
+import io.jsonwebtoken.Claims;
+import jakarta.websocket.HandshakeResponse;
+import jakarta.websocket.server.HandshakeRequest;
+import jakarta.websocket.server.ServerEndpointConfig;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * WebSocket 握手认证
+ * 浏览器建立 WebSocket 时无法携带 Authorization 头，访问令牌通过查询参数 token 传入；
+ * 令牌有效且其中的 userId 与路径 /ws/{id} 一致时，把身份写入连接属性，否则连接在 onOpen 中被拒绝。
+ * 配置器由容器反射创建，依赖通过静态字段共享
+ * @author 33185
+ */
+@Slf4j
+@Component
+public class WebSocketAuthConfigurator extends ServerEndpointConfig.Configurator {
+
+    /** 连接属性中的已认证身份 */
+    static final String PRINCIPAL_KEY = "ws.principal";
+
+    private static final String TOKEN_PARAM = "token";
+    private static final String ROLE_ADMIN = "ADMIN";
+
+    private static JwtProperties jwtProperties;
+
+    /**
+     * 握手时确认的连接身份
+     * @param userId 用户ID，与路径 id 一致
+     * @param admin 是否管理员
+     * @param adminShelterId 管理员绑定的收容所ID，null 表示平台管理员
+     */
+    record Principal(String userId, boolean admin, Integer adminShelterId) {
+    }
+
+    @Autowired
+    public void setJwtProperties(JwtProperties jwtProperties) {
+        WebSocketAuthConfigurator.jwtProperties = jwtProperties;
+    }
+
+    @Override
+    public void modifyHandshake(ServerEndpointConfig sec, HandshakeRequest request, HandshakeResponse response) {
+        Map<String, Object> userProperties = sec.getUserProperties();
+        userProperties.remove(PRINCIPAL_KEY);
+        Principal principal = authenticate(request);
+        if (principal != null) {
+            userProperties.put(PRINCIPAL_KEY, principal);
+        }
+    }
+
+    private static Principal authenticate(HandshakeRequest request) {
+        List<String> tokens = request.getParameterMap().get(TOKEN_PARAM);
+        String pathId = pathId(request.getRequestURI().getPath());
+        if (tokens == null || tokens.isEmpty() || pathId == null || jwtProperties == null) {
+            log.warn("[WS] 握手缺少令牌: path={}", request.getRequestURI().getPath());
+            return null;
+        }
+        try {
+            Claims claims = JwtUtil.parseJWT(jwtProperties.getUserSecretKey(), tokens.get(0));
+            Long userId = JwtUtil.extractUserId(claims);
+            if (JwtUtil.isTokenExpired(claims) || userId == null || !pathId.equals(String.valueOf(userId))) {
+                log.warn("[WS] 握手令牌与连接 id 不符: id={}, userId={}", pathId, userId);
+                return null;
+            }
+            boolean admin = ROLE_ADMIN.equalsIgnoreCase(JwtUtil.extractRole(claims));
+            return new Principal(pathId, admin, admin ? JwtUtil.extractAdminShelterId(claims) : null);
+        } catch (Exception e) {
+            log.warn("[WS] 握手令牌无效: id={}, error={}", pathId, e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * 取路径最后一段作为连接 id
+     */
+    private static String pathId(String path) {
+        if (path == null) {
+            return null;
+        }
+        int slash = path.lastIndexOf('/');
+        String id = slash >= 0 ? path.substring(slash + 1) : path;
+        return id.isEmpty() ? null : id;
+    }
+}
@@ -0,0 +1,121 @@
+package com.example.petservice.websocket;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+import java.util.UUID;
+
+import org.springframework.stereotype.Component;
+
+import com.example.petservice.cache.UserHealthAlertsCache;
+import com.example.petservice.mapper.HealthAlertsMapper;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * WebSocket 可靠投递
+ * 业务消息携带 msgId，先写入接收人的待确认队列再尝试实时推送；
+ * 接收人上线时一次性补发全部待确认消息，客户端回 {"type":"ack","msgId":"..."} 后删除。
+ * 健康提醒的确认同时回写 pet_health.delivered_at。
+ * 连接 id 在握手时已与访问令牌核对（见 WebSocketAuthConfigurator），补发与确认只作用于本人的队列。
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class WebSocketDelivery {
+
+    /**
+     * 健康提醒消息 ID 前缀，同一提醒重复发送使用同一个 msgId
+     */
+    public static final String HEALTH_MSG_PREFIX = "health:";
+
+    private final OfflineMessageQueue offlineMessageQueue;
+    private final HealthAlertsMapper healthAlertsMapper;
+    private final UserHealthAlertsCache userHealthAlertsCache;
+
+    /**
+     * 生成通知类消息 ID
+     */
+    public static String newMsgId() {
+        return "notice:" + UUID.randomUUID();
+    }
+
+    /**
+     * 健康提醒的消息 ID
+     */
+    public static String healthMsgId(Integer healthId) {
+        return HEALTH_MSG_PREFIX + healthId;
+    }
+
+    /**
+     * 发送队列中的取代键：健康提醒的 msgId 由提醒 ID 决定（health:{healthId}），
+     * 同一提醒重推时新消息取代尚未发出的旧消息；通知类消息各自独立，不参与合并
+     */
+    static String supersedeKey(String msgId) {
+        return msgId != null && msgId.startsWith(HEALTH_MSG_PREFIX) ? msgId : null;
+    }
+
+    /**
+     * 投递给单个接收人
+     * @return 是否已写入待确认队列或已实时推送
+     */
+    public boolean deliver(String recipient, String msgId, String payload) {
+        boolean queued = offlineMessageQueue.isEnabled() && offlineMessageQueue.enqueue(recipient, msgId, payload);
+        boolean sent = WebSocketServer.sendIfOnline(recipient, payload, supersedeKey(msgId));
+        return queued || sent;
+    }
+
+    /**
+     * 只写入待确认队列，实时推送由调用方按自己的路由完成
+     */
+    public void enqueueAll(Collection<? extends Number> recipients, String msgId, String payload) {
+        if (!offlineMessageQueue.isEnabled()) {
+            return;
+        }
+        recipients.stream()
+                .filter(Objects::nonNull)
+                .map(String::valueOf)
+                .distinct()
+                .forEach(recipient -> offlineMessageQueue.enqueue(recipient, msgId, payload));
+    }
+
+    /**
+     * 连接建立后补发待确认消息
+     */
+    public void flush(String recipient) {
+        if (!offlineMessageQueue.isEnabled()) {
+            return;
+        }
+        List<String> pending = offlineMessageQueue.pending(recipient);
+        for (String payload : pending) {
+            WebSocketServer.send(recipient, payload);
+        }
+        if (!pending.isEmpty()) {
+            log.info("[WS] 补发待确认消息 {} 条, recipient={}", pending.size(), recipient);
+        }
+    }
+
+    /**
+     * 客户端确认
+     */
+    public void ack(String recipient, String msgId) {
+        if (msgId == null || msgId.isBlank()) {
+            return;
+        }
+        // recipient 已在握手时与令牌核对；回写时再校验确认人是该宠物的领养人，避免确认他人的提醒
+        boolean removed = offlineMessageQueue.ack(recipient, msgId);
+        if (msgId.startsWith(HEALTH_MSG_PREFIX) && (removed || !offlineMessageQueue.isEnabled())) {
+            try {
+                Integer userId = Integer.valueOf(recipient);
+                if (healthAlertsMapper.markDelivered(Integer.valueOf(msgId.substring(HEALTH_MSG_PREFIX.length())),
+                        userId) > 0) {
+                    // 列表中带有 delivered_at，回写后使该用户的提醒缓存失效
+                    userHealthAlertsCache.invalidate(List.of(userId));
+                }
+            } catch (NumberFormatException e) {
+                log.warn("[WS] 无效的健康提醒确认, recipient={}, msgId={}", recipient, msgId);
+            }
+        }
+    }
+}
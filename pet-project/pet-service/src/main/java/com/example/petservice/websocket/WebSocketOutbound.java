@@ -0,0 +1,186 @@
+package com.example.petservice.websocket;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.stereotype.Component;
+
+import com.example.petcommon.properties.WebSocketProperties;
+import com.example.petpojo.vo.WebSocketStatsVo;
+
+import jakarta.annotation.PreDestroy;
+import jakarta.websocket.CloseReason;
+import jakarta.websocket.Session;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * WebSocket 发送调度
+ * 业务线程只把消息放入连接的有界队列，由共享写线程逐条发起异步发送，
+ * 上一条发送完成的回调再调度下一条；队列溢出按配置丢弃最早消息、合并同一业务对象的消息或断开慢连接。
+ */
+@Slf4j
+@Component
+public class WebSocketOutbound {
+
+    private final WebSocketProperties.Outbound properties;
+    private final ExecutorService executor;
+    private final Set<OutboundQueue> queues = ConcurrentHashMap.newKeySet();
+
+    private final AtomicLong enqueued = new AtomicLong();
+    private final AtomicLong sent = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+    private final AtomicLong dropped = new AtomicLong();
+    private final AtomicLong coalesced = new AtomicLong();
+    private final AtomicLong evicted = new AtomicLong();
+
+    public WebSocketOutbound(WebSocketProperties properties) {
+        this.properties = properties.getOutbound();
+        AtomicInteger threadIndex = new AtomicInteger();
+        this.executor = Executors.newFixedThreadPool(Math.max(1, this.properties.getWriterThreads()), runnable -> {
+            Thread thread = new Thread(runnable, "ws-writer-" + threadIndex.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * 为新连接创建发送队列
+     */
+    OutboundQueue register(Session session) {
+        session.getAsyncRemote().setSendTimeout(properties.getSendTimeout().toMillis());
+        OutboundQueue queue = new OutboundQueue(session);
+        queues.add(queue);
+        return queue;
+    }
+
+    /**
+     * 连接关闭：未发出的消息计入丢弃
+     */
+    void unregister(OutboundQueue queue) {
+        queues.remove(queue);
+        dropped.addAndGet(queue.close());
+    }
+
+    /**
+     * 放入连接的发送队列并调度写线程
+     */
+    void submit(OutboundQueue queue, OutboundMessage message) {
+        switch (queue.offer(message, properties.getOverflowPolicy(), properties.getMaxQueued())) {
+            case QUEUED -> enqueued.incrementAndGet();
+            case COALESCED -> {
+                enqueued.incrementAndGet();
+                coalesced.incrementAndGet();
+            }
+            case DROPPED_OLDEST -> {
+                enqueued.incrementAndGet();
+                dropped.incrementAndGet();
+            }
+            case OVERFLOW -> {
+                evict(queue);
+                return;
+            }
+            case CLOSED -> {
+                return;
+            }
+        }
+        schedule(queue);
+    }
+
+    public WebSocketStatsVo stats() {
+        long queued = 0;
+        int maxDepth = 0;
+        for (OutboundQueue queue : queues) {
+            int depth = queue.depth();
+            queued += depth;
+            maxDepth = Math.max(maxDepth, depth);
+        }
+        return new WebSocketStatsVo(WebSocketServer.getOnlineCount(), properties.getOverflowPolicy().name(),
+                queued, maxDepth, enqueued.get(), sent.get(), failed.get(), dropped.get(),
+                coalesced.get(), evicted.get());
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    private void schedule(OutboundQueue queue) {
+        if (!queue.tryStartSending()) {
+            return;
+        }
+        try {
+            executor.execute(() -> sendNext(queue));
+        } catch (RejectedExecutionException e) {
+            queue.finishSending();
+        }
+    }
+
+    /**
+     * 发送队首消息，完成回调中继续调度；队列取空后释放发送标记并复查，避免与并发入队错过唤醒
+     */
+    private void sendNext(OutboundQueue queue) {
+        OutboundMessage message = queue.poll();
+        if (message == null) {
+            queue.finishSending();
+            if (!queue.isEmpty()) {
+                schedule(queue);
+            }
+            return;
+        }
+        Session session = queue.session();
+        if (!session.isOpen()) {
+            queue.finishSending();
+            unregister(queue);
+            return;
+        }
+        try {
+            session.getAsyncRemote().sendText(message.payload(), result -> {
+                if (result.isOK()) {
+                    sent.incrementAndGet();
+                } else {
+                    failed.incrementAndGet();
+                    log.debug("[WS] 消息发送失败: sessionId={}", session.getId(), result.getException());
+                }
+                continueSending(queue);
+            });
+        } catch (Exception e) {
+            failed.incrementAndGet();
+            log.warn("[WS] 发起消息发送失败: sessionId={}, error={}", session.getId(), e.getMessage());
+            continueSending(queue);
+        }
+    }
+
+    private void continueSending(OutboundQueue queue) {
+        try {
+            executor.execute(() -> sendNext(queue));
+        } catch (RejectedExecutionException e) {
+            queue.finishSending();
+        }
+    }
+
+    /**
+     * 断开慢连接，待确认消息在重连后由离线队列补发
+     */
+    private void evict(OutboundQueue queue) {
+        unregister(queue);
+        evicted.incrementAndGet();
+        Session session = queue.session();
+        log.warn("[WS] 发送队列已满，断开慢连接: sessionId={}", session.getId());
+        try {
+            executor.execute(() -> {
+                try {
+                    session.close(new CloseReason(CloseReason.CloseCodes.TRY_AGAIN_LATER, "slow consumer"));
+                } catch (Exception e) {
+                    log.debug("[WS] 关闭慢连接失败: sessionId={}", session.getId(), e);
+                }
+            });
+        } catch (RejectedExecutionException ignored) {
+            // 应用关闭中，连接随容器关闭
+        }
+    }
+}
@@ -4,42 +4,88 @@ import jakarta.websocket.*;
 import jakarta.websocket.server.PathParam;
 import jakarta.websocket.server.ServerEndpoint;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
 import java.io.IOException;
+import java.util.Collection;
 import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.Objects;
 
 /**
+ * 连接需在握手时携带访问令牌，且令牌中的 userId 与路径 id 一致，见 {@link WebSocketAuthConfigurator}
  * @author 33185
  */
 @Slf4j
 @Component
-@ServerEndpoint("/ws/{id}")
+@ServerEndpoint(value = "/ws/{id}", configurator = WebSocketAuthConfigurator.class)
 public class WebSocketServer {
 
     /**
      * 内部类：封装 Session + 管理员收容所 ID
+     * 管理员身份的变更与索引的增删在该对象上同步，保证索引与字段一致
      */
     public static class SessionInfo {
         public final Session session;
-        public boolean isAdmin; // 仅当收到 auth 消息后为 true
-        public Integer adminShelterId; // null 表示平台管理员，非 null 表示收容所管理员
+        public volatile boolean isAdmin; // 仅当收到 auth 消息后为 true
+        public volatile Integer adminShelterId; // null 表示平台管理员，非 null 表示收容所管理员
+        private boolean closed;
+        private final OutboundQueue queue; // 发送队列，未启用发送调度时为 null
 
         public SessionInfo(Session session) {
             this.session = session;
             this.isAdmin = false;
+            this.queue = outbound != null ? outbound.register(session) : null;
         }
     }
 
     /** id -> SessionInfo，一个 id 只能同时在线一个连接（自动踢旧） */
     private static final Map<String, SessionInfo> ONLINE_SESSIONS = new ConcurrentHashMap<>();
 
+    /**
+     * 管理员二级索引：定向推送只遍历接收人，不再扫描全部在线连接
+     * 收容所ID -> 该收容所管理员连接；平台管理员连接；全部管理员连接
+     */
+    private static final Map<Integer, Set<SessionInfo>> SHELTER_ADMIN_SESSIONS = new ConcurrentHashMap<>();
+    private static final Set<SessionInfo> PLATFORM_ADMIN_SESSIONS = ConcurrentHashMap.newKeySet();
+    private static final Set<SessionInfo> ADMIN_SESSIONS = ConcurrentHashMap.newKeySet();
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    /** 端点实例由容器按连接创建，依赖通过静态字段共享 */
+    private static WebSocketDelivery delivery;
+    private static WebSocketOutbound outbound;
+
+    @Autowired
+    public void setDelivery(WebSocketDelivery delivery) {
+        WebSocketServer.delivery = delivery;
+    }
+
+    @Autowired
+    public void setOutbound(WebSocketOutbound outbound) {
+        WebSocketServer.outbound = outbound;
+    }
+
     @OnOpen
     public void onOpen(Session session, @PathParam("id") String id) {
+        // 未通过握手认证的连接直接关闭，不登记、不踢掉同 id 的在线连接，也不补发消息
+        if (principal(session) == null) {
+            try {
+                session.close(new CloseReason(CloseReason.CloseCodes.VIOLATED_POLICY, "unauthorized"));
+            } catch (IOException e) {
+                log.warn("[WS] 关闭未认证连接失败: id={}", id, e);
+            }
+            return;
+        }
         // 直接覆盖旧连接（同 id 踢掉上一个）
         SessionInfo old = ONLINE_SESSIONS.put(id, new SessionInfo(session));
+        if (old != null) {
+            retire(old);
+        }
         if (old != null && old.session.isOpen()) {
             try {
                 old.session.close(); // 可选：强制关闭旧连接
@@ -50,65 +96,63 @@ public class WebSocketServer {
         // 发送结构化欢迎消息
         send(id, "{\"type\":\"welcome\"}");
         log.info("[WS] {} 在线，当前总数：{}", id, ONLINE_SESSIONS.size());
+        // 补发离线期间的待确认消息
+        if (delivery != null) {
+            try {
+                delivery.flush(id);
+            } catch (Exception e) {
+                log.warn("[WS] 补发待确认消息失败: id={}", id, e);
+            }
+        }
     }
 
     @OnMessage
-    public void onMessage(String message, @PathParam("id") String id) {
+    public void onMessage(Session session, String message, @PathParam("id") String id) {
         // 心跳快速返回
         if ("ping".equalsIgnoreCase(message)) {
             send(id, "pong");
             return;
         }
-        
-        // 处理认证消息：{"type":"auth","adminShelterId":123}
-        try {
-            if (message.startsWith("{")) {
-                // 尝试解析JSON
-                int typeIdx = message.indexOf("\"type\"");
-                if (typeIdx > 0) {
-                    int authIdx = message.indexOf("\"auth\"", typeIdx);
-                    if (authIdx > 0) {
-                        // 提取adminShelterId
-                        int shelterIdIdx = message.indexOf("\"adminShelterId\"");
-                        if (shelterIdIdx > 0) {
-                            int colonIdx = message.indexOf(":", shelterIdIdx);
-                            int commaIdx = message.indexOf(",", colonIdx);
-                            int braceIdx = message.indexOf("}", colonIdx);
-                            int endIdx = commaIdx > 0 ? commaIdx : braceIdx;
-                            if (endIdx > colonIdx) {
-                                String valueStr = message.substring(colonIdx + 1, endIdx).trim();
-                                if (!"null".equals(valueStr)) {
-                                    try {
-                                        Integer adminShelterId = Integer.parseInt(valueStr);
-                                        setAdminShelterId(id, adminShelterId);
-                                        send(id, "{\"type\":\"auth_ok\"}");
-                                        return;
-                                    } catch (NumberFormatException ignored) {
-                                        // 忽略解析错误
-                                    }
-                                } else {
-                                    // adminShelterId 为 null，设置为平台管理员
-                                    setAdminShelterId(id, null);
-                                    send(id, "{\"type\":\"auth_ok\"}");
-                                    return;
-                                }
-                            }
-                        }
+
+        if (message.startsWith("{")) {
+            try {
+                JsonNode node = OBJECT_MAPPER.readTree(message);
+                String type = node.path("type").asText();
+                // 处理确认消息：{"type":"ack","msgId":"..."}
+                if ("ack".equals(type)) {
+                    if (delivery != null) {
+                        delivery.ack(id, node.path("msgId").asText(null));
                     }
+                    return;
                 }
+                // 处理认证消息：{"type":"auth"}，管理员身份与收容所取自握手令牌，不信任客户端上报的值
+                if ("auth".equals(type)) {
+                    WebSocketAuthConfigurator.Principal principal = principal(session);
+                    if (principal != null && principal.admin()) {
+                        setAdminShelterId(id, principal.adminShelterId());
+                        send(id, "{\"type\":\"auth_ok\"}");
+                    } else {
+                        log.warn("[WS] 非管理员连接请求管理员认证: id={}", id);
+                    }
+                    return;
+                }
+            } catch (Exception e) {
+                log.warn("[WS] 解析消息失败: {}", e.getMessage());
             }
-        } catch (Exception e) {
-            log.warn("[WS] 解析认证消息失败: {}", e.getMessage());
         }
-        
+
         log.info("[WS] 收到 {} => {}", id, message);
         // TODO：在这里处理你的业务消息（聊天、指令、认证等）
     }
 
     @OnClose
-    public void onClose(@PathParam("id") String id) {
-        SessionInfo sessionInfo = ONLINE_SESSIONS.remove(id);
+    public void onClose(Session session, @PathParam("id") String id) {
+        SessionInfo current = ONLINE_SESSIONS.get(id);
+        // 被同 id 新连接踢掉的旧连接关闭时，不能把新连接移除
+        SessionInfo sessionInfo = current != null && current.session == session && ONLINE_SESSIONS.remove(id, current)
+                ? current : null;
         if (sessionInfo != null) {
+            retire(sessionInfo);
             try {
                 sessionInfo.session.close();
             } catch (IOException ignored) {
@@ -129,19 +173,34 @@ public class WebSocketServer {
 
     /** 给指定 id 推送消息 */
     public static void send(String id, String message) {
+        sendIfOnline(id, message);
+    }
+
+    /**
+     * 给指定 id 推送消息
+     * @return 对方在线并已放入发送队列时返回 true
+     */
+    public static boolean sendIfOnline(String id, String message) {
+        return sendIfOnline(id, message, null);
+    }
+
+    /**
+     * 给指定 id 推送可被取代的消息，发送队列中同一 supersedeKey 的旧消息被原位替换
+     * @param supersedeKey 取代键（消息类型 + 实体 ID），为 null 时不参与合并
+     * @return 对方在线并已放入发送队列时返回 true
+     */
+    public static boolean sendIfOnline(String id, String message, String supersedeKey) {
         SessionInfo info = ONLINE_SESSIONS.get(id);
         if (info != null && info.session.isOpen()) {
-            info.session.getAsyncRemote().sendText(message);
+            push(info, OutboundMessage.superseding(message, supersedeKey));
+            return true;
         }
+        return false;
     }
 
     /** 广播给所有人 */
     public static void broadcast(String message) {
-        ONLINE_SESSIONS.values().forEach(info -> {
-            if (info.session.isOpen()) {
-                info.session.getAsyncRemote().sendText(message);
-            }
-        });
+        sendAll(ONLINE_SESSIONS.values(), OutboundMessage.of(message));
     }
 
     /**
@@ -150,21 +209,16 @@ public class WebSocketServer {
      * @param message 消息内容
      */
     public static void broadcastToShelter(Integer shelterId, String message) {
-        ONLINE_SESSIONS.values().forEach(info -> {
-            if (info.session.isOpen()) {
-                if (!info.isAdmin) {
-                    return;
-                }
-                // 平台管理员（adminShelterId == null）收全部
-                if (info.adminShelterId == null) {
-                    info.session.getAsyncRemote().sendText(message);
-                }
-                // 收容所管理员：只收对应收容所的消息
-                else if (shelterId != null && Objects.equals(info.adminShelterId, shelterId)) {
-                    info.session.getAsyncRemote().sendText(message);
-                }
+        OutboundMessage outboundMessage = OutboundMessage.of(message);
+        // 平台管理员（adminShelterId == null）收全部
+        sendAll(PLATFORM_ADMIN_SESSIONS, outboundMessage);
+        // 收容所管理员：只收对应收容所的消息
+        if (shelterId != null) {
+            Set<SessionInfo> shelterAdmins = SHELTER_ADMIN_SESSIONS.get(shelterId);
+            if (shelterAdmins != null) {
+                sendAll(shelterAdmins, outboundMessage);
             }
-        });
+        }
     }
 
     /**
@@ -172,11 +226,7 @@ public class WebSocketServer {
      * @param message 消息内容
      */
     public static void broadcastToAdmins(String message) {
-        ONLINE_SESSIONS.values().forEach(info -> {
-            if (info.isAdmin && info.session.isOpen()) {
-                info.session.getAsyncRemote().sendText(message);
-            }
-        });
+        sendAll(ADMIN_SESSIONS, OutboundMessage.of(message));
     }
 
     /**
@@ -187,15 +237,36 @@ public class WebSocketServer {
     public static void setAdminShelterId(String id, Integer adminShelterId) {
         SessionInfo info = ONLINE_SESSIONS.get(id);
         if (info != null) {
-            info.isAdmin = true;
-            info.adminShelterId = adminShelterId;
+            synchronized (info) {
+                if (info.closed) {
+                    return;
+                }
+                unindex(info);
+                info.isAdmin = true;
+                info.adminShelterId = adminShelterId;
+                ADMIN_SESSIONS.add(info);
+                if (adminShelterId == null) {
+                    PLATFORM_ADMIN_SESSIONS.add(info);
+                } else {
+                    SHELTER_ADMIN_SESSIONS.compute(adminShelterId, (k, sessions) -> {
+                        Set<SessionInfo> target = sessions != null ? sessions : ConcurrentHashMap.newKeySet();
+                        target.add(info);
+                        return target;
+                    });
+                }
+            }
             log.info("[WS] 设置连接 {} 的 adminShelterId = {}", id, adminShelterId);
         }
     }
 
+    private static WebSocketAuthConfigurator.Principal principal(Session session) {
+        Object principal = session.getUserProperties().get(WebSocketAuthConfigurator.PRINCIPAL_KEY);
+        return principal instanceof WebSocketAuthConfigurator.Principal p ? p : null;
+    }
+
     /** 获取当前在线人数 */
     public static int getOnlineCount() {
-        return (int) ONLINE_SESSIONS.values().stream().filter(info -> info.session.isOpen()).count();
+        return ONLINE_SESSIONS.size();
     }
 
     /** 获取指定 id 是否在线 */
@@ -203,4 +274,56 @@ public class WebSocketServer {
         SessionInfo info = ONLINE_SESSIONS.get(id);
         return info != null && info.session.isOpen();
     }
+
+    /**
+     * 同一条消息只构造一次，放入各接收连接的发送队列
+     */
+    private static void sendAll(Collection<SessionInfo> sessions, OutboundMessage message) {
+        for (SessionInfo info : sessions) {
+            if (info.session.isOpen()) {
+                push(info, message);
+            }
+        }
+    }
+
+    private static void push(SessionInfo info, OutboundMessage message) {
+        if (info.queue != null && outbound != null) {
+            outbound.submit(info.queue, message);
+        } else {
+            info.session.getAsyncRemote().sendText(message.payload());
+        }
+    }
+
+    /**
+     * 连接关闭或被踢下线：标记后移出索引，防止随后到达的 auth 把它重新加入索引
+     */
+    private static void retire(SessionInfo info) {
+        synchronized (info) {
+            info.closed = true;
+            unindex(info);
+        }
+        if (info.queue != null && outbound != null) {
+            outbound.unregister(info.queue);
+        }
+    }
+
+    /**
+     * 把连接从管理员索引中移除
+     */
+    private static void unindex(SessionInfo info) {
+        synchronized (info) {
+            if (!info.isAdmin) {
+                return;
+            }
+            ADMIN_SESSIONS.remove(info);
+            PLATFORM_ADMIN_SESSIONS.remove(info);
+            Integer shelterId = info.adminShelterId;
+            if (shelterId != null) {
+                SHELTER_ADMIN_SESSIONS.computeIfPresent(shelterId, (k, sessions) -> {
+                    sessions.remove(info);
+                    return sessions.isEmpty() ? null : sessions;
+                });
+            }
+        }
+    }
 }
@@ -0,0 +1,6 @@
+-- 健康提醒送达确认：客户端回 ack 后记录送达时间，reminded 只表示已进入投递队列
+ALTER TABLE pet_health
+    ADD COLUMN `delivered_at` DATETIME NULL DEFAULT NULL COMMENT '客户端确认送达时间' AFTER `claim_until`;
+
+ALTER TABLE pet_health_history
+    ADD COLUMN `delivered_at` DATETIME NULL DEFAULT NULL COMMENT '客户端确认送达时间' AFTER `status`;
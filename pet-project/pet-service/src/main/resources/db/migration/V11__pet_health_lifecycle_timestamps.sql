@@ -0,0 +1,12 @@
+-- 健康提醒生命周期时间：update_time 随任意修改（含送达确认回写 delivered_at）刷新，
+-- 过期与归档改为按进入 reminded / expired 状态的时间计算
+ALTER TABLE pet_health
+    ADD COLUMN `reminded_at` DATETIME NULL DEFAULT NULL COMMENT '进入已提醒状态的时间' AFTER `delivered_at`,
+    ADD COLUMN `expired_at` DATETIME NULL DEFAULT NULL COMMENT '进入过期状态的时间' AFTER `reminded_at`;
+
+UPDATE pet_health SET reminded_at = COALESCE(reminder_time, update_time) WHERE status = 'reminded';
+UPDATE pet_health SET expired_at = update_time WHERE status = 'expired';
+
+ALTER TABLE pet_health_history
+    ADD COLUMN `reminded_at` DATETIME NULL DEFAULT NULL COMMENT '进入已提醒状态的时间' AFTER `delivered_at`,
+    ADD COLUMN `expired_at` DATETIME NULL DEFAULT NULL COMMENT '进入过期状态的时间' AFTER `reminded_at`;
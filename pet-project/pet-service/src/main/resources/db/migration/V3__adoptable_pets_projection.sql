@@ -0,0 +1,35 @@
+-- 可领养宠物投影表：每个可领养宠物一行，预先关联物种/品种/收容所名称
+-- 由业务事务在宠物状态、领养状态变化时同步维护，列表查询只扫描本表
+CREATE TABLE IF NOT EXISTS `adoptable_pets` (
+    `pid` INT NOT NULL COMMENT '宠物ID',
+    `name` VARCHAR(50) NOT NULL COMMENT '宠物名称',
+    `species_id` INT NOT NULL COMMENT '物种ID',
+    `species_name` VARCHAR(50) NULL DEFAULT NULL COMMENT '物种名称',
+    `breed_id` INT NOT NULL COMMENT '品种ID',
+    `breed_name` VARCHAR(50) NULL DEFAULT NULL COMMENT '品种名称',
+    `age` INT NULL DEFAULT NULL COMMENT '年龄',
+    `gender` VARCHAR(10) NULL DEFAULT NULL COMMENT '性别',
+    `img_url` VARCHAR(512) NULL DEFAULT NULL COMMENT '图片URL',
+    `status` VARCHAR(20) NOT NULL DEFAULT 'AVAILABLE' COMMENT '宠物状态',
+    `shelter_id` INT NULL DEFAULT NULL COMMENT '收容所ID',
+    `shelter_name` VARCHAR(100) NULL DEFAULT NULL COMMENT '收容所名称',
+    `shelter_address` VARCHAR(255) NULL DEFAULT NULL COMMENT '收容所地址',
+    `update_time` DATETIME NULL DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP,
+    PRIMARY KEY (`pid`),
+    INDEX `idx_adoptable_pets_species` (`species_name`, `pid`),
+    INDEX `idx_adoptable_pets_gender_age` (`gender`, `age`),
+    INDEX `idx_adoptable_pets_age` (`age`),
+    CONSTRAINT `fk_adoptable_pets_pet` FOREIGN KEY (`pid`) REFERENCES `pets` (`pid`) ON DELETE CASCADE ON UPDATE CASCADE
+) ENGINE = InnoDB CHARACTER SET = utf8mb4 COLLATE = utf8mb4_0900_ai_ci COMMENT = '可领养宠物投影';
+
+-- 回填历史数据
+INSERT INTO adoptable_pets (pid, name, species_id, species_name, breed_id, breed_name, age, gender,
+                            img_url, status, shelter_id, shelter_name, shelter_address)
+SELECT p.pid, p.name, p.species_id, sp.name, p.breed_id, b.name, p.age, p.gender,
+       p.img_url, p.status, p.shelter_id, s.name, s.location
+FROM pets p
+LEFT JOIN species sp ON p.species_id = sp.id
+LEFT JOIN breed b ON p.breed_id = b.id
+LEFT JOIN shelters s ON p.shelter_id = s.sid
+WHERE p.status = 'AVAILABLE'
+  AND NOT EXISTS (SELECT 1 FROM adoptions a WHERE a.pid = p.pid AND a.status = 'PENDING');
@@ -0,0 +1,27 @@
+-- （宠物, 用户）最近寄养记录投影表：每个组合只保留最近一条未删除的寄养记录
+-- 由寄养业务事务同步维护，领养列表关联本表取寄养状态，替代逐行关联子查询
+CREATE TABLE IF NOT EXISTS `pet_user_latest_foster` (
+    `pid` INT NOT NULL COMMENT '宠物ID',
+    `uid` INT NOT NULL COMMENT '用户ID',
+    `fid` INT NOT NULL COMMENT '最近一条寄养记录ID',
+    `status` VARCHAR(20) NOT NULL COMMENT '寄养状态',
+    `start_date` DATETIME NOT NULL COMMENT '寄养开始',
+    `update_time` DATETIME NULL DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP,
+    PRIMARY KEY (`pid`, `uid`),
+    INDEX `idx_latest_foster_uid` (`uid`),
+    INDEX `idx_latest_foster_fid` (`fid`),
+    CONSTRAINT `fk_latest_foster_pet` FOREIGN KEY (`pid`) REFERENCES `pets` (`pid`) ON DELETE CASCADE ON UPDATE CASCADE,
+    CONSTRAINT `fk_latest_foster_user` FOREIGN KEY (`uid`) REFERENCES `users` (`id`) ON DELETE CASCADE ON UPDATE CASCADE,
+    CONSTRAINT `fk_latest_foster_foster` FOREIGN KEY (`fid`) REFERENCES `fosters` (`fid`) ON DELETE CASCADE ON UPDATE CASCADE
+) ENGINE = InnoDB CHARACTER SET = utf8mb4 COLLATE = utf8mb4_0900_ai_ci COMMENT = '宠物-用户最近寄养记录投影';
+
+-- 回填历史数据
+INSERT INTO pet_user_latest_foster (pid, uid, fid, status, start_date)
+SELECT t.pid, t.uid, t.fid, t.status, t.start_date
+FROM (
+    SELECT f.pid, f.uid, f.fid, f.status, f.start_date,
+           ROW_NUMBER() OVER (PARTITION BY f.pid, f.uid ORDER BY f.start_date DESC, f.fid DESC) AS rn
+    FROM fosters f
+    WHERE f.deleted = 0
+) t
+WHERE t.rn = 1;
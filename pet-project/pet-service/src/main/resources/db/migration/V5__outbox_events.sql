@@ -0,0 +1,19 @@
+-- 事务发件箱：业务事务内写入副作用事件（缓存失效、站内通知），提交后由分发器异步投递
+-- 至少投递一次：失败按退避重试，租约过期的分发中事件会被重新认领
+CREATE TABLE IF NOT EXISTS `outbox_events` (
+    `id` BIGINT NOT NULL AUTO_INCREMENT COMMENT '事件ID',
+    `event_type` VARCHAR(64) NOT NULL COMMENT '事件类型',
+    `payload` VARCHAR(2000) NOT NULL COMMENT '事件内容（JSON）',
+    `status` VARCHAR(20) NOT NULL DEFAULT 'PENDING' COMMENT 'PENDING/DISPATCHING/SENT/FAILED',
+    `attempts` INT NOT NULL DEFAULT 0 COMMENT '已投递次数',
+    `next_attempt_at` DATETIME NOT NULL DEFAULT CURRENT_TIMESTAMP COMMENT '下次可投递时间',
+    `claim_token` VARCHAR(64) NULL DEFAULT NULL COMMENT '认领令牌',
+    `claim_until` DATETIME NULL DEFAULT NULL COMMENT '认领租约到期时间',
+    `last_error` VARCHAR(512) NULL DEFAULT NULL COMMENT '最近一次失败原因',
+    `sent_time` DATETIME NULL DEFAULT NULL COMMENT '投递成功时间',
+    `create_time` DATETIME NULL DEFAULT CURRENT_TIMESTAMP,
+    `update_time` DATETIME NULL DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP,
+    PRIMARY KEY (`id`),
+    INDEX `idx_outbox_status_next` (`status`, `next_attempt_at`, `id`),
+    INDEX `idx_outbox_claim_token` (`claim_token`)
+) ENGINE = InnoDB CHARACTER SET = utf8mb4 COLLATE = utf8mb4_0900_ai_ci COMMENT = '事务发件箱';
@@ -0,0 +1,2 @@
+-- 健康提醒调度：按状态 + 提醒时间装载即将到期的提醒，替代原先无索引的轮询扫描
+CREATE INDEX idx_pet_health_status_reminder ON pet_health(status, reminder_time);
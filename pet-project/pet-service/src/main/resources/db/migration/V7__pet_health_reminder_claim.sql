@@ -0,0 +1,7 @@
+-- 健康提醒认领式分发：到期提醒先以令牌 + 租约原子地改为 dispatching，发送后批量改为 reminded
+-- 多实例部署时同一提醒只被一个实例发送；实例宕机后租约过期的提醒会被重新认领
+ALTER TABLE pet_health
+    ADD COLUMN `claim_token` VARCHAR(64) NULL DEFAULT NULL COMMENT '认领令牌' AFTER `status`,
+    ADD COLUMN `claim_until` DATETIME NULL DEFAULT NULL COMMENT '认领租约到期时间' AFTER `claim_token`;
+
+CREATE INDEX idx_pet_health_claim_token ON pet_health(claim_token);
@@ -0,0 +1,26 @@
+-- 健康提醒冷数据表：过期满归档阈值的提醒从 pet_health 迁入，热表只保留近期数据
+CREATE TABLE IF NOT EXISTS pet_health_history (
+    `health_id`     INT          NOT NULL COMMENT '健康记录ID',
+    `pid`           INT          NOT NULL COMMENT '宠物ID',
+    `check_date`    DATETIME     NOT NULL COMMENT '检查时间',
+    `health_type`   VARCHAR(20)  NOT NULL COMMENT '健康类型',
+    `description`   TEXT         NOT NULL COMMENT '描述',
+    `reminder_time` DATETIME     NULL DEFAULT NULL COMMENT '提醒时间',
+    `status`        VARCHAR(20)  NOT NULL DEFAULT 'archived' COMMENT '状态',
+    `create_time`   DATETIME     NULL DEFAULT NULL,
+    `update_time`   DATETIME     NULL DEFAULT NULL,
+    `archived_at`   DATETIME     NOT NULL DEFAULT CURRENT_TIMESTAMP COMMENT '归档时间',
+    PRIMARY KEY (`health_id`),
+    INDEX `idx_pet_health_history_pid` (`pid`),
+    INDEX `idx_pet_health_history_archived_at` (`archived_at`)
+) ENGINE = InnoDB DEFAULT CHARSET = utf8mb4 COLLATE = utf8mb4_0900_ai_ci COMMENT = '健康提醒归档表';
+
+-- 旧版本就地标记为 archived 的记录一并迁入冷表
+INSERT INTO pet_health_history (health_id, pid, check_date, health_type, description, reminder_time, status,
+                                create_time, update_time, archived_at)
+SELECT health_id, pid, check_date, health_type, description, reminder_time, 'archived',
+       create_time, update_time, COALESCE(update_time, NOW())
+FROM pet_health
+WHERE status = 'archived';
+
+DELETE FROM pet_health WHERE status = 'archived';
@@ -0,0 +1,2 @@
+-- 用户健康提醒列表：按领养宠物关联 pet_health 后按 (check_date, health_id) 倒序游标分页
+CREATE INDEX idx_pet_health_pid_check_date ON pet_health(pid, check_date);
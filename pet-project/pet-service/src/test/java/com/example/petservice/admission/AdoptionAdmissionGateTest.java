@@ -0,0 +1,168 @@
+package com.example.petservice.admission;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assumptions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import com.example.petcommon.error.ErrorCode;
+import com.example.petcommon.exception.BizException;
+import com.example.petcommon.properties.AdoptionAdmissionProperties;
+
+/**
+ * AdoptionAdmissionGate 测试
+ * 准入逻辑在 Lua 脚本中，需要真实的 Redis 执行；通过 -Dtest.redis.host / -Dtest.redis.port 指定，
+ * 连接不上时跳过
+ */
+@DisplayName("领养申请准入控制测试")
+class AdoptionAdmissionGateTest {
+
+    private static final int USER_A = 1;
+    private static final int USER_B = 2;
+    private static final int USER_C = 3;
+    private static final int USER_D = 4;
+
+    private static LettuceConnectionFactory connectionFactory;
+    private static StringRedisTemplate stringRedisTemplate;
+
+    private AdoptionAdmissionProperties properties;
+    private AdoptionAdmissionGate gate;
+    private int petId;
+
+    @BeforeAll
+    static void connect() {
+        RedisStandaloneConfiguration config = new RedisStandaloneConfiguration(
+                System.getProperty("test.redis.host", "localhost"),
+                Integer.getInteger("test.redis.port", 6379));
+        connectionFactory = new LettuceConnectionFactory(config);
+        connectionFactory.afterPropertiesSet();
+        connectionFactory.start();
+        stringRedisTemplate = new StringRedisTemplate(connectionFactory);
+        try {
+            stringRedisTemplate.execute(connection -> connection.ping(), true);
+        } catch (Exception e) {
+            Assumptions.assumeTrue(false, "Redis 不可用，跳过准入控制测试: " + e.getMessage());
+        }
+    }
+
+    @AfterAll
+    static void disconnect() {
+        if (connectionFactory != null) {
+            connectionFactory.destroy();
+        }
+    }
+
+    @BeforeEach
+    void setUp() {
+        properties = new AdoptionAdmissionProperties();
+        properties.setReservationTtl(Duration.ofSeconds(30));
+        properties.setQueueTtl(Duration.ofSeconds(30));
+        gate = new AdoptionAdmissionGate(stringRedisTemplate, properties);
+        // 每个用例使用独立的宠物ID，避免与其他数据互相影响
+        petId = -ThreadLocalRandom.current().nextInt(1, Integer.MAX_VALUE);
+    }
+
+    @AfterEach
+    void tearDown() {
+        stringRedisTemplate.delete(List.of(
+                "petproject:adoption:reservation:" + petId,
+                "petproject:adoption:queue:" + petId,
+                "petproject:adoption:queue:" + petId + ":seen"));
+    }
+
+    @Test
+    @DisplayName("无人持有预留时直接放行")
+    void admitsWhenFree() {
+        assertTrue(gate.acquire(petId, USER_A));
+    }
+
+    @Test
+    @DisplayName("持有预留的用户再次提交被判为重复请求")
+    void rejectsDuplicate() {
+        gate.acquire(petId, USER_A);
+
+        BizException e = assertThrows(BizException.class, () -> gate.acquire(petId, USER_A));
+        assertEquals(ErrorCode.ADOPTION_DUPLICATE_REQUEST.getCode(), e.getCode());
+    }
+
+    @Test
+    @DisplayName("排队按首次到达顺序，预留释放后只放行队首")
+    void queuesInArrivalOrder() {
+        gate.acquire(petId, USER_A);
+        assertQueuedAt(USER_B, 1);
+        assertQueuedAt(USER_C, 2);
+        // 重试不改变位次
+        assertQueuedAt(USER_C, 2);
+
+        gate.release(petId, USER_A, false);
+
+        assertQueuedAt(USER_C, 2);
+        assertTrue(gate.acquire(petId, USER_B));
+    }
+
+    @Test
+    @DisplayName("排队有效期按最近一次重试计算：持续重试者保留位次，放弃的队首被移出")
+    void expiresOnLastSeen() throws InterruptedException {
+        properties.setQueueTtl(Duration.ofMillis(1500));
+        gate.acquire(petId, USER_A);
+        assertQueuedAt(USER_B, 1);
+        assertQueuedAt(USER_C, 2);
+
+        // 已超过 B、C 首次到达后的有效期，但 C 中途重试过
+        Thread.sleep(900);
+        assertQueuedAt(USER_C, 2);
+        Thread.sleep(900);
+
+        // B 放弃后被移出，C 保留原位次，新来的 D 排在 C 之后
+        assertQueuedAt(USER_D, 2);
+        assertQueuedAt(USER_C, 1);
+
+        gate.release(petId, USER_A, false);
+        assertTrue(gate.acquire(petId, USER_C));
+    }
+
+    @Test
+    @DisplayName("事务回滚释放预留时保留排队，提交时清空排队")
+    void releaseKeepsQueueOnRollbackOnly() {
+        gate.acquire(petId, USER_A);
+        assertQueuedAt(USER_B, 1);
+
+        gate.release(petId, USER_A, false);
+        assertQueuedAt(USER_C, 2);
+        assertTrue(gate.acquire(petId, USER_B));
+        assertQueuedAt(USER_D, 2);
+
+        // 申请已提交，宠物不再可领养，排队者不再接替
+        gate.release(petId, USER_B, true);
+        assertTrue(gate.acquire(petId, USER_D));
+    }
+
+    @Test
+    @DisplayName("只能释放自己持有的预留")
+    void releaseIgnoresOtherHolder() {
+        gate.acquire(petId, USER_A);
+
+        gate.release(petId, USER_B, true);
+
+        assertQueuedAt(USER_B, 1);
+    }
+
+    private void assertQueuedAt(int userId, int position) {
+        BizException e = assertThrows(BizException.class, () -> gate.acquire(petId, userId));
+        assertEquals(ErrorCode.ADOPTION_IN_PROGRESS.getCode(), e.getCode());
+        assertTrue(e.getMessage().contains("第 " + position + " 位"), e.getMessage());
+    }
+}
@@ -0,0 +1,72 @@
+package com.example.petservice.cache;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.example.petpojo.vo.AdoptionTimelineResponse;
+import com.example.petpojo.vo.AdoptionTimelineVo;
+import com.example.petpojo.vo.PetListVo;
+
+/**
+ * CacheValueCopier 测试
+ */
+@DisplayName("本地缓存值复制测试")
+class CacheValueCopierTest {
+
+    @Test
+    @DisplayName("逐层复制 Bean 与集合，修改副本不影响原值")
+    void deepCopiesBeans() {
+        PetListVo pet = new PetListVo();
+        pet.setPid(1);
+        pet.setName("咪咪");
+        PetListPageSnapshot snapshot = new PetListPageSnapshot(new ArrayList<>(List.of(pet)), 1, 1, 10);
+
+        PetListPageSnapshot copy = (PetListPageSnapshot) CacheValueCopier.copy(snapshot);
+        copy.getRecords().get(0).setName("旺财");
+        copy.getRecords().clear();
+
+        assertEquals(snapshot, new PetListPageSnapshot(List.of(pet), 1, 1, 10));
+        assertEquals("咪咪", snapshot.getRecords().get(0).getName());
+    }
+
+    @Test
+    @DisplayName("嵌套对象被复制，不可变的叶子值直接共享")
+    void copiesNestedObjectsAndSharesLeaves() {
+        LocalDateTime time = LocalDateTime.of(2026, 1, 1, 8, 0);
+        AdoptionTimelineVo item = AdoptionTimelineVo.builder()
+                .id(1)
+                .action("APPLY")
+                .actionTime(time)
+                .shelter(new AdoptionTimelineVo.ShelterInfo(2, "阳光收容所", "上海"))
+                .build();
+        AdoptionTimelineResponse response = AdoptionTimelineResponse.builder()
+                .timeline(List.of(item))
+                .total(1)
+                .petName("咪咪")
+                .build();
+
+        AdoptionTimelineResponse copy = (AdoptionTimelineResponse) CacheValueCopier.copy(response);
+
+        assertEquals(response, copy);
+        assertNotSame(response.getTimeline().get(0), copy.getTimeline().get(0));
+        assertNotSame(item.getShelter(), copy.getTimeline().get(0).getShelter());
+        assertSame(time, copy.getTimeline().get(0).getActionTime());
+    }
+
+    @Test
+    @DisplayName("没有无参构造的类型无法复制")
+    void rejectsUncopyableTypes() {
+        record Point(int x, int y) {
+        }
+
+        assertThrows(CacheValueCopier.UncopyableException.class, () -> CacheValueCopier.copy(new Point(1, 2)));
+    }
+}
@@ -0,0 +1,174 @@
+package com.example.petservice.index;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import static org.mockito.Mockito.when;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.baomidou.mybatisplus.core.metadata.IPage;
+import com.example.petpojo.vo.FacetCountVo;
+import com.example.petpojo.vo.PetFacetsVo;
+import com.example.petpojo.vo.PetListVo;
+import com.example.petservice.mapper.ListPetsMapper;
+
+/**
+ * AvailablePetIndex 单元测试
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("可领养宠物内存索引测试")
+class AvailablePetIndexTest {
+
+    @Mock
+    private ListPetsMapper listPetsMapper;
+
+    @InjectMocks
+    private AvailablePetIndex index;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(index, "enabled", true);
+        when(listPetsMapper.selectAllAvailablePetList()).thenReturn(List.of(
+                pet(1, "猫", "英国短毛猫", "female", 2),
+                pet(3, "狗", "金毛寻回犬", "male", 5),
+                pet(7, "猫", "美国短毛猫", "male", 1),
+                pet(9, "猫", "布偶猫", "female", 4)));
+        index.rebuild();
+    }
+
+    @Test
+    @DisplayName("组合筛选与分页按 pid 升序返回")
+    void pageWithFilters() {
+        IPage<PetListVo> page = index.page(1, 10, "猫", "短毛", null, null, null);
+        assertEquals(2, page.getTotal());
+        assertEquals(List.of(1, 7), page.getRecords().stream().map(PetListVo::getPid).toList());
+
+        IPage<PetListVo> second = index.page(2, 2, null, null, null, 1, 4);
+        assertEquals(3, second.getTotal());
+        assertEquals(List.of(9), second.getRecords().stream().map(PetListVo::getPid).toList());
+    }
+
+    @Test
+    @DisplayName("增量刷新：不再可领养的宠物被移出索引")
+    void onPetChangedRemovesUnavailable() {
+        when(listPetsMapper.selectAvailablePetListById(7)).thenReturn(null);
+        index.onPetChanged(7);
+
+        assertEquals(3, index.size());
+        assertTrue(index.page(1, 10, null, null, "male", null, null).getRecords()
+                .stream().noneMatch(p -> p.getPid() == 7));
+    }
+
+    @Test
+    @DisplayName("并发增量刷新：先读到的旧快照不会覆盖后读到的新快照")
+    void concurrentRefreshAppliesLatestRead() throws Exception {
+        CountDownLatch firstReading = new CountDownLatch(1);
+        CountDownLatch releaseFirst = new CountDownLatch(1);
+        AtomicInteger reads = new AtomicInteger();
+        when(listPetsMapper.selectAvailablePetListById(3)).thenAnswer(invocation -> {
+            if (reads.incrementAndGet() == 1) {
+                firstReading.countDown();
+                releaseFirst.await(5, TimeUnit.SECONDS);
+                return pet(3, "狗", "金毛寻回犬", "male", 5);
+            }
+            return pet(3, "狗", "柯基", "male", 6);
+        });
+
+        Thread stale = new Thread(() -> index.onPetChanged(3));
+        stale.start();
+        assertTrue(firstReading.await(5, TimeUnit.SECONDS));
+        Thread fresh = new Thread(() -> index.onPetChanged(3));
+        fresh.start();
+        // 给第二次刷新足够时间：若读库不在锁内，它会先读到新快照并应用，随后被旧快照覆盖
+        fresh.join(200);
+        releaseFirst.countDown();
+        stale.join(5000);
+        fresh.join(5000);
+
+        assertEquals(0, index.page(1, 10, null, "金毛", null, null, null).getTotal());
+        assertEquals(1, index.page(1, 10, null, "柯基", null, 6, 6).getTotal());
+    }
+
+    @Test
+    @DisplayName("全量重建读库期间查询不被阻塞，读到的是旧索引，重建完成后整体切换")
+    void rebuildDoesNotBlockReaders() throws Exception {
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch releaseLoad = new CountDownLatch(1);
+        when(listPetsMapper.selectAllAvailablePetList()).thenAnswer(invocation -> {
+            loading.countDown();
+            releaseLoad.await(5, TimeUnit.SECONDS);
+            return List.of(pet(11, "兔", "垂耳兔", "female", 1));
+        });
+
+        Thread rebuild = new Thread(index::rebuild);
+        rebuild.start();
+        assertTrue(loading.await(5, TimeUnit.SECONDS));
+        try {
+            assertEquals(4, index.page(1, 10, null, null, null, null, null).getTotal());
+            assertEquals(4L, index.facets().getTotal());
+        } finally {
+            releaseLoad.countDown();
+            rebuild.join(5000);
+        }
+
+        assertEquals(List.of(11), index.page(1, 10, null, null, null, null, null).getRecords()
+                .stream().map(PetListVo::getPid).toList());
+        assertEquals(1L, index.facets().getTotal());
+    }
+
+    @Test
+    @DisplayName("增量刷新：属性变化后位图随之更新")
+    void onPetChangedUpdatesBitmaps() {
+        when(listPetsMapper.selectAvailablePetListById(3)).thenReturn(pet(3, "狗", "柯基", "male", 6));
+        index.onPetChanged(3);
+
+        assertEquals(0, index.page(1, 10, null, "金毛", null, null, null).getTotal());
+        assertEquals(1, index.page(1, 10, null, "柯基", null, 6, 6).getTotal());
+    }
+
+    @Test
+    @DisplayName("筛选项计数随增量刷新维护")
+    void facetsFollowChanges() {
+        PetFacetsVo facets = index.facets();
+        assertEquals(4L, facets.getTotal());
+        assertEquals(List.of(3L, 1L), facets.getSpecies().stream().map(FacetCountVo::getCount).toList());
+
+        when(listPetsMapper.selectAvailablePetListById(9)).thenReturn(null);
+        index.onPetChanged(9);
+
+        facets = index.facets();
+        assertEquals(3L, facets.getTotal());
+        assertEquals(List.of(2L, 1L), facets.getSpecies().stream().map(FacetCountVo::getCount).toList());
+        assertTrue(facets.getBreeds().stream().noneMatch(f -> "布偶猫".equals(f.getValue())));
+    }
+
+    @Test
+    @DisplayName("游标查询返回 afterPid 之后的记录")
+    void afterCursor() {
+        List<PetListVo> rows = index.after(3, 2, null, null, null, null, null);
+        assertEquals(List.of(7, 9), rows.stream().map(PetListVo::getPid).toList());
+    }
+
+    private static PetListVo pet(int pid, String species, String breed, String gender, int age) {
+        PetListVo vo = new PetListVo();
+        vo.setPid(pid);
+        vo.setSpeciesId("猫".equals(species) ? 1 : 2);
+        vo.setSpecies(species);
+        vo.setBreedId(pid * 10);
+        vo.setBreed(breed);
+        vo.setGender(gender);
+        vo.setAge(age);
+        return vo;
+    }
+}
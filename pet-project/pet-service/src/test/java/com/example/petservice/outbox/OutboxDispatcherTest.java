@@ -0,0 +1,104 @@
+package com.example.petservice.outbox;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.example.petcommon.properties.OutboxProperties;
+import com.example.petpojo.entity.OutboxEvent;
+import com.example.petservice.mapper.OutboxEventMapper;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * OutboxDispatcher 单元测试
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("发件箱分发器测试")
+class OutboxDispatcherTest {
+
+    @Mock
+    private OutboxEventMapper outboxEventMapper;
+
+    @Mock
+    private OutboxHandler handler;
+
+    private OutboxProperties properties;
+    private OutboxDispatcher dispatcher;
+
+    @BeforeEach
+    void setUp() {
+        properties = new OutboxProperties();
+        properties.setMaxAttempts(3);
+        when(handler.eventType()).thenReturn("test.event");
+        dispatcher = new OutboxDispatcher(outboxEventMapper, properties, new ObjectMapper(), List.of(handler));
+    }
+
+    @AfterEach
+    void tearDown() {
+        dispatcher.shutdown();
+    }
+
+    @Test
+    @DisplayName("投递成功的事件批量标记为已投递，失败的事件按退避重新排队")
+    void dispatchMarksSentAndRetries() throws Exception {
+        when(outboxEventMapper.claimBatch(anyString(), anyLong(), anyInt())).thenReturn(2);
+        when(outboxEventMapper.selectClaimed(anyString())).thenReturn(List.of(
+                event(1L, "test.event", 0),
+                event(2L, "unknown.event", 0)));
+
+        assertEquals(2, dispatcher.dispatchBatch());
+
+        verify(handler).handle(eq(1L), any());
+        verify(outboxEventMapper).markSent(eq(List.of(1L)), anyString());
+        verify(outboxEventMapper).markRetry(eq(2L), anyString(), eq(OutboxEvent.STATUS_PENDING), any(), anyString());
+    }
+
+    @Test
+    @DisplayName("达到最大投递次数后标记为失败")
+    void dispatchMarksFailedWhenExhausted() throws Exception {
+        when(outboxEventMapper.claimBatch(anyString(), anyLong(), anyInt())).thenReturn(1);
+        when(outboxEventMapper.selectClaimed(anyString())).thenReturn(List.of(event(5L, "test.event", 2)));
+        doThrow(new IllegalStateException("推送失败")).when(handler).handle(eq(5L), any());
+
+        dispatcher.dispatchBatch();
+
+        verify(outboxEventMapper, never()).markSent(any(), anyString());
+        verify(outboxEventMapper).markRetry(eq(5L), anyString(), eq(OutboxEvent.STATUS_FAILED), any(), anyString());
+    }
+
+    @Test
+    @DisplayName("没有可认领的事件时不查询明细")
+    void dispatchNothingClaimed() {
+        when(outboxEventMapper.claimBatch(anyString(), anyLong(), anyInt())).thenReturn(0);
+
+        assertEquals(0, dispatcher.dispatchBatch());
+
+        verify(outboxEventMapper, never()).selectClaimed(anyString());
+    }
+
+    private static OutboxEvent event(Long id, String type, int attempts) {
+        return OutboxEvent.builder()
+                .id(id)
+                .eventType(type)
+                .payload("{\"petId\":1}")
+                .status(OutboxEvent.STATUS_DISPATCHING)
+                .attempts(attempts)
+                .build();
+    }
+}
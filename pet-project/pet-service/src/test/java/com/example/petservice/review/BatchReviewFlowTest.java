@@ -0,0 +1,171 @@
+package com.example.petservice.review;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.example.petcommon.error.ErrorCode;
+import com.example.petcommon.exception.BizException;
+import com.example.petpojo.vo.BatchReviewResultVo;
+
+/**
+ * BatchReviewFlow 测试
+ */
+@DisplayName("批量审核公共流程测试")
+class BatchReviewFlowTest {
+
+    private static final int SHELTER_A = 1;
+    private static final int SHELTER_B = 2;
+
+    /**
+     * 测试用申请记录
+     */
+    private record Application(Integer id, Integer shelterId, String status, boolean blocked) {
+    }
+
+    /**
+     * 模拟数据库：更新语句与 mapper 一样只更新当前仍为 PENDING 的记录；
+     * reviewedElsewhere 模拟读取后被其他途径改掉状态的记录
+     */
+    private static final class TestFlow extends BatchReviewFlow<Application> {
+
+        private final Map<Integer, Application> table;
+        private final List<Integer> updatedIds = new ArrayList<>();
+        private List<Application> afterUpdate;
+        private Integer reviewedElsewhere;
+
+        private TestFlow(Application... applications) {
+            super("领养");
+            this.table = Arrays.stream(applications).collect(Collectors.toMap(Application::id, Function.identity()));
+        }
+
+        @Override
+        protected Map<Integer, Application> loadForUpdate(List<Integer> ids) {
+            return ids.stream().filter(table::containsKey).collect(Collectors.toMap(id -> id, table::get));
+        }
+
+        @Override
+        protected Integer shelterIdOf(Application application) {
+            return application.shelterId();
+        }
+
+        @Override
+        protected boolean isPending(Application application) {
+            return "PENDING".equals(application.status());
+        }
+
+        @Override
+        protected String checkApprove(Application application) {
+            return application.blocked() ? "该宠物已有通过的领养申请" : null;
+        }
+
+        @Override
+        protected int updateStatus(List<Application> accepted, boolean approve) {
+            if (reviewedElsewhere != null) {
+                Application current = table.get(reviewedElsewhere);
+                table.put(reviewedElsewhere, new Application(current.id(), current.shelterId(), "APPROVED", false));
+            }
+            accepted.stream().map(a -> table.get(a.id())).filter(this::isPending)
+                    .map(Application::id).forEach(updatedIds::add);
+            return updatedIds.size();
+        }
+
+        @Override
+        protected void afterUpdate(List<Application> accepted, boolean approve) {
+            afterUpdate = accepted;
+        }
+    }
+
+    @Test
+    @DisplayName("部分失败：逐条返回结果，顺序与请求一致，只更新通过校验的记录")
+    void partialFailure() {
+        TestFlow flow = new TestFlow(
+                new Application(1, SHELTER_A, "PENDING", false),
+                new Application(2, SHELTER_A, "APPROVED", false),
+                new Application(4, SHELTER_A, "PENDING", false));
+
+        BatchReviewResultVo result = flow.review(Arrays.asList(4, 3, null, 2, 1, 4), true, null);
+
+        assertEquals(4, result.getTotal());
+        assertEquals(2, result.getSucceeded());
+        assertEquals(2, result.getFailed());
+        assertEquals(List.of(4, 3, 2, 1), result.getItems().stream().map(BatchReviewResultVo.Item::getId).toList());
+        assertEquals("领养记录不存在", result.getItems().get(1).getMessage());
+        assertEquals("当前状态不可审批", result.getItems().get(2).getMessage());
+        assertNull(result.getItems().get(0).getMessage());
+        assertEquals(List.of(4, 1), flow.updatedIds);
+        assertEquals(List.of(4, 1), flow.afterUpdate.stream().map(Application::id).toList());
+    }
+
+    @Test
+    @DisplayName("收容所管理员不能审核其他收容所的申请")
+    void rejectsOtherShelter() {
+        TestFlow flow = new TestFlow(
+                new Application(1, SHELTER_A, "PENDING", false),
+                new Application(2, SHELTER_B, "PENDING", false),
+                new Application(3, null, "PENDING", false));
+
+        BatchReviewResultVo result = flow.review(List.of(1, 2, 3), false, SHELTER_A);
+
+        assertEquals(1, result.getSucceeded());
+        assertEquals("无权审核其他收容所的领养申请", result.getItems().get(1).getMessage());
+        assertEquals("无权审核其他收容所的领养申请", result.getItems().get(2).getMessage());
+        assertEquals(List.of(1), flow.updatedIds);
+    }
+
+    @Test
+    @DisplayName("只审核待审核的申请，拒绝与审批给出各自的失败原因")
+    void requiresPending() {
+        TestFlow flow = new TestFlow(new Application(1, SHELTER_A, "REJECTED", false));
+
+        BatchReviewResultVo rejected = flow.review(List.of(1), false, null);
+
+        assertEquals("当前状态不可拒绝", rejected.getItems().get(0).getMessage());
+        assertTrue(flow.updatedIds.isEmpty());
+        assertNull(flow.afterUpdate);
+    }
+
+    @Test
+    @DisplayName("附加校验只在审批通过时执行")
+    void checksApproveOnlyWhenApproving() {
+        Application blocked = new Application(1, SHELTER_A, "PENDING", true);
+
+        assertEquals("该宠物已有通过的领养申请",
+                new TestFlow(blocked).review(List.of(1), true, null).getItems().get(0).getMessage());
+        assertEquals(1, new TestFlow(blocked).review(List.of(1), false, null).getSucceeded());
+    }
+
+    @Test
+    @DisplayName("更新语句的 PENDING 条件跳过记录时整体失败，不执行后续处理")
+    void failsWhenPendingGuardSkipsRows() {
+        TestFlow flow = new TestFlow(
+                new Application(1, SHELTER_A, "PENDING", false),
+                new Application(2, SHELTER_A, "PENDING", false));
+        flow.reviewedElsewhere = 2;
+
+        BizException e = assertThrows(BizException.class, () -> flow.review(List.of(1, 2), true, null));
+
+        assertEquals(ErrorCode.INTERNAL_ERROR.getCode(), e.getCode());
+        assertEquals(List.of(1), flow.updatedIds);
+        assertNull(flow.afterUpdate);
+    }
+
+    @Test
+    @DisplayName("没有有效ID时拒绝请求")
+    void rejectsEmptyIds() {
+        BizException e = assertThrows(BizException.class,
+                () -> new TestFlow().review(Arrays.asList(null, null), true, null));
+
+        assertEquals(ErrorCode.BAD_REQUEST.getCode(), e.getCode());
+    }
+}
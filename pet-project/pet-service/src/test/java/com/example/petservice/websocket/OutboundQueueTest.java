@@ -0,0 +1,91 @@
+package com.example.petservice.websocket;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.example.petcommon.properties.WebSocketProperties.OverflowPolicy;
+
+/**
+ * OutboundQueue 测试
+ */
+@DisplayName("WebSocket 发送队列测试")
+class OutboundQueueTest {
+
+    private final OutboundQueue queue = new OutboundQueue(null);
+
+    @Test
+    @DisplayName("同一业务对象的新消息原位替换旧消息，不改变顺序")
+    void coalescesInPlace() {
+        queue.offer(OutboundMessage.superseding("health-1-v1", "health:1"), OverflowPolicy.COALESCE, 10);
+        queue.offer(OutboundMessage.of("notice-a"), OverflowPolicy.COALESCE, 10);
+
+        assertEquals(OutboundQueue.OfferResult.COALESCED,
+                queue.offer(OutboundMessage.superseding("health-1-v2", "health:1"), OverflowPolicy.COALESCE, 10));
+        assertEquals(List.of("health-1-v2", "notice-a"), drain());
+    }
+
+    @Test
+    @DisplayName("没有取代键的通知不合并")
+    void keepsNoticesWithoutKey() {
+        queue.offer(OutboundMessage.of("notice-a"), OverflowPolicy.COALESCE, 10);
+        assertEquals(OutboundQueue.OfferResult.QUEUED,
+                queue.offer(OutboundMessage.of("notice-a"), OverflowPolicy.COALESCE, 10));
+        assertEquals(List.of("notice-a", "notice-a"), drain());
+    }
+
+    @Test
+    @DisplayName("已出队的消息不再被合并，新消息重新排队")
+    void doesNotCoalesceAfterPoll() {
+        queue.offer(OutboundMessage.superseding("health-1-v1", "health:1"), OverflowPolicy.COALESCE, 10);
+        queue.poll();
+
+        assertEquals(OutboundQueue.OfferResult.QUEUED,
+                queue.offer(OutboundMessage.superseding("health-1-v2", "health:1"), OverflowPolicy.COALESCE, 10));
+        assertEquals(List.of("health-1-v2"), drain());
+    }
+
+    @Test
+    @DisplayName("溢出时丢弃最早消息，被丢弃消息的取代键一并失效")
+    void dropsOldestOnOverflow() {
+        queue.offer(OutboundMessage.superseding("health-1-v1", "health:1"), OverflowPolicy.COALESCE, 2);
+        queue.offer(OutboundMessage.of("notice-a"), OverflowPolicy.COALESCE, 2);
+
+        assertEquals(OutboundQueue.OfferResult.DROPPED_OLDEST,
+                queue.offer(OutboundMessage.of("notice-b"), OverflowPolicy.COALESCE, 2));
+        assertEquals(OutboundQueue.OfferResult.DROPPED_OLDEST,
+                queue.offer(OutboundMessage.superseding("health-1-v2", "health:1"), OverflowPolicy.COALESCE, 2));
+        assertEquals(List.of("notice-b", "health-1-v2"), drain());
+    }
+
+    @Test
+    @DisplayName("非 COALESCE 策略不合并")
+    void ignoresKeyUnderOtherPolicies() {
+        queue.offer(OutboundMessage.superseding("health-1-v1", "health:1"), OverflowPolicy.DROP_OLDEST, 10);
+        queue.offer(OutboundMessage.superseding("health-1-v2", "health:1"), OverflowPolicy.DROP_OLDEST, 10);
+
+        assertEquals(List.of("health-1-v1", "health-1-v2"), drain());
+    }
+
+    @Test
+    @DisplayName("DISCONNECT 策略溢出时报告溢出，不改动队列")
+    void reportsOverflowUnderDisconnect() {
+        queue.offer(OutboundMessage.of("notice-a"), OverflowPolicy.DISCONNECT, 1);
+
+        assertEquals(OutboundQueue.OfferResult.OVERFLOW,
+                queue.offer(OutboundMessage.of("notice-b"), OverflowPolicy.DISCONNECT, 1));
+        assertEquals(List.of("notice-a"), drain());
+    }
+
+    private List<String> drain() {
+        List<String> payloads = new ArrayList<>();
+        OutboundMessage message;
+        while ((message = queue.poll()) != null) {
+            payloads.add(message.payload());
+        }
+        return payloads;
+    }
+}
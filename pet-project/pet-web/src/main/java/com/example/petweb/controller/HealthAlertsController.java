@@ -5,6 +5,7 @@ import com.example.petcommon.result.Result;
 import com.example.petcommon.exception.BizException;
 import com.example.petcommon.error.ErrorCode;
 import com.example.petpojo.dto.HealthDto;
+import com.example.petpojo.vo.CursorPageVo;
 import com.example.petpojo.vo.HealthAlertsVo;
 import com.example.petservice.service.HealthAlertsService;
 
@@ -21,8 +22,11 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Positive;
 
@@ -55,6 +59,19 @@ public class HealthAlertsController {
         return Result.success(alerts);
     }
 
+    /**
+     * 游标分页获取用户的健康提醒
+     */
+    @GetMapping("/page")
+    @Operation(summary = "游标分页获取用户健康提醒", description = "按检查时间倒序向后翻页，可按状态筛选，不返回总数")
+    public Result<CursorPageVo<HealthAlertsVo>> getHealthAlertsPage(
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "per_page", defaultValue = "10") @Min(value = 1, message = "per_page 必须>=1") @Max(value = 100, message = "per_page 不能超过100") Integer pageSize,
+            @RequestParam(value = "status", required = false) String status) {
+        Long userId = UserContext.getCurrentUserId();
+        return Result.success(healthAlertsService.getUserHealthAlertsPage(userId.intValue(), cursor, pageSize, status));
+    }
+
     /**
      * 创建健康提醒
      */
@@ -8,14 +8,18 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
 import com.baomidou.mybatisplus.core.metadata.IPage;
 import com.example.petcommon.result.Result;
 import com.example.petpojo.vo.BreedVo;
+import com.example.petpojo.vo.CursorPageVo;
+import com.example.petpojo.vo.PetFacetsVo;
 import com.example.petpojo.vo.SpeciesVo;
 import com.example.petservice.service.BreedService;
 import com.example.petservice.service.ListPetsService;
 import com.example.petservice.service.SpeciesService;
+import com.example.petservice.reference.ReferenceDataCache;
 import com.example.petpojo.vo.PetListVo; 
 import com.example.petpojo.vo.PetsDetailsVo;
 
@@ -45,6 +49,7 @@ public class MyPetsController {
 
     private final ListPetsService listPetsService;
     private final SpeciesService speciesService;
+    private final ReferenceDataCache referenceDataCache;
     private final BreedService breedService;
 
     /**
@@ -68,6 +73,34 @@ public class MyPetsController {
 
     }
 
+    /**
+     * 游标分页查询宠物列表，适用于无限滚动场景
+     * @param cursor 上一页返回的游标，首页不传
+     * @param pageSize 每页数量
+     * @return 宠物列表及下一页游标
+     */
+    @GetMapping("/available/cursor")
+    @Operation(summary = "游标分页查询宠物列表", description = "按游标向后翻页查询可领养的宠物列表，不返回总数")
+    public Result<CursorPageVo<PetListVo>> listPetsByCursor(
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam("per_page") @Min(value = 1, message = "per_page 必须>=1") @Max(value = 100, message = "per_page 不能超过100") Integer pageSize,
+            @RequestParam(value = "species", required = false) String species,
+            @RequestParam(value = "breed", required = false) String breed,
+            @RequestParam(value = "gender", required = false) String gender,
+            @RequestParam(value = "min_age", required = false) Integer minAge,
+            @RequestParam(value = "max_age", required = false) Integer maxAge) {
+        return Result.success(listPetsService.listPetsByCursor(cursor, pageSize, species, breed, gender, minAge, maxAge));
+    }
+
+    /**
+     * 领养中心筛选：各筛选项下可领养宠物数量
+     */
+    @GetMapping("/available/facets")
+    @Operation(summary = "获取筛选项计数", description = "按物种、品种、性别、年龄段统计可领养宠物数量")
+    public Result<PetFacetsVo> listFacets() {
+        return Result.success(listPetsService.getAvailablePetFacets());
+    }
+
     /**
      * 我的宠物界面根据ID获取宠物详情，用于编辑
      * @param petId 宠物ID
@@ -86,8 +119,11 @@ public class MyPetsController {
      * 领养中心筛选：获取物种列表
      */
     @GetMapping("/species")
-    @Operation(summary = "获取物种列表", description = "用于领养中心筛选下拉框")
-    public Result<List<SpeciesVo>> listSpecies() {
+    @Operation(summary = "获取物种列表", description = "用于领养中心筛选下拉框，支持 If-None-Match 协商缓存")
+    public Result<List<SpeciesVo>> listSpecies(WebRequest request) {
+        if (request.checkNotModified(referenceDataCache.speciesEtag())) {
+            return null;
+        }
         return Result.success(speciesService.listAllSpecies());
     }
 
@@ -95,9 +131,12 @@ public class MyPetsController {
      * 领养中心筛选：根据物种获取品种列表
      */
     @GetMapping("/species/{speciesId}/breeds")
-    @Operation(summary = "获取品种列表", description = "用于领养中心筛选下拉框")
+    @Operation(summary = "获取品种列表", description = "用于领养中心筛选下拉框，支持 If-None-Match 协商缓存")
     public Result<List<BreedVo>> listBreedsBySpecies(
-            @PathVariable @Positive(message = "物种ID必须为正数") Integer speciesId) {
+            @PathVariable @Positive(message = "物种ID必须为正数") Integer speciesId, WebRequest request) {
+        if (request.checkNotModified(referenceDataCache.breedsEtag())) {
+            return null;
+        }
         return Result.success(breedService.listBreedsBySpecies(speciesId));
     }
 
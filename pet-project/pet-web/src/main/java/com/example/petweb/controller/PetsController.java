@@ -1,6 +1,7 @@
 package com.example.petweb.controller;
 
 import java.time.LocalDateTime;
+import java.util.List;
 
 import com.example.petpojo.vo.AdoptionResultVo;
 import com.example.petpojo.vo.FosterEndResultVo;
@@ -32,7 +33,9 @@ import com.example.petcommon.exception.BizException;
 import com.example.petcommon.error.ErrorCode;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.NotEmpty;
 import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.Size;
 
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
@@ -131,6 +134,17 @@ public class PetsController {
         return Result.success(updatedPet);
     }
 
+    /**
+     * 批量获取宠物详情（收藏夹、推荐卡片等一次性展示多只宠物的场景）
+     */
+    @GetMapping("/details/batch")
+    @Operation(summary = "批量获取宠物详情", description = "按 ids 顺序返回宠物详情，不存在的宠物被跳过，最多 100 个")
+    public Result<List<PetsDetailsVo>> getPetsByIds(
+            @RequestParam("ids") @NotEmpty(message = "宠物ID列表不能为空") @Size(max = 100, message = "一次最多查询100只宠物")
+            List<@NotNull(message = "宠物ID不能为空") @Positive(message = "宠物ID必须为正数") Integer> ids) {
+        return Result.success(listPetsService.getPetsByIds(ids));
+    }
+
     /**
      * 领养界面根据ID获取宠物详情
      */
@@ -0,0 +1,46 @@
+package com.example.petweb.controller;
+
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.baomidou.mybatisplus.core.metadata.IPage;
+import com.example.petcommon.result.Result;
+import com.example.petpojo.vo.SearchHitVo;
+import com.example.petservice.service.SearchService;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Size;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * 全文检索控制器
+ * @author 33185
+ */
+@RestController
+@RequestMapping("/search")
+@RequiredArgsConstructor
+@Tag(name = "全文检索", description = "宠物、品种、收容所、文章全文检索")
+@SecurityRequirement(name = "bearer-key")
+@Validated
+public class SearchController {
+
+    private final SearchService searchService;
+
+    @GetMapping
+    @Operation(summary = "全文检索", description = "按相关度返回命中结果，标题与摘要中的命中词以 <em> 高亮")
+    public Result<IPage<SearchHitVo>> search(
+            @RequestParam("q") @NotBlank(message = "搜索关键词不能为空") @Size(max = 50, message = "搜索关键词不能超过50字符") String keyword,
+            @RequestParam(value = "type", required = false) String type,
+            @RequestParam(value = "current_page", defaultValue = "1") @Min(value = 1, message = "current_page 必须>=1") Integer currentPage,
+            @RequestParam(value = "per_page", defaultValue = "10") @Min(value = 1, message = "per_page 必须>=1") @Max(value = 50, message = "per_page 不能超过50") Integer pageSize) {
+        return Result.success(searchService.search(keyword, type, currentPage, pageSize));
+    }
+}
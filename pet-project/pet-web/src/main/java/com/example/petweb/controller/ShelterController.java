@@ -6,8 +6,10 @@ import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
 import com.example.petcommon.result.Result;
+import com.example.petservice.reference.ReferenceDataCache;
 import com.example.petservice.service.ShelterService;
 import com.example.petpojo.vo.ShelterVo;
 
@@ -32,14 +34,17 @@ import lombok.extern.slf4j.Slf4j;
 public class ShelterController {
 
     private final ShelterService shelterService;
+    private final ReferenceDataCache referenceDataCache;
 
     /**
      * 获取所有收容所列表
      */
     @GetMapping
-    @Operation(summary = "获取所有收容所列表", description = "获取系统中所有收容所的列表信息")
-    public Result<List<ShelterVo>> getAllShelters() {
-        log.info("获取收容所列表");
+    @Operation(summary = "获取所有收容所列表", description = "获取系统中所有收容所的列表信息，支持 If-None-Match 协商缓存")
+    public Result<List<ShelterVo>> getAllShelters(WebRequest request) {
+        if (request.checkNotModified(referenceDataCache.sheltersEtag())) {
+            return null;
+        }
         List<ShelterVo> shelters = shelterService.getShelterNames();
         return Result.success(shelters);
     }
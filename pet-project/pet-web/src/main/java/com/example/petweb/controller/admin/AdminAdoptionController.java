@@ -8,6 +8,8 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
 import com.example.petcommon.result.Result;
+import com.example.petpojo.dto.BatchReviewDto;
+import com.example.petpojo.vo.BatchReviewResultVo;
 import com.example.petservice.service.AdoptionsService;
 
 import io.swagger.v3.oas.annotations.tags.Tag;
@@ -46,6 +48,16 @@ public class AdminAdoptionController {
         return Result.success("已拒绝");
     }
 
+    @PostMapping("/batch/approve")
+    public Result<BatchReviewResultVo> batchApprove(@Valid @RequestBody BatchReviewDto request) {
+        return Result.success(adoptionsService.batchApproveAdoptions(request.getIds(), request.getNote()));
+    }
+
+    @PostMapping("/batch/reject")
+    public Result<BatchReviewResultVo> batchReject(@Valid @RequestBody BatchReviewDto request) {
+        return Result.success(adoptionsService.batchRejectAdoptions(request.getIds(), request.getNote()));
+    }
+
     @GetMapping
     public Result<Object> list(
             @RequestParam(value = "status", required = false) @Size(max = 20, message = "状态长度不能超过20字符") String status,
@@ -0,0 +1,30 @@
+package com.example.petweb.controller.admin;
+
+import java.util.List;
+
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.example.petcommon.result.Result;
+import com.example.petpojo.vo.CacheStatsVo;
+import com.example.petservice.cache.TwoLevelCacheManager;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+
+@RestController
+@RequestMapping("/admin/cache")
+@Tag(name = "管理员-缓存监控")
+@RequiredArgsConstructor
+public class AdminCacheController {
+
+    private final TwoLevelCacheManager cacheManager;
+
+    @GetMapping("/stats")
+    @Operation(summary = "缓存分层命中统计", description = "返回各缓存本地(L1)与 Redis(L2)的命中/未命中次数")
+    public Result<List<CacheStatsVo>> stats() {
+        return Result.success(cacheManager.getStats());
+    }
+}
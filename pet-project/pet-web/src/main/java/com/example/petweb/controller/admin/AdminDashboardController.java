@@ -0,0 +1,44 @@
+package com.example.petweb.controller.admin;
+
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.example.petcommon.result.Result;
+import com.example.petpojo.vo.DashboardSummaryVo;
+import com.example.petservice.service.DashboardService;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.constraints.Positive;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * @author 33185
+ */
+@RestController
+@RequestMapping("/admin/dashboard")
+@Tag(name = "管理员-看板")
+@Validated
+@RequiredArgsConstructor
+public class AdminDashboardController {
+
+    private final DashboardService dashboardService;
+
+    @GetMapping("/summary")
+    @Operation(summary = "看板汇总", description = "按状态返回领养申请、寄养记录与宠物数量；平台管理员不传 shelter_id 时返回全部收容所之和")
+    public Result<DashboardSummaryVo> summary(
+            @RequestParam(value = "shelter_id", required = false) @Positive(message = "收容所ID必须为正数") Integer shelterId) {
+        return Result.success(dashboardService.getSummary(shelterId));
+    }
+
+    @PostMapping("/reconcile")
+    @Operation(summary = "校准看板计数", description = "以数据库为准重建全部收容所计数，仅平台管理员可用")
+    public Result<String> reconcile() {
+        dashboardService.reconcile();
+        return Result.success("看板计数已校准");
+    }
+}
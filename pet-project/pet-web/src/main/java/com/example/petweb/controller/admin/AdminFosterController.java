@@ -8,6 +8,8 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
 import com.example.petcommon.result.Result;
+import com.example.petpojo.dto.BatchReviewDto;
+import com.example.petpojo.vo.BatchReviewResultVo;
 import com.example.petservice.service.FosterService;
 
 import io.swagger.v3.oas.annotations.tags.Tag;
@@ -52,6 +54,21 @@ public class AdminFosterController {
         return Result.success("寄养已完成");
     }
 
+    @PostMapping("/latest/rebuild")
+    public Result<Integer> rebuildLatestFosterProjection() {
+        return Result.success(fosterService.rebuildLatestFosterProjection());
+    }
+
+    @PostMapping("/batch/approve")
+    public Result<BatchReviewResultVo> batchApprove(@Valid @RequestBody BatchReviewDto request) {
+        return Result.success(fosterService.batchApproveFosters(request.getIds(), request.getNote()));
+    }
+
+    @PostMapping("/batch/reject")
+    public Result<BatchReviewResultVo> batchReject(@Valid @RequestBody BatchReviewDto request) {
+        return Result.success(fosterService.batchRejectFosters(request.getIds(), request.getNote()));
+    }
+
     @GetMapping
     public Result<Object> list(
             @RequestParam(value = "status", required = false) @Size(max = 20, message = "状态长度不能超过20字符") String status,
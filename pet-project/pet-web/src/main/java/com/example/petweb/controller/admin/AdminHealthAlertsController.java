@@ -0,0 +1,31 @@
+package com.example.petweb.controller.admin;
+
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.example.petcommon.result.Result;
+import com.example.petpojo.vo.HealthLifecycleStatsVo;
+import com.example.petservice.task.HealthAlertLifecycleTask;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * @author 33185
+ */
+@RestController
+@RequestMapping("/admin/health-alerts")
+@Tag(name = "管理员-健康提醒")
+@RequiredArgsConstructor
+public class AdminHealthAlertsController {
+
+    private final HealthAlertLifecycleTask healthAlertLifecycleTask;
+
+    @GetMapping("/lifecycle/stats")
+    @Operation(summary = "生命周期任务统计", description = "返回过期、归档、删除任务的执行进度与累计处理数")
+    public Result<HealthLifecycleStatsVo> lifecycleStats() {
+        return Result.success(healthAlertLifecycleTask.stats());
+    }
+}
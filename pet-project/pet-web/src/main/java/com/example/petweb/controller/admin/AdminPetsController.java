@@ -62,6 +62,11 @@ public class AdminPetsController {
         return Result.success("删除成功");
     }
 
+    @PostMapping("/adoptable/rebuild")
+    public Result<Integer> rebuildAdoptableProjection() {
+        return Result.success(petsService.rebuildAdoptableProjection());
+    }
+
     @GetMapping
     public Result<Object> list(
             @RequestParam(value = "status", required = false) @Size(max = 20, message = "状态长度不能超过20字符") String status,
@@ -0,0 +1,27 @@
+package com.example.petweb.controller.admin;
+
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.example.petcommon.result.Result;
+import com.example.petservice.service.SearchService;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+
+@RestController
+@RequestMapping("/admin/search")
+@Tag(name = "管理员-全文检索")
+@RequiredArgsConstructor
+public class AdminSearchController {
+
+    private final SearchService searchService;
+
+    @PostMapping("/reindex")
+    @Operation(summary = "重建全文索引", description = "平台管理员手动触发全量重建")
+    public Result<Integer> reindex() {
+        return Result.success(searchService.reindex());
+    }
+}
@@ -0,0 +1,31 @@
+package com.example.petweb.controller.admin;
+
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.example.petcommon.result.Result;
+import com.example.petpojo.vo.WebSocketStatsVo;
+import com.example.petservice.websocket.WebSocketOutbound;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * @author 33185
+ */
+@RestController
+@RequestMapping("/admin/websocket")
+@Tag(name = "管理员-实时推送")
+@RequiredArgsConstructor
+public class AdminWebSocketController {
+
+    private final WebSocketOutbound webSocketOutbound;
+
+    @GetMapping("/stats")
+    @Operation(summary = "推送队列统计", description = "返回在线连接数、发送队列深度以及累计发送、丢弃、合并和断开的慢连接数")
+    public Result<WebSocketStatsVo> stats() {
+        return Result.success(webSocketOutbound.stats());
+    }
+}
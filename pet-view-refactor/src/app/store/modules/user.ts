@@ -164,6 +164,7 @@ export const useUserStore = defineStore('user', () => {
     () => Boolean(sessionTokenByRole[currentRole.value] && info.userId > 0),
   )
   const isAdmin = computed(() => currentRole.value === 'ADMIN')
+  const sessionToken = computed(() => sessionTokenByRole[currentRole.value])
 
   const setActiveRole = (role: SessionRole) => {
     currentRole.value = role
@@ -448,6 +449,7 @@ export const useUserStore = defineStore('user', () => {
     profileLoaded,
     hasValidSession,
     isAdmin,
+    sessionToken,
     setActiveRole,
     fetchProfile,
     applyProfileUpdate,
@@ -17,10 +17,28 @@ const BASE_DELAY = 1000
 const MAX_DELAY = 30000
 const HEARTBEAT_INTERVAL = 30000
 const HEARTBEAT_TIMEOUT = 35000
+const MAX_SEEN_MSG_IDS = 500
+
+// 服务端会在重连时补发未确认的消息，按 msgId 去重避免重复弹出
+const gSeenMsgIds = new Set<string>()
+
+const markSeen = (msgId: string) => {
+  if (gSeenMsgIds.has(msgId)) return false
+  gSeenMsgIds.add(msgId)
+  if (gSeenMsgIds.size > MAX_SEEN_MSG_IDS) {
+    const oldest = gSeenMsgIds.values().next().value
+    if (oldest !== undefined) gSeenMsgIds.delete(oldest)
+  }
+  return true
+}
 
 const getNotifTimeMap = () => ((globalThis as any).__lastNotifTime ||= {})
 
-const resolveWsUrl = (userId: string) => {
+// 浏览器建立 WebSocket 时不能带 Authorization 头，访问令牌通过查询参数传给握手认证
+const withToken = (url: string, token: string) =>
+  `${url}${url.includes('?') ? '&' : '?'}token=${encodeURIComponent(token)}`
+
+const resolveWsUrl = (userId: string, token: string) => {
   const protocol = window.location.protocol === 'https:' ? 'wss:' : 'ws:'
   const defaultUrl = `${protocol}//${window.location.host}/ws/${encodeURIComponent(userId)}`
 
@@ -28,10 +46,10 @@ const resolveWsUrl = (userId: string) => {
     (import.meta.env.VITE_WS_URL_TEMPLATE as string | undefined) ||
     (import.meta.env.VITE_APP_WS_URL_TEMPLATE as string | undefined)
 
-  if (!template) return defaultUrl
+  if (!template) return withToken(defaultUrl, token)
 
   const replaceToken = (input: string, token: string, value: string) => input.split(token).join(value)
-  return replaceToken(
+  return withToken(replaceToken(
     replaceToken(
       replaceToken(
         replaceToken(template, '{userId}', encodeURIComponent(userId)),
@@ -43,7 +61,7 @@ const resolveWsUrl = (userId: string) => {
     ),
     '{hostname}',
     window.location.hostname,
-  )
+  ), token)
 }
 
 export function useWebSocket() {
@@ -57,7 +75,7 @@ export function useWebSocket() {
   }
 
   const connect = async (userId: string): Promise<boolean> => {
-    if (!userId) return false
+    if (!userId || !userStore.sessionToken) return false
     if (gWs?.readyState === WebSocket.OPEN) {
       if (gUserId === userId) return true
       disconnect()
@@ -68,7 +86,7 @@ export function useWebSocket() {
     clearRetryTimer()
 
     try {
-      const url = resolveWsUrl(userId)
+      const url = resolveWsUrl(userId, userStore.sessionToken)
       gWs = new WebSocket(url)
       wsRef.value = gWs
 
@@ -105,6 +123,11 @@ export function useWebSocket() {
           data = { type: 'plain_text', content: e.data, timestamp: new Date().toISOString() }
         }
         handlePong()
+        if (typeof data?.msgId === 'string') {
+          // 先确认再处理：确认后服务端删除待投递消息并记录送达
+          send({ type: 'ack', msgId: data.msgId })
+          if (!markSeen(data.msgId)) return
+        }
         handleBusinessLogic(data)
         gHandlers[data.type]?.(data)
       }
@@ -235,7 +258,8 @@ export function useWebSocket() {
     const signature = `${gUserId}:${adminShelterId === null ? 'platform' : String(adminShelterId)}`
     if (gAdminAuthSignature === signature) return
     gAdminAuthSignature = signature
-    send({ type: 'auth', adminShelterId })
+    // 管理员身份与收容所由服务端从握手令牌中读取
+    send({ type: 'auth' })
   }
 
   const clearRetryTimer = () => {
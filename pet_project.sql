@@ -1,6 +1,32 @@
 SET NAMES utf8mb4;
 SET FOREIGN_KEY_CHECKS = 0;
 
+-- ----------------------------
+-- Table structure for adoptable_pets
+-- ----------------------------
+DROP TABLE IF EXISTS `adoptable_pets`;
+CREATE TABLE `adoptable_pets`  (
+  `pid` int NOT NULL COMMENT '宠物ID',
+  `name` varchar(50) CHARACTER SET utf8mb4 COLLATE utf8mb4_0900_ai_ci NOT NULL COMMENT '宠物名称',
+  `species_id` int NOT NULL COMMENT '物种ID',
+  `species_name` varchar(50) CHARACTER SET utf8mb4 COLLATE utf8mb4_0900_ai_ci NULL DEFAULT NULL COMMENT '物种名称',
+  `breed_id` int NOT NULL COMMENT '品种ID',
+  `breed_name` varchar(50) CHARACTER SET utf8mb4 COLLATE utf8mb4_0900_ai_ci NULL DEFAULT NULL COMMENT '品种名称',
+  `age` int NULL DEFAULT NULL COMMENT '年龄',
+  `gender` varchar(10) CHARACTER SET utf8mb4 COLLATE utf8mb4_0900_ai_ci NULL DEFAULT NULL COMMENT '性别',
+  `img_url` varchar(512) CHARACTER SET utf8mb4 COLLATE utf8mb4_0900_ai_ci NULL DEFAULT NULL COMMENT '图片URL',
+  `status` varchar(20) CHARACTER SET utf8mb4 COLLATE utf8mb4_0900_ai_ci NOT NULL DEFAULT 'AVAILABLE' COMMENT '宠物状态',
+  `shelter_id` int NULL DEFAULT NULL COMMENT '收容所ID',
+  `shelter_name` varchar(100) CHARACTER SET utf8mb4 COLLATE utf8mb4_0900_ai_ci NULL DEFAULT NULL COMMENT '收容所名称',
+  `shelter_address` varchar(255) CHARACTER SET utf8mb4 COLLATE utf8mb4_0900_ai_ci NULL DEFAULT NULL COMMENT '收容所地址',
+  `update_time` datetime NULL DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP,
+  PRIMARY KEY (`pid`) USING BTREE,
+  INDEX `idx_adoptable_pets_species`(`species_name` ASC, `pid` ASC) USING BTREE,
+  INDEX `idx_adoptable_pets_gender_age`(`gender` ASC, `age` ASC) USING BTREE,
+  INDEX `idx_adoptable_pets_age`(`age` ASC) USING BTREE,
+  CONSTRAINT `fk_adoptable_pets_pet` FOREIGN KEY (`pid`) REFERENCES `pets` (`pid`) ON DELETE CASCADE ON UPDATE CASCADE
+) ENGINE = InnoDB CHARACTER SET = utf8mb4 COLLATE = utf8mb4_0900_ai_ci COMMENT = '可领养宠物投影' ROW_FORMAT = Dynamic;
+
 -- ----------------------------
 -- Table structure for adoptions
 -- ----------------------------
@@ -189,6 +215,32 @@ CREATE TABLE `media_files`  (
 -- Records of media_files
 -- ----------------------------
 
+-- ----------------------------
+-- Table structure for outbox_events
+-- ----------------------------
+DROP TABLE IF EXISTS `outbox_events`;
+CREATE TABLE `outbox_events`  (
+  `id` bigint NOT NULL AUTO_INCREMENT COMMENT '事件ID',
+  `event_type` varchar(64) CHARACTER SET utf8mb4 COLLATE utf8mb4_0900_ai_ci NOT NULL COMMENT '事件类型',
+  `payload` varchar(2000) CHARACTER SET utf8mb4 COLLATE utf8mb4_0900_ai_ci NOT NULL COMMENT '事件内容（JSON）',
+  `status` varchar(20) CHARACTER SET utf8mb4 COLLATE utf8mb4_0900_ai_ci NOT NULL DEFAULT 'PENDING' COMMENT 'PENDING/DISPATCHING/SENT/FAILED',
+  `attempts` int NOT NULL DEFAULT 0 COMMENT '已投递次数',
+  `next_attempt_at` datetime NOT NULL DEFAULT CURRENT_TIMESTAMP COMMENT '下次可投递时间',
+  `claim_token` varchar(64) CHARACTER SET utf8mb4 COLLATE utf8mb4_0900_ai_ci NULL DEFAULT NULL COMMENT '认领令牌',
+  `claim_until` datetime NULL DEFAULT NULL COMMENT '认领租约到期时间',
+  `last_error` varchar(512) CHARACTER SET utf8mb4 COLLATE utf8mb4_0900_ai_ci NULL DEFAULT NULL COMMENT '最近一次失败原因',
+  `sent_time` datetime NULL DEFAULT NULL COMMENT '投递成功时间',
+  `create_time` datetime NULL DEFAULT CURRENT_TIMESTAMP,
+  `update_time` datetime NULL DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP,
+  PRIMARY KEY (`id`) USING BTREE,
+  INDEX `idx_outbox_status_next`(`status` ASC, `next_attempt_at` ASC, `id` ASC) USING BTREE,
+  INDEX `idx_outbox_claim_token`(`claim_token` ASC) USING BTREE
+) ENGINE = InnoDB AUTO_INCREMENT = 1 CHARACTER SET = utf8mb4 COLLATE = utf8mb4_0900_ai_ci COMMENT = '事务发件箱' ROW_FORMAT = Dynamic;
+
+-- ----------------------------
+-- Records of outbox_events
+-- ----------------------------
+
 -- ----------------------------
 -- Table structure for pet_health
 -- ----------------------------
@@ -201,11 +253,19 @@ CREATE TABLE `pet_health`  (
   `description` text CHARACTER SET utf8mb4 COLLATE utf8mb4_0900_ai_ci NOT NULL COMMENT '描述',
   `reminder_time` datetime NULL DEFAULT NULL COMMENT '提醒时间',
   `status` varchar(20) CHARACTER SET utf8mb4 COLLATE utf8mb4_0900_ai_ci NOT NULL DEFAULT 'pending' COMMENT '状态',
+  `claim_token` varchar(64) CHARACTER SET utf8mb4 COLLATE utf8mb4_0900_ai_ci NULL DEFAULT NULL COMMENT '认领令牌',
+  `claim_until` datetime NULL DEFAULT NULL COMMENT '认领租约到期时间',
+  `delivered_at` datetime NULL DEFAULT NULL COMMENT '客户端确认送达时间',
+  `reminded_at` datetime NULL DEFAULT NULL COMMENT '进入已提醒状态的时间',
+  `expired_at` datetime NULL DEFAULT NULL COMMENT '进入过期状态的时间',
   `create_time` datetime NULL DEFAULT CURRENT_TIMESTAMP,
   `update_time` datetime NULL DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP,
   PRIMARY KEY (`health_id`) USING BTREE,
   INDEX `idx_pet_health_pid`(`pid` ASC) USING BTREE,
   INDEX `idx_pet_health_status`(`status` ASC) USING BTREE,
+  INDEX `idx_pet_health_status_reminder`(`status` ASC, `reminder_time` ASC) USING BTREE,
+  INDEX `idx_pet_health_claim_token`(`claim_token` ASC) USING BTREE,
+  INDEX `idx_pet_health_pid_check_date`(`pid` ASC, `check_date` ASC) USING BTREE,
   CONSTRAINT `fk_pet_health_pet` FOREIGN KEY (`pid`) REFERENCES `pets` (`pid`) ON DELETE CASCADE ON UPDATE CASCADE
 ) ENGINE = InnoDB AUTO_INCREMENT = 1 CHARACTER SET = utf8mb4 COLLATE = utf8mb4_0900_ai_ci ROW_FORMAT = Dynamic;
 
@@ -213,6 +273,29 @@ CREATE TABLE `pet_health`  (
 -- Records of pet_health
 -- ----------------------------
 
+-- ----------------------------
+-- Table structure for pet_health_history
+-- ----------------------------
+DROP TABLE IF EXISTS `pet_health_history`;
+CREATE TABLE `pet_health_history`  (
+  `health_id` int NOT NULL COMMENT '健康记录ID',
+  `pid` int NOT NULL COMMENT '宠物ID',
+  `check_date` datetime NOT NULL COMMENT '检查时间',
+  `health_type` varchar(20) CHARACTER SET utf8mb4 COLLATE utf8mb4_0900_ai_ci NOT NULL COMMENT '健康类型',
+  `description` text CHARACTER SET utf8mb4 COLLATE utf8mb4_0900_ai_ci NOT NULL COMMENT '描述',
+  `reminder_time` datetime NULL DEFAULT NULL COMMENT '提醒时间',
+  `status` varchar(20) CHARACTER SET utf8mb4 COLLATE utf8mb4_0900_ai_ci NOT NULL DEFAULT 'archived' COMMENT '状态',
+  `delivered_at` datetime NULL DEFAULT NULL COMMENT '客户端确认送达时间',
+  `reminded_at` datetime NULL DEFAULT NULL COMMENT '进入已提醒状态的时间',
+  `expired_at` datetime NULL DEFAULT NULL COMMENT '进入过期状态的时间',
+  `create_time` datetime NULL DEFAULT NULL,
+  `update_time` datetime NULL DEFAULT NULL,
+  `archived_at` datetime NOT NULL DEFAULT CURRENT_TIMESTAMP COMMENT '归档时间',
+  PRIMARY KEY (`health_id`) USING BTREE,
+  INDEX `idx_pet_health_history_pid`(`pid` ASC) USING BTREE,
+  INDEX `idx_pet_health_history_archived_at`(`archived_at` ASC) USING BTREE
+) ENGINE = InnoDB CHARACTER SET = utf8mb4 COLLATE = utf8mb4_0900_ai_ci COMMENT = '健康提醒归档表' ROW_FORMAT = Dynamic;
+
 -- ----------------------------
 -- Table structure for pet_records
 -- ----------------------------
@@ -239,6 +322,25 @@ CREATE TABLE `pet_records`  (
 -- Records of pet_records
 -- ----------------------------
 
+-- ----------------------------
+-- Table structure for pet_user_latest_foster
+-- ----------------------------
+DROP TABLE IF EXISTS `pet_user_latest_foster`;
+CREATE TABLE `pet_user_latest_foster`  (
+  `pid` int NOT NULL COMMENT '宠物ID',
+  `uid` int NOT NULL COMMENT '用户ID',
+  `fid` int NOT NULL COMMENT '最近一条寄养记录ID',
+  `status` varchar(20) CHARACTER SET utf8mb4 COLLATE utf8mb4_0900_ai_ci NOT NULL COMMENT '寄养状态',
+  `start_date` datetime NOT NULL COMMENT '寄养开始',
+  `update_time` datetime NULL DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP,
+  PRIMARY KEY (`pid`, `uid`) USING BTREE,
+  INDEX `idx_latest_foster_uid`(`uid` ASC) USING BTREE,
+  INDEX `idx_latest_foster_fid`(`fid` ASC) USING BTREE,
+  CONSTRAINT `fk_latest_foster_pet` FOREIGN KEY (`pid`) REFERENCES `pets` (`pid`) ON DELETE CASCADE ON UPDATE CASCADE,
+  CONSTRAINT `fk_latest_foster_user` FOREIGN KEY (`uid`) REFERENCES `users` (`id`) ON DELETE CASCADE ON UPDATE CASCADE,
+  CONSTRAINT `fk_latest_foster_foster` FOREIGN KEY (`fid`) REFERENCES `fosters` (`fid`) ON DELETE CASCADE ON UPDATE CASCADE
+) ENGINE = InnoDB CHARACTER SET = utf8mb4 COLLATE = utf8mb4_0900_ai_ci COMMENT = '宠物-用户最近寄养记录投影' ROW_FORMAT = Dynamic;
+
 -- ----------------------------
 -- Table structure for pets
 -- ----------------------------
@@ -374,4 +476,29 @@ INSERT INTO `users` VALUES (4, 'admin1', '15158888888', '$2a$12$ZWgCRiHCvPmhfrK9
 INSERT INTO `users` VALUES (5, 'admin2', '15159990001', '$2a$12$ZWgCRiHCvPmhfrK9NLC2quv/xs.ulsLUNHBBZSSh6lzXMv9p02A5u', '幸福毛孩中心管理员', NULL, 'admin-sh@example.com', 'ADMIN', '2025-12-20 21:40:02', '2025-12-20 21:44:41', 2);
 INSERT INTO `users` VALUES (6, 'admin3', '15159990002', '$2a$12$ZWgCRiHCvPmhfrK9NLC2quv/xs.ulsLUNHBBZSSh6lzXMv9p02A5u', '海湾流浪动物救助站管理员', NULL, 'admin-gz@example.com', 'ADMIN', '2025-12-20 21:40:02', '2025-12-20 21:44:41', 3);
 
+-- ----------------------------
+-- Records of adoptable_pets（由业务表投影生成）
+-- ----------------------------
+INSERT INTO `adoptable_pets` (`pid`, `name`, `species_id`, `species_name`, `breed_id`, `breed_name`, `age`, `gender`, `img_url`, `status`, `shelter_id`, `shelter_name`, `shelter_address`)
+SELECT p.pid, p.name, p.species_id, sp.name, p.breed_id, b.name, p.age, p.gender, p.img_url, p.status, p.shelter_id, s.name, s.location
+FROM `pets` p
+LEFT JOIN `species` sp ON p.species_id = sp.id
+LEFT JOIN `breed` b ON p.breed_id = b.id
+LEFT JOIN `shelters` s ON p.shelter_id = s.sid
+WHERE p.status = 'AVAILABLE'
+  AND NOT EXISTS (SELECT 1 FROM `adoptions` a WHERE a.pid = p.pid AND a.status = 'PENDING');
+
+-- ----------------------------
+-- Records of pet_user_latest_foster（由寄养记录投影生成）
+-- ----------------------------
+INSERT INTO `pet_user_latest_foster` (`pid`, `uid`, `fid`, `status`, `start_date`)
+SELECT t.pid, t.uid, t.fid, t.status, t.start_date
+FROM (
+  SELECT f.pid, f.uid, f.fid, f.status, f.start_date,
+         ROW_NUMBER() OVER (PARTITION BY f.pid, f.uid ORDER BY f.start_date DESC, f.fid DESC) AS rn
+  FROM `fosters` f
+  WHERE f.deleted = 0
+) t
+WHERE t.rn = 1;
+
 SET FOREIGN_KEY_CHECKS = 1;